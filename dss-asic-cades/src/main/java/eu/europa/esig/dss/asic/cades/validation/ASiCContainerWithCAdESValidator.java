@@ -38,6 +38,7 @@ import eu.europa.esig.dss.enumerations.ArchiveTimestampType;
 import eu.europa.esig.dss.enumerations.TimestampType;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.DocumentValidator;
@@ -65,8 +66,21 @@ public class ASiCContainerWithCAdESValidator extends AbstractASiCContainerValida
 
 	@Override
 	public boolean isSupported(DSSDocument dssDocument) {
-		return ASiCUtils.isZip(dssDocument) && (ASiCUtils.isArchiveContainsCorrectSignatureFileWithExtension(dssDocument, ".p7s") ||
-				ASiCUtils.isArchiveContainsCorrectTimestamp(dssDocument));
+		return dssDocument != null && isASiCWithCAdES(dssDocument, DSSUtils.readFirstBytes(dssDocument, 2));
+	}
+
+	/**
+	 * Checks if the given document is an ASiC container with CAdES signatures
+	 * 
+	 * @param dssDocument
+	 *                    the document to be checked
+	 * @param preamble
+	 *                    the first bytes of the document
+	 * @return true if the document is supported
+	 */
+	static boolean isASiCWithCAdES(DSSDocument dssDocument, byte[] preamble) {
+		return ASiCUtils.isZipPreamble(preamble) && (ASiCUtils.isArchiveContainsCorrectSignatureFileWithExtension(dssDocument, ".p7s")
+				|| ASiCUtils.isArchiveContainsCorrectTimestamp(dssDocument));
 	}
 
 	@Override
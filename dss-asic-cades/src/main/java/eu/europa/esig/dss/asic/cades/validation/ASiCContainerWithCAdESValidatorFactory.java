@@ -32,6 +32,11 @@ public class ASiCContainerWithCAdESValidatorFactory implements DocumentValidator
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return ASiCContainerWithCAdESValidator.isASiCWithCAdES(document, preamble);
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new ASiCContainerWithCAdESValidator(document);
@@ -183,6 +183,17 @@ public final class ASiCUtils {
 		return false;
 	}
 
+	/**
+	 * Checks if the given first bytes of a document correspond to a ZIP archive
+	 * 
+	 * @param preamble
+	 *                 the first bytes of the document
+	 * @return true if the preamble is a ZIP preamble
+	 */
+	public static boolean isZipPreamble(byte[] preamble) {
+		return preamble != null && preamble.length >= 2 && (preamble[0] == 'P') && (preamble[1] == 'K');
+	}
+
 	public static boolean isZip(DSSDocument dssDocument) {
 		if (dssDocument == null) {
 			return false;
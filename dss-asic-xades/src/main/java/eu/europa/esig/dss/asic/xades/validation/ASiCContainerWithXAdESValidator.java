@@ -22,6 +22,7 @@ package eu.europa.esig.dss.asic.xades.validation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import eu.europa.esig.dss.asic.common.ASiCUtils;
 import eu.europa.esig.dss.asic.common.AbstractASiCContainerExtractor;
@@ -30,6 +31,7 @@ import eu.europa.esig.dss.asic.xades.ASiCWithXAdESContainerExtractor;
 import eu.europa.esig.dss.asic.xades.OpenDocumentSupportUtils;
 import eu.europa.esig.dss.enumerations.ASiCContainerType;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.DocumentValidator;
@@ -43,6 +45,8 @@ import eu.europa.esig.dss.xades.validation.XAdESSignature;
  */
 public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValidator {
 
+	private ExecutorService executorService;
+
 	ASiCContainerWithXAdESValidator() {
 		super(null);
 	}
@@ -52,9 +56,35 @@ public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValida
 		analyseEntries();
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to digest the
+	 * signed files of the container in parallel. The reference validations keep
+	 * the order of the references.
+	 * (default: null, the references are verified sequentially)
+	 * 
+	 * @param executorService
+	 *                        the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	@Override
 	public boolean isSupported(DSSDocument dssDocument) {
-		return ASiCUtils.isZip(dssDocument) && ASiCUtils.isArchiveContainsCorrectSignatureFileWithExtension(dssDocument, ".xml");
+		return dssDocument != null && isASiCWithXAdES(dssDocument, DSSUtils.readFirstBytes(dssDocument, 2));
+	}
+
+	/**
+	 * Checks if the given document is an ASiC container with XAdES signatures
+	 * 
+	 * @param dssDocument
+	 *                    the document to be checked
+	 * @param preamble
+	 *                    the first bytes of the document
+	 * @return true if the document is supported
+	 */
+	static boolean isASiCWithXAdES(DSSDocument dssDocument, byte[] preamble) {
+		return ASiCUtils.isZipPreamble(preamble) && ASiCUtils.isArchiveContainsCorrectSignatureFileWithExtension(dssDocument, ".xml");
 	}
 
 	@Override
@@ -72,6 +102,7 @@ public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValida
 				xadesValidator.setCertificateVerifier(certificateVerifier);
 				xadesValidator.setProcessExecutor(processExecutor);
 				xadesValidator.setSignaturePolicyProvider(getSignaturePolicyProvider());
+				xadesValidator.setExecutorService(executorService);
 
 				if (ASiCUtils.isOpenDocument(getMimeTypeDocument())) {
 					xadesValidator.setDetachedContents(OpenDocumentSupportUtils.getOpenDocumentCoverage(extractResult));
@@ -32,6 +32,11 @@ public class ASiCContainerWithXAdESValidatorFactory implements DocumentValidator
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return ASiCContainerWithXAdESValidator.isASiCWithXAdES(document, preamble);
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new ASiCContainerWithXAdESValidator(document);
@@ -0,0 +1,98 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.xades.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDigestMatcher;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+
+public class ASiCWithXAdESParallelReferencesTest {
+
+	private ExecutorService executorService;
+
+	@BeforeEach
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void multifilesOk() {
+		List<String> sequential = getDigestMatchers("src/test/resources/validation/multifiles-ok.asice", null);
+		List<String> parallel = getDigestMatchers("src/test/resources/validation/multifiles-ok.asice", executorService);
+		assertEquals(sequential, parallel);
+		assertFalse(parallel.stream().anyMatch(m -> m.endsWith("false")));
+	}
+
+	@Test
+	public void openDocument() {
+		List<String> sequential = getDigestMatchers("src/test/resources/validation/libreoffice.odt", null);
+		List<String> parallel = getDigestMatchers("src/test/resources/validation/libreoffice.odt", executorService);
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void multifilesWrongFile() {
+		List<String> sequential = getDigestMatchers("src/test/resources/validation/multifiles-wrong-file.asice", null);
+		List<String> parallel = getDigestMatchers("src/test/resources/validation/multifiles-wrong-file.asice", executorService);
+		assertEquals(sequential, parallel);
+		assertTrue(parallel.stream().anyMatch(m -> m.endsWith("false")));
+	}
+
+	private List<String> getDigestMatchers(String path, ExecutorService executorService) {
+		ASiCContainerWithXAdESValidator validator = new ASiCContainerWithXAdESValidator(new FileDocument(path));
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		validator.setExecutorService(executorService);
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+
+		List<String> result = new ArrayList<>();
+		for (SignatureWrapper signature : diagnosticData.getSignatures()) {
+			for (XmlDigestMatcher digestMatcher : signature.getDigestMatchers()) {
+				if (DigestMatcherType.REFERENCE.equals(digestMatcher.getType())) {
+					result.add(digestMatcher.getName() + "-" + digestMatcher.isDataFound() + "-" + digestMatcher.isDataIntact());
+				}
+			}
+		}
+		assertFalse(result.isEmpty());
+		return result;
+	}
+
+}
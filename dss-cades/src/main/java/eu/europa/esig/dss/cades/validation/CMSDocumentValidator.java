@@ -88,13 +88,46 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 		this.cmsSignedData = DSSUtils.toCMSSignedData(document);
 	}
 
+	/**
+	 * Constructor with the already parsed CMS signed data of the document
+	 *
+	 * @param document
+	 *            document to validate (with the signature(s))
+	 * @param cmsSignedData
+	 *            the parsed content of the document
+	 */
+	CMSDocumentValidator(final DSSDocument document, final CMSSignedData cmsSignedData) {
+		this();
+		this.document = document;
+		this.cmsSignedData = cmsSignedData;
+	}
+
 	@Override
 	public boolean isSupported(DSSDocument dssDocument) {
-		byte firstByte = DSSUtils.readFirstByte(dssDocument);
-		if (DSSASN1Utils.isASN1SequenceTag(firstByte)) {
-			return !DSSUtils.isTimestampToken(dssDocument);
+		return toCMSSignedData(dssDocument, DSSUtils.readFirstBytes(dssDocument, 1)) != null;
+	}
+
+	/**
+	 * Parses the given document if it is a CMS signature (and not a timestamp)
+	 * 
+	 * @param dssDocument
+	 *                    the document to be parsed
+	 * @param preamble
+	 *                    the first bytes of the document
+	 * @return the {@link CMSSignedData} or null if the document is not supported
+	 */
+	static CMSSignedData toCMSSignedData(DSSDocument dssDocument, byte[] preamble) {
+		if (preamble.length > 0 && DSSASN1Utils.isASN1SequenceTag(preamble[0])) {
+			try {
+				CMSSignedData parsed = DSSUtils.toCMSSignedData(dssDocument);
+				if (!DSSUtils.isTimestampToken(parsed)) {
+					return parsed;
+				}
+			} catch (DSSException e) {
+				LOG.debug("Not a CMS signature : {}", e.getMessage());
+			}
 		}
-		return false;
+		return null;
 	}
 
 	@Override
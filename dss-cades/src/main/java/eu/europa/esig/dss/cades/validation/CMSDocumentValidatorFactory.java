@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.cades.validation;
 
+import org.bouncycastle.cms.CMSSignedData;
+
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.validation.DocumentValidatorFactory;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -32,6 +34,17 @@ public class CMSDocumentValidatorFactory implements DocumentValidatorFactory {
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return CMSDocumentValidator.toCMSSignedData(document, preamble) != null;
+	}
+
+	@Override
+	public SignedDocumentValidator createIfSupported(DSSDocument document, byte[] preamble) {
+		CMSSignedData cmsSignedData = CMSDocumentValidator.toCMSSignedData(document, preamble);
+		return cmsSignedData != null ? new CMSDocumentValidator(document, cmsSignedData) : null;
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new CMSDocumentValidator(document);
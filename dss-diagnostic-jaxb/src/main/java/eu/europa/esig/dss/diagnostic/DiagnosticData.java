@@ -22,9 +22,11 @@ package eu.europa.esig.dss.diagnostic;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
@@ -58,6 +60,15 @@ public class DiagnosticData {
 	private List<SignatureWrapper> foundSignatures;
 	private List<CertificateWrapper> usedCertificates;
 	private List<TimestampWrapper> usedTimestamps;
+	private List<RevocationWrapper> usedRevocations;
+
+	/*
+	 * Lazily built id indexes, the maps are completely filled before being published
+	 */
+	private volatile Map<String, SignatureWrapper> signaturesById;
+	private volatile Map<String, CertificateWrapper> certificatesById;
+	private volatile Map<String, TimestampWrapper> timestampsById;
+	private volatile Map<String, RevocationWrapper> revocationsById;
 
 	public DiagnosticData(final XmlDiagnosticData wrapped) {
 		this.wrapped = wrapped;
@@ -555,25 +566,18 @@ public class DiagnosticData {
 	 * @return a signature wrapper or null
 	 */
 	public SignatureWrapper getSignatureById(String id) {
-		List<SignatureWrapper> signatures = getSignatures();
-		if (signatures != null) {
-			for (SignatureWrapper xmlSignature : signatures) {
-				if (id.equals(xmlSignature.getId())) {
-					return xmlSignature;
-				}
-			}
+		Map<String, SignatureWrapper> index = signaturesById;
+		if (index == null) {
+			index = buildIndex(getSignatures());
+			signaturesById = index;
 		}
-		return null;
+		return index.get(id);
 	}
 
 	private SignatureWrapper getSignatureByIdNullSafe(String id) {
-		List<SignatureWrapper> signatures = getSignatures();
-		if (signatures != null) {
-			for (SignatureWrapper xmlSignature : signatures) {
-				if (id.equals(xmlSignature.getId())) {
-					return xmlSignature;
-				}
-			}
+		SignatureWrapper signature = getSignatureById(id);
+		if (signature != null) {
+			return signature;
 		}
 		return new SignatureWrapper(new XmlSignature()); // TODO improve ?
 	}
@@ -594,13 +598,12 @@ public class DiagnosticData {
 	 * @return timestamp wrapper or null
 	 */
 	public TimestampWrapper getTimestampById(String id) {
-		Set<TimestampWrapper> allTimestamps = getTimestampSet();
-		for (TimestampWrapper timestampWrapper : allTimestamps) {
-			if (id.equals(timestampWrapper.getId())) {
-				return timestampWrapper;
-			}
+		Map<String, TimestampWrapper> index = timestampsById;
+		if (index == null) {
+			index = buildIndex(getTimestampList());
+			timestampsById = index;
 		}
-		return null;
+		return index.get(id);
 	}
 
 	/**
@@ -626,15 +629,25 @@ public class DiagnosticData {
 	 * @return a certificate wrapper or null
 	 */
 	public CertificateWrapper getUsedCertificateById(String id) {
-		List<CertificateWrapper> certificates = getUsedCertificates();
-		if (certificates != null) {
-			for (CertificateWrapper certificate : certificates) {
-				if (id.equals(certificate.getId())) {
-					return certificate;
-				}
+		Map<String, CertificateWrapper> index = certificatesById;
+		if (index == null) {
+			index = buildIndex(getUsedCertificates());
+			certificatesById = index;
+		}
+		return index.get(id);
+	}
+
+	/**
+	 * Builds an id index of the given tokens (the first token is kept for a duplicate id)
+	 */
+	private <T extends AbstractTokenProxy> Map<String, T> buildIndex(List<T> tokens) {
+		Map<String, T> index = new HashMap<>();
+		for (T token : tokens) {
+			if (token.getId() != null) {
+				index.putIfAbsent(token.getId(), token);
 			}
 		}
-		return null;
+		return index;
 	}
 	
 	/**
@@ -796,11 +809,18 @@ public class DiagnosticData {
 	 * @return a set of revocation data
 	 */
 	public Set<RevocationWrapper> getAllRevocationData() {
-		Set<RevocationWrapper> revocationData = new HashSet<>();
-		for (XmlRevocation xmlRevocation : wrapped.getUsedRevocations()) {
-			revocationData.add(new RevocationWrapper(xmlRevocation));
+		return new HashSet<>(getUsedRevocations());
+	}
+
+	private List<RevocationWrapper> getUsedRevocations() {
+		if (usedRevocations == null) {
+			List<RevocationWrapper> revocations = new ArrayList<>();
+			for (XmlRevocation xmlRevocation : wrapped.getUsedRevocations()) {
+				revocations.add(new RevocationWrapper(xmlRevocation));
+			}
+			usedRevocations = revocations;
 		}
-		return revocationData;
+		return usedRevocations;
 	}
 	
 	/**
@@ -826,12 +846,12 @@ public class DiagnosticData {
 	 * @return {@link RevocationWrapper}
 	 */
 	public RevocationWrapper getRevocationById(String id) {
-		for (RevocationWrapper revocationWrapper : getAllRevocationData()) {
-			if (id.equals(revocationWrapper.getId())) {
-				return revocationWrapper;
-			}
+		Map<String, RevocationWrapper> index = revocationsById;
+		if (index == null) {
+			index = buildIndex(getUsedRevocations());
+			revocationsById = index;
 		}
-		return null;
+		return index.get(id);
 	}
 	
 	/**
@@ -45,9 +45,9 @@ public final class DiagnosticDataXmlDefiner {
 	public static final ObjectFactory OBJECT_FACTORY = new ObjectFactory();
 
 	// Thread-safe
-	private static JAXBContext jc;
+	private static volatile JAXBContext jc;
 	// Thread-safe
-	private static Schema schema;
+	private static volatile Schema schema;
 
 	public static JAXBContext getJAXBContext() throws JAXBException {
 		if (jc == null) {
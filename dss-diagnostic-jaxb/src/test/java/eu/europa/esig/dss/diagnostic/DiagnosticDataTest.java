@@ -0,0 +1,101 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.diagnostic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlRevocation;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlSignature;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlTimestamp;
+
+public class DiagnosticDataTest {
+
+	@Test
+	public void getByIdTest() {
+		XmlDiagnosticData xmlDiagnosticData = new XmlDiagnosticData();
+		for (int i = 0; i < 100; i++) {
+			XmlCertificate certificate = new XmlCertificate();
+			certificate.setId("C-" + i);
+			xmlDiagnosticData.getUsedCertificates().add(certificate);
+
+			XmlSignature signature = new XmlSignature();
+			signature.setId("S-" + i);
+			xmlDiagnosticData.getSignatures().add(signature);
+
+			XmlTimestamp timestamp = new XmlTimestamp();
+			timestamp.setId("T-" + i);
+			xmlDiagnosticData.getUsedTimestamps().add(timestamp);
+
+			XmlRevocation revocation = new XmlRevocation();
+			revocation.setId("R-" + i);
+			xmlDiagnosticData.getUsedRevocations().add(revocation);
+		}
+
+		DiagnosticData diagnosticData = new DiagnosticData(xmlDiagnosticData);
+
+		CertificateWrapper certificate = diagnosticData.getUsedCertificateById("C-42");
+		assertNotNull(certificate);
+		assertEquals("C-42", certificate.getId());
+		assertSame(certificate, diagnosticData.getUsedCertificateById("C-42"));
+		assertSame(diagnosticData.getUsedCertificates().get(42), certificate);
+
+		SignatureWrapper signature = diagnosticData.getSignatureById("S-7");
+		assertNotNull(signature);
+		assertSame(diagnosticData.getSignatures().get(7), signature);
+
+		TimestampWrapper timestamp = diagnosticData.getTimestampById("T-99");
+		assertNotNull(timestamp);
+		assertSame(diagnosticData.getTimestampList().get(99), timestamp);
+
+		RevocationWrapper revocation = diagnosticData.getRevocationById("R-0");
+		assertNotNull(revocation);
+		assertEquals("R-0", revocation.getId());
+		assertSame(revocation, diagnosticData.getRevocationById("R-0"));
+		assertEquals(100, diagnosticData.getAllRevocationData().size());
+
+		assertNull(diagnosticData.getUsedCertificateById("C-100"));
+		assertNull(diagnosticData.getSignatureById("T-1"));
+		assertNull(diagnosticData.getTimestampById("S-1"));
+		assertNull(diagnosticData.getRevocationById("unknown"));
+	}
+
+	@Test
+	public void duplicateIdTest() {
+		XmlDiagnosticData xmlDiagnosticData = new XmlDiagnosticData();
+		XmlCertificate first = new XmlCertificate();
+		first.setId("C-1");
+		xmlDiagnosticData.getUsedCertificates().add(first);
+		XmlCertificate second = new XmlCertificate();
+		second.setId("C-1");
+		xmlDiagnosticData.getUsedCertificates().add(second);
+
+		DiagnosticData diagnosticData = new DiagnosticData(xmlDiagnosticData);
+		assertSame(diagnosticData.getUsedCertificates().get(0), diagnosticData.getUsedCertificateById("C-1"));
+	}
+
+}
@@ -31,14 +31,17 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.XMLConstants;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
@@ -94,6 +97,22 @@ public final class DomUtils {
 
 	private static final Map<String, String> namespaces;
 
+	// The maximum number of compiled XPath expressions kept per thread
+	private static final int XPATH_CACHE_SIZE = 256;
+
+	// Incremented on each namespace registration, the compiled expressions depend on the prefixes
+	private static final AtomicInteger namespacesVersion = new AtomicInteger();
+
+	// XPathExpression is not thread-safe, the compiled expressions are cached per thread
+	private static final ThreadLocal<XPathExpressionCache> xPathExpressionCache = ThreadLocal.withInitial(XPathExpressionCache::new);
+
+	// Incremented on each feature change, the DocumentBuilders created before need to be replaced
+	private static final AtomicInteger dbFactoryVersion = new AtomicInteger();
+
+	// DocumentBuilder and DatatypeFactory are not thread-safe, an instance is reused per thread
+	private static final ThreadLocal<VersionedDocumentBuilder> documentBuilders = new ThreadLocal<>();
+	private static final ThreadLocal<DatatypeFactory> datatypeFactories = new ThreadLocal<>();
+
 	static {
 		namespacePrefixMapper = new NamespaceContextMap();
 		namespaces = new HashMap<>();
@@ -150,6 +169,45 @@ public final class DomUtils {
 
 	private static void setFeature(String property, boolean enable) throws ParserConfigurationException {
 		dbFactory.setFeature(property, enable);
+		dbFactoryVersion.incrementAndGet();
+	}
+
+	/**
+	 * Returns the DocumentBuilder of the current thread, reset to its initial
+	 * configuration
+	 * 
+	 * @return {@link DocumentBuilder}
+	 * @throws ParserConfigurationException
+	 *                                      if the DocumentBuilder cannot be
+	 *                                      created
+	 */
+	private static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+		final int version = dbFactoryVersion.get();
+		VersionedDocumentBuilder versionedDocumentBuilder = documentBuilders.get();
+		if (versionedDocumentBuilder == null || versionedDocumentBuilder.version != version) {
+			versionedDocumentBuilder = new VersionedDocumentBuilder(dbFactory.newDocumentBuilder(), version);
+			documentBuilders.set(versionedDocumentBuilder);
+		} else {
+			versionedDocumentBuilder.documentBuilder.reset();
+		}
+		return versionedDocumentBuilder.documentBuilder;
+	}
+
+	/**
+	 * Returns the DatatypeFactory of the current thread
+	 * 
+	 * @return {@link DatatypeFactory}
+	 * @throws DatatypeConfigurationException
+	 *                                        if the DatatypeFactory cannot be
+	 *                                        created
+	 */
+	private static DatatypeFactory getDatatypeFactory() throws DatatypeConfigurationException {
+		DatatypeFactory datatypeFactory = datatypeFactories.get();
+		if (datatypeFactory == null) {
+			datatypeFactory = DatatypeFactory.newInstance();
+			datatypeFactories.set(datatypeFactory);
+		}
+		return datatypeFactory;
 	}
 
 	/**
@@ -162,6 +220,7 @@ public final class DomUtils {
 	public static boolean registerNamespace(final DSSNamespace namespace) {
 		final String put = namespaces.put(namespace.getPrefix(), namespace.getUri());
 		namespacePrefixMapper.registerNamespace(namespace.getPrefix(), namespace.getUri());
+		namespacesVersion.incrementAndGet();
 		return put == null;
 	}
 
@@ -208,7 +267,7 @@ public final class DomUtils {
 	 */
 	public static Document buildDOM() {
 		try {
-			return dbFactory.newDocumentBuilder().newDocument();
+			return getDocumentBuilder().newDocument();
 		} catch (ParserConfigurationException e) {
 			throw new DSSException(e);
 		}
@@ -277,7 +336,7 @@ public final class DomUtils {
 	 */
 	public static Document buildDOM(final InputStream inputStream) {
 		try (InputStream is = inputStream) {
-			return dbFactory.newDocumentBuilder().parse(is);
+			return getDocumentBuilder().parse(is);
 		} catch (Exception e) {
 			throw new DSSException("Unable to parse content (XML expected)", e);
 		}
@@ -342,6 +401,19 @@ public final class DomUtils {
 		}
 	}
 
+	/**
+	 * Returns the compiled XPathExpression for the given xpath expression from
+	 * the cache of the current thread. The returned instance must not be shared
+	 * with other threads.
+	 * 
+	 * @param xpathString
+	 *                    XPath query string
+	 * @return the cached {@code XPathExpression} for the given xpathString
+	 */
+	private static XPathExpression getXPathExpression(final String xpathString) {
+		return xPathExpressionCache.get().getXPathExpression(xpathString);
+	}
+
 	/**
 	 * Returns the String value of the corresponding to the XPath query.
 	 *
@@ -353,7 +425,7 @@ public final class DomUtils {
 	 */
 	public static String getValue(final Node xmlNode, final String xPathString) {
 		try {
-			final XPathExpression xPathExpression = createXPathExpression(xPathString);
+			final XPathExpression xPathExpression = getXPathExpression(xPathString);
 			final String string = (String) xPathExpression.evaluate(xmlNode, XPathConstants.STRING);
 			return string.trim();
 		} catch (XPathExpressionException e) {
@@ -372,7 +444,7 @@ public final class DomUtils {
 	 */
 	public static NodeList getNodeList(final Node xmlNode, final String xPathString) {
 		try {
-			final XPathExpression expr = createXPathExpression(xPathString);
+			final XPathExpression expr = getXPathExpression(xPathString);
 			return (NodeList) expr.evaluate(xmlNode, XPathConstants.NODESET);
 		} catch (XPathExpressionException e) {
 			throw new DSSException(e);
@@ -479,7 +551,7 @@ public final class DomUtils {
 		calendar.setTime(date);
 		try {
 
-			XMLGregorianCalendar xmlGregorianCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar);
+			XMLGregorianCalendar xmlGregorianCalendar = getDatatypeFactory().newXMLGregorianCalendar(calendar);
 			xmlGregorianCalendar.setFractionalSecond(null);
 			return xmlGregorianCalendar.normalize(); // to UTC = Zulu
 		} catch (DatatypeConfigurationException e) {
@@ -497,7 +569,7 @@ public final class DomUtils {
 	 */
 	public static Date getDate(final String text) {
 		try {
-			final DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+			final DatatypeFactory datatypeFactory = getDatatypeFactory();
 			final XMLGregorianCalendar xmlGregorianCalendar = datatypeFactory.newXMLGregorianCalendar(text);
 			return xmlGregorianCalendar.toGregorianCalendar().getTime();
 		} catch (Exception e) {
@@ -674,4 +746,47 @@ public final class DomUtils {
 		element.setAttribute(namespaceAttribute.toString(), namespace.getUri());
 	}
 
+	private static final class VersionedDocumentBuilder {
+
+		private final DocumentBuilder documentBuilder;
+
+		private final int version;
+
+		private VersionedDocumentBuilder(final DocumentBuilder documentBuilder, final int version) {
+			this.documentBuilder = documentBuilder;
+			this.version = version;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static final class XPathExpressionCache extends LinkedHashMap<String, XPathExpression> {
+
+		private int version = namespacesVersion.get();
+
+		private XPathExpressionCache() {
+			super(16, 0.75f, true);
+		}
+
+		private XPathExpression getXPathExpression(final String xpathString) {
+			int currentVersion = namespacesVersion.get();
+			if (version != currentVersion) {
+				clear();
+				version = currentVersion;
+			}
+			XPathExpression expression = get(xpathString);
+			if (expression == null) {
+				expression = createXPathExpression(xpathString);
+				put(xpathString, expression);
+			}
+			return expression;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+			return size() > XPATH_CACHE_SIZE;
+		}
+
+	}
+
 }
@@ -28,7 +28,6 @@ import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.policy.ValidationPolicy;
-import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.validation.executor.certificate.CertificateProcessExecutor;
 import eu.europa.esig.dss.validation.executor.certificate.DefaultCertificateProcessExecutor;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
@@ -78,7 +77,7 @@ public class CertificateValidator implements ProcessExecutorProvider<Certificate
 	public CertificateReports validate() {
 		ValidationPolicy defaultPolicy = null;
 		try {
-			defaultPolicy = ValidationPolicyFacade.newFacade().getDefaultValidationPolicy();
+			defaultPolicy = ValidationPolicyCache.getDefaultValidationPolicy();
 		} catch (Exception e) {
 			throw new DSSException("Unable to load the default policy", e);
 		}
@@ -35,6 +35,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -160,6 +166,8 @@ public class DiagnosticDataBuilder {
 	
 	private DigestAlgorithm defaultDigestAlgorithm = DigestAlgorithm.SHA256;
 
+	private ExecutorService executorService;
+
 	private Map<String, XmlCertificate> xmlCertsMap = new HashMap<>();
 	private Map<String, XmlRevocation> xmlRevocationsMap = new HashMap<>();
 	private Map<String, XmlSignature> xmlSignaturesMap = new HashMap<>();
@@ -174,6 +182,11 @@ public class DiagnosticDataBuilder {
 	// A map between {@link RevocationToken}'s id and its revocation refs
 	private Map<String, List<RevocationRef>> revocationRefsMap = new HashMap<>();
 
+	// A map between a public key and the used certificate to be returned for it (trusted ones first)
+	private Map<PublicKey, CertificateToken> certificatesByPublicKeyMap;
+	// A map between a public key and its size, shared between all tokens signed with the same key
+	private Map<PublicKey, Integer> publicKeySizesMap = new ConcurrentHashMap<>();
+
 	/**
 	 * This method allows to set the document which is analysed
 	 * 
@@ -355,6 +368,21 @@ public class DiagnosticDataBuilder {
 		return this;
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to build the
+	 * certificates, revocation data and timestamps in parallel. The tokens are
+	 * still returned in the same order as with the sequential execution.
+	 * (default: null, the tokens are built sequentially)
+	 * 
+	 * @param executorService
+	 *                        the {@link ExecutorService} to use
+	 * @return the builder
+	 */
+	public DiagnosticDataBuilder executorService(ExecutorService executorService) {
+		this.executorService = executorService;
+		return this;
+	}
+
 	public XmlDiagnosticData build() {
 		
 		XmlDiagnosticData diagnosticData = new XmlDiagnosticData();
@@ -364,6 +392,8 @@ public class DiagnosticDataBuilder {
 		diagnosticData.setValidationDate(validationDate);
 		diagnosticData.setContainerInfo(getXmlContainerInfo());
 
+		indexCertificatesByPublicKey(usedCertificates);
+
 		Collection<XmlCertificate> xmlCertificates = buildXmlCertificates(usedCertificates);
 		diagnosticData.getUsedCertificates().addAll(xmlCertificates);
 		linkSigningCertificateAndChains(usedCertificates);
@@ -421,23 +451,66 @@ public class DiagnosticDataBuilder {
 		}
 	}
 
+	private void indexCertificatesByPublicKey(Set<CertificateToken> certificates) {
+		certificatesByPublicKeyMap = new HashMap<>();
+		if (Utils.isCollectionNotEmpty(certificates)) {
+			for (CertificateToken certificateToken : certificates) {
+				// computes the lazy value before the tokens can be shared between threads
+				certificateToken.isSelfSigned();
+				PublicKey publicKey = certificateToken.getPublicKey();
+				CertificateToken found = certificatesByPublicKeyMap.get(publicKey);
+				if (found == null || (!isTrusted(found) && isTrusted(certificateToken))) {
+					certificatesByPublicKeyMap.put(publicKey, certificateToken);
+				}
+			}
+		}
+	}
+
 	private Collection<XmlCertificate> buildXmlCertificates(Set<CertificateToken> certificates) {
 		List<XmlCertificate> builtCertificates = new ArrayList<>();
 		if (Utils.isCollectionNotEmpty(certificates)) {
 			List<CertificateToken> tokens = new ArrayList<>(certificates);
 			Collections.sort(tokens, new TokenComparator());
-			for (CertificateToken certificateToken : tokens) {
-				String id = certificateToken.getDSSIdAsString();
-				XmlCertificate xmlCertificate = xmlCertsMap.get(id);
-				if (xmlCertificate == null) {
-					xmlCertificate = buildDetachedXmlCertificate(certificateToken);
-					xmlCertsMap.put(id, xmlCertificate);
-				}
-				builtCertificates.add(xmlCertificate);
+			builtCertificates = build(tokens, this::buildDetachedXmlCertificate);
+			for (XmlCertificate xmlCertificate : builtCertificates) {
+				xmlCertsMap.put(xmlCertificate.getId(), xmlCertificate);
 			}
 		}
 		return builtCertificates;
 	}
+
+	/**
+	 * Builds the detached JAXB objects for the given tokens, in parallel when an
+	 * {@link ExecutorService} is defined. The returned list keeps the order of the
+	 * tokens.
+	 */
+	private <T extends Token, R> List<R> build(List<T> tokens, Function<T, R> builder) {
+		List<R> result = new ArrayList<>();
+		if (executorService == null || tokens.size() < 2) {
+			for (T token : tokens) {
+				result.add(builder.apply(token));
+			}
+			return result;
+		}
+		List<Callable<R>> tasks = new ArrayList<>();
+		for (T token : tokens) {
+			tasks.add(() -> builder.apply(token));
+		}
+		try {
+			for (Future<R> future : executorService.invokeAll(tasks)) {
+				result.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The diagnostic data building has been interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DSSException("Unable to build the diagnostic data", e.getCause());
+		}
+		return result;
+	}
 	
 	private void linkSigningCertificateAndChains(Set<CertificateToken> certificates) {
 		if (Utils.isCollectionNotEmpty(certificates)) {
@@ -463,20 +536,17 @@ public class DiagnosticDataBuilder {
 		if (Utils.isCollectionNotEmpty(revocations)) {
 			List<RevocationToken> tokens = new ArrayList<>(revocations);
 			Collections.sort(tokens, new TokenComparator());
-			List<String> uniqueIds = new ArrayList<>(); // CRL can contain multiple entries
+			Set<String> uniqueIds = new HashSet<>(); // CRL can contain multiple entries
+			List<RevocationToken> tokensToBuild = new ArrayList<>();
 			for (RevocationToken revocationToken : tokens) {
 				String id = revocationToken.getDSSIdAsString();
-				if (uniqueIds.contains(id)) {
-					continue;
+				if (uniqueIds.add(id) && !xmlRevocationsMap.containsKey(id)) {
+					tokensToBuild.add(revocationToken);
 				}
-				XmlRevocation xmlRevocation = xmlRevocationsMap.get(id);
-				if (xmlRevocation == null) {
-					xmlRevocation = buildDetachedXmlRevocation(revocationToken);
-					xmlRevocation.setSigningCertificate(getXmlSigningCertificate(revocationToken.getPublicKeyOfTheSigner()));
-					xmlRevocationsMap.put(id, xmlRevocation);
-					builtRevocations.add(xmlRevocation);
-				}
-				uniqueIds.add(id);
+			}
+			builtRevocations = build(tokensToBuild, this::buildDetachedXmlRevocation);
+			for (XmlRevocation xmlRevocation : builtRevocations) {
+				xmlRevocationsMap.put(xmlRevocation.getId(), xmlRevocation);
 			}
 		}
 		return builtRevocations;
@@ -853,14 +923,9 @@ public class DiagnosticDataBuilder {
 		if (Utils.isCollectionNotEmpty(timestamps)) {
 			List<TimestampToken> tokens = new ArrayList<>(timestamps);
 			Collections.sort(tokens, new TokenComparator());
-			for (TimestampToken timestampToken : tokens) {
-				String id = timestampToken.getDSSIdAsString();
-				XmlTimestamp xmlTimestamp = xmlTimestampsMap.get(id);
-				if (xmlTimestamp == null) {
-					xmlTimestamp = buildDetachedXmlTimestamp(timestampToken);
-					xmlTimestampsMap.put(id, xmlTimestamp);
-				}
-				xmlTimestampsList.add(xmlTimestamp);
+			xmlTimestampsList = build(tokens, this::buildDetachedXmlTimestamp);
+			for (XmlTimestamp xmlTimestamp : xmlTimestampsList) {
+				xmlTimestampsMap.put(xmlTimestamp.getId(), xmlTimestamp);
 			}
 		}
 		return xmlTimestampsList;
@@ -898,7 +963,7 @@ public class DiagnosticDataBuilder {
 		xmlRevocation.setCertHashExtensionMatch(revocationToken.isCertHashMatch());
 
 		if (includeRawRevocationData) {
-			xmlRevocation.setBase64Encoded(revocationToken.getEncoded());
+			xmlRevocation.setBase64Encoded(revocationToken.getDSSId().getBinaries());
 		} else {
 			byte[] revocationDigest = revocationToken.getDigest(defaultDigestAlgorithm);
 			xmlRevocation.setDigestAlgoAndValue(getXmlDigestAlgoAndValue(defaultDigestAlgorithm, revocationDigest));
@@ -974,21 +1039,7 @@ public class DiagnosticDataBuilder {
 		if (certPubKey == null) {
 			return null;
 		}
-
-		List<CertificateToken> founds = new ArrayList<>();
-		for (CertificateToken cert : usedCertificates) {
-			if (certPubKey.equals(cert.getPublicKey())) {
-				founds.add(cert);
-				if (isTrusted(cert)) {
-					return cert;
-				}
-			}
-		}
-
-		if (Utils.isCollectionNotEmpty(founds)) {
-			return founds.iterator().next();
-		}
-		return null;
+		return certificatesByPublicKeyMap.get(certPubKey);
 	}
 	
 	private XmlSigningCertificate getXmlSigningCertificate(final SignerInfo signerInfo) {
@@ -1540,7 +1591,7 @@ public class DiagnosticDataBuilder {
 		xmlTimestampToken.setCertificateChain(getXmlForCertificateChain(timestampToken.getPublicKeyOfTheSigner()));
 
 		if (includeRawTimestampTokens) {
-			xmlTimestampToken.setBase64Encoded(timestampToken.getEncoded());
+			xmlTimestampToken.setBase64Encoded(timestampToken.getDSSId().getBinaries());
 		} else {
 			byte[] certDigest = timestampToken.getDigest(defaultDigestAlgorithm);
 			xmlTimestampToken.setDigestAlgoAndValue(getXmlDigestAlgoAndValue(defaultDigestAlgorithm, certDigest));
@@ -1701,7 +1752,7 @@ public class DiagnosticDataBuilder {
 			xmlBasicSignatureType.setDigestAlgoUsedToSignThisToken(signatureAlgorithm.getDigestAlgorithm());
 			xmlBasicSignatureType.setMaskGenerationFunctionUsedToSignThisToken(signatureAlgorithm.getMaskGenerationFunction());
 		}
-		xmlBasicSignatureType.setKeyLengthUsedToSignThisToken(DSSPKUtils.getPublicKeySize(token));
+		xmlBasicSignatureType.setKeyLengthUsedToSignThisToken(getPublicKeySize(token));
 
 		SignatureValidity signatureValidity = token.getSignatureValidity();
 		if (SignatureValidity.NOT_EVALUATED != signatureValidity) {
@@ -1712,11 +1763,28 @@ public class DiagnosticDataBuilder {
 		return xmlBasicSignatureType;
 	}
 
+	private String getPublicKeySize(final Token token) {
+		PublicKey issuerPublicKey = null;
+		if (token.getPublicKeyOfTheSigner() != null) {
+			issuerPublicKey = token.getPublicKeyOfTheSigner();
+		} else if (token.isSelfSigned()) {
+			issuerPublicKey = ((CertificateToken) token).getPublicKey();
+		}
+		if (issuerPublicKey != null) {
+			return String.valueOf(getPublicKeySize(issuerPublicKey));
+		}
+		return "?";
+	}
+
+	private int getPublicKeySize(final PublicKey publicKey) {
+		return publicKeySizesMap.computeIfAbsent(publicKey, DSSPKUtils::getPublicKeySize);
+	}
+
 	private XmlBasicSignature getXmlBasicSignature(AdvancedSignature signature, PublicKey signingCertificatePublicKey) {
 		XmlBasicSignature xmlBasicSignature = new XmlBasicSignature();
 		xmlBasicSignature.setEncryptionAlgoUsedToSignThisToken(signature.getEncryptionAlgorithm());
 
-		final int keyLength = signingCertificatePublicKey == null ? 0 : DSSPKUtils.getPublicKeySize(signingCertificatePublicKey);
+		final int keyLength = signingCertificatePublicKey == null ? 0 : getPublicKeySize(signingCertificatePublicKey);
 		xmlBasicSignature.setKeyLengthUsedToSignThisToken(String.valueOf(keyLength));
 		xmlBasicSignature.setDigestAlgoUsedToSignThisToken(signature.getDigestAlgorithm());
 		xmlBasicSignature.setMaskGenerationFunctionUsedToSignThisToken(signature.getMaskGenerationFunction());
@@ -1827,7 +1895,7 @@ public class DiagnosticDataBuilder {
 		xmlCert.setNotAfter(certToken.getNotAfter());
 		xmlCert.setNotBefore(certToken.getNotBefore());
 		final PublicKey publicKey = certToken.getPublicKey();
-		xmlCert.setPublicKeySize(DSSPKUtils.getPublicKeySize(publicKey));
+		xmlCert.setPublicKeySize(getPublicKeySize(publicKey));
 		xmlCert.setPublicKeyEncryptionAlgo(EncryptionAlgorithm.forKey(publicKey));
 
 		xmlCert.setKeyUsageBits(certToken.getKeyUsageBits());
@@ -1845,7 +1913,7 @@ public class DiagnosticDataBuilder {
 		xmlCert.setTrusted(isTrusted(certToken));
 
 		if (includeRawCertificateTokens) {
-			xmlCert.setBase64Encoded(certToken.getEncoded());
+			xmlCert.setBase64Encoded(certToken.getDSSId().getBinaries());
 		} else {
 			byte[] certDigest = certToken.getDigest(defaultDigestAlgorithm);
 			xmlCert.setDigestAlgoAndValue(getXmlDigestAlgoAndValue(defaultDigestAlgorithm, certDigest));
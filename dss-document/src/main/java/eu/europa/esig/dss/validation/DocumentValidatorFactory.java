@@ -38,6 +38,42 @@ public interface DocumentValidatorFactory {
 	 */
 	boolean isSupported(DSSDocument document);
 
+	/**
+	 * This method tests if the current implementation of {@link DocumentValidator}
+	 * supports the given document, knowing its first bytes. The preamble allows to
+	 * reject a document without opening or parsing it.
+	 * 
+	 * @param document
+	 *                 the document to be tested
+	 * @param preamble
+	 *                 the first bytes of the document (at most
+	 *                 {@link SignedDocumentValidator#PREAMBLE_LENGTH}, less if the
+	 *                 document is smaller)
+	 * @return true, if the {@link DocumentValidator} supports the given document
+	 */
+	default boolean isSupported(DSSDocument document, byte[] preamble) {
+		return isSupported(document);
+	}
+
+	/**
+	 * This method instantiates a {@link DocumentValidator} with the given document
+	 * if it is supported. An implementation which parses the document to test it
+	 * can pass the parsed content to the validator instead of parsing it again.
+	 * 
+	 * @param document
+	 *                 the document to be used for the {@link DocumentValidator}
+	 *                 creation
+	 * @param preamble
+	 *                 the first bytes of the document (at most
+	 *                 {@link SignedDocumentValidator#PREAMBLE_LENGTH}, less if the
+	 *                 document is smaller)
+	 * @return an instance of {@link DocumentValidator} with the document, or null
+	 *         if the document is not supported
+	 */
+	default SignedDocumentValidator createIfSupported(DSSDocument document, byte[] preamble) {
+		return isSupported(document, preamble) ? create(document) : null;
+	}
+
 	/**
 	 * This methods instantiates a {@link DocumentValidator} with the given document
 	 * 
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.Security;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -32,6 +33,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import java.util.ServiceLoader;
 
 import org.slf4j.Logger;
@@ -44,15 +46,17 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.TimestampedObjectType;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.policy.EtsiValidationPolicy;
 import eu.europa.esig.dss.policy.ValidationPolicy;
-import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.policy.jaxb.ConstraintsParameters;
 import eu.europa.esig.dss.spi.DSSSecurityProvider;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.CertificatePool;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.cache.DiagnosticDataCache;
 import eu.europa.esig.dss.validation.executor.DocumentProcessExecutor;
 import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
@@ -74,6 +78,16 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SignedDocumentValidator.class);
 
+	/**
+	 * The number of first bytes read to detect the document format
+	 */
+	public static final int PREAMBLE_LENGTH = 8;
+
+	/**
+	 * The loaded {@code DocumentValidatorFactory} implementations
+	 */
+	private static volatile List<DocumentValidatorFactory> documentValidatorFactories;
+
 	static {
 		Security.addProvider(DSSSecurityProvider.getSecurityProvider());
 	}
@@ -144,6 +158,12 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	// Disable certificate chain building, revocation data collection,...
 	private boolean skipValidationContextExecution = false;
 
+	private DiagnosticDataCache diagnosticDataCache;
+
+	private long diagnosticDataCacheTimeWindow = 60 * 60 * 1000L;
+
+	private ExecutorService executorService;
+
 	protected SignedDocumentValidator() {
 		this.signatureScopeFinder = null;
 	}
@@ -170,11 +190,12 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	 */
 	public static SignedDocumentValidator fromDocument(final DSSDocument dssDocument) {
 		Objects.requireNonNull(dssDocument, "DSSDocument is null");
-		ServiceLoader<DocumentValidatorFactory> serviceLoaders = ServiceLoader.load(DocumentValidatorFactory.class);
-		for (DocumentValidatorFactory factory : serviceLoaders) {
+		final byte[] preamble = DSSUtils.readFirstBytes(dssDocument, PREAMBLE_LENGTH);
+		for (DocumentValidatorFactory factory : getDocumentValidatorFactories()) {
 			try {
-				if (factory.isSupported(dssDocument)) {
-					return factory.create(dssDocument);
+				SignedDocumentValidator validator = factory.createIfSupported(dssDocument, preamble);
+				if (validator != null) {
+					return validator;
 				}
 			} catch (Exception e) {
 				LOG.error(String.format("Unable to create a DocumentValidator with the factory '%s'", factory.getClass().getSimpleName()), e);
@@ -183,6 +204,25 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		throw new DSSException("Document format not recognized/handled");
 	}
 
+	/**
+	 * Returns the available {@code DocumentValidatorFactory} implementations. The
+	 * {@code ServiceLoader} is only called once.
+	 * 
+	 * @return the list of {@link DocumentValidatorFactory}
+	 */
+	private static List<DocumentValidatorFactory> getDocumentValidatorFactories() {
+		List<DocumentValidatorFactory> factories = documentValidatorFactories;
+		if (factories == null) {
+			factories = new ArrayList<>();
+			for (DocumentValidatorFactory factory : ServiceLoader.load(DocumentValidatorFactory.class)) {
+				factories.add(factory);
+			}
+			factories = Collections.unmodifiableList(factories);
+			documentValidatorFactories = factories;
+		}
+		return factories;
+	}
+
 	public abstract boolean isSupported(DSSDocument dssDocument);
 
 	@Override
@@ -313,9 +353,9 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		try {
 			if (policyDataStream == null) {
 				LOG.debug("No provided validation policy : use the default policy");
-				validationPolicy = ValidationPolicyFacade.newFacade().getDefaultValidationPolicy();
+				validationPolicy = ValidationPolicyCache.getDefaultValidationPolicy();
 			} else {
-				validationPolicy = ValidationPolicyFacade.newFacade().getValidationPolicy(policyDataStream);
+				validationPolicy = ValidationPolicyCache.getValidationPolicy(policyDataStream);
 			}
 		} catch (Exception e) {
 			throw new DSSException("Unable to load the policy", e);
@@ -352,13 +392,96 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		LOG.info("Document validation...");
 		assertConfigurationValid();
 
-		final ValidationContext validationContext = new SignatureValidationContext(validationCertPool);
-
-		final XmlDiagnosticData diagnosticData = prepareDiagnosticDataBuilder(validationContext).build();
+		final XmlDiagnosticData diagnosticData = getDiagnosticData();
 
 		return processValidationPolicy(diagnosticData, validationPolicy);
 	}
 
+	/**
+	 * Returns the DiagnosticData for the current document. If a
+	 * {@code DiagnosticDataCache} is defined, the cached value is returned when
+	 * present, otherwise the computed DiagnosticData is stored in the cache.
+	 * 
+	 * @return {@link XmlDiagnosticData}
+	 */
+	protected XmlDiagnosticData getDiagnosticData() {
+		if (diagnosticDataCache == null) {
+			return buildDiagnosticData();
+		}
+		final String cacheKey = getDiagnosticDataCacheKey();
+		XmlDiagnosticData diagnosticData = diagnosticDataCache.get(cacheKey);
+		if (diagnosticData != null) {
+			LOG.debug("The cached DiagnosticData '{}' is used", cacheKey);
+			return copyWithValidationDate(diagnosticData);
+		}
+		diagnosticData = buildDiagnosticData();
+		diagnosticDataCache.put(cacheKey, diagnosticData);
+		return diagnosticData;
+	}
+
+	/**
+	 * Returns a shallow copy of the cached DiagnosticData with the current
+	 * validation time (the cached instance is shared and is not modified)
+	 */
+	private XmlDiagnosticData copyWithValidationDate(XmlDiagnosticData cached) {
+		XmlDiagnosticData diagnosticData = new XmlDiagnosticData();
+		diagnosticData.setDocumentName(cached.getDocumentName());
+		diagnosticData.setValidationDate(getValidationTime());
+		diagnosticData.setContainerInfo(cached.getContainerInfo());
+		diagnosticData.setSignatures(cached.getSignatures());
+		diagnosticData.setUsedCertificates(cached.getUsedCertificates());
+		diagnosticData.setUsedRevocations(cached.getUsedRevocations());
+		diagnosticData.setUsedTimestamps(cached.getUsedTimestamps());
+		diagnosticData.setOrphanTokens(cached.getOrphanTokens());
+		diagnosticData.setOriginalDocuments(cached.getOriginalDocuments());
+		diagnosticData.setTrustedLists(cached.getTrustedLists());
+		return diagnosticData;
+	}
+
+	private XmlDiagnosticData buildDiagnosticData() {
+		final ValidationContext validationContext = new SignatureValidationContext(validationCertPool);
+		return prepareDiagnosticDataBuilder(validationContext).build();
+	}
+
+	/**
+	 * Computes the key of the current document in the {@code DiagnosticDataCache}.
+	 * The key is computed from the document name and digest, the detached
+	 * contents names and digests, the configuration having an impact on the
+	 * DiagnosticData content and the validation time window.
+	 * 
+	 * @return the cache key
+	 */
+	protected String getDiagnosticDataCacheKey() {
+		final DigestAlgorithm digestAlgorithm = DigestAlgorithm.SHA256;
+		StringBuilder sb = new StringBuilder();
+		sb.append(document.getName());
+		sb.append('|').append(document.getDigest(digestAlgorithm));
+		if (Utils.isCollectionNotEmpty(detachedContents)) {
+			for (DSSDocument detachedContent : detachedContents) {
+				sb.append('|').append(detachedContent.getName());
+				sb.append('|').append(getDetachedContentDigest(detachedContent, digestAlgorithm));
+			}
+		}
+		if (providedSigningCertificateToken != null) {
+			sb.append('|').append(providedSigningCertificateToken.getDSSIdAsString());
+		}
+		sb.append('|').append(certificateVerifier.getDefaultDigestAlgorithm());
+		sb.append('|').append(certificateVerifier.isIncludeCertificateTokenValues());
+		sb.append('|').append(certificateVerifier.isIncludeCertificateRevocationValues());
+		sb.append('|').append(certificateVerifier.isIncludeTimestampTokenValues());
+		sb.append('|').append(skipValidationContextExecution);
+		sb.append('|').append(getValidationTime().getTime() / diagnosticDataCacheTimeWindow);
+		return Utils.toHex(DSSUtils.digest(digestAlgorithm, sb.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private String getDetachedContentDigest(DSSDocument detachedContent, DigestAlgorithm digestAlgorithm) {
+		if (detachedContent instanceof DigestDocument) {
+			Digest digest = ((DigestDocument) detachedContent).getExistingDigest();
+			return digest.getAlgorithm().name() + ":" + Utils.toBase64(digest.getValue());
+		}
+		return detachedContent.getDigest(digestAlgorithm);
+	}
+
 	/**
 	 * Checks if the Validator configuration is valid
 	 */
@@ -392,7 +515,7 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 				.includeRawRevocationData(certificateVerifier.isIncludeCertificateRevocationValues())
 				.includeRawTimestampTokens(certificateVerifier.isIncludeTimestampTokenValues())
 				.certificateSourceTypes(validationContext.getCertificateSourceTypes()).trustedCertificateSources(certificateVerifier.getTrustedCertSources())
-				.containerInfo(getContainerInfo()).validationDate(getValidationTime());
+				.containerInfo(getContainerInfo()).validationDate(getValidationTime()).executorService(executorService);
 	}
 
 	protected void prepareCertificateVerifier(final Collection<AdvancedSignature> allSignatureList, final Collection<TimestampToken> externalTimestamps) {
@@ -678,6 +801,47 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		this.skipValidationContextExecution = skipValidationContextExecution;
 	}
 
+	/**
+	 * Allows to define a cache for the computed DiagnosticData. On a cache hit,
+	 * only the validation policy is executed.
+	 * 
+	 * Default : null (no cache)
+	 * 
+	 * @param diagnosticDataCache {@link DiagnosticDataCache}
+	 */
+	public void setDiagnosticDataCache(DiagnosticDataCache diagnosticDataCache) {
+		this.diagnosticDataCache = diagnosticDataCache;
+	}
+
+	/**
+	 * Allows to define the duration of the validation time windows in
+	 * milliseconds. Two validations within the same window share the cached
+	 * DiagnosticData (and so the revocation data collected by the first one).
+	 * 
+	 * Default : 3600000 (1 hour)
+	 * 
+	 * @param diagnosticDataCacheTimeWindow the time window in milliseconds
+	 */
+	public void setDiagnosticDataCacheTimeWindow(long diagnosticDataCacheTimeWindow) {
+		if (diagnosticDataCacheTimeWindow <= 0) {
+			throw new IllegalArgumentException("The time window must be positive");
+		}
+		this.diagnosticDataCacheTimeWindow = diagnosticDataCacheTimeWindow;
+	}
+
+	/**
+	 * Allows to define an {@link ExecutorService} used to build the certificates,
+	 * revocation data and timestamps of the DiagnosticData in parallel. The
+	 * executor is not shut down by the validator.
+	 * 
+	 * Default : null (the DiagnosticData is built sequentially)
+	 * 
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	public void setLocale(Locale locale) {
 		this.locale = locale;
 	}
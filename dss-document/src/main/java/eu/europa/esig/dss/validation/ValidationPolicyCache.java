@@ -0,0 +1,180 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+
+import org.xml.sax.SAXException;
+
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.policy.SubContext;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * Cache of the loaded validation policies, keyed by the digest (SHA-256) of the
+ * policy file. Each distinct policy is parsed, validated against the XSD and
+ * initialized only once.
+ * 
+ * The returned {@code ValidationPolicy} instances are shared between all the
+ * validations using the same policy content : they are fully initialized when
+ * they are cached (no lazy modification happens on read) and must be used as
+ * read-only. A policy to be customized must be loaded with the
+ * {@code ValidationPolicyFacade}.
+ */
+public final class ValidationPolicyCache {
+
+	/**
+	 * Maximum number of cached policies (the least recently used policy is
+	 * removed)
+	 */
+	public static final int MAX_CACHED_POLICIES = 100;
+
+	private static final Map<String, ValidationPolicy> CACHE = new LinkedHashMap<String, ValidationPolicy>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 4925226376637384407L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ValidationPolicy> eldest) {
+			return size() > MAX_CACHED_POLICIES;
+		}
+
+	};
+
+	/**
+	 * The default policy, loaded on the first call (a concurrent first call can
+	 * load it twice, only one instance is kept)
+	 */
+	private static volatile ValidationPolicy defaultValidationPolicy;
+
+	private ValidationPolicyCache() {
+	}
+
+	/**
+	 * Returns the shared instance of the default validation policy
+	 * ({@value ValidationPolicyFacade#DEFAULT_VALIDATION_POLICY_LOCATION})
+	 * 
+	 * @return the default {@link ValidationPolicy}, read-only
+	 */
+	public static ValidationPolicy getDefaultValidationPolicy() throws JAXBException, XMLStreamException, IOException, SAXException {
+		ValidationPolicy validationPolicy = defaultValidationPolicy;
+		if (validationPolicy == null) {
+			validationPolicy = initialize(ValidationPolicyFacade.newFacade().getDefaultValidationPolicy());
+			synchronized (CACHE) {
+				if (defaultValidationPolicy == null) {
+					defaultValidationPolicy = validationPolicy;
+				}
+				validationPolicy = defaultValidationPolicy;
+			}
+		}
+		return validationPolicy;
+	}
+
+	/**
+	 * Returns the shared instance of the validation policy read from the given
+	 * {@code InputStream} (the stream is fully read, but not closed)
+	 * 
+	 * @param is
+	 *           the validation policy file content
+	 * @return {@link ValidationPolicy}, read-only
+	 */
+	public static ValidationPolicy getValidationPolicy(InputStream is) throws JAXBException, XMLStreamException, IOException, SAXException {
+		Objects.requireNonNull(is, "The provided validation policy is null");
+		return getValidationPolicy(Utils.toByteArray(is));
+	}
+
+	/**
+	 * Returns the shared instance of the validation policy with the given content
+	 * 
+	 * @param policyBinaries
+	 *                       the validation policy file content
+	 * @return {@link ValidationPolicy}, read-only
+	 */
+	public static ValidationPolicy getValidationPolicy(byte[] policyBinaries) throws JAXBException, XMLStreamException, IOException, SAXException {
+		Objects.requireNonNull(policyBinaries, "The provided validation policy is null");
+		String key = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, policyBinaries));
+		ValidationPolicy validationPolicy;
+		synchronized (CACHE) {
+			validationPolicy = CACHE.get(key);
+		}
+		if (validationPolicy == null) {
+			// loaded outside of the lock : the same policy can be loaded twice by concurrent calls
+			try (InputStream is = new ByteArrayInputStream(policyBinaries)) {
+				validationPolicy = initialize(ValidationPolicyFacade.newFacade().getValidationPolicy(is));
+			}
+			synchronized (CACHE) {
+				ValidationPolicy cached = CACHE.putIfAbsent(key, validationPolicy);
+				if (cached != null) {
+					validationPolicy = cached;
+				}
+			}
+		}
+		return validationPolicy;
+	}
+
+	/**
+	 * Removes all the cached policies
+	 */
+	public static void clear() {
+		synchronized (CACHE) {
+			CACHE.clear();
+			defaultValidationPolicy = null;
+		}
+	}
+
+	/**
+	 * Returns the number of cached policies (the default policy excluded)
+	 * 
+	 * @return the number of cached policies
+	 */
+	public static int size() {
+		synchronized (CACHE) {
+			return CACHE.size();
+		}
+	}
+
+	/**
+	 * Completes the cryptographic constraints with the default values once, before
+	 * the policy is shared (these values are lazily set on the first access
+	 * otherwise)
+	 */
+	private static ValidationPolicy initialize(ValidationPolicy validationPolicy) {
+		for (Context context : Context.values()) {
+			validationPolicy.getSignatureCryptographicConstraint(context);
+			for (SubContext subContext : SubContext.values()) {
+				validationPolicy.getCertificateCryptographicConstraint(context, subContext);
+			}
+		}
+		return validationPolicy;
+	}
+
+}
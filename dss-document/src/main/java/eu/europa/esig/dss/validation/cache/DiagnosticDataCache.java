@@ -0,0 +1,65 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.cache;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+
+/**
+ * Stores the {@code XmlDiagnosticData} computed for a validated document in
+ * order to skip the signature parsing, the certificate chain building and the
+ * revocation checks when the same document is validated again.
+ * 
+ * The keys are computed by the
+ * {@link eu.europa.esig.dss.validation.SignedDocumentValidator} from the
+ * document digests, the validator configuration and the validation time
+ * window. The validation policy is applied on each call, so a cached entry
+ * remains valid whatever the policy used.
+ * 
+ * The trust anchors are not part of the key : the cache needs to be cleared
+ * when the trusted certificate sources are modified.
+ */
+public interface DiagnosticDataCache {
+
+	/**
+	 * Returns the cached diagnostic data for the given key
+	 * 
+	 * @param key
+	 *            the cache key
+	 * @return the cached {@link XmlDiagnosticData} or null if not present
+	 */
+	XmlDiagnosticData get(String key);
+
+	/**
+	 * Stores the diagnostic data for the given key
+	 * 
+	 * @param key
+	 *                       the cache key
+	 * @param diagnosticData
+	 *                       the {@link XmlDiagnosticData} to store
+	 */
+	void put(String key, XmlDiagnosticData diagnosticData);
+
+	/**
+	 * Removes all the cached entries
+	 */
+	void clear();
+
+}
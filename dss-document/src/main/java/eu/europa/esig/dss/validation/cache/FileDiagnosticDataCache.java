@@ -0,0 +1,130 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.cache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.model.DSSException;
+
+/**
+ * File implementation of the {@link DiagnosticDataCache}. Each entry is stored
+ * as an XML diagnostic data file named by its key in the cache directory, so
+ * the cached data survives the JVM restarts and can be shared between several
+ * instances.
+ */
+public class FileDiagnosticDataCache implements DiagnosticDataCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileDiagnosticDataCache.class);
+
+	private static final String FILE_EXTENSION = ".xml";
+
+	private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+	private final File cacheDirectory;
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param cacheDirectory
+	 *                       the directory where the diagnostic data files are
+	 *                       stored (created if it does not exist)
+	 */
+	public FileDiagnosticDataCache(final File cacheDirectory) {
+		Objects.requireNonNull(cacheDirectory, "The cache directory must be defined");
+		if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+			throw new DSSException(String.format("Unable to create the cache directory '%s'", cacheDirectory));
+		}
+		this.cacheDirectory = cacheDirectory;
+		// the temporary files left by an interrupted writer
+		deleteFiles(TEMP_FILE_EXTENSION);
+	}
+
+	@Override
+	public XmlDiagnosticData get(String key) {
+		File file = getCacheFile(key);
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			return DiagnosticDataFacade.newFacade().unmarshall(file, false);
+		} catch (Exception e) {
+			// a corrupted or partially written entry is considered as missing
+			LOG.warn("Unable to read the cached diagnostic data '{}' : {}", file.getName(), e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public void put(String key, XmlDiagnosticData diagnosticData) {
+		File file = getCacheFile(key);
+		File tempFile = null;
+		try {
+			// a unique temporary file per writer, the concurrent puts of the same key do not share it
+			tempFile = File.createTempFile(key, TEMP_FILE_EXTENSION, cacheDirectory);
+			try (OutputStream os = new FileOutputStream(tempFile)) {
+				DiagnosticDataFacade.newFacade().marshall(diagnosticData, os, false, false);
+			}
+			// the complete entry replaces the previous one, the readers never see a partial or missing file
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (Exception e) {
+			LOG.warn("Unable to cache the diagnostic data '{}' : {}", file.getName(), e.getMessage());
+			if (tempFile != null) {
+				deleteFile(tempFile);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		deleteFiles(FILE_EXTENSION);
+		deleteFiles(TEMP_FILE_EXTENSION);
+	}
+
+	private void deleteFiles(String extension) {
+		File[] files = cacheDirectory.listFiles((dir, name) -> name.endsWith(extension));
+		if (files != null) {
+			for (File file : files) {
+				deleteFile(file);
+			}
+		}
+	}
+
+	private File getCacheFile(String key) {
+		return new File(cacheDirectory, key + FILE_EXTENSION);
+	}
+
+	private void deleteFile(File file) {
+		if (file.exists() && !file.delete()) {
+			LOG.warn("Unable to delete the file '{}'", file.getName());
+		}
+	}
+
+}
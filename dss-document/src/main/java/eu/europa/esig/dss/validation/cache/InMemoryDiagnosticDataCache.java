@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+
+/**
+ * In memory implementation of the {@link DiagnosticDataCache}. The least
+ * recently used entries are evicted when the maximum size is reached.
+ * 
+ * The same {@code XmlDiagnosticData} instance is returned for each hit, it must
+ * not be modified by the caller.
+ */
+public class InMemoryDiagnosticDataCache implements DiagnosticDataCache {
+
+	private static final int DEFAULT_MAX_SIZE = 100;
+
+	private final Map<String, XmlDiagnosticData> cache;
+
+	/**
+	 * The default constructor, keeps up to 100 diagnostic data
+	 */
+	public InMemoryDiagnosticDataCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * The constructor with a custom cache size
+	 * 
+	 * @param maxSize
+	 *                the maximum number of cached diagnostic data
+	 */
+	public InMemoryDiagnosticDataCache(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+		this.cache = new LinkedHashMap<String, XmlDiagnosticData>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = -3346472375541290716L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, XmlDiagnosticData> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	@Override
+	public synchronized XmlDiagnosticData get(String key) {
+		return cache.get(key);
+	}
+
+	@Override
+	public synchronized void put(String key, XmlDiagnosticData diagnosticData) {
+		cache.put(key, diagnosticData);
+	}
+
+	@Override
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Returns the number of cached entries
+	 * 
+	 * @return the cache size
+	 */
+	public synchronized int size() {
+		return cache.size();
+	}
+
+}
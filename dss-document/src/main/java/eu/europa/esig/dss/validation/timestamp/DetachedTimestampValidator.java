@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.validation.timestamp;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +29,7 @@ import java.util.Objects;
 
 import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.tsp.TSPException;
+import org.bouncycastle.tsp.TimeStampToken;
 
 import eu.europa.esig.dss.enumerations.TimestampType;
 import eu.europa.esig.dss.model.DSSDocument;
@@ -50,6 +52,9 @@ public class DetachedTimestampValidator extends SignedDocumentValidator implemen
 	protected TimestampType timestampType;
 	protected TimestampToken timestampToken;
 
+	/* The timestamp parsed while the document format was detected */
+	private TimeStampToken parsedTimestamp;
+
 	DetachedTimestampValidator() {
 	}
 
@@ -62,13 +67,43 @@ public class DetachedTimestampValidator extends SignedDocumentValidator implemen
 		this.timestampType = timestampType;
 	}
 
+	/**
+	 * Constructor with the already parsed timestamp of the document
+	 * 
+	 * @param timestampFile
+	 *                      the timestamp document
+	 * @param timeStamp
+	 *                      the parsed content of the document
+	 */
+	DetachedTimestampValidator(final DSSDocument timestampFile, final TimeStampToken timeStamp) {
+		this(timestampFile);
+		this.parsedTimestamp = timeStamp;
+	}
+
 	@Override
 	public boolean isSupported(DSSDocument dssDocument) {
-		byte firstByte = DSSUtils.readFirstByte(dssDocument);
-		if (DSSASN1Utils.isASN1SequenceTag(firstByte)) {
-			return DSSUtils.isTimestampToken(dssDocument);
+		return toTimeStampToken(dssDocument, DSSUtils.readFirstBytes(dssDocument, 1)) != null;
+	}
+
+	/**
+	 * Parses the given document if it is a timestamp
+	 * 
+	 * @param dssDocument
+	 *                    the document to be parsed
+	 * @param preamble
+	 *                    the first bytes of the document
+	 * @return the {@link TimeStampToken} or null if the document is not a
+	 *         timestamp
+	 */
+	static TimeStampToken toTimeStampToken(DSSDocument dssDocument, byte[] preamble) {
+		if (preamble.length > 0 && DSSASN1Utils.isASN1SequenceTag(preamble[0])) {
+			try {
+				return new TimeStampToken(DSSUtils.toCMSSignedData(dssDocument));
+			} catch (Exception e) {
+				// not a timestamp
+			}
 		}
-		return false;
+		return null;
 	}
 
 	@Override
@@ -94,7 +129,11 @@ public class DetachedTimestampValidator extends SignedDocumentValidator implemen
 			Objects.requireNonNull(timestampType, "The TimestampType must be defined!");
 
 			try {
-				timestampToken = new TimestampToken(DSSUtils.toByteArray(document), timestampType, validationCertPool);
+				if (parsedTimestamp != null) {
+					timestampToken = new TimestampToken(parsedTimestamp, timestampType, new ArrayList<TimestampedReference>(), null, validationCertPool);
+				} else {
+					timestampToken = new TimestampToken(DSSUtils.toByteArray(document), timestampType, validationCertPool);
+				}
 				timestampToken.setFileName(document.getName());
 				timestampToken.matchData(getTimestampedData());
 				timestampToken.setTimestampScopes(getTimestampSignatureScope());
@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.validation.timestamp;
 
+import org.bouncycastle.tsp.TimeStampToken;
+
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.validation.DocumentValidatorFactory;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -32,6 +34,17 @@ public class DetachedTimestampValidatorFactory implements DocumentValidatorFacto
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return DetachedTimestampValidator.toTimeStampToken(document, preamble) != null;
+	}
+
+	@Override
+	public SignedDocumentValidator createIfSupported(DSSDocument document, byte[] preamble) {
+		TimeStampToken timeStamp = DetachedTimestampValidator.toTimeStampToken(document, preamble);
+		return timeStamp != null ? new DetachedTimestampValidator(document, timeStamp) : null;
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new DetachedTimestampValidator(document);
@@ -4,6 +4,7 @@ module jpms_dss_document {
 	exports eu.europa.esig.dss.definition.xmldsig;
 	exports eu.europa.esig.dss.signature;
 	exports eu.europa.esig.dss.validation;
+	exports eu.europa.esig.dss.validation.cache;
 	exports eu.europa.esig.dss.validation.policy;
 	exports eu.europa.esig.dss.validation.scope;
 	exports eu.europa.esig.dss.validation.timestamp;
@@ -28,9 +28,17 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
+import eu.europa.esig.dss.definition.DSSNamespace;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.InMemoryDocument;
 
@@ -101,4 +109,55 @@ public class DomUtilsTest {
 		assertNotNull(DomUtils.getDate("2020-02-16T18:32:24Z"));
 	}
 	
+	@Test
+	public void xpathCache() throws Exception {
+		DomUtils.registerNamespace(new DSSNamespace("http://dss.test/a", "tst"));
+		Document document = DomUtils.buildDOM("<r xmlns:a='http://dss.test/a' xmlns:b='http://dss.test/b'><a:v>A</a:v><b:v>B</b:v></r>");
+		assertEquals("A", DomUtils.getValue(document, "//tst:v"));
+		assertEquals("A", DomUtils.getValue(document, "//tst:v"));
+
+		// a new registration of the prefix invalidates the compiled expressions
+		DomUtils.registerNamespace(new DSSNamespace("http://dss.test/b", "tst"));
+		assertEquals("B", DomUtils.getValue(document, "//tst:v"));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executorService.submit(() -> DomUtils.getValue(DomUtils.buildDOM(XML_TEXT), "name(/hello/*)")));
+			}
+			for (Future<String> result : results) {
+				assertEquals("world", result.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void reusedDocumentBuilder() throws Exception {
+		assertThrows(DSSException.class, () -> DomUtils.buildDOM(INCORRECT_XML_TEXT));
+		// the builder of the thread is reset after a failure
+		assertNotNull(DomUtils.buildDOM(XML_TEXT));
+		// the secure features are preserved with the reused builder
+		assertThrows(DSSException.class, () -> DomUtils.buildDOM(new FileInputStream("src/test/resources/xml_expansion.xml")));
+		assertNotNull(DomUtils.buildDOM(XML_HEADER + XML_TEXT));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Date>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executorService.submit(() -> {
+					DomUtils.buildDOM(XML_TEXT);
+					return DomUtils.getDate(DomUtils.createXMLGregorianCalendar(new Date(0)).toXMLFormat());
+				}));
+			}
+			for (Future<Date> result : results) {
+				assertEquals(new Date(0), result.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 }
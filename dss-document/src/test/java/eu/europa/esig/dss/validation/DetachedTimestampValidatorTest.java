@@ -31,6 +31,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -68,6 +70,38 @@ public class DetachedTimestampValidatorTest {
 		validate(timestampValidator.validateDocument());
 	}
 
+	@Test
+	public void testWithExecutorService() throws Exception {
+		DSSDocument timestamp = new FileDocument("src/test/resources/d-trust.tsr");
+		DSSDocument timestampedContent = new InMemoryDocument("Test123".getBytes());
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(timestamp);
+		validator.setDetachedContents(Arrays.asList(timestampedContent));
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		DiagnosticData sequential = validator.validateDocument().getDiagnosticData();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			validator = SignedDocumentValidator.fromDocument(timestamp);
+			validator.setDetachedContents(Arrays.asList(timestampedContent));
+			validator.setCertificateVerifier(getOfflineCertificateVerifier());
+			validator.setExecutorService(executorService);
+			Reports reports = validator.validateDocument();
+			validate(reports);
+
+			DiagnosticData parallel = reports.getDiagnosticData();
+			assertTrue(parallel.getUsedCertificates().size() > 1);
+			assertEquals(sequential.getUsedCertificates().size(), parallel.getUsedCertificates().size());
+			for (int i = 0; i < sequential.getUsedCertificates().size(); i++) {
+				assertEquals(sequential.getUsedCertificates().get(i).getId(), parallel.getUsedCertificates().get(i).getId());
+			}
+			assertEquals(sequential.getTimestampIdList(), parallel.getTimestampIdList());
+			assertFalse(executorService.isShutdown());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	@Test
 	public void sdv1() throws Exception {
 		DSSDocument timestamp = new FileDocument("src/test/resources/d-trust.tsr");
@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
+
+public class ValidationPolicyCacheTest {
+
+	@AfterEach
+	public void clear() {
+		ValidationPolicyCache.clear();
+	}
+
+	@Test
+	public void defaultPolicy() throws Exception {
+		ValidationPolicy validationPolicy = ValidationPolicyCache.getDefaultValidationPolicy();
+		assertNotNull(validationPolicy);
+		assertSame(validationPolicy, ValidationPolicyCache.getDefaultValidationPolicy());
+
+		// the default policy from the facade is a new instance
+		assertNotSame(validationPolicy, ValidationPolicyFacade.newFacade().getDefaultValidationPolicy());
+
+		ValidationPolicyCache.clear();
+		assertNotSame(validationPolicy, ValidationPolicyCache.getDefaultValidationPolicy());
+	}
+
+	@Test
+	public void keyedByContent() throws Exception {
+		File policyFile = new File("src/test/resources/constraint.xml");
+		byte[] policyBinaries = Files.readAllBytes(policyFile.toPath());
+
+		ValidationPolicy validationPolicy = ValidationPolicyCache.getValidationPolicy(policyBinaries);
+		assertEquals(1, ValidationPolicyCache.size());
+		try (InputStream is = new FileInputStream(policyFile)) {
+			assertSame(validationPolicy, ValidationPolicyCache.getValidationPolicy(is));
+		}
+		assertSame(validationPolicy, ValidationPolicyCache.getValidationPolicy(policyBinaries.clone()));
+		assertEquals(1, ValidationPolicyCache.size());
+
+		byte[] otherBinaries = new String(policyBinaries, "UTF-8").replace("</ConstraintsParameters>", "<!-- other --></ConstraintsParameters>")
+				.getBytes("UTF-8");
+		assertNotSame(validationPolicy, ValidationPolicyCache.getValidationPolicy(otherBinaries));
+		assertEquals(2, ValidationPolicyCache.size());
+	}
+
+	@Test
+	public void initialized() throws Exception {
+		ValidationPolicy validationPolicy = ValidationPolicyCache.getDefaultValidationPolicy();
+		CryptographicConstraint cryptographicConstraint = validationPolicy.getSignatureCryptographicConstraint(Context.TIMESTAMP);
+		assertNotNull(cryptographicConstraint);
+		assertNotNull(cryptographicConstraint.getAcceptableDigestAlgo());
+		assertNotNull(cryptographicConstraint.getAcceptableEncryptionAlgo());
+
+		// the constraints are not modified anymore on read
+		assertSame(cryptographicConstraint, ValidationPolicyCache.getDefaultValidationPolicy().getSignatureCryptographicConstraint(Context.TIMESTAMP));
+		assertSame(cryptographicConstraint.getAcceptableDigestAlgo(),
+				ValidationPolicyCache.getDefaultValidationPolicy().getSignatureCryptographicConstraint(Context.TIMESTAMP).getAcceptableDigestAlgo());
+	}
+
+}
@@ -0,0 +1,188 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.timestamp.DetachedTimestampValidator;
+
+public class DiagnosticDataCacheTest {
+
+	private static final Date VALIDATION_TIME = new Date();
+
+	@TempDir
+	File cacheDirectory;
+
+	@Test
+	public void inMemoryTest() {
+		InMemoryDiagnosticDataCache cache = new InMemoryDiagnosticDataCache();
+
+		Reports first = validate(cache, "Test123");
+		assertEquals(1, cache.size());
+
+		Reports second = validate(cache, "Test123");
+		assertEquals(1, cache.size());
+		// a shallow copy of the cached instance
+		assertNotSame(first.getDiagnosticDataJaxb(), second.getDiagnosticDataJaxb());
+		assertSame(first.getDiagnosticDataJaxb().getUsedTimestamps(), second.getDiagnosticDataJaxb().getUsedTimestamps());
+		assertEquals(VALIDATION_TIME, second.getDiagnosticDataJaxb().getValidationDate());
+		assertEquals(first.getSimpleReport().getIndication(first.getSimpleReport().getFirstTimestampId()),
+				second.getSimpleReport().getIndication(second.getSimpleReport().getFirstTimestampId()));
+
+		Reports other = validate(cache, "Other content");
+		assertEquals(2, cache.size());
+		assertNotEquals(Indication.PASSED, other.getSimpleReport().getIndication(other.getSimpleReport().getFirstTimestampId()));
+
+		// the document names are part of the key
+		validate(cache, "Test123", "other-name.bin");
+		assertEquals(3, cache.size());
+
+		// the validation time of the current validation is returned
+		Date otherTime = new Date(VALIDATION_TIME.getTime() + 1);
+		assertEquals(otherTime, validate(cache, "Test123", null, otherTime).getDiagnosticDataJaxb().getValidationDate());
+		assertEquals(3, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void inMemoryEvictionTest() {
+		InMemoryDiagnosticDataCache cache = new InMemoryDiagnosticDataCache(1);
+		XmlDiagnosticData first = new XmlDiagnosticData();
+		cache.put("a", first);
+		cache.put("b", new XmlDiagnosticData());
+		assertEquals(1, cache.size());
+		assertNull(cache.get("a"));
+		assertNotNull(cache.get("b"));
+	}
+
+	@Test
+	public void fileTest() {
+		FileDiagnosticDataCache cache = new FileDiagnosticDataCache(cacheDirectory);
+
+		Reports first = validate(cache, "Test123");
+		assertEquals(1, cacheDirectory.listFiles().length);
+
+		// a new cache instance reads the stored entry
+		Reports second = validate(new FileDiagnosticDataCache(cacheDirectory), "Test123");
+		assertEquals(1, cacheDirectory.listFiles().length);
+		assertEquals(first.getDiagnosticData().getTimestampList().size(), second.getDiagnosticData().getTimestampList().size());
+		assertEquals(first.getSimpleReport().getIndication(first.getSimpleReport().getFirstTimestampId()),
+				second.getSimpleReport().getIndication(second.getSimpleReport().getFirstTimestampId()));
+
+		cache.clear();
+		assertEquals(0, cacheDirectory.listFiles().length);
+		assertNull(cache.get("unknown"));
+	}
+
+	@Test
+	public void fileTemporaryFilesTest() throws Exception {
+		assertTrue(new File(cacheDirectory, "interrupted.tmp").createNewFile());
+		FileDiagnosticDataCache cache = new FileDiagnosticDataCache(cacheDirectory);
+		assertEquals(0, cacheDirectory.listFiles().length);
+
+		validate(cache, "Test123");
+		assertTrue(new File(cacheDirectory, "interrupted.tmp").createNewFile());
+		assertEquals(2, cacheDirectory.listFiles().length);
+		cache.clear();
+		assertEquals(0, cacheDirectory.listFiles().length);
+	}
+
+	@Test
+	public void fileConcurrentPutTest() throws Exception {
+		FileDiagnosticDataCache cache = new FileDiagnosticDataCache(cacheDirectory);
+		XmlDiagnosticData diagnosticData = validate(cache, "Test123").getDiagnosticDataJaxb();
+		cache.clear();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<XmlDiagnosticData>> futures = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				futures.add(executorService.submit(() -> {
+					cache.put("concurrent", diagnosticData);
+					return cache.get("concurrent");
+				}));
+			}
+			for (Future<XmlDiagnosticData> future : futures) {
+				// a reader never sees a missing or partially written entry
+				assertNotNull(future.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		// no temporary file is left
+		assertEquals(1, cacheDirectory.listFiles().length);
+		assertEquals(diagnosticData.getUsedTimestamps().size(), cache.get("concurrent").getUsedTimestamps().size());
+	}
+
+	private Reports validate(DiagnosticDataCache cache, String timestampedContent) {
+		return validate(cache, timestampedContent, null, VALIDATION_TIME);
+	}
+
+	private Reports validate(DiagnosticDataCache cache, String timestampedContent, String timestampedName) {
+		return validate(cache, timestampedContent, timestampedName, VALIDATION_TIME);
+	}
+
+	private Reports validate(DiagnosticDataCache cache, String timestampedContent, String timestampedName, Date validationTime) {
+		DSSDocument timestamp = new FileDocument("src/test/resources/d-trust.tsr");
+		DetachedTimestampValidator validator = new DetachedTimestampValidator(timestamp);
+		byte[] timestampedBytes = timestampedContent.getBytes();
+		validator.setTimestampedData(timestampedName == null ? new InMemoryDocument(timestampedBytes) : new InMemoryDocument(timestampedBytes, timestampedName));
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		validator.setValidationTime(validationTime);
+		validator.setDiagnosticDataCache(cache);
+		return validator.validateDocument();
+	}
+
+	private CertificateVerifier getOfflineCertificateVerifier() {
+		CertificateVerifier cv = new CommonCertificateVerifier();
+		cv.setDataLoader(new IgnoreDataLoader());
+		return cv;
+	}
+
+}
@@ -36,6 +36,7 @@ import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -168,14 +169,69 @@ public abstract class AbstractJaxbFacade<T> {
 	 *                       if an exception occurred with the {@link Schema}
 	 */
 	public void marshall(T jaxbObject, OutputStream os, boolean validate) throws JAXBException, SAXException, IOException {
+		marshall(jaxbObject, os, validate, true);
+	}
+
+	/**
+	 * This method marshalls the jaxbObject into the {@link OutputStream} with an
+	 * optional validation and an optional indentation. A non-indented output is
+	 * smaller and faster to produce (e.g. for a XML which is not read by a human).
+	 * 
+	 * @param jaxbObject
+	 *                        the jaxb object to be marshalled
+	 * @param os
+	 *                        the {@link OutputStream} where the object will be
+	 *                        marshalled
+	 * @param validate
+	 *                        enable/disable the validation against the related
+	 *                        XSD
+	 * @param formattedOutput
+	 *                        enable/disable the indentation of the XML
+	 * @throws JAXBException
+	 *                       if an exception occurred with the {@link JAXBContext}
+	 * @throws IOException
+	 *                       if an exception occurred with the I/O.
+	 * @throws SAXException
+	 *                       if an exception occurred with the {@link Schema}
+	 */
+	public void marshall(T jaxbObject, OutputStream os, boolean validate, boolean formattedOutput) throws JAXBException, SAXException, IOException {
 		Objects.requireNonNull(jaxbObject, "JAXBObject is null");
 		Objects.requireNonNull(os, "OutputStream is null");
 
-		Marshaller marshaller = getMarshaller(validate);
+		Marshaller marshaller = getMarshaller(validate, formattedOutput);
 
 		marshaller.marshal(wrap(jaxbObject), os);
 	}
 
+	/**
+	 * This method marshalls the jaxbObject into the {@link XMLStreamWriter} with
+	 * an optional validation. The writer is not closed.
+	 * 
+	 * The formatting is defined by the {@link XMLStreamWriter}.
+	 * 
+	 * @param jaxbObject
+	 *                   the jaxb object to be marshalled
+	 * @param writer
+	 *                   the {@link XMLStreamWriter} where the object will be
+	 *                   marshalled
+	 * @param validate
+	 *                   enable/disable the validation against the related XSD
+	 * @throws JAXBException
+	 *                       if an exception occurred with the {@link JAXBContext}
+	 * @throws IOException
+	 *                       if an exception occurred with the I/O.
+	 * @throws SAXException
+	 *                       if an exception occurred with the {@link Schema}
+	 */
+	public void marshall(T jaxbObject, XMLStreamWriter writer, boolean validate) throws JAXBException, SAXException, IOException {
+		Objects.requireNonNull(jaxbObject, "JAXBObject is null");
+		Objects.requireNonNull(writer, "XMLStreamWriter is null");
+
+		Marshaller marshaller = getMarshaller(validate, false);
+
+		marshaller.marshal(wrap(jaxbObject), writer);
+	}
+
 	/**
 	 * This method unmarshalls the {@link InputStream} and returns an instance of
 	 * the JAXB Object.
@@ -331,12 +387,46 @@ public abstract class AbstractJaxbFacade<T> {
 		return unmarshal.getValue();
 	}
 
+	/**
+	 * Returns a new {@link Marshaller} (a marshaller is not thread-safe). The
+	 * {@link JAXBContext} and the {@link Schema} are thread-safe and shared.
+	 * 
+	 * @param validate
+	 *                 enable/disable the validation against the related XSD
+	 * @return a new {@link Marshaller}
+	 * @throws JAXBException
+	 *                       if an exception occurred with the {@link JAXBContext}
+	 * @throws IOException
+	 *                       if an exception occurred with the I/O.
+	 * @throws SAXException
+	 *                       if an exception occurred with the {@link Schema}
+	 */
 	public Marshaller getMarshaller(boolean validate) throws JAXBException, SAXException, IOException {
+		return getMarshaller(validate, true);
+	}
+
+	/**
+	 * Returns a new {@link Marshaller} with an optional indentation of the XML.
+	 * 
+	 * @param validate
+	 *                        enable/disable the validation against the related
+	 *                        XSD
+	 * @param formattedOutput
+	 *                        enable/disable the indentation of the XML
+	 * @return a new {@link Marshaller}
+	 * @throws JAXBException
+	 *                       if an exception occurred with the {@link JAXBContext}
+	 * @throws IOException
+	 *                       if an exception occurred with the I/O.
+	 * @throws SAXException
+	 *                       if an exception occurred with the {@link Schema}
+	 */
+	public Marshaller getMarshaller(boolean validate, boolean formattedOutput) throws JAXBException, SAXException, IOException {
 		Marshaller marshaller = getJAXBContext().createMarshaller();
 		if (validate) {
 			marshaller.setSchema(getSchema());
 		}
-		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
 		return marshaller;
 	}
 
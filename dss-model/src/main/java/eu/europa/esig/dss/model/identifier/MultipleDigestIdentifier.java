@@ -48,7 +48,7 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 		return binaries;
 	}
 	
-	public byte[] getDigestValue(DigestAlgorithm digestAlgorithm) {
+	public synchronized byte[] getDigestValue(DigestAlgorithm digestAlgorithm) {
 		byte[] digestValue = digestMap.get(digestAlgorithm);
 		if (digestValue == null) {
 			digestValue = getMessageDigest(digestAlgorithm).digest(getBinaries());
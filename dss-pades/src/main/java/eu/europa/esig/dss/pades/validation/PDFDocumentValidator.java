@@ -69,6 +69,17 @@ public class PDFDocumentValidator extends SignedDocumentValidator {
 	public boolean isSupported(DSSDocument dssDocument) {
 		return DSSUtils.compareFirstBytes(dssDocument, pdfPreamble);
 	}
+
+	/**
+	 * Checks if the given first bytes of a document correspond to a PDF document
+	 * 
+	 * @param preamble
+	 *                 the first bytes of the document
+	 * @return true if the preamble is a PDF preamble
+	 */
+	static boolean isPdfPreamble(byte[] preamble) {
+		return DSSUtils.startsWith(preamble, pdfPreamble);
+	}
 	
 	/**
 	 * Set the IPdfObjFactory. Allow to set the used implementation. Cannot be null.
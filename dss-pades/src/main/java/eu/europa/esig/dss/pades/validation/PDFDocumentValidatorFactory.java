@@ -32,6 +32,11 @@ public class PDFDocumentValidatorFactory implements DocumentValidatorFactory {
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return PDFDocumentValidator.isPdfPreamble(preamble);
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new PDFDocumentValidator(document);
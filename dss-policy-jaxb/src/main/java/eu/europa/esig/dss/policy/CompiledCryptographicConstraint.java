@@ -0,0 +1,292 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.policy;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.policy.jaxb.Algo;
+import eu.europa.esig.dss.policy.jaxb.AlgoExpirationDate;
+import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
+import eu.europa.esig.dss.policy.jaxb.ListAlgo;
+
+/**
+ * Immutable lookup tables built once from a {@code CryptographicConstraint} :
+ * acceptable algorithms, minimum key sizes and pre-parsed expiration dates
+ * (sorted by key size). The cryptographic checks query these tables instead of
+ * parsing the policy strings again.
+ */
+public final class CompiledCryptographicConstraint {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CompiledCryptographicConstraint.class);
+
+	/**
+	 * The compiled tables by constraint instance. The JAXB objects do not override
+	 * equals/hashCode : they are compared by reference, so each policy instance
+	 * has its own tables, released with the policy. A constraint modified in place
+	 * is not detected : see {@link #invalidate(CryptographicConstraint)}.
+	 */
+	private static final Map<CryptographicConstraint, CompiledCryptographicConstraint> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final List<String> acceptableEncryptionAlgorithms;
+
+	private final List<String> acceptableDigestAlgorithms;
+
+	private final Map<String, Integer> minimumKeySizes;
+
+	/* Algorithm name -> key size -> expiration date (lenient parsing) */
+	private final Map<String, NavigableMap<Integer, Date>> expirationDatesBySize;
+
+	/* Algorithm name -> first valid expiration date (lenient parsing) */
+	private final Map<String, Date> firstExpirationDates;
+
+	/* Algorithm name -> last valid expiration date (lenient parsing) */
+	private final Map<String, Date> lastExpirationDates;
+
+	/* Upper-cased algorithm name -> last declared expiration date (strict parsing) */
+	private final Map<String, DateOrError> strictExpirationDates;
+
+	private CompiledCryptographicConstraint(CryptographicConstraint constraint) {
+		this.acceptableEncryptionAlgorithms = extract(constraint.getAcceptableEncryptionAlgo());
+		this.acceptableDigestAlgorithms = extract(constraint.getAcceptableDigestAlgo());
+		this.minimumKeySizes = extractMinimumKeySizes(constraint.getMiniPublicKeySize());
+
+		Map<String, NavigableMap<Integer, Date>> bySize = new HashMap<>();
+		Map<String, Date> first = new HashMap<>();
+		Map<String, Date> last = new HashMap<>();
+		Map<String, DateOrError> strict = new HashMap<>();
+
+		AlgoExpirationDate expirations = constraint.getAlgoExpirationDate();
+		if (expirations != null && expirations.getAlgo() != null) {
+			String format = expirations.getFormat() == null || expirations.getFormat().isEmpty() ? DateUtils.DEFAULT_DATE_FORMAT
+					: expirations.getFormat();
+			SimpleDateFormat lenientFormat = new SimpleDateFormat(format);
+
+			for (Algo algo : expirations.getAlgo()) {
+				String algoName = algo.getValue();
+				String expirationDate = algo.getDate();
+				strict.put(algoName.toUpperCase(Locale.ENGLISH), parseStrict(format, expirationDate));
+
+				Date date = parseLenient(lenientFormat, expirationDate);
+				if (date != null) {
+					first.putIfAbsent(algoName, date);
+					last.put(algoName, date);
+					if (algo.getSize() != null) {
+						bySize.computeIfAbsent(algoName, k -> new TreeMap<>()).put(algo.getSize(), date);
+					}
+				}
+			}
+		}
+
+		this.expirationDatesBySize = Collections.unmodifiableMap(bySize);
+		this.firstExpirationDates = Collections.unmodifiableMap(first);
+		this.lastExpirationDates = Collections.unmodifiableMap(last);
+		this.strictExpirationDates = Collections.unmodifiableMap(strict);
+	}
+
+	/**
+	 * Returns the compiled tables for the given constraint instance. The tables are
+	 * compiled on the first call and shared by the following ones, until they are
+	 * invalidated.
+	 * 
+	 * @param constraint
+	 *                   {@link CryptographicConstraint}
+	 * @return {@link CompiledCryptographicConstraint}
+	 */
+	public static CompiledCryptographicConstraint of(CryptographicConstraint constraint) {
+		CompiledCryptographicConstraint compiled = COMPILED.get(constraint);
+		if (compiled == null) {
+			compiled = new CompiledCryptographicConstraint(constraint);
+			COMPILED.put(constraint, compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Discards the tables compiled from the given constraint. This method must be
+	 * called after a modification of the constraint values.
+	 * 
+	 * @param constraint
+	 *                   the modified {@link CryptographicConstraint}
+	 */
+	public static void invalidate(CryptographicConstraint constraint) {
+		COMPILED.remove(constraint);
+	}
+
+	/**
+	 * Discards all the compiled tables (called when a new policy is created, its
+	 * constraints may have been modified since a previous compilation)
+	 */
+	public static void invalidateAll() {
+		COMPILED.clear();
+	}
+
+	/**
+	 * @return the acceptable encryption algorithm names
+	 */
+	public List<String> getAcceptableEncryptionAlgorithms() {
+		return acceptableEncryptionAlgorithms;
+	}
+
+	/**
+	 * @return the acceptable digest algorithm names
+	 */
+	public List<String> getAcceptableDigestAlgorithms() {
+		return acceptableDigestAlgorithms;
+	}
+
+	/**
+	 * @return the minimum key size by encryption algorithm name (0 if the size is
+	 *         not defined)
+	 */
+	public Map<String, Integer> getMinimumKeySizes() {
+		return minimumKeySizes;
+	}
+
+	/**
+	 * Returns the expiration date of the given algorithm for the greatest key size
+	 * lower or equal to the given key length
+	 * 
+	 * @param algorithm
+	 *                  the algorithm name
+	 * @param keyLength
+	 *                  the used key length
+	 * @return the expiration {@link Date} or null
+	 */
+	public Date getExpirationDate(String algorithm, Integer keyLength) {
+		NavigableMap<Integer, Date> dates = expirationDatesBySize.get(algorithm);
+		if (dates == null) {
+			return null;
+		}
+		Entry<Integer, Date> floorEntry = dates.floorEntry(keyLength);
+		return floorEntry == null ? null : floorEntry.getValue();
+	}
+
+	/**
+	 * Returns the first defined expiration date of the given algorithm
+	 * 
+	 * @param algorithm
+	 *                  the algorithm name
+	 * @return the expiration {@link Date} or null
+	 */
+	public Date getFirstExpirationDate(String algorithm) {
+		return firstExpirationDates.get(algorithm);
+	}
+
+	/**
+	 * Returns the expiration dates by algorithm name (the last defined value for
+	 * each algorithm)
+	 * 
+	 * @return a map of the expiration dates
+	 */
+	public Map<String, Date> getExpirationDates() {
+		return lastExpirationDates;
+	}
+
+	/**
+	 * Returns the last defined expiration date of the given algorithm (the name is
+	 * not case sensitive)
+	 * 
+	 * @param algorithm
+	 *                  the algorithm name
+	 * @return the expiration {@link Date} or null
+	 * @throws IllegalArgumentException
+	 *                                  if the date cannot be parsed
+	 */
+	public Date getAlgorithmExpirationDate(String algorithm) {
+		DateOrError dateOrError = strictExpirationDates.get(algorithm.toUpperCase(Locale.ENGLISH));
+		if (dateOrError == null) {
+			return null;
+		}
+		if (dateOrError.date == null) {
+			// parse again to throw a new exception (instances are not shared between threads)
+			return DateUtils.parseDate(dateOrError.format, dateOrError.value);
+		}
+		return dateOrError.date;
+	}
+
+	private static List<String> extract(ListAlgo listAlgo) {
+		List<String> result = new ArrayList<>();
+		if (listAlgo != null && listAlgo.getAlgo() != null) {
+			for (Algo algo : listAlgo.getAlgo()) {
+				result.add(algo.getValue());
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static Map<String, Integer> extractMinimumKeySizes(ListAlgo miniPublicKeySize) {
+		Map<String, Integer> result = new HashMap<>();
+		if (miniPublicKeySize != null && miniPublicKeySize.getAlgo() != null) {
+			for (Algo algo : miniPublicKeySize.getAlgo()) {
+				Integer size = algo.getSize();
+				result.put(algo.getValue(), size != null ? size : 0);
+			}
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	private static Date parseLenient(SimpleDateFormat dateFormat, String expirationDate) {
+		try {
+			return dateFormat.parse(expirationDate);
+		} catch (ParseException e) {
+			LOG.warn("Unable to parse '{}' with format '{}'", expirationDate, dateFormat.toPattern());
+			return null;
+		}
+	}
+
+	private static DateOrError parseStrict(String format, String expirationDate) {
+		try {
+			return new DateOrError(DateUtils.parseDate(format, expirationDate), format, expirationDate);
+		} catch (IllegalArgumentException e) {
+			return new DateOrError(null, format, expirationDate);
+		}
+	}
+
+	private static final class DateOrError {
+
+		private final Date date;
+		private final String format;
+		private final String value;
+
+		private DateOrError(Date date, String format, String value) {
+			this.date = date;
+			this.format = format;
+			this.value = value;
+		}
+
+	}
+
+}
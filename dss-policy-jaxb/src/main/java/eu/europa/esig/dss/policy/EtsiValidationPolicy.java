@@ -21,14 +21,11 @@
 package eu.europa.esig.dss.policy;
 
 import java.util.Date;
-import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.enumerations.Context;
-import eu.europa.esig.dss.policy.jaxb.Algo;
-import eu.europa.esig.dss.policy.jaxb.AlgoExpirationDate;
 import eu.europa.esig.dss.policy.jaxb.BasicSignatureConstraints;
 import eu.europa.esig.dss.policy.jaxb.CertificateConstraints;
 import eu.europa.esig.dss.policy.jaxb.ConstraintsParameters;
@@ -62,6 +59,8 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 
 	public EtsiValidationPolicy(ConstraintsParameters policy) {
 		this.policy = policy;
+		// the constraints may have been modified since a previous compilation
+		CompiledCryptographicConstraint.invalidateAll();
 	}
 
 	@Override
@@ -78,24 +77,7 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 	}
 
 	private Date extractExpirationDate(final String algorithm, CryptographicConstraint signatureCryptographicConstraint) {
-		AlgoExpirationDate algoExpirationDate = signatureCryptographicConstraint.getAlgoExpirationDate();
-		String dateFormat = DateUtils.DEFAULT_DATE_FORMAT;
-		if (algoExpirationDate != null) {
-			if (algoExpirationDate.getFormat() != null) {
-				dateFormat = algoExpirationDate.getFormat();
-			}
-			List<Algo> algos = algoExpirationDate.getAlgo();
-			String foundExpirationDate = null;
-			for (Algo algo : algos) {
-				if (algo.getValue().equalsIgnoreCase(algorithm)) {
-					foundExpirationDate = algo.getDate();
-				}
-			}
-			if (foundExpirationDate != null) {
-				return DateUtils.parseDate(dateFormat, foundExpirationDate);
-			}
-		}
-		return null;
+		return CompiledCryptographicConstraint.of(signatureCryptographicConstraint).getAlgorithmExpirationDate(algorithm);
 	}
 
 	@Override
@@ -310,7 +292,7 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 	 */
 	private void initializeCryptographicConstraint(CryptographicConstraint cryptographicConstraint) {
 		CryptographicConstraint defaultConstraint = getDefaultCryptographicConstraint();
-		if (defaultConstraint != null) {
+		if (defaultConstraint != null && cryptographicConstraint != null) {
 			if (cryptographicConstraint.getAcceptableDigestAlgo() == null)
 				cryptographicConstraint.setAcceptableDigestAlgo(defaultConstraint.getAcceptableDigestAlgo());
 			if (cryptographicConstraint.getAcceptableEncryptionAlgo() == null)
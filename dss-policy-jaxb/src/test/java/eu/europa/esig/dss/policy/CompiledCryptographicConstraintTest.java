@@ -0,0 +1,131 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.policy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.policy.jaxb.Algo;
+import eu.europa.esig.dss.policy.jaxb.AlgoExpirationDate;
+import eu.europa.esig.dss.policy.jaxb.ConstraintsParameters;
+import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
+import eu.europa.esig.dss.policy.jaxb.ListAlgo;
+
+public class CompiledCryptographicConstraintTest {
+
+	@Test
+	public void tables() {
+		CryptographicConstraint constraint = new CryptographicConstraint();
+		ListAlgo digestAlgos = new ListAlgo();
+		digestAlgos.getAlgo().add(algo("SHA256", null, null));
+		constraint.setAcceptableDigestAlgo(digestAlgos);
+		ListAlgo keySizes = new ListAlgo();
+		keySizes.getAlgo().add(algo("RSA", 1024, null));
+		keySizes.getAlgo().add(algo("DSA", null, null));
+		constraint.setMiniPublicKeySize(keySizes);
+
+		AlgoExpirationDate expirations = new AlgoExpirationDate();
+		expirations.getAlgo().add(algo("SHA1", null, "2009-12-31"));
+		expirations.getAlgo().add(algo("SHA1", null, "2010-12-31"));
+		expirations.getAlgo().add(algo("RSA", 1024, "2019-01-01"));
+		expirations.getAlgo().add(algo("RSA", 2048, "2022-01-01"));
+		expirations.getAlgo().add(algo("MD5", null, "invalid"));
+		constraint.setAlgoExpirationDate(expirations);
+
+		CompiledCryptographicConstraint compiled = CompiledCryptographicConstraint.of(constraint);
+		assertEquals(1, compiled.getAcceptableDigestAlgorithms().size());
+		assertTrue(compiled.getAcceptableEncryptionAlgorithms().isEmpty());
+		assertEquals(1024, compiled.getMinimumKeySizes().get("RSA"));
+		assertEquals(0, compiled.getMinimumKeySizes().get("DSA"));
+
+		assertEquals(DateUtils.parseDate("yyyy-MM-dd", "2009-12-31"), compiled.getFirstExpirationDate("SHA1"));
+		assertEquals(DateUtils.parseDate("yyyy-MM-dd", "2010-12-31"), compiled.getExpirationDates().get("SHA1"));
+		assertEquals(DateUtils.parseDate("yyyy-MM-dd", "2010-12-31"), compiled.getAlgorithmExpirationDate("sha1"));
+
+		assertNull(compiled.getExpirationDate("RSA", 512));
+		assertEquals(DateUtils.parseDate("yyyy-MM-dd", "2019-01-01"), compiled.getExpirationDate("RSA", 1536));
+		assertEquals(DateUtils.parseDate("yyyy-MM-dd", "2022-01-01"), compiled.getExpirationDate("RSA", 4096));
+		assertNull(compiled.getExpirationDate("ECDSA", 256));
+
+		assertNull(compiled.getFirstExpirationDate("MD5"));
+		assertThrows(IllegalArgumentException.class, () -> compiled.getAlgorithmExpirationDate("MD5"));
+	}
+
+	@Test
+	public void compiledOncePerPolicy() throws Exception {
+		ValidationPolicy validationPolicy = ValidationPolicyFacade.newFacade().getDefaultValidationPolicy();
+		CryptographicConstraint constraint = validationPolicy.getSignatureCryptographicConstraint(Context.SIGNATURE);
+		CompiledCryptographicConstraint compiled = CompiledCryptographicConstraint.of(constraint);
+		assertSame(compiled, CompiledCryptographicConstraint.of(validationPolicy.getSignatureCryptographicConstraint(Context.SIGNATURE)));
+
+		CryptographicConstraint otherConstraint = ValidationPolicyFacade.newFacade().getDefaultValidationPolicy()
+				.getSignatureCryptographicConstraint(Context.SIGNATURE);
+		assertNotSame(compiled, CompiledCryptographicConstraint.of(otherConstraint));
+
+		// a modified constraint is compiled again once invalidated
+		Algo sha1 = null;
+		for (Algo algo : constraint.getAlgoExpirationDate().getAlgo()) {
+			if ("SHA1".equals(algo.getValue())) {
+				sha1 = algo;
+			}
+		}
+		sha1.setDate("2013");
+		CompiledCryptographicConstraint.invalidate(constraint);
+		CompiledCryptographicConstraint modified = CompiledCryptographicConstraint.of(constraint);
+		assertNotSame(compiled, modified);
+		assertEquals(DateUtils.parseDate("yyyy", "2013"), modified.getAlgorithmExpirationDate("SHA1"));
+		assertSame(modified, CompiledCryptographicConstraint.of(constraint));
+
+		// as well as by a new policy built on the modified constraints
+		sha1.setDate("2014");
+		new EtsiValidationPolicy(new ConstraintsParameters());
+		assertEquals(DateUtils.parseDate("yyyy", "2014"), CompiledCryptographicConstraint.of(constraint).getAlgorithmExpirationDate("SHA1"));
+	}
+
+	@Test
+	public void newExceptionPerThrow() {
+		CryptographicConstraint constraint = new CryptographicConstraint();
+		AlgoExpirationDate expirations = new AlgoExpirationDate();
+		expirations.getAlgo().add(algo("MD5", null, "invalid"));
+		constraint.setAlgoExpirationDate(expirations);
+
+		CompiledCryptographicConstraint compiled = CompiledCryptographicConstraint.of(constraint);
+		IllegalArgumentException first = assertThrows(IllegalArgumentException.class, () -> compiled.getAlgorithmExpirationDate("MD5"));
+		IllegalArgumentException second = assertThrows(IllegalArgumentException.class, () -> compiled.getAlgorithmExpirationDate("MD5"));
+		assertNotSame(first, second);
+	}
+
+	private Algo algo(String name, Integer size, String date) {
+		Algo algo = new Algo();
+		algo.setValue(name);
+		algo.setSize(size);
+		algo.setDate(date);
+		return algo;
+	}
+
+}
@@ -0,0 +1,285 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * Loads CRLs in advance into a {@code RepositoryRevocationSource} (e.g. after a
+ * restart or a trusted lists refresh), so the first validations do not have to
+ * download them.
+ * 
+ * The CRLs are downloaded, parsed and validated against their issuer in
+ * parallel. The number of simultaneous downloads is limited by
+ * {@code maxConcurrentDownloads}.
+ * 
+ * A CRL is stored under the revocation token key of the url it is downloaded
+ * from (see {@code DSSRevocationUtils.getCRLRevocationTokenKey(String)}). The
+ * url is not normalized : the cached CRL is only used for the certificates
+ * whose CRL distribution point is exactly the same string as the url
+ * published in the trusted list (same scheme, host case, port and path).
+ */
+public class CRLCacheWarmer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CRLCacheWarmer.class);
+
+	/**
+	 * The cache to be filled
+	 */
+	private final RepositoryRevocationSource<CRLToken> crlCache;
+
+	/**
+	 * The component that allows to retrieve the data using any protocol: HTTP,
+	 * HTTPS, FTP, LDAP.
+	 */
+	private DataLoader dataLoader = new CommonsDataLoader();
+
+	/**
+	 * The executor provided with {@code setExecutorService}, never shut down by
+	 * the warmer
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The default executor, created on first use when none is provided and shut
+	 * down with {@code shutdown()}
+	 */
+	private ExecutorService defaultExecutorService;
+
+	/**
+	 * Maximum number of CRLs downloaded at the same time
+	 */
+	private int maxConcurrentDownloads = 5;
+
+	/**
+	 * Notified each time a CRL is processed
+	 */
+	private CRLCacheWarmingListener listener;
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param crlCache
+	 *                 the {@code RepositoryRevocationSource} to be filled
+	 */
+	public CRLCacheWarmer(final RepositoryRevocationSource<CRLToken> crlCache) {
+		this.crlCache = crlCache;
+	}
+
+	public void setDataLoader(DataLoader dataLoader) {
+		this.dataLoader = dataLoader;
+	}
+
+	/**
+	 * Sets the executor used to download the CRLs. The given executor stays under
+	 * the control of the caller and is never shut down by the warmer.
+	 * 
+	 * Default : a cached thread pool owned by the warmer (see {@code shutdown()})
+	 * 
+	 * @param executorService
+	 *                        the executor to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	private synchronized ExecutorService getExecutorService() {
+		if (executorService != null) {
+			return executorService;
+		}
+		if (defaultExecutorService == null || defaultExecutorService.isShutdown()) {
+			defaultExecutorService = Executors.newCachedThreadPool();
+		}
+		return defaultExecutorService;
+	}
+
+	/**
+	 * Stops the default executor created by the warmer, if any. An executor
+	 * provided with {@code setExecutorService} is left untouched.
+	 */
+	public synchronized void shutdown() {
+		if (defaultExecutorService != null) {
+			defaultExecutorService.shutdown();
+			defaultExecutorService = null;
+		}
+	}
+
+	/**
+	 * Sets the maximum number of CRLs downloaded at the same time
+	 * 
+	 * Default : 5
+	 * 
+	 * @param maxConcurrentDownloads
+	 *                               the concurrency limit
+	 */
+	public void setMaxConcurrentDownloads(int maxConcurrentDownloads) {
+		this.maxConcurrentDownloads = maxConcurrentDownloads;
+	}
+
+	/**
+	 * Sets a listener notified each time a CRL is processed (loaded or failed),
+	 * e.g. to report the progress of a long warming. The listener is called from
+	 * the download threads.
+	 * 
+	 * Default : none
+	 * 
+	 * @param listener
+	 *                 the {@code CRLCacheWarmingListener}
+	 */
+	public void setListener(CRLCacheWarmingListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Loads the CRLs published for the certificates issued by the CAs of the
+	 * trusted lists (CRL service supply points)
+	 * 
+	 * @param trustedListsCertificateSource
+	 *                                      the synchronized
+	 *                                      {@code TrustedListsCertificateSource}
+	 * @return the {@code CRLCacheWarmingSummary}
+	 */
+	public CRLCacheWarmingSummary warm(final TrustedListsCertificateSource trustedListsCertificateSource) {
+		Map<String, List<CertificateToken>> issuersByUrl = new LinkedHashMap<>();
+		for (CertificateToken caToken : trustedListsCertificateSource.getCertificates()) {
+			for (String crlUrl : trustedListsCertificateSource.getAlternativeCRLUrls(caToken)) {
+				List<CertificateToken> issuers = issuersByUrl.get(crlUrl);
+				if (issuers == null) {
+					issuers = new ArrayList<>();
+					issuersByUrl.put(crlUrl, issuers);
+				}
+				issuers.add(caToken);
+			}
+		}
+		return warm(issuersByUrl);
+	}
+
+	/**
+	 * Loads the CRLs from the given urls. A CRL is stored if it is valid and
+	 * signed by one of the candidate issuers.
+	 * 
+	 * @param issuersByUrl
+	 *                     the map between the CRL urls and the candidate issuers
+	 * @return the {@code CRLCacheWarmingSummary}
+	 */
+	public CRLCacheWarmingSummary warm(final Map<String, List<CertificateToken>> issuersByUrl) {
+		LOG.info("Loading {} CRL(s) into the cache...", issuersByUrl.size());
+		final CRLCacheWarmingSummary summary = new CRLCacheWarmingSummary(issuersByUrl.size());
+		final int permits = Math.max(maxConcurrentDownloads, 1);
+		final Semaphore semaphore = new Semaphore(permits);
+
+		final ExecutorService executor = getExecutorService();
+		try {
+			for (Map.Entry<String, List<CertificateToken>> entry : issuersByUrl.entrySet()) {
+				final String crlUrl = entry.getKey();
+				semaphore.acquire();
+				try {
+					executor.submit(() -> {
+						try {
+							load(crlUrl, entry.getValue(), summary);
+							processed(crlUrl, summary);
+						} finally {
+							semaphore.release();
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					semaphore.release();
+					LOG.warn("Unable to load the CRL '{}' into the cache : {}", crlUrl, e.getMessage());
+					summary.addFailure(crlUrl, "The download task is rejected by the executor");
+					processed(crlUrl, summary);
+				}
+			}
+			// all the permits are available again once every task is completed
+			semaphore.acquire(permits);
+			semaphore.release(permits);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while loading the CRLs");
+		}
+
+		LOG.info("{} CRL(s) loaded into the cache, {} failure(s)", summary.getNumberOfLoadedCRLs(), summary.getFailures().size());
+		return summary;
+	}
+
+	private void load(String crlUrl, List<CertificateToken> issuers, CRLCacheWarmingSummary summary) {
+		try {
+			byte[] crlBinaries = dataLoader.get(crlUrl);
+			if (Utils.isArrayEmpty(crlBinaries)) {
+				summary.addFailure(crlUrl, "No data retrieved");
+				return;
+			}
+			CRLBinary crlBinary = new CRLBinary(crlBinaries);
+			for (CertificateToken issuer : issuers) {
+				CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuer);
+				if (crlValidity.isValid()) {
+					CRLToken crlToken = new CRLToken(crlValidity);
+					crlToken.setOrigins(Collections.singleton(RevocationOrigin.EXTERNAL));
+					crlToken.setSourceURL(crlUrl);
+					crlToken.setAvailable(true);
+					crlToken.setRevocationTokenKey(DSSRevocationUtils.getCRLRevocationTokenKey(crlUrl));
+					crlCache.storeRevocationToken(crlToken);
+					summary.addLoaded(crlUrl);
+					return;
+				}
+			}
+			summary.addFailure(crlUrl, "The CRL is not valid for the candidate issuer(s)");
+		} catch (Exception e) {
+			LOG.warn("Unable to load the CRL '{}' into the cache : {}", crlUrl, e.getMessage());
+			summary.addFailure(crlUrl, e.getMessage());
+		}
+	}
+
+	private void processed(String crlUrl, CRLCacheWarmingSummary summary) {
+		LOG.debug("CRL '{}' processed ({}/{})", crlUrl, summary.getNumberOfProcessedCRLs(), summary.getNumberOfCRLs());
+		if (listener != null) {
+			try {
+				listener.crlProcessed(crlUrl, summary);
+			} catch (Exception e) {
+				LOG.warn("The CRLCacheWarmingListener failed for the CRL '{}' : {}", crlUrl, e.getMessage());
+			}
+		}
+	}
+
+}
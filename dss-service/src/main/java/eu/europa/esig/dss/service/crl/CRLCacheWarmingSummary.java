@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contains the progress and the result of a {@code CRLCacheWarmer} execution.
+ * 
+ * The instance is updated concurrently during the execution.
+ */
+public class CRLCacheWarmingSummary {
+
+	private final int numberOfCRLs;
+
+	private final List<String> loadedUrls = new ArrayList<>();
+
+	private final Map<String, String> failures = new LinkedHashMap<>();
+
+	public CRLCacheWarmingSummary(int numberOfCRLs) {
+		this.numberOfCRLs = numberOfCRLs;
+	}
+
+	/**
+	 * Returns the number of CRLs to be loaded
+	 * 
+	 * @return the number of CRL urls
+	 */
+	public int getNumberOfCRLs() {
+		return numberOfCRLs;
+	}
+
+	/**
+	 * Returns the number of CRLs already processed (loaded or failed)
+	 * 
+	 * @return the number of processed CRL urls
+	 */
+	public synchronized int getNumberOfProcessedCRLs() {
+		return loadedUrls.size() + failures.size();
+	}
+
+	/**
+	 * Returns the number of CRLs successfully loaded into the cache
+	 * 
+	 * @return the number of loaded CRLs
+	 */
+	public synchronized int getNumberOfLoadedCRLs() {
+		return loadedUrls.size();
+	}
+
+	/**
+	 * Returns the urls of the CRLs successfully loaded into the cache
+	 * 
+	 * @return the list of loaded CRL urls
+	 */
+	public synchronized List<String> getLoadedUrls() {
+		return Collections.unmodifiableList(new ArrayList<>(loadedUrls));
+	}
+
+	/**
+	 * Returns the failure reasons by CRL url
+	 * 
+	 * @return the map between the CRL url and the failure reason
+	 */
+	public synchronized Map<String, String> getFailures() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+	}
+
+	synchronized void addLoaded(String url) {
+		loadedUrls.add(url);
+	}
+
+	synchronized void addFailure(String url, String reason) {
+		failures.put(url, reason);
+	}
+
+}
@@ -20,18 +20,15 @@
  */
 package eu.europa.esig.dss.service.crl;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
@@ -50,8 +47,7 @@ import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 public class JdbcCacheCRLSource extends JdbcRevocationSource<CRLToken> implements CRLSource {
 
 	private static final long serialVersionUID = 3007740140330998336L;
-	
-	private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheCRLSource.class);
+
 	/**
 	 * Used in the init method to check if the table exists
 	 */
@@ -61,7 +57,7 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRLToken> implement
 	 * Used in the init method to create the table, if not existing: ID (char40
 	 * = SHA1 length) and DATA (blob)
 	 */
-	private static final String SQL_INIT_CREATE_TABLE = "CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, SIGNATURE_ALGORITHM VARCHAR(64), THIS_UPDATE TIMESTAMP, NEXT_UPDATE TIMESTAMP, EXPIRED_CERTS_ON_CRL TIMESTAMP, ISSUER LONGVARBINARY, ISSUER_PRINCIPAL_MATCH BOOLEAN, SIGNATURE_INTACT BOOLEAN, CRL_SIGN_KEY_USAGE BOOLEAN, UNKNOWN_CRITICAL_EXTENSION BOOLEAN, SIGNATURE_INVALID_REASON VARCHAR(256))";
+	private static final String SQL_INIT_CREATE_TABLE = "CREATE TABLE CACHED_CRL (ID CHAR(40) PRIMARY KEY, DATA BLOB, SIGNATURE_ALGORITHM VARCHAR(64), THIS_UPDATE TIMESTAMP, NEXT_UPDATE TIMESTAMP, EXPIRED_CERTS_ON_CRL TIMESTAMP, ISSUER LONGVARBINARY, ISSUER_PRINCIPAL_MATCH BOOLEAN, SIGNATURE_INTACT BOOLEAN, CRL_SIGN_KEY_USAGE BOOLEAN, UNKNOWN_CRITICAL_EXTENSION BOOLEAN, SIGNATURE_INVALID_REASON VARCHAR(256))";
 
 	/**
 	 * Used in the find method to select the crl via the id
@@ -183,114 +179,67 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRLToken> implement
 		}
 	}
 
+	@Override
+	protected String getInsertRevocationTokenEntryQuery() {
+		return SQL_FIND_INSERT;
+	}
+
+	@Override
+	protected String getUpdateRevocationTokenEntryQuery() {
+		return SQL_FIND_UPDATE;
+	}
+
 	/**
-	 * Insert a new CRL into the cache
+	 * Fills the insert statement of a new CRL into the cache
 	 *
+	 * @param s
+	 *            {@link PreparedStatement} to fill
 	 * @param token
 	 *            {@link CRLToken}
 	 */
 	@Override
-	protected void insertRevocation(final CRLToken token) {
-		Connection c = null;
-		PreparedStatement s = null;
-		CRLValidity crlValidity = token.getCrlValidity();
-		try {
-			c = dataSource.getConnection();
-			s = c.prepareStatement(SQL_FIND_INSERT);
-
-			s.setString(1, token.getRevocationTokenKey());
-
-			s.setBytes(2, crlValidity.getCrlEncoded());
-
-			s.setString(3, crlValidity.getSignatureAlgorithm().name());
-
-			if (crlValidity.getThisUpdate() != null) {
-				s.setTimestamp(4, new Timestamp(crlValidity.getThisUpdate().getTime()));
-			} else {
-				s.setNull(4, Types.TIMESTAMP);
-			}
-
-			if (crlValidity.getNextUpdate() != null) {
-				s.setTimestamp(5, new Timestamp(crlValidity.getNextUpdate().getTime()));
-			} else {
-				s.setNull(5, Types.TIMESTAMP);
-			}
-
-			if (crlValidity.getExpiredCertsOnCRL() != null) {
-				s.setTimestamp(6, new Timestamp(crlValidity.getExpiredCertsOnCRL().getTime()));
-			} else {
-				s.setNull(6, Types.TIMESTAMP);
-			}
-
-			s.setBytes(7, crlValidity.getIssuerToken().getEncoded());
-			s.setBoolean(8, crlValidity.isIssuerX509PrincipalMatches());
-			s.setBoolean(9, crlValidity.isSignatureIntact());
-			s.setBoolean(10, crlValidity.isCrlSignKeyUsage());
-			s.setBoolean(11, crlValidity.isUnknownCriticalExtension());
-			s.setString(12, crlValidity.getSignatureInvalidityReason());
-			s.executeUpdate();
-			c.commit();
-			LOG.debug("CRL token with key '{}' successfully inserted in DB", token.getRevocationTokenKey());
-		} catch (final SQLException e) {
-			LOG.error("Unable to insert CRL {} into the DB. Cause : '{}'", token, e.getMessage(), e);
-			rollback(c);
-		} finally {
-			closeQuietly(c, s, null);
-		}
+	protected void fillInsertRevocationStatement(final PreparedStatement s, final CRLToken token) throws SQLException {
+		s.setString(1, token.getRevocationTokenKey());
+		fillCRLValidity(s, 2, token.getCrlValidity());
 	}
 
 	/**
-	 * Update the cache with the CRL
+	 * Fills the update statement of the cache with the CRL
 	 *
+	 * @param s
+	 *            {@link PreparedStatement} to fill
 	 * @param token
 	 *            {@link CRLToken}
 	 */
 	@Override
-	protected void updateRevocation(CRLToken token) {
-		Connection c = null;
-		PreparedStatement s = null;
-		CRLValidity crlValidity = token.getCrlValidity();
-		try {
-			c = dataSource.getConnection();
-			s = c.prepareStatement(SQL_FIND_UPDATE);
-			s.setBytes(1, crlValidity.getCrlEncoded());
-
-			s.setString(2, crlValidity.getSignatureAlgorithm().name());
-
-			if (crlValidity.getThisUpdate() != null) {
-				s.setTimestamp(3, new Timestamp(crlValidity.getThisUpdate().getTime()));
-			} else {
-				s.setNull(3, Types.TIMESTAMP);
-			}
-
-			if (crlValidity.getNextUpdate() != null) {
-				s.setTimestamp(4, new Timestamp(crlValidity.getNextUpdate().getTime()));
-			} else {
-				s.setNull(4, Types.TIMESTAMP);
-			}
-
-			if (crlValidity.getExpiredCertsOnCRL() != null) {
-				s.setTimestamp(5, new Timestamp(crlValidity.getExpiredCertsOnCRL().getTime()));
-			} else {
-				s.setNull(5, Types.TIMESTAMP);
-			}
-
-			s.setBytes(6, crlValidity.getIssuerToken().getEncoded());
-			s.setBoolean(7, crlValidity.isIssuerX509PrincipalMatches());
-			s.setBoolean(8, crlValidity.isSignatureIntact());
-			s.setBoolean(9, crlValidity.isCrlSignKeyUsage());
-			s.setBoolean(10, crlValidity.isUnknownCriticalExtension());
-			s.setString(11, crlValidity.getSignatureInvalidityReason());
-
-			s.setString(12, token.getRevocationTokenKey());
-			s.executeUpdate();
-			c.commit();
-			LOG.debug("CRL token with key '{}' successfully updated in DB", token.getRevocationTokenKey());
-		} catch (final SQLException e) {
-			LOG.error("Unable to update CRL {} into the DB. Cause : '{}'", token, e.getMessage(), e);
-			rollback(c);
-		} finally {
-			closeQuietly(c, s, null);
+	protected void fillUpdateRevocationStatement(final PreparedStatement s, final CRLToken token) throws SQLException {
+		fillCRLValidity(s, 1, token.getCrlValidity());
+		s.setString(12, token.getRevocationTokenKey());
+	}
+
+	private void fillCRLValidity(final PreparedStatement s, int firstIndex, final CRLValidity crlValidity) throws SQLException {
+		int i = firstIndex;
+		s.setBytes(i++, crlValidity.getCrlEncoded());
+
+		s.setString(i++, crlValidity.getSignatureAlgorithm().name());
+
+		setTimestamp(s, i++, crlValidity.getThisUpdate());
+		setTimestamp(s, i++, crlValidity.getNextUpdate());
+		setTimestamp(s, i++, crlValidity.getExpiredCertsOnCRL());
+
+		s.setBytes(i++, crlValidity.getIssuerToken().getEncoded());
+		s.setBoolean(i++, crlValidity.isIssuerX509PrincipalMatches());
+		s.setBoolean(i++, crlValidity.isSignatureIntact());
+		s.setBoolean(i++, crlValidity.isCrlSignKeyUsage());
+		s.setBoolean(i++, crlValidity.isUnknownCriticalExtension());
+		s.setString(i, crlValidity.getSignatureInvalidityReason());
+	}
+
+	private void setTimestamp(final PreparedStatement s, int index, Date date) throws SQLException {
+		if (date != null) {
+			s.setTimestamp(index, new Timestamp(date.getTime()));
+		} else {
+			s.setNull(index, Types.TIMESTAMP);
 		}
 	}
 	
@@ -32,14 +32,18 @@ import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.MetricsDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
+import eu.europa.esig.dss.spi.x509.revocation.NoOpRevocationMetrics;
 import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationMetrics;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
@@ -72,11 +76,23 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * Collects the request and CRL verification metrics
+	 */
+	private RevocationMetrics metrics = new NoOpRevocationMetrics();
+
+	/**
+	 * The {@code dataLoader} decorated to report to the {@code metrics}, rebuilt
+	 * when one of them is changed
+	 */
+	private DataLoader metricsDataLoader;
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
 	public OnlineCRLSource() {
 		dataLoader = new CommonsDataLoader();
+		metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
 		LOG.trace("+OnlineCRLSource with the default data loader.");
 	}
 
@@ -89,6 +105,7 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	public OnlineCRLSource(final DataLoader dataLoader) {
 		this.dataLoader = dataLoader;
+		this.metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
 		LOG.trace("+OnlineCRLSource with the specific data loader.");
 	}
 
@@ -108,6 +125,20 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	@Override
 	public void setDataLoader(final DataLoader dataLoader) {
 		this.dataLoader = dataLoader;
+		this.metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
+	}
+
+	/**
+	 * Sets the {@code RevocationMetrics} to collect the request durations,
+	 * downloaded bytes and CRL verification durations (default :
+	 * {@code NoOpRevocationMetrics})
+	 * 
+	 * @param metrics
+	 *                {@link RevocationMetrics}
+	 */
+	public void setMetrics(RevocationMetrics metrics) {
+		this.metrics = metrics;
+		this.metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
 	}
 
 	@Override
@@ -144,7 +175,14 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		}
 		try {
 			CRLBinary crlBinary = new CRLBinary(dataAndUrl.getData());
-			final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
+			final CRLValidity crlValidity;
+			final long start = System.nanoTime();
+			try {
+				crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
+			} finally {
+				// the rejected CRLs are reported as well
+				metrics.revocationVerified(RevocationType.CRL, System.nanoTime() - start);
+			}
 			final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
 			crlToken.setOrigins(Collections.singleton(RevocationOrigin.EXTERNAL));
 			crlToken.setSourceURL(dataAndUrl.getUrlString());
@@ -168,7 +206,7 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader.DataAndUrl downloadCrl(final List<String> downloadUrls) {
 		try {
-			return dataLoader.get(downloadUrls);
+			return metricsDataLoader.get(downloadUrls);
 		} catch (DSSException e) {
 			LOG.warn("Unable to download CRL from URLs [{}]. Reason : [{}]", downloadUrls, e.getMessage(), e);
 			return null;
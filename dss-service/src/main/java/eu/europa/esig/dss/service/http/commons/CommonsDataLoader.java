@@ -31,16 +31,14 @@ import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 
-import javax.naming.Context;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
 import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
+import javax.naming.ldap.LdapName;
 import javax.net.ssl.HostnameVerifier;
 
 import org.apache.http.HttpEntity;
@@ -89,6 +87,7 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
@@ -118,6 +117,10 @@ public class CommonsDataLoader implements DataLoader {
 
 	private static final int CONNECTIONS_MAX_PER_ROUTE = 2;
 
+	private static final long LDAP_CONNECTION_IDLE_TIMEOUT = 60000;
+
+	private static final int MAX_QUEUED_REQUESTS_PER_HOST = 10;
+
 	private static final String CONTENT_TYPE = "Content-Type";
 
 	private static final String DEFAULT_SSL_PROTOCOL = "TLSv1.2";
@@ -134,6 +137,21 @@ public class CommonsDataLoader implements DataLoader {
 	private int connectionsMaxPerRoute = CONNECTIONS_MAX_PER_ROUTE;
 	private boolean redirectsEnabled = true;
 	private List<Integer> acceptedHttpStatus = ACCEPTED_HTTP_STATUS;
+	private int ldapConnectionsMaxPerServer = CONNECTIONS_MAX_PER_ROUTE;
+	private long ldapConnectionIdleTimeout = LDAP_CONNECTION_IDLE_TIMEOUT;
+
+	/**
+	 * Pool of the LDAP connections (created on the first LDAP request)
+	 */
+	private transient LdapConnectionPool ldapConnectionPool;
+
+	private int maxConcurrentRequestsPerHost = -1;
+	private int maxQueuedRequestsPerHost = MAX_QUEUED_REQUESTS_PER_HOST;
+
+	/**
+	 * Limits the simultaneous requests per host (created on the first request)
+	 */
+	private transient HostBulkhead hostBulkhead;
 
 	private final Map<HttpHost, UsernamePasswordCredentials> authenticationMap = new HashMap<>();
 
@@ -399,16 +417,29 @@ public class CommonsDataLoader implements DataLoader {
 
 		if (Protocol.isFileUrl(urlString)) {
 			return fileGet(urlString);
-		} else if (Protocol.isHttpUrl(urlString)) {
+		}
+
+		final HostBulkhead bulkhead = getHostBulkhead();
+		final String host = DSSRevocationUtils.getHost(urlString);
+		if (bulkhead != null) {
+			bulkhead.acquire(host);
+		}
+		try {
+			if (Protocol.isHttpUrl(urlString)) {
+				return httpGet(urlString);
+			} else if (Protocol.isFtpUrl(urlString)) {
+				return ftpGet(urlString);
+			} else if (Protocol.isLdapUrl(urlString)) {
+				return ldapGet(urlString);
+			} else {
+				LOG.warn("DSS framework only supports FILE, HTTP, HTTPS, FTP and LDAP Urls.");
+			}
 			return httpGet(urlString);
-		} else if (Protocol.isFtpUrl(urlString)) {
-			return ftpGet(urlString);
-		} else if (Protocol.isLdapUrl(urlString)) {
-			return ldapGet(urlString);
-		} else {
-			LOG.warn("DSS framework only supports FILE, HTTP, HTTPS, FTP and LDAP Urls.");
+		} finally {
+			if (bulkhead != null) {
+				bulkhead.release(host);
+			}
 		}
-		return httpGet(urlString);
 	}
 
 	@Override
@@ -465,32 +496,37 @@ public class CommonsDataLoader implements DataLoader {
 		
 		urlString = LdapURLUtils.encode(urlString);
 
-		final Hashtable<String, String> env = new Hashtable<>();
-		env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
-		env.put(Context.PROVIDER_URL, urlString);
+		final String serverUrl = LdapURLUtils.getServerUrl(urlString);
+		final LdapConnectionPool pool = getLdapConnectionPool();
 		try {
 
 			// parse URL according to the template: 'ldap://host:port/DN?attributes?scope?filter?extensions'
 			String ldapParams = Utils.substringAfter(urlString, "?");
 			StringTokenizer tokenizer = new StringTokenizer(ldapParams, "?");
-			String attributeName = (tokenizer.hasMoreTokens()) ? tokenizer.nextToken() : null;
+			String attributeName = (tokenizer.hasMoreTokens()) ? LdapURLUtils.decode(tokenizer.nextToken()) : null;
 
 			if (Utils.isStringEmpty(attributeName)) {
 				// default was CRL
 				attributeName = "certificateRevocationList;binary";
 			}
 
-			final DirContext ctx = new InitialDirContext(env);
-			final Attributes attributes = ctx.getAttributes(Utils.EMPTY_STRING, new String[] { attributeName });
-			if ((attributes == null) || (attributes.size() < 1)) {
-				throw new DSSException(String.format("Cannot download binaries from: [%s], no attributes with name: [%s] returned", urlString, attributeName));
-			} else {
-				final Attribute attribute = attributes.getAll().next();
-				final byte[] ldapBytes = (byte[]) attribute.get();
-				if (Utils.isArrayNotEmpty(ldapBytes)) {
-					return ldapBytes;
+			final DirContext ctx = pool.borrow(serverUrl);
+			boolean reusable = false;
+			try {
+				final Attributes attributes = ctx.getAttributes(new LdapName(LdapURLUtils.getDN(urlString)), new String[] { attributeName });
+				reusable = true;
+				if ((attributes == null) || (attributes.size() < 1)) {
+					throw new DSSException(String.format("Cannot download binaries from: [%s], no attributes with name: [%s] returned", urlString, attributeName));
+				} else {
+					final Attribute attribute = attributes.getAll().next();
+					final byte[] ldapBytes = (byte[]) attribute.get();
+					if (Utils.isArrayNotEmpty(ldapBytes)) {
+						return ldapBytes;
+					}
+					throw new DSSException(String.format("The retrieved ldap content from url [%s] is empty", urlString));
 				}
-				throw new DSSException(String.format("The retrieved ldap content from url [%s] is empty", urlString));
+			} finally {
+				pool.release(serverUrl, ctx, reusable);
 			}
 		} catch (DSSException e) {
 			throw e;
@@ -499,6 +535,45 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * Returns the per host limiter of the simultaneous requests (lazily created
+	 * with the current configuration)
+	 * 
+	 * @return {@link HostBulkhead} or null if the number of simultaneous requests
+	 *         per host is not limited
+	 */
+	protected synchronized HostBulkhead getHostBulkhead() {
+		if (hostBulkhead == null && maxConcurrentRequestsPerHost > 0) {
+			hostBulkhead = new HostBulkhead(maxConcurrentRequestsPerHost, maxQueuedRequestsPerHost, timeoutConnection);
+		}
+		return hostBulkhead;
+	}
+
+	/**
+	 * Returns the pool of LDAP connections (lazily created with the current
+	 * configuration)
+	 * 
+	 * @return {@link LdapConnectionPool}
+	 */
+	protected synchronized LdapConnectionPool getLdapConnectionPool() {
+		if (ldapConnectionPool == null) {
+			ldapConnectionPool = new LdapConnectionPool(ldapConnectionsMaxPerServer, timeoutConnection, timeoutSocket, ldapConnectionIdleTimeout);
+		}
+		return ldapConnectionPool;
+	}
+
+	/**
+	 * Closes the LDAP connections : the idle ones immediately, the ones in use
+	 * when their request is completed. The following LDAP requests will open new
+	 * connections.
+	 */
+	public synchronized void closeLdapConnections() {
+		if (ldapConnectionPool != null) {
+			ldapConnectionPool.close();
+			ldapConnectionPool = null;
+		}
+	}
+
 	/**
 	 * This method retrieves data using FTP protocol .
 	 *
@@ -572,6 +647,31 @@ public class CommonsDataLoader implements DataLoader {
 	@Override
 	public byte[] post(final String url, final byte[] content) {
 
+		final HostBulkhead bulkhead = getHostBulkhead();
+		final String host = DSSRevocationUtils.getHost(url);
+		if (bulkhead != null) {
+			bulkhead.acquire(host);
+		}
+		try {
+			return httpPost(url, content);
+		} finally {
+			if (bulkhead != null) {
+				bulkhead.release(host);
+			}
+		}
+	}
+
+	/**
+	 * This method sends data using HTTP or HTTPS protocol and 'post' method.
+	 *
+	 * @param url
+	 *            to access
+	 * @param content
+	 *            the data to send
+	 * @return {@code byte} array of obtained data
+	 */
+	protected byte[] httpPost(final String url, final byte[] content) {
+
 		LOG.debug("Fetching data via POST from url {}", url);
 
 		HttpPost httpRequest = null;
@@ -669,13 +769,16 @@ public class CommonsDataLoader implements DataLoader {
 	}
 
 	/**
-	 * Used when the {@code HttpClient} is created.
+	 * Used when the {@code HttpClient} is created. The pooled LDAP connections
+	 * are closed, the following LDAP requests use the new value.
 	 *
 	 * @param timeoutConnection
 	 *            the value (millis)
 	 */
-	public void setTimeoutConnection(final int timeoutConnection) {
+	public synchronized void setTimeoutConnection(final int timeoutConnection) {
 		this.timeoutConnection = timeoutConnection;
+		this.hostBulkhead = null;
+		closeLdapConnections();
 	}
 
 	/**
@@ -688,13 +791,15 @@ public class CommonsDataLoader implements DataLoader {
 	}
 
 	/**
-	 * Used when the {@code HttpClient} is created.
+	 * Used when the {@code HttpClient} is created. The pooled LDAP connections
+	 * are closed, the following LDAP requests use the new value.
 	 *
 	 * @param timeoutSocket
 	 *            the value (millis)
 	 */
-	public void setTimeoutSocket(final int timeoutSocket) {
+	public synchronized void setTimeoutSocket(final int timeoutSocket) {
 		this.timeoutSocket = timeoutSocket;
+		closeLdapConnections();
 	}
 
 	/**
@@ -735,6 +840,105 @@ public class CommonsDataLoader implements DataLoader {
 		this.connectionsMaxPerRoute = connectionsMaxPerRoute;
 	}
 
+	/**
+	 * Returns the maximum number of simultaneous requests per host.
+	 *
+	 * @return maximum number of simultaneous requests per host (-1 if not limited)
+	 */
+	public int getMaxConcurrentRequestsPerHost() {
+		return maxConcurrentRequestsPerHost;
+	}
+
+	/**
+	 * Limits the number of simultaneous requests (GET and POST) to the same host,
+	 * whatever the protocol. When the limit is reached, the following requests
+	 * wait for a free slot (at most timeoutConnection millis) or are rejected
+	 * immediately with a {@code DSSException} when too many requests are already
+	 * waiting (see {@link #setMaxQueuedRequestsPerHost(int)}). A negative value
+	 * disables the limit.
+	 * 
+	 * Default : -1 (not limited)
+	 *
+	 * @param maxConcurrentRequestsPerHost
+	 *            maximum number of simultaneous requests per host
+	 */
+	public synchronized void setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+		this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+		this.hostBulkhead = null;
+	}
+
+	/**
+	 * Returns the maximum number of requests waiting for a free slot per host.
+	 *
+	 * @return maximum number of waiting requests per host
+	 */
+	public int getMaxQueuedRequestsPerHost() {
+		return maxQueuedRequestsPerHost;
+	}
+
+	/**
+	 * Used when the number of simultaneous requests per host is limited (see
+	 * {@link #setMaxConcurrentRequestsPerHost(int)}).
+	 * 
+	 * Default : 10
+	 *
+	 * @param maxQueuedRequestsPerHost
+	 *            maximum number of waiting requests per host
+	 */
+	public synchronized void setMaxQueuedRequestsPerHost(int maxQueuedRequestsPerHost) {
+		this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+		this.hostBulkhead = null;
+	}
+
+	/**
+	 * Used when the LDAP connection pool is created.
+	 *
+	 * @return maximum number of simultaneous connections per LDAP server
+	 */
+	public int getLdapConnectionsMaxPerServer() {
+		return ldapConnectionsMaxPerServer;
+	}
+
+	/**
+	 * Used when the LDAP connection pool is created. The LDAP connections are
+	 * reused between the requests to the same server ('ldap://host:port'). The
+	 * pooled LDAP connections are closed, the following LDAP requests use the new
+	 * value.
+	 * 
+	 * Default : 2
+	 *
+	 * @param ldapConnectionsMaxPerServer
+	 *            maximum number of simultaneous connections per LDAP server
+	 */
+	public synchronized void setLdapConnectionsMaxPerServer(int ldapConnectionsMaxPerServer) {
+		this.ldapConnectionsMaxPerServer = ldapConnectionsMaxPerServer;
+		closeLdapConnections();
+	}
+
+	/**
+	 * Used when the LDAP connection pool is created.
+	 *
+	 * @return the value (millis)
+	 */
+	public long getLdapConnectionIdleTimeout() {
+		return ldapConnectionIdleTimeout;
+	}
+
+	/**
+	 * Used when the LDAP connection pool is created. An unused LDAP connection is
+	 * closed after this delay. The pooled LDAP connections are closed, the
+	 * following LDAP requests use the new value.
+	 * 
+	 * Default : 60000 (1 minute)
+	 *
+	 * @param ldapConnectionIdleTimeout
+	 *            the value (millis)
+	 */
+	public synchronized void setLdapConnectionIdleTimeout(long ldapConnectionIdleTimeout) {
+		this.ldapConnectionIdleTimeout = ldapConnectionIdleTimeout;
+		closeLdapConnections();
+	}
+
 	/**
 	 * Used when the {@code HttpClient} is created.
 	 *
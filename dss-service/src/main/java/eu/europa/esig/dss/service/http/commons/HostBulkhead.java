@@ -0,0 +1,147 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import eu.europa.esig.dss.model.DSSException;
+
+/**
+ * Limits the number of simultaneous requests to the same host. When the limit
+ * is reached, a bounded number of requests waits for a free slot, the other
+ * ones are rejected immediately. A slow or unavailable host cannot hold all the
+ * calling threads and the requests to the other hosts are not impacted.
+ */
+public class HostBulkhead {
+
+	private final Map<String, HostQueue> hosts = new ConcurrentHashMap<>();
+
+	private final int maxConcurrentRequests;
+	private final int maxQueuedRequests;
+	private final long waitTimeout;
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param maxConcurrentRequests
+	 *                              maximum number of simultaneous requests to the
+	 *                              same host
+	 * @param maxQueuedRequests
+	 *                              maximum number of requests waiting for a free
+	 *                              slot for the same host
+	 * @param waitTimeout
+	 *                              maximum waiting time (millis) for a free slot
+	 */
+	public HostBulkhead(int maxConcurrentRequests, int maxQueuedRequests, long waitTimeout) {
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.maxQueuedRequests = maxQueuedRequests;
+		this.waitTimeout = waitTimeout;
+	}
+
+	/**
+	 * Reserves a slot for a request to the given host. The slot must be given back
+	 * with {@link #release(String)}.
+	 * 
+	 * @param host
+	 *             the target host
+	 * @throws DSSException
+	 *                      if the request is rejected
+	 */
+	public void acquire(String host) {
+		HostQueue queue = hosts.computeIfAbsent(host, k -> new HostQueue(maxConcurrentRequests));
+		try {
+			// unlike tryAcquire(), a zero timeout does not overtake the waiting requests
+			if (queue.permits.tryAcquire(0, TimeUnit.SECONDS)) {
+				return;
+			}
+			if (queue.waiting.incrementAndGet() > maxQueuedRequests) {
+				queue.waiting.decrementAndGet();
+				throw new DSSException(String.format("Request to host [%s] rejected : too many simultaneous requests (max %s, queued %s)",
+						host, maxConcurrentRequests, maxQueuedRequests));
+			}
+			try {
+				if (!queue.permits.tryAcquire(waitTimeout, TimeUnit.MILLISECONDS)) {
+					throw new DSSException(String.format("Request to host [%s] rejected : no free slot after %s ms", host, waitTimeout));
+				}
+			} finally {
+				queue.waiting.decrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("Interrupted while waiting for a free slot for host [%s]", host));
+		}
+	}
+
+	/**
+	 * Gives back a slot obtained with {@link #acquire(String)}
+	 * 
+	 * @param host
+	 *             the target host
+	 */
+	public void release(String host) {
+		HostQueue queue = hosts.get(host);
+		if (queue != null) {
+			queue.permits.release();
+		}
+	}
+
+	/**
+	 * Returns the number of the requests in progress for the given host
+	 * 
+	 * @param host
+	 *             the target host
+	 * @return the number of requests in progress
+	 */
+	public int getInFlightRequests(String host) {
+		HostQueue queue = hosts.get(host);
+		return queue == null ? 0 : maxConcurrentRequests - queue.permits.availablePermits();
+	}
+
+	/**
+	 * Returns the number of the requests waiting for a free slot for the given
+	 * host
+	 * 
+	 * @param host
+	 *             the target host
+	 * @return the number of waiting requests
+	 */
+	public int getQueuedRequests(String host) {
+		HostQueue queue = hosts.get(host);
+		return queue == null ? 0 : queue.waiting.get();
+	}
+
+	private static final class HostQueue {
+
+		private final Semaphore permits;
+
+		private final AtomicInteger waiting = new AtomicInteger();
+
+		private HostQueue(int maxConcurrentRequests) {
+			this.permits = new Semaphore(maxConcurrentRequests, true);
+		}
+
+	}
+
+}
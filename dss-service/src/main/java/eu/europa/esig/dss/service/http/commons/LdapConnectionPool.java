@@ -0,0 +1,339 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.Context;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.model.DSSException;
+
+/**
+ * Pool of LDAP connections ({@code DirContext}) keyed by LDAP server
+ * ('ldap://host:port'). The connections are reused between the requests and
+ * the number of simultaneous connections per server is limited.
+ * 
+ * The idle connections are closed by a background task once they are unused
+ * for {@code idleTimeout}, even if no other request is sent to their server.
+ */
+public class LdapConnectionPool {
+
+	private static final Logger LOG = LoggerFactory.getLogger(LdapConnectionPool.class);
+
+	/**
+	 * Shared by all the pools to close the expired idle connections
+	 */
+	private static final ScheduledExecutorService IDLE_REAPER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "dss-ldap-idle-reaper");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Map<String, HostPool> pools = new ConcurrentHashMap<>();
+
+	private final int maxConnectionsPerHost;
+	private final int timeoutConnection;
+	private final int timeoutSocket;
+	private final long idleTimeout;
+
+	/**
+	 * Once closed, the connections are not kept anymore when they are released
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * The scheduled closing of the expired idle connections (null if the idle
+	 * connections never expire)
+	 */
+	private final ScheduledFuture<?> idleReaper;
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param maxConnectionsPerHost
+	 *                              maximum number of simultaneous connections to
+	 *                              the same LDAP server
+	 * @param timeoutConnection
+	 *                              connection timeout (millis), also used as the
+	 *                              maximum waiting time for a free connection
+	 * @param timeoutSocket
+	 *                              read timeout (millis)
+	 * @param idleTimeout
+	 *                              time (millis) after which an unused connection
+	 *                              is closed
+	 */
+	public LdapConnectionPool(int maxConnectionsPerHost, int timeoutConnection, int timeoutSocket, long idleTimeout) {
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		this.timeoutConnection = timeoutConnection;
+		this.timeoutSocket = timeoutSocket;
+		this.idleTimeout = idleTimeout;
+		if (idleTimeout > 0) {
+			IdleReaper reaper = new IdleReaper(this);
+			reaper.future = IDLE_REAPER.scheduleWithFixedDelay(reaper, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+			this.idleReaper = reaper.future;
+		} else {
+			this.idleReaper = null;
+		}
+	}
+
+	/**
+	 * Returns a connection to the given LDAP server. The connection must be given
+	 * back with {@link #release(String, DirContext, boolean)}.
+	 * 
+	 * @param serverUrl
+	 *                  the LDAP server url ('ldap://host:port')
+	 * @return {@link DirContext}
+	 * @throws NamingException
+	 *                         if the connection cannot be opened
+	 */
+	public DirContext borrow(String serverUrl) throws NamingException {
+		HostPool pool = pools.computeIfAbsent(serverUrl, k -> new HostPool(maxConnectionsPerHost));
+		if (closed) {
+			pool.close();
+		}
+		try {
+			if (!pool.permits.tryAcquire(timeoutConnection, TimeUnit.MILLISECONDS)) {
+				throw new DSSException(String.format(
+						"Too many simultaneous LDAP requests to [%s] (max %s)", serverUrl, maxConnectionsPerHost));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("Interrupted while waiting for a LDAP connection to [%s]", serverUrl));
+		}
+
+		try {
+			DirContext ctx = pool.pollIdle(idleTimeout);
+			if (ctx == null) {
+				LOG.debug("Opening a new LDAP connection to [{}]", serverUrl);
+				ctx = createContext(serverUrl);
+			}
+			return ctx;
+		} catch (NamingException | RuntimeException e) {
+			pool.permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gives back a connection obtained with {@link #borrow(String)}
+	 * 
+	 * @param serverUrl
+	 *                  the LDAP server url ('ldap://host:port')
+	 * @param ctx
+	 *                  the connection
+	 * @param reusable
+	 *                  false if the connection must be closed (e.g. after a
+	 *                  communication error)
+	 */
+	public void release(String serverUrl, DirContext ctx, boolean reusable) {
+		HostPool pool = pools.get(serverUrl);
+		if (pool == null) {
+			closeQuietly(ctx);
+			return;
+		}
+		try {
+			if (!reusable || !pool.offerIdle(ctx, maxConnectionsPerHost)) {
+				closeQuietly(ctx);
+			}
+		} finally {
+			pool.permits.release();
+		}
+	}
+
+	/**
+	 * Closes the pool : the idle connections are closed immediately, the
+	 * connections in use are closed when they are released
+	 */
+	public void close() {
+		closed = true;
+		if (idleReaper != null) {
+			idleReaper.cancel(false);
+		}
+		for (HostPool pool : pools.values()) {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Closes the idle connections unused for more than {@code idleTimeout}
+	 */
+	void closeExpiredConnections() {
+		for (HostPool pool : pools.values()) {
+			pool.closeExpired(idleTimeout);
+		}
+	}
+
+	/**
+	 * Opens a new connection to the given LDAP server
+	 * 
+	 * @param serverUrl
+	 *                  the LDAP server url ('ldap://host:port')
+	 * @return {@link DirContext}
+	 * @throws NamingException
+	 *                         if the connection cannot be opened
+	 */
+	protected DirContext createContext(String serverUrl) throws NamingException {
+		final Hashtable<String, String> env = new Hashtable<>();
+		env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
+		env.put(Context.PROVIDER_URL, serverUrl);
+		env.put("com.sun.jndi.ldap.connect.timeout", String.valueOf(timeoutConnection));
+		env.put("com.sun.jndi.ldap.read.timeout", String.valueOf(timeoutSocket));
+		return new InitialDirContext(env);
+	}
+
+	private void closeQuietly(DirContext ctx) {
+		try {
+			ctx.close();
+		} catch (NamingException e) {
+			LOG.debug("Unable to close the LDAP connection : {}", e.getMessage());
+		}
+	}
+
+	private static final class HostPool {
+
+		private final Semaphore permits;
+
+		private final Deque<IdleContext> idle = new ArrayDeque<>();
+
+		private boolean closed;
+
+		private HostPool(int maxConnections) {
+			this.permits = new Semaphore(maxConnections, true);
+		}
+
+		/**
+		 * Returns the most recently used idle connection, the expired ones are
+		 * dropped (a negative idleTimeout returns any idle connection)
+		 */
+		private synchronized DirContext pollIdle(long idleTimeout) {
+			IdleContext idleContext;
+			while ((idleContext = idle.pollFirst()) != null) {
+				if (idleTimeout < 0 || System.currentTimeMillis() - idleContext.since < idleTimeout) {
+					return idleContext.ctx;
+				}
+				try {
+					idleContext.ctx.close();
+				} catch (NamingException e) {
+					LOG.debug("Unable to close the LDAP connection : {}", e.getMessage());
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Closes the expired idle connections, the most recently used ones are kept
+		 */
+		private synchronized void closeExpired(long idleTimeout) {
+			Iterator<IdleContext> oldestFirst = idle.descendingIterator();
+			while (oldestFirst.hasNext()) {
+				IdleContext idleContext = oldestFirst.next();
+				if (System.currentTimeMillis() - idleContext.since < idleTimeout) {
+					return;
+				}
+				oldestFirst.remove();
+				try {
+					idleContext.ctx.close();
+				} catch (NamingException e) {
+					LOG.debug("Unable to close the LDAP connection : {}", e.getMessage());
+				}
+			}
+		}
+
+		/**
+		 * Closes the idle connections and refuses the following ones
+		 */
+		private synchronized void close() {
+			closed = true;
+			// a zero timeout expires and closes all the idle connections
+			pollIdle(0);
+		}
+
+		private synchronized boolean offerIdle(DirContext ctx, int maxIdle) {
+			if (closed || idle.size() >= maxIdle) {
+				return false;
+			}
+			idle.addFirst(new IdleContext(ctx));
+			return true;
+		}
+
+	}
+
+	/**
+	 * Only weakly references the pool, so that a pool which is not closed can
+	 * still be garbage collected
+	 */
+	private static final class IdleReaper implements Runnable {
+
+		private final WeakReference<LdapConnectionPool> poolReference;
+
+		private volatile ScheduledFuture<?> future;
+
+		private IdleReaper(LdapConnectionPool pool) {
+			this.poolReference = new WeakReference<>(pool);
+		}
+
+		@Override
+		public void run() {
+			LdapConnectionPool pool = poolReference.get();
+			if (pool == null) {
+				if (future != null) {
+					future.cancel(false);
+				}
+				return;
+			}
+			try {
+				pool.closeExpiredConnections();
+			} catch (RuntimeException e) {
+				LOG.warn("Unable to close the expired LDAP connections : {}", e.getMessage());
+			}
+		}
+
+	}
+
+	private static final class IdleContext {
+
+		private final DirContext ctx;
+		private final long since = System.currentTimeMillis();
+
+		private IdleContext(DirContext ctx) {
+			this.ctx = ctx;
+		}
+
+	}
+
+}
@@ -20,7 +20,9 @@
  */
 package eu.europa.esig.dss.service.http.commons;
 
+import java.io.ByteArrayOutputStream;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +81,76 @@ public class LdapURLUtils {
 		return url.toString();
 	}
 	
+	/**
+	 * Returns the LDAP server part of the given url, according to the template
+	 * 'ldap://host:port/DN?attributes?scope?filter?extensions'
+	 * 
+	 * @param url {@link String} ldap url
+	 * @return {@link String} 'ldap://host:port'
+	 */
+	public static String getServerUrl(String url) {
+		int authorityStart = url.indexOf("://") + 3;
+		int authorityEnd = url.indexOf('/', authorityStart);
+		if (authorityEnd < 0) {
+			authorityEnd = url.indexOf('?', authorityStart);
+		}
+		return authorityEnd < 0 ? url : url.substring(0, authorityEnd);
+	}
+
+	/**
+	 * Returns the decoded DN of the given url, according to the template
+	 * 'ldap://host:port/DN?attributes?scope?filter?extensions'
+	 * 
+	 * @param url {@link String} encoded ldap url
+	 * @return {@link String} the decoded DN (empty if not present)
+	 */
+	public static String getDN(String url) {
+		String serverUrl = getServerUrl(url);
+		if (url.length() <= serverUrl.length() + 1 || url.charAt(serverUrl.length()) != '/') {
+			return "";
+		}
+		String dn = url.substring(serverUrl.length() + 1);
+		int paramsStart = dn.indexOf('?');
+		if (paramsStart >= 0) {
+			dn = dn.substring(0, paramsStart);
+		}
+		return decode(dn);
+	}
+
+	/**
+	 * Decodes the percent-encoded octets of the given string (the '+' character is
+	 * kept as is)
+	 * 
+	 * @param str {@link String} to decode
+	 * @return decoded {@link String}
+	 */
+	public static String decode(String str) {
+		StringBuilder result = new StringBuilder();
+		ByteArrayOutputStream encodedBytes = new ByteArrayOutputStream();
+		int i = 0;
+		while (i < str.length()) {
+			if (str.charAt(i) == '%' && i + 2 < str.length() && isHex(str.charAt(i + 1)) && isHex(str.charAt(i + 2))) {
+				encodedBytes.write(Integer.parseInt(str.substring(i + 1, i + 3), 16));
+				i += 3;
+			} else {
+				if (encodedBytes.size() > 0) {
+					result.append(new String(encodedBytes.toByteArray(), StandardCharsets.UTF_8));
+					encodedBytes.reset();
+				}
+				result.append(str.charAt(i));
+				i++;
+			}
+		}
+		if (encodedBytes.size() > 0) {
+			result.append(new String(encodedBytes.toByteArray(), StandardCharsets.UTF_8));
+		}
+		return result.toString();
+	}
+
+	private static boolean isHex(char c) {
+		return Character.digit(c, 16) >= 0;
+	}
+
 	private static boolean contains(char[] chars, char c) {
 		for (char ch : chars) {
 			if (ch == c) {
@@ -21,7 +21,6 @@
 package eu.europa.esig.dss.service.ocsp;
 
 import java.io.IOException;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -31,8 +30,6 @@ import java.util.List;
 
 import org.bouncycastle.cert.ocsp.OCSPException;
 import org.bouncycastle.cert.ocsp.OCSPResp;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
@@ -56,8 +53,6 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSPToken> impleme
 	
 	private static final long serialVersionUID = 10480458323923489L;
 
-	private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheOCSPSource.class);
-
 	/**
 	 * Used in the init method to check if the table exists
 	 */
@@ -67,7 +62,7 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSPToken> impleme
 	 * Used in the init method to create the table, if not existing: ID (char40
 	 * = SHA1 length) and DATA (blob)
 	 */
-	private static final String SQL_INIT_CREATE_TABLE = "CREATE TABLE CACHED_OCSP (ID VARCHAR(100), DATA BLOB, LOC VARCHAR(200))";
+	private static final String SQL_INIT_CREATE_TABLE = "CREATE TABLE CACHED_OCSP (ID VARCHAR(100) PRIMARY KEY, DATA BLOB, LOC VARCHAR(200))";
 
 	/**
 	 * Used in the find method to select the OCSP via the id
@@ -152,71 +147,52 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSPToken> impleme
 		}
 	}
 
+	@Override
+	protected String getInsertRevocationTokenEntryQuery() {
+		return SQL_FIND_INSERT;
+	}
+
+	@Override
+	protected String getUpdateRevocationTokenEntryQuery() {
+		return SQL_FIND_UPDATE;
+	}
+
 	/**
-	 * Stores the supplied new OCSP <code>token</code> for the given
-	 * <code>key</code>.
+	 * Fills the statement storing the supplied new OCSP <code>token</code>
 	 *
+	 * @param s
+	 *            {@link PreparedStatement} to fill
 	 * @param token
 	 *            OCSP token
 	 */
 	@Override
-	protected void insertRevocation(final OCSPToken token) {
-		Connection c = null;
-		PreparedStatement s = null;
-		try {
-			c = dataSource.getConnection();
-			s = c.prepareStatement(SQL_FIND_INSERT);
-
-			s.setString(1, token.getRevocationTokenKey());
-			s.setBytes(2, token.getEncoded());
-			if (token.getSourceURL() != null) {
-				s.setString(3, token.getSourceURL());
-			} else {
-				s.setNull(3, Types.VARCHAR);
-			}
-			
-			s.executeUpdate();
-			c.commit();
-			LOG.debug("OCSP token with key '{}' successfully inserted in DB", token.getRevocationTokenKey());
-		} catch (final Exception e) {
-			LOG.error("Unable to insert OCSP {} into the DB. Cause: '{}'", token, e.getMessage(), e);
-			rollback(c);
-		} finally {
-			closeQuietly(c, s, null);
-		}
+	protected void fillInsertRevocationStatement(final PreparedStatement s, final OCSPToken token) throws SQLException {
+		s.setString(1, token.getRevocationTokenKey());
+		s.setBytes(2, token.getEncoded());
+		setSourceURL(s, 3, token);
 	}
 
 	/**
-	 * Updates the currently stored OCSP token for the given <code>key</code>
-	 * with supplied <code>token</code>.
+	 * Fills the statement updating the currently stored OCSP token with the
+	 * supplied <code>token</code>
 	 *
+	 * @param s
+	 *            {@link PreparedStatement} to fill
 	 * @param token
 	 *            new OCSP token
 	 */
 	@Override
-	protected void updateRevocation(final OCSPToken token) {
-		Connection c = null;
-		PreparedStatement s = null;
-		try {
-			c = dataSource.getConnection();
-			s = c.prepareStatement(SQL_FIND_UPDATE);
-
-			s.setBytes(1, token.getEncoded());
+	protected void fillUpdateRevocationStatement(final PreparedStatement s, final OCSPToken token) throws SQLException {
+		s.setBytes(1, token.getEncoded());
+		setSourceURL(s, 2, token);
+		s.setString(3, token.getRevocationTokenKey());
+	}
 
-			if (token.getSourceURL() != null) {
-				s.setString(2, token.getSourceURL());
-			} else {
-				s.setNull(2, Types.VARCHAR);
-			}
-			
-			s.executeUpdate();
-			c.commit();
-			LOG.debug("OCSP token with key '{}' successfully updated in DB", token.getRevocationTokenKey());
-		} catch (final Exception e) {
-			LOG.error("Unable to update OCSP {} into the DB. Cause: '{}'", token, e.getMessage(), e);
-			rollback(c);
-		} finally {
-			closeQuietly(c, s, null);
+	private void setSourceURL(final PreparedStatement s, int index, final OCSPToken token) throws SQLException {
+		if (token.getSourceURL() != null) {
+			s.setString(index, token.getSourceURL());
+		} else {
+			s.setNull(index, Types.VARCHAR);
 		}
 	}
 	
@@ -40,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.service.NonceSource;
@@ -47,7 +48,10 @@ import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.MetricsDataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.NoOpRevocationMetrics;
 import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationMetrics;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPRespStatus;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
@@ -80,6 +84,17 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	private DigestAlgorithm certIDDigestAlgorithm = DigestAlgorithm.SHA1;
 
+	/**
+	 * Collects the request and OCSP verification metrics
+	 */
+	private RevocationMetrics metrics = new NoOpRevocationMetrics();
+
+	/**
+	 * The {@code dataLoader} decorated to report to the {@code metrics}, rebuilt
+	 * when one of them is changed
+	 */
+	private DataLoader metricsDataLoader;
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The
 	 * default {@code OCSPDataLoader} is set. It is possible to change it with
@@ -88,11 +103,13 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	public OnlineOCSPSource() {
 		dataLoader = new OCSPDataLoader();
+		metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
 	}
 
 	@Override
 	public void setDataLoader(final DataLoader dataLoader) {
 		this.dataLoader = dataLoader;
+		this.metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
 	}
 
 	/**
@@ -116,6 +133,19 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		this.certIDDigestAlgorithm = certIDDigestAlgorithm;
 	}
 
+	/**
+	 * Sets the {@code RevocationMetrics} to collect the request durations,
+	 * downloaded bytes and OCSP verification durations (default :
+	 * {@code NoOpRevocationMetrics})
+	 * 
+	 * @param metrics
+	 *                {@link RevocationMetrics}
+	 */
+	public void setMetrics(RevocationMetrics metrics) {
+		this.metrics = metrics;
+		this.metricsDataLoader = new MetricsDataLoader(dataLoader, metrics);
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.<String>emptyList());
@@ -152,20 +182,26 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		for (String ocspAccessLocation : ocspAccessLocations) {
 			nbTries--;
 			try {
-				final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
+				final byte[] ocspRespBytes = metricsDataLoader.post(ocspAccessLocation, content);
 				if (!Utils.isArrayEmpty(ocspRespBytes)) {
-					final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
-					OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
-					if (OCSPRespStatus.SUCCESSFUL.equals(status)) {
-						OCSPTokenBuilder ocspTokenBuilder = new OCSPTokenBuilder(ocspResp, certificateToken, issuerCertificateToken);
-						ocspTokenBuilder.setNonce(nonce);
-						ocspTokenBuilder.setSourceURL(ocspAccessLocation);
-						OCSPToken ocspToken = ocspTokenBuilder.build();
-						OCSPTokenUtils.checkTokenValidity(ocspToken, certificateToken, issuerCertificateToken);
-						ocspToken.setOrigins(Collections.singleton(RevocationOrigin.EXTERNAL));
-						return ocspToken;
-					} else {
-						LOG.warn("OCSP Response status with URL '{}' : {}", ocspAccessLocation, status);
+					final long start = System.nanoTime();
+					try {
+						final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
+						OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
+						if (OCSPRespStatus.SUCCESSFUL.equals(status)) {
+							OCSPTokenBuilder ocspTokenBuilder = new OCSPTokenBuilder(ocspResp, certificateToken, issuerCertificateToken);
+							ocspTokenBuilder.setNonce(nonce);
+							ocspTokenBuilder.setSourceURL(ocspAccessLocation);
+							OCSPToken ocspToken = ocspTokenBuilder.build();
+							OCSPTokenUtils.checkTokenValidity(ocspToken, certificateToken, issuerCertificateToken);
+							ocspToken.setOrigins(Collections.singleton(RevocationOrigin.EXTERNAL));
+							return ocspToken;
+						} else {
+							LOG.warn("OCSP Response status with URL '{}' : {}", ocspAccessLocation, status);
+						}
+					} finally {
+						// the rejected responses are reported as well
+						metrics.revocationVerified(RevocationType.OCSP, System.nanoTime() - start);
 					}
 				} else {
 					LOG.warn("OCSP Data Loader for certificate {} responded with an empty byte array!", certificateToken.getDSSIdAsString());
@@ -0,0 +1,172 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+
+public class CRLCacheWarmerTest {
+
+	private JdbcDataSource dataSource = new JdbcDataSource();
+
+	private MockJdbcCacheCRLSource crlSource = new MockJdbcCacheCRLSource();
+
+	@BeforeEach
+	public void setUp() throws SQLException {
+		dataSource.setUrl("jdbc:h2:mem:test;create=true;DB_CLOSE_DELAY=-1");
+		crlSource.setDataSource(dataSource);
+		crlSource.initTable();
+	}
+
+	@Test
+	public void test() {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		CertificateToken wrongCaToken = DSSUtils.loadCertificate(new File("src/test/resources/CALT.crt"));
+
+		String crlUrl = DSSASN1Utils.getCrlUrls(certificateToken).get(0);
+		String unknownUrl = "http://unknown.url/crl.crl";
+
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(crlUrl, DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl")));
+
+		Map<String, List<CertificateToken>> issuersByUrl = new HashMap<>();
+		issuersByUrl.put(crlUrl, Arrays.asList(wrongCaToken, caToken));
+		issuersByUrl.put(unknownUrl, Collections.singletonList(caToken));
+
+		CRLCacheWarmer warmer = new CRLCacheWarmer(crlSource);
+		warmer.setDataLoader(new MemoryDataLoader(dataMap));
+		warmer.setMaxConcurrentDownloads(1);
+		List<String> processedUrls = new CopyOnWriteArrayList<>();
+		warmer.setListener((url, runningSummary) -> {
+			processedUrls.add(url);
+			assertEquals(processedUrls.size(), runningSummary.getNumberOfProcessedCRLs());
+		});
+		CRLCacheWarmingSummary summary = warmer.warm(issuersByUrl);
+
+		assertEquals(2, processedUrls.size());
+		assertTrue(processedUrls.containsAll(issuersByUrl.keySet()));
+		assertEquals(2, summary.getNumberOfCRLs());
+		assertEquals(2, summary.getNumberOfProcessedCRLs());
+		assertEquals(1, summary.getNumberOfLoadedCRLs());
+		assertEquals(crlUrl, summary.getLoadedUrls().get(0));
+		assertEquals(1, summary.getFailures().size());
+		assertTrue(summary.getFailures().containsKey(unknownUrl));
+
+		CRLToken cachedToken = crlSource.findRevocation(DSSRevocationUtils.getCRLRevocationTokenKey(crlUrl), certificateToken, caToken);
+		assertNotNull(cachedToken);
+		assertTrue(cachedToken.isValid());
+		assertNotNull(cachedToken.getStatus());
+	}
+
+	@Test
+	public void injectedExecutorIsNotShutdownTest() {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		String crlUrl = DSSASN1Utils.getCrlUrls(certificateToken).get(0);
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(crlUrl, DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl")));
+		Map<String, List<CertificateToken>> issuersByUrl = Collections.singletonMap(crlUrl, Collections.singletonList(caToken));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			CRLCacheWarmer warmer = new CRLCacheWarmer(crlSource);
+			warmer.setDataLoader(new MemoryDataLoader(dataMap));
+
+			// the default executor is stopped and recreated on the next use
+			assertEquals(1, warmer.warm(issuersByUrl).getNumberOfLoadedCRLs());
+			warmer.shutdown();
+			assertEquals(1, warmer.warm(issuersByUrl).getNumberOfLoadedCRLs());
+
+			warmer.setExecutorService(executorService);
+			assertEquals(1, warmer.warm(issuersByUrl).getNumberOfLoadedCRLs());
+			warmer.shutdown();
+			assertFalse(executorService.isShutdown());
+			assertEquals(1, warmer.warm(issuersByUrl).getNumberOfLoadedCRLs());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void rejectedTasksTest() {
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		Map<String, List<CertificateToken>> issuersByUrl = new HashMap<>();
+		issuersByUrl.put("http://first.url/crl.crl", Collections.singletonList(caToken));
+		issuersByUrl.put("http://second.url/crl.crl", Collections.singletonList(caToken));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		executorService.shutdown();
+
+		CRLCacheWarmer warmer = new CRLCacheWarmer(crlSource);
+		warmer.setExecutorService(executorService);
+		// the permit of a rejected task is released, the second url does not block
+		warmer.setMaxConcurrentDownloads(1);
+		CRLCacheWarmingSummary summary = warmer.warm(issuersByUrl);
+
+		assertEquals(2, summary.getNumberOfProcessedCRLs());
+		assertEquals(0, summary.getNumberOfLoadedCRLs());
+		assertEquals(2, summary.getFailures().size());
+	}
+
+	@AfterEach
+	public void cleanUp() throws SQLException {
+		crlSource.destroyTable();
+	}
+
+	@SuppressWarnings("serial")
+	private class MockJdbcCacheCRLSource extends JdbcCacheCRLSource {
+
+		@Override
+		protected CRLToken findRevocation(String key, CertificateToken certificateToken, CertificateToken issuerCertToken) {
+			return super.findRevocation(key, certificateToken, issuerCertToken);
+		}
+
+	}
+
+}
@@ -24,11 +24,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
@@ -41,9 +52,15 @@ import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationMetrics;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationException;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 
@@ -181,6 +198,167 @@ public class JdbcCacheCrlSourceTest {
 		}
 	}
 
+	@Test
+	public void writeBehindTest() throws Exception {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		byte[] crlBinaries = DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl"));
+		Map<String, byte[]> dataMap = new HashMap<String, byte[]>();
+		for (String crlUrl : DSSASN1Utils.getCrlUrls(certificateToken)) {
+			dataMap.put(crlUrl, crlBinaries);
+		}
+
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		JdbcCacheCRLSource writeBehindSource = new JdbcCacheCRLSource();
+		writeBehindSource.setDataSource(dataSource);
+		writeBehindSource.setWriteBehind(true);
+		writeBehindSource.setWriteBehindBatchSize(2);
+		writeBehindSource.setMetrics(metrics);
+		writeBehindSource.setProxySource(new OnlineCRLSource(new MemoryDataLoader(dataMap)));
+
+		CRLToken revocationToken = writeBehindSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getFirstOrigin());
+
+		// the queued insertion is visible without flushing the queue (the CRL is expired)
+		assertNotNull(writeBehindSource.getRevocationToken(certificateToken, caToken));
+		assertEquals(2, metrics.getCacheMisses("JdbcCacheCRLSource"));
+		assertEquals(1, metrics.getCacheExpirations("JdbcCacheCRLSource"));
+
+		for (int i = 0; i < 5; i++) {
+			CRLToken crlToken = new CRLToken(certificateToken, revocationToken.getCrlValidity());
+			crlToken.setRevocationTokenKey("key" + i);
+			writeBehindSource.storeRevocationToken(crlToken);
+		}
+		writeBehindSource.flush();
+
+		assertEquals(1, countEntries(revocationToken.getRevocationTokenKey()));
+		for (int i = 0; i < 5; i++) {
+			assertEquals(1, countEntries("key" + i));
+		}
+
+		writeBehindSource.shutdown();
+		assertThrows(RevocationException.class, () -> writeBehindSource.storeRevocationToken(revocationToken));
+	}
+
+	@Test
+	public void writeBehindConcurrentMissesTest() throws Exception {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		byte[] crlBinaries = DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl"));
+		Map<String, byte[]> dataMap = new HashMap<String, byte[]>();
+		for (String crlUrl : DSSASN1Utils.getCrlUrls(certificateToken)) {
+			dataMap.put(crlUrl, crlBinaries);
+		}
+
+		JdbcCacheCRLSource writeBehindSource = new JdbcCacheCRLSource();
+		writeBehindSource.setDataSource(dataSource);
+		writeBehindSource.setWriteBehind(true);
+		// every miss is written in its own batch
+		writeBehindSource.setWriteBehindBatchSize(1);
+		writeBehindSource.setRemoveExpired(false);
+		writeBehindSource.setProxySource(new OnlineCRLSource(new MemoryDataLoader(dataMap)));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<CRLToken>> futures = new ArrayList<Future<CRLToken>>();
+			for (int i = 0; i < 20; i++) {
+				futures.add(executor.submit(() -> writeBehindSource.getRevocationToken(certificateToken, caToken)));
+			}
+			String key = null;
+			for (Future<CRLToken> future : futures) {
+				CRLToken crlToken = future.get();
+				assertNotNull(crlToken);
+				key = crlToken.getRevocationTokenKey();
+			}
+			writeBehindSource.flush();
+			assertEquals(1, countEntries(key));
+		} finally {
+			executor.shutdown();
+			writeBehindSource.shutdown();
+		}
+	}
+
+	@Test
+	public void writeBehindInvalidEntryTest() throws Exception {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		CRLBinary crlBinary = new CRLBinary(DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl")));
+		CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, caToken);
+
+		JdbcCacheCRLSource writeBehindSource = new JdbcCacheCRLSource();
+		writeBehindSource.setDataSource(dataSource);
+		writeBehindSource.setWriteBehind(true);
+		writeBehindSource.setWriteBehindBatchSize(20);
+
+		CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+		crlToken.setRevocationTokenKey("duplicate");
+		writeBehindSource.storeRevocationToken(crlToken);
+		writeBehindSource.storeRevocationToken(crlToken);
+
+		// the key does not fit in the ID column, the entry is rejected by the DB
+		CRLToken invalidToken = new CRLToken(certificateToken, crlValidity);
+		invalidToken.setRevocationTokenKey(String.format("%050d", 0));
+		writeBehindSource.storeRevocationToken(invalidToken);
+
+		CRLToken otherToken = new CRLToken(certificateToken, crlValidity);
+		otherToken.setRevocationTokenKey("other");
+		writeBehindSource.storeRevocationToken(otherToken);
+		writeBehindSource.flush();
+
+		assertEquals(1, countEntries("duplicate"));
+		assertEquals(1, countEntries("other"));
+		assertEquals(0, countEntries(String.format("%050d", 0)));
+
+		writeBehindSource.shutdown();
+	}
+
+	private int countEntries(String key) throws SQLException {
+		try (Connection c = dataSource.getConnection();
+				PreparedStatement s = c.prepareStatement("SELECT COUNT(*) FROM CACHED_CRL WHERE ID = ?")) {
+			s.setString(1, key);
+			try (ResultSet rs = s.executeQuery()) {
+				assertTrue(rs.next());
+				return rs.getInt(1);
+			}
+		}
+	}
+
+	@Test
+	public void metricsTest() throws Exception {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		byte[] crlBinaries = DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl"));
+		List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
+		Map<String, byte[]> dataMap = new HashMap<String, byte[]>();
+		dataMap.put(crlUrls.get(0), crlBinaries);
+
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setMetrics(metrics);
+		crlSource.setMetrics(metrics);
+		crlSource.setProxySource(onlineCRLSource);
+
+		assertNotNull(crlSource.getRevocationToken(certificateToken, caToken));
+		assertEquals(1, metrics.getCacheMisses("MockJdbcCacheCRLSource"));
+
+		// the CRL is expired
+		assertNotNull(crlSource.getRevocationToken(certificateToken, caToken));
+		assertEquals(1, metrics.getCacheExpirations("MockJdbcCacheCRLSource"));
+		assertEquals(2, metrics.getCacheMisses("MockJdbcCacheCRLSource"));
+		assertEquals(0, metrics.getCacheHits("MockJdbcCacheCRLSource"));
+
+		String host = DSSRevocationUtils.getHost(crlUrls.get(0));
+		assertEquals(0, metrics.getInFlightRequests(host));
+		assertEquals(2, metrics.getRequestDurations(host).getCount());
+		assertEquals(2L * crlBinaries.length, metrics.getDownloadedBytes(host));
+		assertEquals(2, metrics.getVerificationDurations(RevocationType.CRL).getCount());
+	}
+
 	@AfterEach
 	public void cleanUp() throws SQLException {
 		crlSource.destroyTable();
@@ -192,11 +370,26 @@ public class JdbcCacheCrlSourceTest {
 	
 	@SuppressWarnings("serial")
 	private class MockJdbcCacheCRLSource extends JdbcCacheCRLSource {
+
+		@Override
+		protected void insertRevocation(CRLToken crlToken) {
+			super.insertRevocation(crlToken);
+		}
+
+		@Override
+		protected void updateRevocation(CRLToken crlToken) {
+			super.updateRevocation(crlToken);
+		}
 		
 		@Override
 		protected void removeRevocation(CRLToken crlToken) {
 			super.removeRevocation(crlToken);
 		}
+
+		@Override
+		protected CRLToken findRevocation(String key, CertificateToken certificateToken, CertificateToken issuerCertToken) {
+			return super.findRevocation(key, certificateToken, issuerCertToken);
+		}
 		
 	}
 
@@ -0,0 +1,138 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.DSSException;
+
+public class HostBulkheadTest {
+
+	@Test
+	public void limitPerHost() {
+		HostBulkhead bulkhead = new HostBulkhead(2, 0, 100);
+
+		bulkhead.acquire("slow.host");
+		bulkhead.acquire("slow.host");
+		assertEquals(2, bulkhead.getInFlightRequests("slow.host"));
+		assertThrows(DSSException.class, () -> bulkhead.acquire("slow.host"));
+
+		// other hosts are not impacted
+		bulkhead.acquire("other.host");
+		assertEquals(1, bulkhead.getInFlightRequests("other.host"));
+		bulkhead.release("other.host");
+
+		bulkhead.release("slow.host");
+		bulkhead.acquire("slow.host");
+		assertEquals(2, bulkhead.getInFlightRequests("slow.host"));
+	}
+
+	@Test
+	public void waitingRequests() throws Exception {
+		HostBulkhead bulkhead = new HostBulkhead(1, 1, 10000);
+		bulkhead.acquire("slow.host");
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> waiting = executor.submit(() -> bulkhead.acquire("slow.host"));
+			while (bulkhead.getQueuedRequests("slow.host") == 0) {
+				Thread.sleep(10);
+			}
+
+			// the queue is full
+			assertThrows(DSSException.class, () -> bulkhead.acquire("slow.host"));
+
+			bulkhead.release("slow.host");
+			waiting.get(5, TimeUnit.SECONDS);
+			assertEquals(0, bulkhead.getQueuedRequests("slow.host"));
+			assertEquals(1, bulkhead.getInFlightRequests("slow.host"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitTimeout() {
+		HostBulkhead bulkhead = new HostBulkhead(1, 5, 50);
+		bulkhead.acquire("slow.host");
+		assertThrows(DSSException.class, () -> bulkhead.acquire("slow.host"));
+		assertEquals(0, bulkhead.getQueuedRequests("slow.host"));
+	}
+
+	@Test
+	public void dataLoader() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch unblock = new CountDownLatch(1);
+		CommonsDataLoader dataLoader = new CommonsDataLoader() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected byte[] httpGet(String url) {
+				if (url.contains("slow.host")) {
+					started.countDown();
+					try {
+						unblock.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return new byte[] { 1 };
+			}
+
+			@Override
+			protected byte[] httpPost(String url, byte[] content) {
+				return content;
+			}
+
+		};
+		dataLoader.setMaxConcurrentRequestsPerHost(1);
+		dataLoader.setMaxQueuedRequestsPerHost(0);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<byte[]> slow = executor.submit(() -> dataLoader.get("http://slow.host/ca.crl"));
+			started.await(5, TimeUnit.SECONDS);
+
+			assertThrows(DSSException.class, () -> dataLoader.get("http://slow.host/other.crl"));
+			assertThrows(DSSException.class, () -> dataLoader.post("http://slow.host/ocsp", new byte[] { 2 }));
+			assertArrayEquals(new byte[] { 1 }, dataLoader.get("http://healthy.host/ca.crl"));
+			assertArrayEquals(new byte[] { 2 }, dataLoader.post("http://healthy.host/ocsp", new byte[] { 2 }));
+
+			unblock.countDown();
+			assertArrayEquals(new byte[] { 1 }, slow.get(5, TimeUnit.SECONDS));
+			assertArrayEquals(new byte[] { 1 }, dataLoader.get("http://slow.host/other.crl"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
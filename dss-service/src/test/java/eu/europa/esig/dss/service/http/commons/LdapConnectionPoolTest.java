@@ -0,0 +1,161 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.DSSException;
+
+public class LdapConnectionPoolTest {
+
+	private static final String SERVER = "ldap://crl-source.hn";
+
+	@Test
+	public void reuse() throws NamingException {
+		MockLdapConnectionPool pool = new MockLdapConnectionPool(2, 100, 60000);
+
+		DirContext ctx = pool.borrow(SERVER);
+		pool.release(SERVER, ctx, true);
+		assertSame(ctx, pool.borrow(SERVER));
+		assertEquals(1, pool.created);
+
+		DirContext other = pool.borrow(SERVER);
+		assertNotSame(ctx, other);
+		assertEquals(2, pool.created);
+
+		pool.release(SERVER, other, false);
+		pool.release(SERVER, ctx, true);
+		assertSame(ctx, pool.borrow(SERVER));
+		assertEquals(2, pool.created);
+	}
+
+	@Test
+	public void maxConnectionsPerServer() throws NamingException {
+		MockLdapConnectionPool pool = new MockLdapConnectionPool(1, 100, 60000);
+
+		DirContext ctx = pool.borrow(SERVER);
+		assertThrows(DSSException.class, () -> pool.borrow(SERVER));
+
+		// another server is not impacted
+		DirContext other = pool.borrow("ldap://other-source.hn");
+		pool.release("ldap://other-source.hn", other, true);
+
+		pool.release(SERVER, ctx, true);
+		assertSame(ctx, pool.borrow(SERVER));
+	}
+
+	@Test
+	public void idleTimeout() throws NamingException {
+		MockLdapConnectionPool pool = new MockLdapConnectionPool(1, 100, 0);
+
+		DirContext ctx = pool.borrow(SERVER);
+		pool.release(SERVER, ctx, true);
+		assertNotSame(ctx, pool.borrow(SERVER));
+		assertEquals(2, pool.created);
+	}
+
+	@Test
+	public void closeWithConnectionInUse() throws NamingException {
+		MockLdapConnectionPool pool = new MockLdapConnectionPool(2, 100, 60000);
+
+		DirContext idle = pool.borrow(SERVER);
+		DirContext inUse = pool.borrow(SERVER);
+		pool.release(SERVER, idle, true);
+
+		pool.close();
+		assertEquals(1, pool.closed);
+
+		// the connection in use is closed when released, not kept in the pool
+		pool.release(SERVER, inUse, true);
+		assertEquals(2, pool.closed);
+
+		DirContext ctx = pool.borrow(SERVER);
+		assertEquals(3, pool.created);
+		pool.release(SERVER, ctx, true);
+		assertEquals(3, pool.closed);
+	}
+
+	@Test
+	public void idleConnectionsClosedInBackground() throws Exception {
+		MockLdapConnectionPool pool = new MockLdapConnectionPool(2, 100, 50);
+
+		DirContext first = pool.borrow(SERVER);
+		DirContext second = pool.borrow(SERVER);
+		pool.release(SERVER, first, true);
+		pool.release(SERVER, second, true);
+
+		// no other request is sent to the server
+		for (int i = 0; i < 50 && pool.closed < 2; i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(2, pool.closed);
+		pool.close();
+	}
+
+	@Test
+	public void settersApplyToNextRequests() {
+		CommonsDataLoader dataLoader = new CommonsDataLoader();
+		LdapConnectionPool pool = dataLoader.getLdapConnectionPool();
+		assertSame(pool, dataLoader.getLdapConnectionPool());
+
+		dataLoader.setLdapConnectionsMaxPerServer(5);
+		LdapConnectionPool newPool = dataLoader.getLdapConnectionPool();
+		assertNotSame(pool, newPool);
+
+		dataLoader.setLdapConnectionIdleTimeout(1000);
+		assertNotSame(newPool, dataLoader.getLdapConnectionPool());
+		dataLoader.closeLdapConnections();
+	}
+
+	private static class MockLdapConnectionPool extends LdapConnectionPool {
+
+		private volatile int created;
+		private volatile int closed;
+
+		MockLdapConnectionPool(int maxConnectionsPerHost, int timeoutConnection, long idleTimeout) {
+			super(maxConnectionsPerHost, timeoutConnection, timeoutConnection, idleTimeout);
+		}
+
+		@Override
+		protected DirContext createContext(String serverUrl) throws NamingException {
+			created++;
+			return new InitialDirContext(true) {
+
+				@Override
+				public void close() throws NamingException {
+					closed++;
+				}
+
+			};
+		}
+
+	}
+
+}
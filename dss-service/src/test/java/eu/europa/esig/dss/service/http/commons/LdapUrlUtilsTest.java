@@ -41,4 +41,32 @@ public class LdapUrlUtilsTest {
 	    		LdapURLUtils.encode("ldap:///cn%3dKCA%20NBU%20SR%203,ou%3dSIBEP,o%3dNarodny%20bezpecnostny%20urad,l%3dBratislava,c%3dSK?certificateRevocationList"));
 	}
 
+	@Test
+	public void getServerUrl() {
+		assertEquals("ldap://crl-source.hn", LdapURLUtils.getServerUrl("ldap://crl-source.hn/o=Hello"));
+		assertEquals("ldap://crl-source.hn:389", LdapURLUtils.getServerUrl("ldap://crl-source.hn:389/o=Hello?certificateRevocationList"));
+		assertEquals("ldap://crl-source.hn", LdapURLUtils.getServerUrl("ldap://crl-source.hn?certificateRevocationList"));
+		assertEquals("ldap://crl-source.hn", LdapURLUtils.getServerUrl("ldap://crl-source.hn"));
+		assertEquals("ldap://", LdapURLUtils.getServerUrl("ldap:///o=Hello"));
+	}
+
+	@Test
+	public void getDN() {
+		assertEquals("o=Hello", LdapURLUtils.getDN("ldap://crl-source.hn/o=Hello"));
+		assertEquals("o=Hello + World;", LdapURLUtils.getDN("ldap://crl-source.hn/o=Hello%20+%20World;"));
+		assertEquals("cn=KCA NBU SR 3,ou=SIBEP,o=Narodny bezpecnostny urad,l=Bratislava,c=SK", LdapURLUtils.getDN(
+				"ldap://ep.nbusr.sk/cn%3dKCA%20NBU%20SR%203,ou%3dSIBEP,o%3dNarodny%20bezpecnostny%20urad,l%3dBratislava,c%3dSK?certificateRevocationList"));
+		assertEquals("", LdapURLUtils.getDN("ldap://crl-source.hn"));
+		assertEquals("", LdapURLUtils.getDN("ldap://crl-source.hn/?certificateRevocationList"));
+	}
+
+	@Test
+	public void decode() {
+		assertEquals("o=Hello", LdapURLUtils.decode("o=Hello"));
+		assertEquals("o=H\u00e9llo", LdapURLUtils.decode("o=H%C3%A9llo"));
+		assertEquals("a+b c", LdapURLUtils.decode("a+b%20c"));
+		assertEquals("100%", LdapURLUtils.decode("100%"));
+		assertEquals("%zz", LdapURLUtils.decode("%zz"));
+	}
+
 }
@@ -20,9 +20,18 @@
  */
 package eu.europa.esig.dss.simplecertificatereport;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +69,29 @@ public class SimpleCertificateReportFacadeTest {
 		assertNotNull(htmlReport);
 	}
 
+	@Test
+	public void streamingTest() throws Exception {
+
+		SimpleCertificateReportFacade facade = SimpleCertificateReportFacade.newFacade();
+
+		XmlSimpleCertificateReport simpleCertificateReport = facade.unmarshall(new File("src/test/resources/simple-cert-report.xml"));
+		assertNotNull(simpleCertificateReport);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		facade.marshall(simpleCertificateReport, baos, false, false);
+		String xml = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+		assertFalse(xml.contains("\n"));
+
+		XmlSimpleCertificateReport unmarshalled = facade.unmarshall(new ByteArrayInputStream(baos.toByteArray()), false);
+		assertEquals(simpleCertificateReport.getChain().size(), unmarshalled.getChain().size());
+
+		StringWriter stringWriter = new StringWriter();
+		XMLStreamWriter xmlStreamWriter = XMLOutputFactory.newFactory().createXMLStreamWriter(stringWriter);
+		facade.marshall(simpleCertificateReport, xmlStreamWriter, false);
+		xmlStreamWriter.close();
+
+		unmarshalled = facade.unmarshall(stringWriter.toString(), false);
+		assertEquals(simpleCertificateReport.getChain().size(), unmarshalled.getChain().size());
+	}
+
 }
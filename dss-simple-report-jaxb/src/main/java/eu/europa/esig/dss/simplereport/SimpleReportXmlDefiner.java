@@ -51,9 +51,9 @@ public final class SimpleReportXmlDefiner {
 	public static final ObjectFactory OBJECT_FACTORY = new ObjectFactory();
 
 	// Thread-safe
-	private static JAXBContext jc;
+	private static volatile JAXBContext jc;
 	// Thread-safe
-	private static Schema schema;
+	private static volatile Schema schema;
 
 	// Thread-safe
 	private static Templates htmlBootstrap3Templates;
@@ -22,6 +22,8 @@ package eu.europa.esig.dss.spi;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -352,6 +354,60 @@ public final class DSSRevocationUtils {
 		return DSSUtils.getSHA1Digest(crlUrl);
 	}
 
+	/**
+	 * Returns the host part of the given access location url (HTTP, LDAP,...)
+	 * 
+	 * @param url
+	 *            the access location url
+	 * @return the host or the original url if it cannot be extracted
+	 */
+	public static String getHost(final String url) {
+		if (url == null) {
+			return null;
+		}
+		try {
+			String host = new URI(url).getHost();
+			if (Utils.isStringNotEmpty(host)) {
+				return host;
+			}
+		} catch (URISyntaxException e) {
+			LOG.debug("Unable to parse the url '{}' : {}", url, e.getMessage());
+		}
+		return getHostFromAuthority(url);
+	}
+
+	/**
+	 * Extracts the host from the authority of an url which is not a valid URI
+	 * (e.g. an LDAP url with unescaped spaces)
+	 */
+	private static String getHostFromAuthority(final String url) {
+		int start = url.indexOf("://");
+		if (start < 0) {
+			return url;
+		}
+		start += 3;
+		int end = start;
+		while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?' && url.charAt(end) != '#') {
+			end++;
+		}
+		String authority = url.substring(start, end);
+		// user info
+		authority = authority.substring(authority.lastIndexOf('@') + 1);
+		if (authority.startsWith("[")) {
+			// IPv6 literal
+			int closingBracket = authority.indexOf(']');
+			if (closingBracket > 0) {
+				return authority.substring(0, closingBracket + 1);
+			}
+		} else {
+			int portSeparator = authority.indexOf(':');
+			if (portSeparator >= 0) {
+				authority = authority.substring(0, portSeparator);
+			}
+		}
+		return Utils.isStringNotEmpty(authority) ? authority : url;
+	}
+
 	/**
 	 * Initialize a list revocation token keys {@link String} for {@link OCSPToken} from the given {@link CertificateToken}
 	 * @param certificateToken {@link CertificateToken}
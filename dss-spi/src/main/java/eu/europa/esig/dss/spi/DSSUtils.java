@@ -585,9 +585,23 @@ public final class DSSUtils {
      * @return true if the document is a timestamp
      */
     public static boolean isTimestampToken(final DSSDocument document) {
+        try {
+            return isTimestampToken(toCMSSignedData(document));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the CMS signed data is a TimeStampToken
+     * 
+     * @param cmsSignedData
+     *                      the parsed {@link CMSSignedData} to be checked
+     * @return true if the CMS signed data is a timestamp
+     */
+    public static boolean isTimestampToken(final CMSSignedData cmsSignedData) {
         TimeStampToken timeStampToken = null;
         try {
-            CMSSignedData cmsSignedData = toCMSSignedData(document);
             timeStampToken = new TimeStampToken(cmsSignedData);
         } catch (Exception e) {
             // ignore
@@ -782,6 +796,46 @@ public final class DSSUtils {
         return result[0];
     }
     
+    /**
+     * Reads at most {@code length} first bytes of the {@code dssDocument} with a single stream opening
+     * 
+     * @param dssDocument {@link DSSDocument} to read bytes from
+     * @param length the maximum number of bytes to read
+     * @return {@code byte} array of the read bytes (shorter than {@code length} if the document is smaller)
+     */
+    public static byte[] readFirstBytes(final DSSDocument dssDocument, int length) {
+        byte[] buffer = new byte[length];
+        int offset = 0;
+        try (InputStream inputStream = dssDocument.openStream()) {
+            int read;
+            while (offset < length && (read = inputStream.read(buffer, offset, length - offset)) != -1) {
+                offset += read;
+            }
+        } catch (IOException e) {
+            throw new DSSException(String.format("Cannot read first bytes of the document. Reason : %s", e.getMessage()), e);
+        }
+        return offset == length ? buffer : Arrays.copyOf(buffer, offset);
+    }
+
+    /**
+     * Checks if the given {@code bytes} start with the {@code prefix}
+     * 
+     * @param bytes {@code byte} array to check
+     * @param prefix {@code byte} array of the expected beginning
+     * @return TRUE if {@code bytes} start with {@code prefix}, FALSE otherwise
+     */
+    public static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes == null || prefix == null || bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Reads first {@code byteArray.length} bytes of the {@code dssDocument} and compares them with {@code byteArray}
      * 
@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import java.util.List;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationMetrics;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * Decorates a {@code DataLoader} to report the duration and the size of each
+ * request to a {@code RevocationMetrics}, per host.
+ * 
+ * When several urls are given, the call is delegated to the
+ * {@code get(List<String>)} method of the wrapped {@code DataLoader} and is
+ * reported as one request to the host of the first url (the one tried first).
+ */
+public class MetricsDataLoader implements DataLoader {
+
+	private static final long serialVersionUID = 2383245187286542587L;
+
+	private final DataLoader dataLoader;
+
+	private final RevocationMetrics metrics;
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param dataLoader
+	 *                   the {@code DataLoader} executing the requests
+	 * @param metrics
+	 *                   the {@code RevocationMetrics} to report to
+	 */
+	public MetricsDataLoader(final DataLoader dataLoader, final RevocationMetrics metrics) {
+		this.dataLoader = dataLoader;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public byte[] get(final String url) throws DSSException {
+		return execute(url, () -> dataLoader.get(url));
+	}
+
+	@Override
+	public DataAndUrl get(final List<String> urlStrings) throws DSSException {
+		if (Utils.isCollectionEmpty(urlStrings)) {
+			throw new DSSException("Cannot process the GET call. List of URLs is empty!");
+		}
+		final String host = DSSRevocationUtils.getHost(urlStrings.get(0));
+		metrics.requestStarted(host);
+		final long start = System.nanoTime();
+		DataAndUrl dataAndUrl = null;
+		try {
+			dataAndUrl = dataLoader.get(urlStrings);
+			return dataAndUrl;
+		} finally {
+			byte[] data = dataAndUrl == null ? null : dataAndUrl.getData();
+			metrics.requestCompleted(host, System.nanoTime() - start, data == null ? 0 : data.length, Utils.isArrayNotEmpty(data));
+		}
+	}
+
+	@Override
+	public byte[] get(final String url, final boolean refresh) throws DSSException {
+		return execute(url, () -> dataLoader.get(url, refresh));
+	}
+
+	@Override
+	public byte[] post(final String url, final byte[] content) throws DSSException {
+		return execute(url, () -> dataLoader.post(url, content));
+	}
+
+	@Override
+	public void setContentType(final String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+	private byte[] execute(final String url, final Request request) {
+		final String host = DSSRevocationUtils.getHost(url);
+		metrics.requestStarted(host);
+		final long start = System.nanoTime();
+		byte[] data = null;
+		try {
+			data = request.execute();
+			return data;
+		} finally {
+			metrics.requestCompleted(host, System.nanoTime() - start, data == null ? 0 : data.length, Utils.isArrayNotEmpty(data));
+		}
+	}
+
+	@FunctionalInterface
+	private interface Request {
+
+		byte[] execute();
+
+	}
+
+}
@@ -0,0 +1,229 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import eu.europa.esig.dss.enumerations.RevocationType;
+
+/**
+ * Simple {@code RevocationMetrics} which keeps the counters and the duration
+ * histograms in memory (e.g. for tests or to be exposed by a monitoring
+ * endpoint)
+ */
+public class InMemoryRevocationMetrics implements RevocationMetrics {
+
+	private static final long serialVersionUID = 4393850466219406187L;
+
+	/**
+	 * Upper bounds (in milliseconds) of the histogram buckets, the last bucket
+	 * contains all the greater values
+	 */
+	private static final long[] BUCKET_BOUNDS = { 10, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private final Map<String, AtomicLong> cacheHits = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> cacheMisses = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> cacheExpirations = new ConcurrentHashMap<>();
+
+	private final Map<String, AtomicLong> inFlightRequests = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> failedRequests = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> downloadedBytes = new ConcurrentHashMap<>();
+	private final Map<String, Histogram> requestDurations = new ConcurrentHashMap<>();
+
+	private final Map<RevocationType, Histogram> verificationDurations = new ConcurrentHashMap<>();
+
+	@Override
+	public void cacheHit(String sourceName) {
+		increment(cacheHits, sourceName);
+	}
+
+	@Override
+	public void cacheMiss(String sourceName) {
+		increment(cacheMisses, sourceName);
+	}
+
+	@Override
+	public void cacheExpiration(String sourceName) {
+		increment(cacheExpirations, sourceName);
+	}
+
+	@Override
+	public void requestStarted(String host) {
+		increment(inFlightRequests, host);
+	}
+
+	@Override
+	public void requestCompleted(String host, long durationNanos, long bytes, boolean success) {
+		counter(inFlightRequests, host).decrementAndGet();
+		if (!success) {
+			increment(failedRequests, host);
+		}
+		counter(downloadedBytes, host).addAndGet(bytes);
+		requestDurations.computeIfAbsent(host, k -> new Histogram()).record(durationNanos);
+	}
+
+	@Override
+	public void revocationVerified(RevocationType revocationType, long durationNanos) {
+		verificationDurations.computeIfAbsent(revocationType, k -> new Histogram()).record(durationNanos);
+	}
+
+	public long getCacheHits(String sourceName) {
+		return value(cacheHits, sourceName);
+	}
+
+	public long getCacheMisses(String sourceName) {
+		return value(cacheMisses, sourceName);
+	}
+
+	public long getCacheExpirations(String sourceName) {
+		return value(cacheExpirations, sourceName);
+	}
+
+	/**
+	 * Returns the ratio of cache hits for the given source
+	 * 
+	 * @param sourceName
+	 *                   the name of the cache source
+	 * @return the hit ratio between 0 and 1 (0 if the cache has never been
+	 *         queried)
+	 */
+	public double getCacheHitRatio(String sourceName) {
+		long hits = getCacheHits(sourceName);
+		long total = hits + getCacheMisses(sourceName);
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	public long getInFlightRequests(String host) {
+		return value(inFlightRequests, host);
+	}
+
+	public long getFailedRequests(String host) {
+		return value(failedRequests, host);
+	}
+
+	public long getDownloadedBytes(String host) {
+		return value(downloadedBytes, host);
+	}
+
+	/**
+	 * Returns the request duration histogram for the given host
+	 * 
+	 * @param host
+	 *             the host of the revocation service
+	 * @return the {@code Histogram} or null if no request has been completed
+	 */
+	public Histogram getRequestDurations(String host) {
+		return requestDurations.get(host);
+	}
+
+	/**
+	 * Returns the parsing and verification duration histogram for the given
+	 * revocation type
+	 * 
+	 * @param revocationType
+	 *                       {@link RevocationType}
+	 * @return the {@code Histogram} or null if no revocation data has been
+	 *         verified
+	 */
+	public Histogram getVerificationDurations(RevocationType revocationType) {
+		return verificationDurations.get(revocationType);
+	}
+
+	private void increment(Map<String, AtomicLong> counters, String key) {
+		counter(counters, key).incrementAndGet();
+	}
+
+	private AtomicLong counter(Map<String, AtomicLong> counters, String key) {
+		return counters.computeIfAbsent(key, k -> new AtomicLong());
+	}
+
+	private long value(Map<String, AtomicLong> counters, String key) {
+		AtomicLong counter = counters.get(key);
+		return counter == null ? 0 : counter.get();
+	}
+
+	/**
+	 * Duration histogram with fixed buckets
+	 */
+	public static class Histogram implements Serializable {
+
+		private static final long serialVersionUID = -6870118606718216389L;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long durationNanos) {
+			long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+			int i = 0;
+			while (i < BUCKET_BOUNDS.length && durationMillis > BUCKET_BOUNDS[i]) {
+				i++;
+			}
+			buckets.incrementAndGet(i);
+			count.incrementAndGet();
+			totalNanos.addAndGet(durationNanos);
+			maxNanos.accumulateAndGet(durationNanos, Math::max);
+		}
+
+		/**
+		 * Returns the upper bounds of the buckets in milliseconds. The last bucket
+		 * (not listed) contains all the greater values.
+		 * 
+		 * @return the bucket bounds
+		 */
+		public long[] getBucketBoundsMillis() {
+			return BUCKET_BOUNDS.clone();
+		}
+
+		/**
+		 * Returns the number of recorded values per bucket
+		 * 
+		 * @return the bucket counts (one more than the bucket bounds)
+		 */
+		public long[] getBucketCounts() {
+			long[] result = new long[buckets.length()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = buckets.get(i);
+			}
+			return result;
+		}
+
+		public long getCount() {
+			return count.get();
+		}
+
+		public long getTotalNanos() {
+			return totalNanos.get();
+		}
+
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+	}
+
+}
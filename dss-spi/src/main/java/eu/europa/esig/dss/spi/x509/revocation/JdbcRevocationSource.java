@@ -25,6 +25,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -45,6 +54,41 @@ public abstract class JdbcRevocationSource<T extends RevocationToken> extends Re
 	private static final long serialVersionUID = 8752226611048306095L;
 
 	protected transient DataSource dataSource;
+
+	/**
+	 * If true, inserts, updates and removals are queued and executed in JDBC batches by a background thread
+	 */
+	private boolean writeBehind = false;
+
+	/**
+	 * Maximum number of queued write operations, the caller blocks when the queue is full
+	 */
+	private int writeBehindQueueSize = 1000;
+
+	/**
+	 * Maximum number of operations executed within one JDBC batch
+	 */
+	private int writeBehindBatchSize = 50;
+
+	private transient BlockingQueue<WriteOperation<T>> writeQueue;
+
+	private transient Thread writeBehindThread;
+
+	/**
+	 * Number of operations queued and not yet executed
+	 */
+	private transient int pendingOperations;
+
+	/**
+	 * Number of operations queued and not yet executed per revocation token key
+	 */
+	private transient Map<String, Integer> pendingOperationsByKey;
+
+	/**
+	 * True once {@code shutdown()} has been called, the write-behind queue does not
+	 * accept new operations anymore
+	 */
+	private transient boolean shutdown;
 	
 	/**
 	 * Returns CREATE_TABLE sql query
@@ -75,6 +119,34 @@ public abstract class JdbcRevocationSource<T extends RevocationToken> extends Re
 	 * @return {@link String} sql query
 	 */
 	protected abstract String getRemoveRevocationTokenEntryQuery();
+
+	/**
+	 * Returns an sql query to insert a record into DB
+	 * @return {@link String} sql query
+	 */
+	protected abstract String getInsertRevocationTokenEntryQuery();
+
+	/**
+	 * Returns an sql query to update a record in DB
+	 * @return {@link String} sql query
+	 */
+	protected abstract String getUpdateRevocationTokenEntryQuery();
+
+	/**
+	 * Sets the parameters of the insert query (see {@code getInsertRevocationTokenEntryQuery()}) for the given token
+	 * @param s {@link PreparedStatement} to fill
+	 * @param token {@link RevocationToken} to be inserted
+	 * @throws SQLException in case of error
+	 */
+	protected abstract void fillInsertRevocationStatement(PreparedStatement s, T token) throws SQLException;
+
+	/**
+	 * Sets the parameters of the update query (see {@code getUpdateRevocationTokenEntryQuery()}) for the given token
+	 * @param s {@link PreparedStatement} to fill
+	 * @param token {@link RevocationToken} to be updated
+	 * @throws SQLException in case of error
+	 */
+	protected abstract void fillUpdateRevocationStatement(PreparedStatement s, T token) throws SQLException;
 	
 	/**
 	 * Build {@link RevocationToken} from the obtained {@link ResultSet}
@@ -92,9 +164,51 @@ public abstract class JdbcRevocationSource<T extends RevocationToken> extends Re
 	public void setDataSource(final DataSource dataSource) {
 		this.dataSource = dataSource;
 	}
+
+	/**
+	 * Enables the asynchronous write-behind mode. When enabled, the revocation
+	 * tokens are returned to the caller without waiting for the database : the
+	 * inserts, updates and removals are queued and flushed in JDBC batches by a
+	 * background thread. The queue is bounded, a caller is blocked when it is full.
+	 * 
+	 * Default : false (all the operations are executed synchronously)
+	 * 
+	 * @param writeBehind
+	 *                    true to enable the write-behind mode
+	 */
+	public void setWriteBehind(boolean writeBehind) {
+		this.writeBehind = writeBehind;
+	}
+
+	/**
+	 * Sets the maximum number of pending write operations in the write-behind mode
+	 * 
+	 * Default : 1000
+	 * 
+	 * @param writeBehindQueueSize
+	 *                             the queue capacity
+	 */
+	public void setWriteBehindQueueSize(int writeBehindQueueSize) {
+		this.writeBehindQueueSize = writeBehindQueueSize;
+	}
+
+	/**
+	 * Sets the maximum number of operations executed in one JDBC batch in the
+	 * write-behind mode
+	 * 
+	 * Default : 50
+	 * 
+	 * @param writeBehindBatchSize
+	 *                             the batch size
+	 */
+	public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+		this.writeBehindBatchSize = writeBehindBatchSize;
+	}
 	
 	@Override
 	protected T findRevocation(final String key, final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		// a queued write of the same key must be visible to the caller
+		waitForPendingOperations(key);
 		Connection c = null;
 		PreparedStatement s = null;
 		ResultSet rs = null;
@@ -117,24 +231,297 @@ public abstract class JdbcRevocationSource<T extends RevocationToken> extends Re
 	}
 
 	@Override
-	protected void removeRevocation(T token) {
+	protected void insertRevocation(final T token) {
+		execute(new WriteOperation<T>(WriteOperationType.INSERT, token));
+	}
+
+	@Override
+	protected void updateRevocation(final T token) {
+		execute(new WriteOperation<T>(WriteOperationType.UPDATE, token));
+	}
+
+	@Override
+	protected void removeRevocation(final T token) {
+		execute(new WriteOperation<T>(WriteOperationType.REMOVE, token));
+	}
+
+	private void execute(WriteOperation<T> operation) {
+		if (writeBehind) {
+			enqueue(operation);
+		} else {
+			List<WriteOperation<T>> operations = new ArrayList<WriteOperation<T>>();
+			operations.add(operation);
+			executeBatch(operations);
+		}
+	}
+
+	private void enqueue(WriteOperation<T> operation) {
+		BlockingQueue<WriteOperation<T>> queue;
+		synchronized (this) {
+			if (shutdown) {
+				throw new RevocationException(String.format(
+						"The write-behind queue is shut down. Revocation token with key '%s' is not stored",
+						operation.token.getRevocationTokenKey()));
+			}
+			queue = getWriteQueue();
+			operationQueued(operation);
+		}
+		try {
+			queue.put(operation);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			operationsDone(Collections.singletonList(operation));
+			LOG.warn("Interrupted while waiting for the write-behind queue. Revocation token with key '{}' is not stored",
+					operation.token.getRevocationTokenKey());
+		}
+	}
+
+	private synchronized BlockingQueue<WriteOperation<T>> getWriteQueue() {
+		if (writeQueue == null) {
+			writeQueue = new ArrayBlockingQueue<WriteOperation<T>>(writeBehindQueueSize);
+			pendingOperationsByKey = new HashMap<String, Integer>();
+		}
+		if (writeBehindThread == null || !writeBehindThread.isAlive()) {
+			writeBehindThread = new Thread(new WriteBehindWorker(writeQueue), "dss-revocation-write-behind");
+			writeBehindThread.setDaemon(true);
+			writeBehindThread.start();
+		}
+		return writeQueue;
+	}
+
+	/**
+	 * Waits until all the queued write operations are executed (write-behind mode
+	 * only)
+	 */
+	public synchronized void flush() {
+		while (pendingOperations > 0) {
+			try {
+				wait(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.warn("Interrupted while waiting for the write-behind queue to be flushed");
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Waits until the queued write operations of the given revocation token key are
+	 * executed (write-behind mode only)
+	 */
+	private synchronized void waitForPendingOperations(String key) {
+		while (pendingOperationsByKey != null && pendingOperationsByKey.containsKey(key)) {
+			try {
+				wait(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.warn("Interrupted while waiting for the queued operations of the revocation token with key '{}'", key);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Flushes the queued write operations and stops the write-behind thread. The
+	 * write operations submitted afterwards in the write-behind mode are rejected
+	 * with a {@code RevocationException}.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			shutdown = true;
+		}
+		flush();
+		Thread thread;
+		synchronized (this) {
+			thread = writeBehindThread;
+			writeBehindThread = null;
+		}
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	private synchronized void operationQueued(WriteOperation<T> operation) {
+		pendingOperations++;
+		String key = operation.token.getRevocationTokenKey();
+		Integer count = pendingOperationsByKey.get(key);
+		pendingOperationsByKey.put(key, count == null ? 1 : count + 1);
+	}
+
+	private synchronized void operationsDone(List<WriteOperation<T>> operations) {
+		pendingOperations -= operations.size();
+		for (WriteOperation<T> operation : operations) {
+			String key = operation.token.getRevocationTokenKey();
+			Integer count = pendingOperationsByKey.get(key);
+			if (count == null || count <= 1) {
+				pendingOperationsByKey.remove(key);
+			} else {
+				pendingOperationsByKey.put(key, count - 1);
+			}
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Executes the operations within one transaction. The operations are first
+	 * collapsed per revocation token key, then grouped into a removal, an insertion
+	 * and an update JDBC batch. If the transaction fails, the collapsed operations
+	 * are retried one by one, so that a single faulty entry does not discard the
+	 * whole batch.
+	 */
+	private void executeBatch(List<WriteOperation<T>> operations) {
+		List<WriteOperation<T>> collapsed = collapse(operations);
+		if (executeInTransaction(collapsed) || collapsed.size() == 1) {
+			return;
+		}
+		LOG.info("Retrying {} revocation token operation(s) one by one", collapsed.size());
+		for (WriteOperation<T> operation : collapsed) {
+			executeInTransaction(Collections.singletonList(operation));
+		}
+	}
+
+	/**
+	 * Reduces the operations to at most one removal and one insertion or update per
+	 * revocation token key, which has the same effect on the DB as executing them
+	 * in order. Removals are returned first, then insertions, then updates.
+	 * 
+	 * An insertion is always preceded by the removal of the same key, so that an
+	 * entry already stored by a previous batch or by another instance is replaced
+	 * instead of being duplicated.
+	 */
+	private List<WriteOperation<T>> collapse(List<WriteOperation<T>> operations) {
+		Map<String, WriteOperation<T>> removals = new LinkedHashMap<String, WriteOperation<T>>();
+		Map<String, WriteOperation<T>> writes = new LinkedHashMap<String, WriteOperation<T>>();
+		for (WriteOperation<T> operation : operations) {
+			String key = operation.token.getRevocationTokenKey();
+			WriteOperation<T> previousWrite = writes.get(key);
+			switch (operation.type) {
+			case REMOVE:
+				removals.put(key, operation);
+				writes.remove(key);
+				break;
+			case INSERT:
+				writes.put(key, operation);
+				break;
+			case UPDATE:
+				if (previousWrite != null && WriteOperationType.INSERT == previousWrite.type) {
+					// the entry is not in the DB yet, insert the latest version
+					writes.put(key, new WriteOperation<T>(WriteOperationType.INSERT, operation.token));
+				} else if (previousWrite != null || !removals.containsKey(key)) {
+					writes.put(key, operation);
+				}
+				// an update of a removed entry has no effect
+				break;
+			default:
+				throw new RevocationException("Unsupported operation type : " + operation.type);
+			}
+		}
+		List<WriteOperation<T>> inserts = new ArrayList<WriteOperation<T>>();
+		for (Map.Entry<String, WriteOperation<T>> entry : writes.entrySet()) {
+			WriteOperation<T> operation = entry.getValue();
+			if (WriteOperationType.INSERT == operation.type) {
+				if (!removals.containsKey(entry.getKey())) {
+					removals.put(entry.getKey(), new WriteOperation<T>(WriteOperationType.REMOVE, operation.token));
+				}
+				inserts.add(operation);
+			}
+		}
+		List<WriteOperation<T>> result = new ArrayList<WriteOperation<T>>(removals.values());
+		result.addAll(inserts);
+		for (WriteOperation<T> operation : writes.values()) {
+			if (WriteOperationType.UPDATE == operation.type) {
+				result.add(operation);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Executes the operations within one transaction. The consecutive operations of
+	 * the same type are grouped into a JDBC batch, the order of the operations is
+	 * preserved.
+	 * 
+	 * @return true if the transaction is committed
+	 */
+	private boolean executeInTransaction(List<WriteOperation<T>> operations) {
 		Connection c = null;
 		PreparedStatement s = null;
+		boolean autoCommit = false;
 		try {
 			c = dataSource.getConnection();
-			s = c.prepareStatement(getRemoveRevocationTokenEntryQuery());
-			s.setString(1, token.getRevocationTokenKey());
-			s.executeUpdate();
+			// a failed batch must be rolled back entirely before being retried
+			autoCommit = c.getAutoCommit();
+			if (autoCommit) {
+				c.setAutoCommit(false);
+			}
+			WriteOperationType currentType = null;
+			for (WriteOperation<T> operation : operations) {
+				if (operation.type != currentType) {
+					if (s != null) {
+						s.executeBatch();
+						closeQuietly(s);
+					}
+					currentType = operation.type;
+					s = c.prepareStatement(getQuery(currentType));
+				}
+				fillStatement(s, operation);
+				s.addBatch();
+			}
+			if (s != null) {
+				s.executeBatch();
+			}
 			c.commit();
-			LOG.debug("Revocation token with key '{}' successfully removed from DB", token.getRevocationTokenKey());
+			LOG.debug("{} revocation token operation(s) successfully executed in DB", operations.size());
+			return true;
 		} catch (final SQLException e) {
-			LOG.error("Unable to remove Revocation token from the DB", e);
+			LOG.error("Unable to store {} revocation token operation(s) into the DB. Cause : '{}'", operations.size(), e.getMessage(), e);
 			rollback(c);
+			return false;
 		} finally {
+			restoreAutoCommit(c, autoCommit);
 			closeQuietly(c, s, null);
 		}
 	}
 
+	private void restoreAutoCommit(final Connection c, boolean autoCommit) {
+		if (c != null && autoCommit) {
+			try {
+				c.setAutoCommit(true);
+			} catch (final SQLException e) {
+				LOG.warn("Unable to restore the auto-commit mode : {}", e.getMessage());
+			}
+		}
+	}
+
+	private String getQuery(WriteOperationType type) {
+		switch (type) {
+		case INSERT:
+			return getInsertRevocationTokenEntryQuery();
+		case UPDATE:
+			return getUpdateRevocationTokenEntryQuery();
+		case REMOVE:
+			return getRemoveRevocationTokenEntryQuery();
+		default:
+			throw new RevocationException("Unsupported operation type : " + type);
+		}
+	}
+
+	private void fillStatement(PreparedStatement s, WriteOperation<T> operation) throws SQLException {
+		switch (operation.type) {
+		case INSERT:
+			fillInsertRevocationStatement(s, operation.token);
+			break;
+		case UPDATE:
+			fillUpdateRevocationStatement(s, operation.token);
+			break;
+		case REMOVE:
+			s.setString(1, operation.token.getRevocationTokenKey());
+			break;
+		default:
+			throw new RevocationException("Unsupported operation type : " + operation.type);
+		}
+	}
+
 	/**
 	 * Initialize the revocation token table by creating the table if it does not exist.
 	 *
@@ -294,4 +681,59 @@ public abstract class JdbcRevocationSource<T extends RevocationToken> extends Re
 		}
 	}
 
+	private enum WriteOperationType {
+		INSERT, UPDATE, REMOVE
+	}
+
+	private static final class WriteOperation<T extends RevocationToken> {
+
+		private final WriteOperationType type;
+		private final T token;
+
+		private WriteOperation(WriteOperationType type, T token) {
+			this.type = type;
+			this.token = token;
+		}
+
+	}
+
+	/**
+	 * Takes the queued operations and executes them in batches of maximum
+	 * writeBehindBatchSize elements
+	 */
+	private final class WriteBehindWorker implements Runnable {
+
+		private final BlockingQueue<WriteOperation<T>> queue;
+
+		private WriteBehindWorker(BlockingQueue<WriteOperation<T>> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public void run() {
+			List<WriteOperation<T>> operations = new ArrayList<WriteOperation<T>>();
+			while (!Thread.currentThread().isInterrupted()) {
+				try {
+					WriteOperation<T> first = queue.poll(1, TimeUnit.SECONDS);
+					if (first == null) {
+						continue;
+					}
+					operations.add(first);
+					queue.drainTo(operations, Math.max(writeBehindBatchSize, 1) - 1);
+					executeBatch(operations);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (RuntimeException e) {
+					LOG.error("Unable to execute the write-behind operations : {}", e.getMessage(), e);
+				} finally {
+					if (!operations.isEmpty()) {
+						operationsDone(operations);
+						operations.clear();
+					}
+				}
+			}
+		}
+
+	}
+
 }
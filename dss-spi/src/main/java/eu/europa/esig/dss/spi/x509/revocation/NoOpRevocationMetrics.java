@@ -0,0 +1,62 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.enumerations.RevocationType;
+
+/**
+ * The default {@code RevocationMetrics} which ignores all the metrics
+ */
+public class NoOpRevocationMetrics implements RevocationMetrics {
+
+	private static final long serialVersionUID = -2358425117294546413L;
+
+	@Override
+	public void cacheHit(String sourceName) {
+		// do nothing
+	}
+
+	@Override
+	public void cacheMiss(String sourceName) {
+		// do nothing
+	}
+
+	@Override
+	public void cacheExpiration(String sourceName) {
+		// do nothing
+	}
+
+	@Override
+	public void requestStarted(String host) {
+		// do nothing
+	}
+
+	@Override
+	public void requestCompleted(String host, long durationNanos, long bytes, boolean success) {
+		// do nothing
+	}
+
+	@Override
+	public void revocationVerified(RevocationType revocationType, long durationNanos) {
+		// do nothing
+	}
+
+}
@@ -56,6 +56,11 @@ public abstract class RepositoryRevocationSource<T extends RevocationToken> impl
 	 * If true, removes revocation tokens from DB with nextUpdate before the current date
 	 */
 	private boolean removeExpired = true;
+
+	/**
+	 * Collects the cache hits, misses and expirations
+	 */
+	private RevocationMetrics metrics = new NoOpRevocationMetrics();
 	
 	/**
 	 * Initialize a list of revocation token keys {@link String} from the given {@link CertificateToken}
@@ -154,6 +159,17 @@ public abstract class RepositoryRevocationSource<T extends RevocationToken> impl
 		this.removeExpired = removeExpired;
 	}
 	
+	/**
+	 * Sets the {@code RevocationMetrics} to collect the cache hits, misses and
+	 * expirations (default : {@code NoOpRevocationMetrics})
+	 * 
+	 * @param metrics
+	 *                {@link RevocationMetrics}
+	 */
+	public void setMetrics(RevocationMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
 	/**
 	 * Retrieves a revocation token for the given {@link CertificateToken}
 	 * 
@@ -197,6 +213,18 @@ public abstract class RepositoryRevocationSource<T extends RevocationToken> impl
 		return extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken, keys);
 	}
 	
+	/**
+	 * Stores the given revocation token in the cache. A previous entry with the
+	 * same revocation token key is replaced.
+	 * 
+	 * @param token
+	 *              {@link RevocationToken} to be stored
+	 */
+	public void storeRevocationToken(final T token) {
+		removeRevocation(token);
+		insertRevocation(token);
+	}
+	
 	/**
 	 * Extracts a {@link RevocationToken} from Cache Source if the relevant entry is stored, null otherwise
 	 * @param certificateToken {@link CertificateToken} to extract the revocation token for
@@ -213,9 +241,11 @@ public abstract class RepositoryRevocationSource<T extends RevocationToken> impl
 			if (revocationToken != null) {
 				if (isNotExpired(revocationToken)) {
 					LOG.info("Revocation token for certificate '{}' is loaded from the cache", certificateToken.getDSSIdAsString());
+					metrics.cacheHit(getClass().getSimpleName());
 					return revocationToken;
 				} else {
 					LOG.debug("Revocation token is expired");
+					metrics.cacheExpiration(getClass().getSimpleName());
 					if (removeExpired) {
 						removeRevocation(revocationToken);
 						keyIterator.remove();
@@ -225,6 +255,7 @@ public abstract class RepositoryRevocationSource<T extends RevocationToken> impl
 				keyIterator.remove();
 			}
 		}
+		metrics.cacheMiss(getClass().getSimpleName());
 		return null;
 	}
 	
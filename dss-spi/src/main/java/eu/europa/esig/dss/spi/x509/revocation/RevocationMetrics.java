@@ -0,0 +1,96 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import java.io.Serializable;
+
+import eu.europa.esig.dss.enumerations.RevocationType;
+
+/**
+ * Allows to collect the metrics of the revocation data retrieval (caches,
+ * network requests, parsing and verification of the revocation data).
+ * 
+ * The implementations must be thread-safe. This interface can be implemented
+ * to bridge to any metrics library.
+ * 
+ * @see NoOpRevocationMetrics
+ * @see InMemoryRevocationMetrics
+ */
+public interface RevocationMetrics extends Serializable {
+
+	/**
+	 * A valid revocation token is found in the cache
+	 * 
+	 * @param sourceName
+	 *                   the name of the cache source
+	 */
+	void cacheHit(String sourceName);
+
+	/**
+	 * No valid revocation token is found in the cache
+	 * 
+	 * @param sourceName
+	 *                   the name of the cache source
+	 */
+	void cacheMiss(String sourceName);
+
+	/**
+	 * An expired revocation token is found in the cache
+	 * 
+	 * @param sourceName
+	 *                   the name of the cache source
+	 */
+	void cacheExpiration(String sourceName);
+
+	/**
+	 * A request to an online revocation service is started
+	 * 
+	 * @param host
+	 *             the host of the revocation service
+	 */
+	void requestStarted(String host);
+
+	/**
+	 * A request to an online revocation service is completed
+	 * 
+	 * @param host
+	 *                      the host of the revocation service
+	 * @param durationNanos
+	 *                      the request duration in nanoseconds
+	 * @param bytes
+	 *                      the number of received bytes
+	 * @param success
+	 *                      true if a response is received
+	 */
+	void requestCompleted(String host, long durationNanos, long bytes, boolean success);
+
+	/**
+	 * A revocation data is parsed and its signature is verified, whether the data
+	 * is accepted or rejected
+	 * 
+	 * @param revocationType
+	 *                       {@link RevocationType} of the data
+	 * @param durationNanos
+	 *                       the parsing and verification duration in nanoseconds
+	 */
+	void revocationVerified(RevocationType revocationType, long durationNanos);
+
+}
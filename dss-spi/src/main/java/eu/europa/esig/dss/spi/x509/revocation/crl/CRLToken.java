@@ -75,6 +75,21 @@ public class CRLToken extends RevocationToken {
 		}
 	}
 
+	/**
+	 * The constructor to be used when the CRL is not related to a given
+	 * certificate (e.g. a CRL loaded in advance into a cache). The revocation
+	 * status is not set.
+	 *
+	 * @param crlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the CRL
+	 */
+	public CRLToken(final CRLValidity crlValidity) {
+		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
+		this.crlValidity = crlValidity;
+		initInfo();
+	}
+
 	@Override
 	public void initInfo() {
 		this.revocationType = RevocationType.CRL;
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.spi;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -51,6 +52,7 @@ import org.slf4j.LoggerFactory;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.utils.Utils;
@@ -341,4 +343,21 @@ public class DSSUtilsTest {
 				new String(Utils.fromBase64("aHR0cDovL3hhZGVzc3J2LnBsdWd0ZXN0cy5uZXQvY2Fwc28vb2NzcD9jYT1SAG90Q0FPSw=="))));
 	}
 
+	@Test
+	public void readFirstBytesTest() {
+		InMemoryDocument document = new InMemoryDocument(new byte[] { '%', 'P', 'D', 'F', '-', '1', '.', '4', '\n', '%' });
+		assertArrayEquals(new byte[] { '%', 'P', 'D', 'F' }, DSSUtils.readFirstBytes(document, 4));
+		assertArrayEquals(new byte[] { 1, 2 }, DSSUtils.readFirstBytes(new InMemoryDocument(new byte[] { 1, 2 }), 8));
+		assertEquals(0, DSSUtils.readFirstBytes(new InMemoryDocument(new byte[0]), 8).length);
+	}
+
+	@Test
+	public void startsWithTest() {
+		assertTrue(DSSUtils.startsWith(new byte[] { 'P', 'K', 3, 4 }, new byte[] { 'P', 'K' }));
+		assertFalse(DSSUtils.startsWith(new byte[] { 'P', 'K', 3, 4 }, new byte[] { 'K' }));
+		assertFalse(DSSUtils.startsWith(new byte[] { 'P' }, new byte[] { 'P', 'K' }));
+		assertFalse(DSSUtils.startsWith(null, new byte[] { 'P' }));
+		assertTrue(DSSUtils.startsWith(new byte[0], new byte[0]));
+	}
+
 }
@@ -0,0 +1,68 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationMetrics;
+
+public class MetricsDataLoaderTest {
+
+	@Test
+	public void test() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("http://second.host/crl.crl", new byte[] { 1, 2, 3 });
+
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		MetricsDataLoader dataLoader = new MetricsDataLoader(new MemoryDataLoader(dataMap), metrics);
+
+		DataLoader.DataAndUrl dataAndUrl = dataLoader.get(Arrays.asList("http://first.host/crl.crl", "ldap://second.host/crl.crl",
+				"http://second.host/crl.crl"));
+		assertEquals("http://second.host/crl.crl", dataAndUrl.getUrlString());
+
+		// the urls are iterated by the wrapped data loader, the call is reported to the first host
+		assertEquals(1, metrics.getRequestDurations("first.host").getCount());
+		assertEquals(0, metrics.getFailedRequests("first.host"));
+		assertEquals(3, metrics.getDownloadedBytes("first.host"));
+		assertEquals(0, metrics.getInFlightRequests("first.host"));
+		assertNull(metrics.getRequestDurations("second.host"));
+
+		assertThrows(DSSException.class, () -> dataLoader.get(Collections.singletonList("http://first.host/crl.crl")));
+		assertEquals(2, metrics.getRequestDurations("first.host").getCount());
+		assertEquals(1, metrics.getFailedRequests("first.host"));
+		assertEquals(0, metrics.getInFlightRequests("first.host"));
+
+		assertEquals(3, dataLoader.get("http://second.host/crl.crl").length);
+		assertEquals(1, metrics.getRequestDurations("second.host").getCount());
+		assertEquals(3, metrics.getDownloadedBytes("second.host"));
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.enumerations.RevocationType;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationMetrics.Histogram;
+
+public class InMemoryRevocationMetricsTest {
+
+	@Test
+	public void cacheTest() {
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		assertEquals(0, metrics.getCacheHitRatio("cache"), 0);
+
+		metrics.cacheHit("cache");
+		metrics.cacheHit("cache");
+		metrics.cacheHit("cache");
+		metrics.cacheMiss("cache");
+		metrics.cacheExpiration("cache");
+
+		assertEquals(3, metrics.getCacheHits("cache"));
+		assertEquals(1, metrics.getCacheMisses("cache"));
+		assertEquals(1, metrics.getCacheExpirations("cache"));
+		assertEquals(0.75, metrics.getCacheHitRatio("cache"), 0);
+		assertEquals(0, metrics.getCacheHits("other"));
+	}
+
+	@Test
+	public void requestTest() {
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		assertNull(metrics.getRequestDurations("host"));
+
+		metrics.requestStarted("host");
+		metrics.requestStarted("host");
+		assertEquals(2, metrics.getInFlightRequests("host"));
+
+		metrics.requestCompleted("host", TimeUnit.MILLISECONDS.toNanos(5), 100, true);
+		metrics.requestCompleted("host", TimeUnit.MILLISECONDS.toNanos(20000), 0, false);
+		assertEquals(0, metrics.getInFlightRequests("host"));
+		assertEquals(1, metrics.getFailedRequests("host"));
+		assertEquals(100, metrics.getDownloadedBytes("host"));
+
+		Histogram histogram = metrics.getRequestDurations("host");
+		assertEquals(2, histogram.getCount());
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(20005), histogram.getTotalNanos());
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(20000), histogram.getMaxNanos());
+		assertArrayEquals(new long[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 1 }, histogram.getBucketCounts());
+	}
+
+	@Test
+	public void verificationTest() {
+		InMemoryRevocationMetrics metrics = new InMemoryRevocationMetrics();
+		metrics.revocationVerified(RevocationType.CRL, TimeUnit.MILLISECONDS.toNanos(60));
+
+		assertNull(metrics.getVerificationDurations(RevocationType.OCSP));
+		Histogram histogram = metrics.getVerificationDurations(RevocationType.CRL);
+		assertEquals(1, histogram.getCount());
+		assertEquals(1, histogram.getBucketCounts()[2]);
+	}
+
+}
@@ -20,7 +20,6 @@
  */
 package eu.europa.esig.dss.ws.validation.common;
 
-import java.io.ByteArrayInputStream;
 import java.io.OutputStream;
 import java.security.cert.X509Certificate;
 import java.util.Date;
@@ -45,11 +44,11 @@ import eu.europa.esig.dss.model.ToBeSigned;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.policy.ValidationPolicy;
-import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.ValidationPolicyCache;
 import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.ws.converter.RemoteDocumentConverter;
 import eu.europa.esig.dss.ws.dto.RemoteDocument;
@@ -90,8 +89,8 @@ public class RemoteDocumentValidationService {
 	}
 
 	private ValidationPolicy getValidationPolicy(RemoteDocument policy) {
-		try (ByteArrayInputStream bais = new ByteArrayInputStream(policy.getBytes())) {
-			return ValidationPolicyFacade.newFacade().getValidationPolicy(bais);
+		try {
+			return ValidationPolicyCache.getValidationPolicy(policy.getBytes());
 		} catch (Exception e) {
 			throw new DSSException("Unable to load the validation policy", e);
 		}
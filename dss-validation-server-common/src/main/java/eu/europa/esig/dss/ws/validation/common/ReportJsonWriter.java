@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.ws.validation.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+
+import eu.europa.esig.dss.model.DSSException;
+
+/**
+ * This class writes the JAXB reports (diagnostic data, detailed report, simple
+ * report, ETSI validation report or the {@code WSReportsDTO}) as JSON directly
+ * into an {@link OutputStream}. The JSON mapping follows the JAXB annotations.
+ * 
+ * The instance is thread-safe and is intended to be shared.
+ */
+public class ReportJsonWriter {
+
+	private final ObjectWriter writer;
+
+	public ReportJsonWriter() {
+		this(false);
+	}
+
+	/**
+	 * The constructor with the JSON indentation choice
+	 * 
+	 * @param indent
+	 *               true if the JSON has to be indented
+	 */
+	public ReportJsonWriter(boolean indent) {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.setAnnotationIntrospector(new JaxbAnnotationIntrospector(TypeFactory.defaultInstance()));
+		objectMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		ObjectWriter objectWriter = objectMapper.writer();
+		if (indent) {
+			objectWriter = objectWriter.with(SerializationFeature.INDENT_OUTPUT);
+		}
+		this.writer = objectWriter;
+	}
+
+	/**
+	 * Writes the JSON representation of the report into the {@link OutputStream}.
+	 * The stream is not closed.
+	 * 
+	 * @param report
+	 *               the JAXB report to write
+	 * @param os
+	 *               the {@link OutputStream} to write to
+	 */
+	public void write(Object report, OutputStream os) {
+		Objects.requireNonNull(report, "The report is null");
+		Objects.requireNonNull(os, "OutputStream is null");
+		try {
+			writer.writeValue(os, report);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the report as JSON : %s", e.getMessage()), e);
+		}
+	}
+
+}
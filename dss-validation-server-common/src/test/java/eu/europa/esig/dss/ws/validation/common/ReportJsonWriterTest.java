@@ -0,0 +1,68 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.ws.validation.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.ws.converter.RemoteDocumentConverter;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+
+public class ReportJsonWriterTest {
+
+	@Test
+	public void test() throws Exception {
+		RemoteDocumentValidationService validationService = new RemoteDocumentValidationService();
+		validationService.setVerifier(new CommonCertificateVerifier());
+
+		RemoteDocument signedFile = RemoteDocumentConverter.toRemoteDocument(new FileDocument("src/test/resources/xadesLTA.xml"));
+		WSReportsDTO result = validationService.validateDocument(signedFile, null, null);
+		XmlSimpleReport simpleReport = result.getSimpleReport();
+		assertNotNull(simpleReport);
+
+		ReportJsonWriter jsonWriter = new ReportJsonWriter();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		jsonWriter.write(simpleReport, baos);
+
+		JsonNode json = new ObjectMapper().readTree(baos.toByteArray());
+		assertEquals(simpleReport.getSignaturesCount(), json.get("SignaturesCount").asInt());
+
+		baos = new ByteArrayOutputStream();
+		new ReportJsonWriter(true).write(result, baos);
+		String indentedJson = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(indentedJson.contains("\n"));
+		assertNotNull(new ObjectMapper().readTree(indentedJson).get("DiagnosticData"));
+	}
+
+}
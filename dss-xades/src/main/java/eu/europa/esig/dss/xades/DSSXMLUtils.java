@@ -22,6 +22,7 @@ package eu.europa.esig.dss.xades;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,9 +32,6 @@ import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
 
 import org.apache.xml.security.c14n.CanonicalizationException;
 import org.apache.xml.security.c14n.Canonicalizer;
@@ -41,10 +39,10 @@ import org.apache.xml.security.exceptions.XMLSecurityException;
 import org.apache.xml.security.exceptions.XMLSecurityRuntimeException;
 import org.apache.xml.security.signature.Reference;
 import org.apache.xml.security.signature.ReferenceNotInitializedException;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.transforms.Transforms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -595,25 +593,12 @@ public final class DSSXMLUtils {
 	 * @return TRUE if a duplicate id is detected
 	 */
 	public static boolean isDuplicateIdsDetected(DSSDocument doc) {
-		try {
-			Document dom = DomUtils.buildDOM(doc);
-			Element root = dom.getDocumentElement();
-			recursiveIdBrowse(root);
-			XPathExpression xPathExpression = DomUtils.createXPathExpression("//*/@*");
-			NodeList nodeList = (NodeList) xPathExpression.evaluate(root, XPathConstants.NODESET);
-			for (int i = 0; i < nodeList.getLength(); i++) {
-				Attr attr = (Attr) nodeList.item(i);
-				if (Utils.areStringsEqualIgnoreCase(XMLDSigAttribute.ID.getAttributeName(), attr.getName())) {
-					XPathExpression xpathAllById = DomUtils.createXPathExpression("//*[@" + attr.getName() + "='" + attr.getValue() + "']");
-					NodeList nodeListById = (NodeList) xpathAllById.evaluate(root, XPathConstants.NODESET);
-					if (nodeListById.getLength() != 1) {
-						LOG.warn("Problem detected with Id '{}', nb occurences = {}", attr.getValue(), nodeListById.getLength());
-						return true;
-					}
-				}
-			}
-		} catch (XPathExpressionException e) {
-			throw new DSSException("Unable to check if duplicate ids are present", e);
+		final XMLIdIndex idIndex = new XMLIdIndex(DomUtils.buildDOM(doc));
+		final Set<String> duplicateIds = idIndex.getDuplicateIds();
+		if (Utils.isCollectionNotEmpty(duplicateIds)) {
+			final String id = duplicateIds.iterator().next();
+			LOG.warn("Problem detected with Id '{}', nb occurences = {}", id, idIndex.getElementsById(id).size());
+			return true;
 		}
 		return false;
 	}
@@ -659,7 +644,7 @@ public final class DSSXMLUtils {
 					for (int i = 0; i < transformChildNodes.getLength(); i++) {
 						Node transformation = transformChildNodes.item(i);
 						if (isEnvelopedTransform(transformation)) {
-							return reference.getReferencedBytes();
+							return getReferencedBytes(reference);
 						}
 					    // if enveloped transformations are not applied to the signature go further and 
 						// return bytes before transformation
@@ -696,19 +681,65 @@ public final class DSSXMLUtils {
 	}
 	
 	private static byte[] getBytesBeforeTransformation(Reference reference) {
+		XMLSignatureInput contents = null;
 		try {
-			return reference.getContentsBeforeTransformation().getBytes();
+			contents = reference.getContentsBeforeTransformation();
+			return contents.getBytes();
 		} catch (ReferenceNotInitializedException e) {
 			// if exception occurs during an attempt to access reference original data
 			LOG.warn("Original data is not provided for the reference with id [{}]. Reason: [{}]", reference.getId(), e.getMessage());
 		} catch (IOException | CanonicalizationException e) {
 			// if exception occurs by another reason
 			LOG.error("Unable to retrieve the content of reference with id [{}].", reference.getId(), e);
+		} finally {
+			closeOctetStream(contents);
 		}
 		// in case of exceptions return null value
 		return null;
 	}
 
+	/**
+	 * Returns the referenced data of the reference after the transformations (as
+	 * {@link Reference#getReferencedBytes()}). The stream of a dereferenced
+	 * detached content is closed, even if it has not been fully read.
+	 * 
+	 * @param reference
+	 *                  {@link Reference} to get bytes from
+	 * @return the referenced bytes
+	 * @throws XMLSecurityException
+	 *                              if the reference cannot be dereferenced or
+	 *                              transformed
+	 */
+	public static byte[] getReferencedBytes(Reference reference) throws XMLSecurityException {
+		XMLSignatureInput output = null;
+		try {
+			output = reference.getContentsAfterTransformation();
+			return output.getBytes();
+		} catch (IOException e) {
+			throw new ReferenceNotInitializedException(e);
+		} finally {
+			closeOctetStream(output);
+		}
+	}
+
+	/**
+	 * Closes the stream of a dereferenced content. Santuario does not close the
+	 * streams it reads, the callers close them once used, whether they have been
+	 * consumed or not.
+	 * 
+	 * @param contents
+	 *                 the dereferenced {@link XMLSignatureInput} (can be null)
+	 */
+	public static void closeOctetStream(XMLSignatureInput contents) {
+		if (contents != null && contents.isOctetStream()) {
+			try (InputStream is = contents.getOctetStreamReal()) {
+				// only closes the stream
+			} catch (IOException e) {
+				LOG.debug("Unable to close the dereferenced content : {}", e.getMessage());
+			}
+		}
+	}
+
 	/**
 	 * This method extracts the Digest algorithm and value from an element of type
 	 * DigestAlgAndValueType
@@ -52,16 +52,47 @@ public class ProfileParameters implements Serializable {
 	/*
 	 * The builder used to create the signature structure. Currently used only for XAdES.
 	 */
+	@Deprecated
 	private SignatureBuilder builder;
 
+	/**
+	 * Returns the builder set with {@link #setBuilder(SignatureBuilder)}
+	 * 
+	 * @return the {@link SignatureBuilder}
+	 * @deprecated the signature structure is retained by the signing session, see {@link #getSigningSession()}
+	 */
+	@Deprecated
 	public SignatureBuilder getBuilder() {
 		return builder;
 	}
 
+	/**
+	 * Sets a builder, reused without any check to incorporate the signature value when there is no valid signing
+	 * session
+	 * 
+	 * @param builder
+	 *            the {@link SignatureBuilder}
+	 * @deprecated see {@link #setSigningSession(SigningSession)}
+	 */
+	@Deprecated
 	public void setBuilder(SignatureBuilder builder) {
 		this.builder = builder;
 	}
 
+	/*
+	 * The signing session started with the computation of the data to be signed. It retains the signature structure
+	 * and is not serialized.
+	 */
+	private transient SigningSession signingSession;
+
+	public SigningSession getSigningSession() {
+		return signingSession;
+	}
+
+	public void setSigningSession(SigningSession signingSession) {
+		this.signingSession = signingSession;
+	}
+
 	/*
 	 * The type of operation to perform.
 	 */
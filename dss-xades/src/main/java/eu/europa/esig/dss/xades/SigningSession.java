@@ -0,0 +1,217 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.DSSNamespace;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.xades.reference.DSSReference;
+import eu.europa.esig.dss.xades.reference.DSSTransform;
+
+/**
+ * This class retains the signature structure built during the computation of the data to be signed (SignedInfo),
+ * so that the signature value can be incorporated without re-building the signature. The session is only reused
+ * for the same document and the same signature parameters (as they were when the session was created), before its
+ * expiration. The signature structure is released as soon as the session is found expired or the signature value
+ * is incorporated.
+ */
+public class SigningSession {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SigningSession.class);
+
+	private SignatureBuilder builder;
+
+	private DSSDocument document;
+
+	/**
+	 * The serialized parameters, null if they cannot be serialized
+	 */
+	private final byte[] parametersSnapshot;
+
+	private final long creationTime;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param builder
+	 *            the builder which computed the data to be signed
+	 * @param document
+	 *            the document to be signed
+	 * @param parameters
+	 *            the signature parameters used to compute the data to be signed
+	 */
+	public SigningSession(SignatureBuilder builder, DSSDocument document, XAdESSignatureParameters parameters) {
+		this.builder = builder;
+		this.document = document;
+		this.parametersSnapshot = getParametersSnapshot(parameters);
+		this.creationTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the builder which computed the data to be signed
+	 *
+	 * @return the {@link SignatureBuilder}, null if the session is released
+	 */
+	public SignatureBuilder getBuilder() {
+		return builder;
+	}
+
+	/**
+	 * Checks if the session can be reused to sign the given document
+	 *
+	 * @param document
+	 *            the document to be signed
+	 * @param parameters
+	 *            the signature parameters
+	 * @param timeout
+	 *            the validity duration of the session in milliseconds
+	 * @return true if the session is not expired and has been created for the same input
+	 */
+	public boolean isValidFor(DSSDocument document, XAdESSignatureParameters parameters, long timeout) {
+		if (builder == null) {
+			return false;
+		}
+		if (System.currentTimeMillis() - creationTime > timeout) {
+			release();
+			return false;
+		}
+		return parametersSnapshot != null && Arrays.equals(parametersSnapshot, getParametersSnapshot(parameters))
+				&& isSameDocument(this.document, document);
+	}
+
+	/**
+	 * Releases the signature structure (DOM) and the document. The session cannot be reused after
+	 */
+	public void release() {
+		builder = null;
+		document = null;
+	}
+
+	private boolean isSameDocument(DSSDocument first, DSSDocument second) {
+		if (first == second) {
+			return true;
+		}
+		if (first == null || second == null || !Utils.areStringsEqual(first.getName(), second.getName())) {
+			return false;
+		}
+		if (first instanceof DigestDocument || second instanceof DigestDocument) {
+			return first instanceof DigestDocument && second instanceof DigestDocument
+					&& ((DigestDocument) first).getExistingDigest().equals(((DigestDocument) second).getExistingDigest());
+		}
+		// the digests are cached by the documents
+		return Utils.areStringsEqual(first.getDigest(DigestAlgorithm.SHA256), second.getDigest(DigestAlgorithm.SHA256));
+	}
+
+	/**
+	 * Serializes all the signature parameters. The parameters are mutable, so their values are compared, not the
+	 * instances. Returns null if a parameter cannot be serialized : the session is then never reused. A difference
+	 * of structure (e.g. a document replaced by an equal instance) is seen as a change and only leads to re-build
+	 * the signature.
+	 */
+	private static byte[] getParametersSnapshot(XAdESSignatureParameters parameters) {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				ObjectOutputStream oos = new SnapshotOutputStream(baos)) {
+			oos.writeObject(parameters);
+			oos.flush();
+			return baos.toByteArray();
+		} catch (IOException e) {
+			LOG.debug("Unable to serialize the signature parameters, the signing session will not be reused : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Serializes the documents by their name and digest, the references with the XML representation of their
+	 * transforms, the namespaces by their prefix and URI, and skips the profile context (which holds the session
+	 * itself)
+	 */
+	private static final class SnapshotOutputStream extends ObjectOutputStream {
+
+		private SnapshotOutputStream(OutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if (obj instanceof ProfileParameters) {
+				return null;
+			} else if (obj instanceof DigestDocument) {
+				DigestDocument digestDocument = (DigestDocument) obj;
+				return new ArrayList<>(Arrays.asList(digestDocument.getName(), digestDocument.getExistingDigest()));
+			} else if (obj instanceof DSSDocument) {
+				// the digests are cached by the documents
+				DSSDocument document = (DSSDocument) obj;
+				return new ArrayList<>(Arrays.asList(document.getName(), document.getDigest(DigestAlgorithm.SHA256)));
+			} else if (obj instanceof DSSReference) {
+				return getReference((DSSReference) obj);
+			} else if (obj instanceof DSSNamespace) {
+				DSSNamespace namespace = (DSSNamespace) obj;
+				return namespace.getPrefix() + ':' + namespace.getUri();
+			}
+			return obj;
+		}
+
+		private ArrayList<Object> getReference(DSSReference reference) {
+			ArrayList<Object> result = new ArrayList<>();
+			result.add(reference.getId());
+			result.add(reference.getUri());
+			result.add(reference.getType());
+			result.add(reference.getDigestMethodAlgorithm());
+			result.add(reference.getContents());
+			if (Utils.isCollectionNotEmpty(reference.getTransforms())) {
+				for (DSSTransform transform : reference.getTransforms()) {
+					result.add(getTransform(transform));
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Returns the XML representation of the transform, including its parameters (XPath expression, XSLT,...)
+		 */
+		private String getTransform(DSSTransform transform) {
+			final Document document = DomUtils.buildDOM();
+			final Element transforms = document.createElement("Transforms");
+			document.appendChild(transforms);
+			transform.createTransform(document, transforms);
+			return DomUtils.xmlToString(transforms);
+		}
+
+	}
+
+}
@@ -0,0 +1,450 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class canonicalizes a whole XML document (optionally without the subtrees of a given element, e.g. the
+ * ds:Signature elements for an enveloped signature) with a StAX parser, without building a DOM. The memory usage does
+ * not depend on the size of the document.
+ *
+ * Only the inclusive (1.0 and 1.1) and exclusive canonicalization methods without InclusiveNamespaces PrefixList are
+ * supported. The documents with a DTD are not processed (default attributes and entities cannot be resolved without
+ * the DTD) : the caller needs to fall back to the DOM based canonicalization.
+ */
+public class StreamingCanonicalizer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingCanonicalizer.class);
+
+	private static final Collection<String> SUPPORTED_METHODS = new HashSet<>(Arrays.asList(Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS, Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS));
+
+	private static final Collection<String> WITH_COMMENTS_METHODS = Arrays.asList(Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS, Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS);
+
+	private static final Collection<String> EXCLUSIVE_METHODS = Arrays.asList(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS);
+
+	private final boolean exclusive;
+
+	private boolean includeComments;
+
+	private String excludedElementNamespace;
+
+	private String excludedElementLocalName;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param canonicalizationMethod
+	 *            the canonicalization method to apply
+	 */
+	public StreamingCanonicalizer(final String canonicalizationMethod) {
+		if (!isSupported(canonicalizationMethod)) {
+			throw new DSSException(String.format("The canonicalization method [%s] is not supported in streaming", canonicalizationMethod));
+		}
+		this.exclusive = EXCLUSIVE_METHODS.contains(canonicalizationMethod);
+		this.includeComments = WITH_COMMENTS_METHODS.contains(canonicalizationMethod);
+	}
+
+	/**
+	 * Checks if the given canonicalization method can be applied in streaming
+	 *
+	 * @param canonicalizationMethod
+	 *            the canonicalization method
+	 * @return true if the method is supported
+	 */
+	public static boolean isSupported(final String canonicalizationMethod) {
+		return SUPPORTED_METHODS.contains(canonicalizationMethod);
+	}
+
+	/**
+	 * Allows to omit the comments whatever the canonicalization method (e.g. for a same-document reference with
+	 * URI="", the comments are removed before the transforms). (default: true for the "WithComments" methods)
+	 *
+	 * @param includeComments
+	 *            true if the comments need to be canonicalized
+	 */
+	public void setIncludeComments(boolean includeComments) {
+		this.includeComments = includeComments;
+	}
+
+	/**
+	 * Defines an element which is omitted with its subtree (e.g. ds:Signature for the enveloped signature transform).
+	 * (default: none)
+	 *
+	 * @param namespaceUri
+	 *            the namespace of the element
+	 * @param localName
+	 *            the local name of the element
+	 */
+	public void setExcludedElement(String namespaceUri, String localName) {
+		this.excludedElementNamespace = namespaceUri;
+		this.excludedElementLocalName = localName;
+	}
+
+	/**
+	 * Canonicalizes the document and computes the digest of the result
+	 *
+	 * @param document
+	 *            the XML document to canonicalize
+	 * @param digestAlgorithm
+	 *            the digest algorithm to use
+	 * @return the base64 encoded digest or null if the document cannot be canonicalized in streaming
+	 */
+	public String getDigest(final DSSDocument document, final DigestAlgorithm digestAlgorithm) {
+		try {
+			final MessageDigest messageDigest = digestAlgorithm.getMessageDigest();
+			if (canonicalize(document, new DigestOutputStream(new NullOutputStream(), messageDigest))) {
+				return Utils.toBase64(messageDigest.digest());
+			}
+			return null;
+		} catch (NoSuchAlgorithmException e) {
+			throw new DSSException(String.format("Unable to compute the digest with the algorithm [%s]", digestAlgorithm), e);
+		}
+	}
+
+	/**
+	 * Canonicalizes the document into the given {@code OutputStream}. The output stream is not closed.
+	 *
+	 * @param document
+	 *            the XML document to canonicalize
+	 * @param os
+	 *            the {@code OutputStream} to write to
+	 * @return false if the document cannot be canonicalized in streaming (the content written into the output stream
+	 *         must be ignored)
+	 */
+	public boolean canonicalize(final DSSDocument document, final OutputStream os) {
+		XMLStreamReader reader = null;
+		try (InputStream is = document.openStream()) {
+			reader = getXMLInputFactory().createXMLStreamReader(is);
+			final Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+			final boolean result = canonicalize(reader, writer);
+			writer.flush();
+			return result;
+		} catch (IOException | XMLStreamException e) {
+			throw new DSSException(String.format("Unable to canonicalize the document in streaming. Reason : [%s]", e.getMessage()), e);
+		} finally {
+			closeQuietly(reader);
+		}
+	}
+
+	private boolean canonicalize(final XMLStreamReader reader, final Writer writer) throws XMLStreamException, IOException {
+		final Deque<Map<String, String>> renderedNamespaces = new ArrayDeque<>();
+		renderedNamespaces.push(new HashMap<>());
+		int depth = 0;
+		int excludedDepth = 0;
+		boolean afterDocumentElement = false;
+		while (reader.hasNext()) {
+			final int event = reader.next();
+			if (excludedDepth > 0) {
+				if (XMLStreamConstants.START_ELEMENT == event) {
+					excludedDepth++;
+				} else if (XMLStreamConstants.END_ELEMENT == event) {
+					excludedDepth--;
+				}
+				continue;
+			}
+			switch (event) {
+			case XMLStreamConstants.DTD:
+			case XMLStreamConstants.ENTITY_REFERENCE:
+				LOG.debug("The document contains a DTD and cannot be canonicalized in streaming");
+				return false;
+			case XMLStreamConstants.START_ELEMENT:
+				if (isExcluded(reader)) {
+					excludedDepth = 1;
+				} else {
+					renderedNamespaces.push(writeStartElement(reader, writer, renderedNamespaces.peek()));
+					depth++;
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				writer.write("</");
+				writer.write(getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+				writer.write('>');
+				renderedNamespaces.pop();
+				depth--;
+				afterDocumentElement = depth == 0;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (depth > 0) {
+					writeText(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength(), writer);
+				}
+				break;
+			case XMLStreamConstants.COMMENT:
+				if (includeComments) {
+					writeOutsideDocumentElement(writer, depth, afterDocumentElement, "<!--" + reader.getText() + "-->");
+				}
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				final String data = reader.getPIData();
+				writeOutsideDocumentElement(writer, depth, afterDocumentElement,
+						"<?" + reader.getPITarget() + (Utils.isStringEmpty(data) ? "" : " " + data) + "?>");
+				break;
+			default:
+				break;
+			}
+		}
+		return true;
+	}
+
+	private boolean isExcluded(final XMLStreamReader reader) {
+		return excludedElementLocalName != null && excludedElementLocalName.equals(reader.getLocalName())
+				&& Utils.areStringsEqual(excludedElementNamespace, reader.getNamespaceURI());
+	}
+
+	private void writeOutsideDocumentElement(final Writer writer, int depth, boolean afterDocumentElement, String value) throws IOException {
+		if (depth == 0 && afterDocumentElement) {
+			writer.write('\n');
+		}
+		writer.write(value);
+		if (depth == 0 && !afterDocumentElement) {
+			writer.write('\n');
+		}
+	}
+
+	private Map<String, String> writeStartElement(final XMLStreamReader reader, final Writer writer, final Map<String, String> parentNamespaces)
+			throws IOException {
+		final Map<String, String> namespaces = new HashMap<>(parentNamespaces);
+		final Map<String, String> namespacesToRender = new TreeMap<>();
+		if (exclusive) {
+			renderVisiblyUtilized(nullToEmpty(reader.getPrefix()), nullToEmpty(reader.getNamespaceURI()), namespaces, namespacesToRender);
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				final String prefix = nullToEmpty(reader.getAttributePrefix(i));
+				if (!prefix.isEmpty()) {
+					renderVisiblyUtilized(prefix, nullToEmpty(reader.getAttributeNamespace(i)), namespaces, namespacesToRender);
+				}
+			}
+		} else {
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				final String prefix = nullToEmpty(reader.getNamespacePrefix(i));
+				final String uri = nullToEmpty(reader.getNamespaceURI(i));
+				final String parentUri = parentNamespaces.get(prefix);
+				if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+					continue;
+				}
+				if (prefix.isEmpty() && uri.isEmpty()) {
+					// xmlns="" is only rendered if a default namespace is in scope
+					if (Utils.isStringNotEmpty(parentUri)) {
+						namespacesToRender.put(prefix, uri);
+					}
+				} else if (!uri.equals(parentUri)) {
+					namespacesToRender.put(prefix, uri);
+				}
+				namespaces.put(prefix, uri);
+			}
+		}
+
+		writer.write('<');
+		writer.write(getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+		// the default namespace is sorted first
+		for (Map.Entry<String, String> namespace : namespacesToRender.entrySet()) {
+			writer.write(namespace.getKey().isEmpty() ? " xmlns" : " xmlns:" + namespace.getKey());
+			writer.write("=\"");
+			writeAttributeValue(namespace.getValue(), writer);
+			writer.write('"');
+		}
+		for (Attribute attribute : getSortedAttributes(reader)) {
+			writer.write(' ');
+			writer.write(attribute.qualifiedName);
+			writer.write("=\"");
+			writeAttributeValue(attribute.value, writer);
+			writer.write('"');
+		}
+		writer.write('>');
+		return namespaces;
+	}
+
+	private void renderVisiblyUtilized(String prefix, String uri, Map<String, String> namespaces, Map<String, String> namespacesToRender) {
+		if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+			return;
+		}
+		final String renderedUri = namespaces.get(prefix);
+		if (prefix.isEmpty() ? !uri.equals(nullToEmpty(renderedUri)) : !uri.equals(renderedUri)) {
+			namespacesToRender.put(prefix, uri);
+			namespaces.put(prefix, uri);
+		}
+	}
+
+	private List<Attribute> getSortedAttributes(final XMLStreamReader reader) {
+		final List<Attribute> attributes = new ArrayList<>();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			attributes.add(new Attribute(nullToEmpty(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+					getQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i)));
+		}
+		attributes.sort((a1, a2) -> {
+			final int result = a1.namespaceUri.compareTo(a2.namespaceUri);
+			return result != 0 ? result : a1.localName.compareTo(a2.localName);
+		});
+		return attributes;
+	}
+
+	private void writeText(final char[] chars, final int start, final int length, final Writer writer) throws IOException {
+		int written = start;
+		for (int i = start; i < start + length; i++) {
+			final String replacement;
+			switch (chars[i]) {
+			case '&':
+				replacement = "&amp;";
+				break;
+			case '<':
+				replacement = "&lt;";
+				break;
+			case '>':
+				replacement = "&gt;";
+				break;
+			case '\r':
+				replacement = "&#xD;";
+				break;
+			default:
+				continue;
+			}
+			writer.write(chars, written, i - written);
+			writer.write(replacement);
+			written = i + 1;
+		}
+		writer.write(chars, written, start + length - written);
+	}
+
+	private void writeAttributeValue(final String value, final Writer writer) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+			case '&':
+				writer.write("&amp;");
+				break;
+			case '<':
+				writer.write("&lt;");
+				break;
+			case '"':
+				writer.write("&quot;");
+				break;
+			case '\t':
+				writer.write("&#x9;");
+				break;
+			case '\n':
+				writer.write("&#xA;");
+				break;
+			case '\r':
+				writer.write("&#xD;");
+				break;
+			default:
+				writer.write(c);
+				break;
+			}
+		}
+	}
+
+	private static String getQualifiedName(String prefix, String localName) {
+		return Utils.isStringEmpty(prefix) ? localName : prefix + ":" + localName;
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	private static XMLInputFactory getXMLInputFactory() {
+		final XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		return factory;
+	}
+
+	private static void closeQuietly(XMLStreamReader reader) {
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				LOG.warn("Unable to close the XMLStreamReader : {}", e.getMessage());
+			}
+		}
+	}
+
+	private static final class Attribute {
+
+		private final String namespaceUri;
+		private final String localName;
+		private final String qualifiedName;
+		private final String value;
+
+		private Attribute(String namespaceUri, String localName, String qualifiedName, String value) {
+			this.namespaceUri = namespaceUri;
+			this.localName = localName;
+			this.qualifiedName = qualifiedName;
+			this.value = value;
+		}
+
+	}
+
+	private static final class NullOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) {
+			// the content is only digested
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// the content is only digested
+		}
+
+	}
+
+}
@@ -120,6 +120,12 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 	 */
 	private boolean prettyPrint = false;
 
+	/**
+	 * If true, the whole document references are canonicalized and digested with a StAX parser and the enveloped
+	 * signature is inserted into the original document bytes, without building the DOM of the signed document
+	 */
+	private boolean streaming = false;
+
 	/**
 	 * XMLDSig definition
 	 */
@@ -333,6 +339,28 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 		this.prettyPrint = prettyPrint;
 	}
 
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * This parameter allows to sign large XML documents without building their DOM. When enabled :
+	 * <ul>
+	 * <li>the references on the whole document (URI="") with enveloped signature and canonicalization (without
+	 * comments) transforms are canonicalized and digested in one pass with a StAX parser;</li>
+	 * <li>the enveloped signature is built in a separate DOM and inserted before the end tag of the document element
+	 * of the original UTF-8 document, which is streamed to the result.</li>
+	 * </ul>
+	 * The other cases (DTD, XPath placement, pretty print,...) are processed with the DOM.
+	 * (default: false)
+	 *
+	 * @param streaming
+	 *            true to process the document in streaming
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	public DSSNamespace getXmldsigNamespace() {
 		return xmldsigNamespace;
 	}
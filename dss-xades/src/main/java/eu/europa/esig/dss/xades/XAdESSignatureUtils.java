@@ -23,8 +23,8 @@ package eu.europa.esig.dss.xades;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.xml.security.exceptions.XMLSecurityException;
 import org.apache.xml.security.signature.Reference;
-import org.apache.xml.security.signature.XMLSignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
@@ -88,8 +88,8 @@ public final class XAdESSignatureUtils {
 			}
 		} else {
 			try {
-				return new InMemoryDocument(reference.getReferencedBytes(), reference.getURI());
-			} catch (XMLSignatureException e) {
+				return new InMemoryDocument(DSSXMLUtils.getReferencedBytes(reference), reference.getURI());
+			} catch (XMLSecurityException e) {
 				LOG.warn("Unable to retrieve reference {}", reference.getId(), e);
 			}
 		}
@@ -0,0 +1,183 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigAttribute;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * The index of the elements of a document by their ID attribute, built in a single pass over the document. The ID
+ * attributes are declared as user-determined ID attributes during the pass (see
+ * {@link DSSXMLUtils#setIDIdentifier(Element)}), so the references can be dereferenced by santuario.
+ * 
+ * The index keeps the semantics of the lookups it replaces :
+ * <ul>
+ * <li>the elements are found by a non-namespaced Id, id or ID attribute (as the XPath
+ * {@code //*[@Id='...' or @id='...' or @ID='...']});</li>
+ * <li>{@link #isDuplicateId(String)} counts the declared ID attributes (as the XML Signature Wrapping protection of
+ * santuario);</li>
+ * <li>{@link #getDuplicateIds()} counts the elements per attribute name (any case of "id", without prefix) and
+ * value.</li>
+ * </ul>
+ * 
+ * An instance is shared by all the signatures of a document : the document must not be modified after the creation of
+ * the index. The index goes stale once a signature of the document is extended (e.g. the new unsigned properties are
+ * not indexed), a new index has to be created for the extended document.
+ */
+public class XMLIdIndex {
+
+	private static final List<String> ID_ATTRIBUTE_NAMES = Arrays.asList("Id", "id", "ID");
+
+	/**
+	 * The elements by their non-namespaced Id, id or ID attribute value
+	 */
+	private final Map<String, List<Element>> elementsById = new HashMap<>();
+
+	/**
+	 * The elements by the value of their declared ID attributes, once per attribute
+	 */
+	private final Map<String, List<Element>> elementsByDeclaredId = new HashMap<>();
+
+	/**
+	 * The number of elements by ID attribute name and value
+	 */
+	private final Map<String, Map<String, Integer>> occurrencesByAttributeName = new LinkedHashMap<>();
+
+	/**
+	 * The default constructor
+	 * 
+	 * @param document
+	 *                 the document to index
+	 */
+	public XMLIdIndex(final Document document) {
+		Objects.requireNonNull(document, "The document cannot be null");
+		final Element documentElement = document.getDocumentElement();
+		if (documentElement != null) {
+			index(documentElement);
+		}
+	}
+
+	private void index(final Element element) {
+		DSSXMLUtils.setIDIdentifier(element);
+
+		final Set<String> ids = new LinkedHashSet<>();
+		final NamedNodeMap attributes = element.getAttributes();
+		for (int ii = 0; ii < attributes.getLength(); ii++) {
+			final Attr attribute = (Attr) attributes.item(ii);
+			final String value = attribute.getValue();
+			if (attribute.isId()) {
+				elementsByDeclaredId.computeIfAbsent(value, k -> new ArrayList<>(1)).add(element);
+			}
+			if (attribute.getNamespaceURI() == null) {
+				final String name = attribute.getName();
+				if (ID_ATTRIBUTE_NAMES.contains(name)) {
+					ids.add(value);
+				}
+				if (Utils.areStringsEqualIgnoreCase(XMLDSigAttribute.ID.getAttributeName(), name)) {
+					occurrencesByAttributeName.computeIfAbsent(name, k -> new LinkedHashMap<>()).merge(value, 1, Integer::sum);
+				}
+			}
+		}
+		for (final String id : ids) {
+			elementsById.computeIfAbsent(id, k -> new ArrayList<>(1)).add(element);
+		}
+
+		Node child = element.getFirstChild();
+		while (child != null) {
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				index((Element) child);
+			}
+			child = child.getNextSibling();
+		}
+	}
+
+	/**
+	 * Returns the elements with the given non-namespaced Id, id or ID attribute
+	 * 
+	 * @param id
+	 *           the ID value (without the leading '#')
+	 * @return the list of elements, empty if not found
+	 */
+	public List<Element> getElementsById(final String id) {
+		final List<Element> elements = elementsById.get(id);
+		return elements != null ? Collections.unmodifiableList(elements) : Collections.<Element>emptyList();
+	}
+
+	/**
+	 * Returns the element with the given non-namespaced Id, id or ID attribute, only if it is unique within the
+	 * document
+	 * 
+	 * @param id
+	 *           the ID value (without the leading '#')
+	 * @return the element or null if not found or not unique
+	 */
+	public Element getElementById(final String id) {
+		final List<Element> elements = elementsById.get(id);
+		return elements != null && elements.size() == 1 ? elements.get(0) : null;
+	}
+
+	/**
+	 * Checks if more than one declared ID attribute has the given value (XML Signature Wrapping protection)
+	 * 
+	 * @param id
+	 *           the ID value (without the leading '#')
+	 * @return TRUE if the ID is used several times
+	 */
+	public boolean isDuplicateId(final String id) {
+		final List<Element> elements = elementsByDeclaredId.get(id);
+		return elements != null && elements.size() > 1;
+	}
+
+	/**
+	 * Returns the ID values used by more than one element for the same attribute name (Id, id, ID,...)
+	 * 
+	 * @return the duplicate ID values
+	 */
+	public Set<String> getDuplicateIds() {
+		final Set<String> duplicateIds = new LinkedHashSet<>();
+		for (final Map<String, Integer> occurrences : occurrencesByAttributeName.values()) {
+			for (final Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+				if (entry.getValue() > 1) {
+					duplicateIds.add(entry.getKey());
+				}
+			}
+		}
+		return duplicateIds;
+	}
+
+}
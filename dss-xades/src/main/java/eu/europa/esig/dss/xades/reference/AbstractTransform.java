@@ -20,13 +20,22 @@
  */
 package eu.europa.esig.dss.xades.reference;
 
+import java.io.IOException;
+import java.util.Map.Entry;
+
+import org.apache.xml.security.exceptions.XMLSecurityException;
+import org.apache.xml.security.signature.XMLSignatureInput;
+import org.apache.xml.security.transforms.Transform;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import eu.europa.esig.dss.DomUtils;
 import eu.europa.esig.dss.definition.DSSNamespace;
 import eu.europa.esig.dss.definition.xmldsig.XMLDSigAttribute;
 import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
 
 public abstract class AbstractTransform implements DSSTransform {
@@ -34,6 +43,10 @@ public abstract class AbstractTransform implements DSSTransform {
 	protected final String algorithm;
 	protected DSSNamespace namespace = XAdESNamespaces.XMLDSIG;
 	
+	// internal object, used to perform the transformation with santuario. Built on the first use : concurrent
+	// builds create equivalent objects, the volatile field publishes a fully initialized one
+	private volatile Transform transformObject;
+	
 	public AbstractTransform(String algorithm) {
 		this.algorithm = algorithm;
 	}
@@ -51,6 +64,7 @@ public abstract class AbstractTransform implements DSSTransform {
 	@Override
 	public void setNamespace(DSSNamespace namespace) {
 		this.namespace = namespace;
+		this.transformObject = null;
 	}
 	
 	@Override
@@ -60,4 +74,80 @@ public abstract class AbstractTransform implements DSSTransform {
 		return transformDom;
 	}
 	
+	/**
+	 * Default implementation : the node-set input is serialized and parsed once, 
+	 * then the transformation is performed on the obtained node
+	 */
+	@Override
+	public XMLSignatureInput performTransform(XMLSignatureInput input) {
+		return new XMLSignatureInput(getBytesAfterTranformation(getNode(input)));
+	}
+	
+	/**
+	 * Returns the node represented by the given {@code input}. The input is only serialized and re-parsed 
+	 * when it does not wrap a complete subtree (e.g. a filtered node-set or an octet stream)
+	 * 
+	 * @param input {@link XMLSignatureInput}
+	 * @return {@link Node}
+	 */
+	protected Node getNode(XMLSignatureInput input) {
+		if (isSubtree(input)) {
+			return input.getSubNode();
+		}
+		try {
+			return DomUtils.buildDOM(input.getBytes());
+		} catch (IOException | XMLSecurityException e) {
+			throw new DSSException(String.format("Cannot serialize the input of the transformation [%s]. Reason : [%s]", 
+					algorithm, e.getMessage()), e);
+		}
+	}
+	
+	/**
+	 * Checks if the {@code input} represents a complete (non filtered) DOM subtree
+	 * 
+	 * @param input {@link XMLSignatureInput}
+	 * @return TRUE if the input is a complete subtree, FALSE otherwise
+	 */
+	protected boolean isSubtree(XMLSignatureInput input) {
+		return input.isElement() && input.getExcludeNode() == null && !input.isExcludeComments();
+	}
+	
+	/**
+	 * Performs the transformation with the santuario implementation of the {@code algorithm}.
+	 * The returned {@link XMLSignatureInput} can be a node-set.
+	 * 
+	 * @param input {@link XMLSignatureInput} to transform
+	 * @return {@link XMLSignatureInput} the transformation result
+	 */
+	protected XMLSignatureInput performSantuarioTransform(XMLSignatureInput input) {
+		Transform transform = transformObject;
+		if (transform == null) {
+			transform = buildTransformObject();
+			transformObject = transform;
+		}
+		try {
+			return transform.performTransform(input);
+		} catch (IOException | XMLSecurityException e) {
+			throw new DSSException(String.format("Cannot process transformation [%s] on the given DOM object. Reason : [%s]", 
+					algorithm, e.getMessage()), e);
+		}
+	}
+	
+	private Transform buildTransformObject() {
+		try {
+			final Document document = DomUtils.buildDOM();
+			final Element transformsDom = DomUtils.createElementNS(document, namespace, XMLDSigElement.TRANSFORMS);
+			document.appendChild(transformsDom);
+			createTransform(document, transformsDom);
+			final NodeList childNodes = transformsDom.getFirstChild().getChildNodes();
+			final Transform transformObject = new Transform(document, algorithm, childNodes);
+			for (Entry<String, String> namespace : DomUtils.getCurrentNamespaces().entrySet()) {
+				transformObject.setXPathNamespaceContext(namespace.getKey(), namespace.getValue());
+			}
+			return transformObject;
+		} catch (XMLSecurityException e) {
+			throw new DSSException(String.format("Cannot initialize a transform [%s]", algorithm), e);
+		}
+	}
+	
 }
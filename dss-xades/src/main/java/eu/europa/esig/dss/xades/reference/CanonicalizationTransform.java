@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.xades.reference;
 
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.w3c.dom.Node;
 
 import eu.europa.esig.dss.definition.DSSNamespace;
@@ -45,4 +47,16 @@ public class CanonicalizationTransform extends AbstractTransform {
 		return DSSXMLUtils.canonicalizeSubtree(algorithm, node);
 	}
 
+	@Override
+	public XMLSignatureInput performTransform(XMLSignatureInput input) {
+		if (isSubtree(input)) {
+			return new XMLSignatureInput(getBytesAfterTranformation(input.getSubNode()));
+		}
+		if (input.isNodeSet() && !Canonicalizer.ALGO_ID_C14N_PHYSICAL.equals(algorithm)) {
+			// canonicalizes the filtered node-set directly, without intermediate serialization
+			return performSantuarioTransform(input);
+		}
+		return super.performTransform(input);
+	}
+
 }
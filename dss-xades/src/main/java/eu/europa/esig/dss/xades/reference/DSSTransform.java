@@ -20,11 +20,17 @@
  */
 package eu.europa.esig.dss.xades.reference;
 
+import java.io.IOException;
+
+import org.apache.xml.security.exceptions.XMLSecurityException;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import eu.europa.esig.dss.DomUtils;
 import eu.europa.esig.dss.definition.DSSNamespace;
+import eu.europa.esig.dss.model.DSSException;
 
 public interface DSSTransform {
 	
@@ -47,6 +53,24 @@ public interface DSSTransform {
 	 */
 	byte[] getBytesAfterTranformation(Node node);
 	
+	/**
+	 * Performs transformation on the given {@code input} and returns the result. The result can be a node-set,
+	 * which allows to pass it to the next transformation of a chain without serialization and re-parsing.
+	 * 
+	 * Default : the input is serialized and parsed, then transformed with {@link #getBytesAfterTranformation(Node)}
+	 * 
+	 * @param input {@link XMLSignatureInput} to perform transformation on
+	 * @return {@link XMLSignatureInput} the transformation result
+	 */
+	default XMLSignatureInput performTransform(XMLSignatureInput input) {
+		try {
+			return new XMLSignatureInput(getBytesAfterTranformation(DomUtils.buildDOM(input.getBytes())));
+		} catch (IOException | XMLSecurityException e) {
+			throw new DSSException(String.format("Cannot serialize the input of the transformation [%s]. Reason : [%s]", 
+					getAlgorithm(), e.getMessage()), e);
+		}
+	}
+	
 	/**
 	 * Creates a Transform element DOM and appends it to the {@code parentNode}
 	 * @param document {@link Document} to add transform for
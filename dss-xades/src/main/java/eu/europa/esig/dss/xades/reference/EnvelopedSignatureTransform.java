@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.xades.reference;
 
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.transforms.Transforms;
 import org.w3c.dom.Node;
 
@@ -48,4 +49,10 @@ public class EnvelopedSignatureTransform extends AbstractTransform {
 		return DSSXMLUtils.serializeNode(node);
 	}
 
+	@Override
+	public XMLSignatureInput performTransform(XMLSignatureInput input) {
+		// do nothing the new signature is not existing yet, the input is passed as it is to the next transformation
+		return input;
+	}
+
 }
@@ -20,11 +20,22 @@
  */
 package eu.europa.esig.dss.xades.signature;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.xml.crypto.dsig.CanonicalizationMethod;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
 
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -34,14 +45,18 @@ import eu.europa.esig.dss.DomUtils;
 import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.StreamingCanonicalizer;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 import eu.europa.esig.dss.xades.reference.CanonicalizationTransform;
 import eu.europa.esig.dss.xades.reference.DSSReference;
 import eu.europa.esig.dss.xades.reference.DSSTransform;
+import eu.europa.esig.dss.xades.reference.EnvelopedSignatureTransform;
 import eu.europa.esig.dss.xades.reference.XPathEnvelopedSignatureTransform;
 
 /**
@@ -50,6 +65,13 @@ import eu.europa.esig.dss.xades.reference.XPathEnvelopedSignatureTransform;
  */
 class EnvelopedSignatureBuilder extends XAdESSignatureBuilder {
 
+	private static final Logger LOG = LoggerFactory.getLogger(EnvelopedSignatureBuilder.class);
+
+	/**
+	 * The offset of the end tag of the document element, when the signature is inserted in streaming
+	 */
+	private long documentElementEndTagOffset = -1;
+
 	/**
 	 * The default constructor for EnvelopedSignatureBuilder. The enveloped signature uses by default the exclusive
 	 * method of canonicalization.
@@ -72,9 +94,46 @@ class EnvelopedSignatureBuilder extends XAdESSignatureBuilder {
 	 */
 	@Override
 	protected Document buildRootDocumentDom() {
+		if (isStreamingOutput()) {
+			// The signature is built within a copy of the document element and inserted in the original bytes
+			final Document documentElementDom = StreamedEnvelopedDocument.buildDocumentElementDom(detachedDocument);
+			if (documentElementDom != null) {
+				documentElementEndTagOffset = StreamedEnvelopedDocument.getDocumentElementEndTagOffset(detachedDocument,
+						documentElementDom.getDocumentElement().getTagName());
+				if (documentElementEndTagOffset >= 0) {
+					return documentElementDom;
+				}
+			}
+			LOG.debug("The signature cannot be inserted in streaming, the DOM is used");
+		}
 		return DomUtils.buildDOM(detachedDocument);
 	}
 
+	private boolean isStreamingOutput() {
+		return params.isStreaming() && Utils.isStringEmpty(params.getXPathLocationString()) && !params.isPrettyPrint()
+				&& !(detachedDocument instanceof DigestDocument);
+	}
+
+	@Override
+	protected DSSDocument createXmlDocument() {
+		if (documentElementEndTagOffset < 0) {
+			return super.createXmlDocument();
+		}
+		return new StreamedEnvelopedDocument(detachedDocument, documentElementEndTagOffset, serializeSignature());
+	}
+
+	private byte[] serializeSignature() {
+		try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+			final Transformer transformer = DomUtils.getSecureTransformer();
+			transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+			transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+			transformer.transform(new DOMSource(signatureDom), new StreamResult(bos));
+			return bos.toByteArray();
+		} catch (IOException | TransformerException e) {
+			throw new DSSException("An error occurred during the signature serialization.", e);
+		}
+	}
+
 	@Override
 	protected Node getParentNodeOfSignature() {
 		final String xPathLocationString = params.getXPathLocationString();
@@ -185,6 +244,48 @@ class EnvelopedSignatureBuilder extends XAdESSignatureBuilder {
 		return new InMemoryDocument(transformedReferenceBytes);
 	}
 
+	/**
+	 * The whole document references with enveloped signature and canonicalization (without comments) transforms are
+	 * canonicalized and digested with a StAX parser
+	 */
+	@Override
+	protected String getStreamedReferenceDigestValue(final DSSReference reference) {
+		final List<DSSTransform> transforms = reference.getTransforms();
+		if (!params.isStreaming() || !"".equals(reference.getUri()) || reference.getContents() instanceof DigestDocument
+				|| Utils.isCollectionEmpty(transforms)) {
+			return null;
+		}
+		boolean excludeSignatures = false;
+		for (int ii = 0; ii < transforms.size() - 1; ii++) {
+			final DSSTransform transform = transforms.get(ii);
+			if (transform instanceof XPathEnvelopedSignatureTransform) {
+				excludeSignatures = true;
+			} else if (!(transform instanceof EnvelopedSignatureTransform)) {
+				return null;
+			}
+		}
+		final DSSTransform lastTransform = transforms.get(transforms.size() - 1);
+		final String canonicalizationMethod = lastTransform.getAlgorithm();
+		if (!(lastTransform instanceof CanonicalizationTransform) || !StreamingCanonicalizer.isSupported(canonicalizationMethod)
+				|| isWithComments(canonicalizationMethod)) {
+			return null;
+		}
+		final StreamingCanonicalizer canonicalizer = new StreamingCanonicalizer(canonicalizationMethod);
+		if (excludeSignatures) {
+			canonicalizer.setExcludedElement(XMLDSigElement.SIGNATURE.getURI(), XMLDSigElement.SIGNATURE.getTagName());
+		}
+		final String digestValue = canonicalizer.getDigest(reference.getContents(), reference.getDigestMethodAlgorithm());
+		if (digestValue == null) {
+			LOG.debug("The reference '{}' cannot be digested in streaming, the DOM is used", reference.getId());
+		}
+		return digestValue;
+	}
+
+	private static boolean isWithComments(final String canonicalizationMethod) {
+		return Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS.equals(canonicalizationMethod) || Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS.equals(canonicalizationMethod)
+				|| Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS.equals(canonicalizationMethod);
+	}
+
 	private static boolean isXPointer(final String uri) {
 		final boolean xPointer = uri.startsWith("#xpointer(") || uri.startsWith("#xmlns(");
 		return xPointer;
@@ -0,0 +1,304 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.MimeType;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * The result of the insertion of an enveloped signature before the end tag of the document element, without building
+ * the DOM of the original document. The content is streamed from the original document.
+ */
+@SuppressWarnings("serial")
+class StreamedEnvelopedDocument extends CommonDocument {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamedEnvelopedDocument.class);
+
+	/**
+	 * Only the comments and the whitespaces are allowed after the end tag of the document element in this window
+	 */
+	private static final int TAIL_LENGTH = 8192;
+
+	private final DSSDocument originalDocument;
+
+	private final long insertionOffset;
+
+	private final byte[] signatureBytes;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param originalDocument
+	 *            the signed document
+	 * @param insertionOffset
+	 *            the offset of the end tag of the document element (see
+	 *            {@link #getDocumentElementEndTagOffset(DSSDocument, String)})
+	 * @param signatureBytes
+	 *            the UTF-8 serialized signature
+	 */
+	StreamedEnvelopedDocument(final DSSDocument originalDocument, final long insertionOffset, final byte[] signatureBytes) {
+		Objects.requireNonNull(originalDocument, "The original document cannot be null");
+		this.originalDocument = originalDocument;
+		this.insertionOffset = insertionOffset;
+		this.signatureBytes = signatureBytes;
+		this.mimeType = MimeType.XML;
+	}
+
+	@Override
+	public InputStream openStream() {
+		final InputStream is = originalDocument.openStream();
+		return new SequenceInputStream(new SequenceInputStream(new BoundedInputStream(is, insertionOffset), new ByteArrayInputStream(signatureBytes)), is);
+	}
+
+	/**
+	 * Builds a {@code Document} which only contains the document element of the given document, with its namespace
+	 * declarations and its attributes. Within this document, an enveloped signature is canonicalized as in the original
+	 * document.
+	 *
+	 * @param document
+	 *            the document to be signed
+	 * @return the {@code Document} or null if the document is not encoded in UTF-8 or contains a DTD
+	 */
+	static Document buildDocumentElementDom(final DSSDocument document) {
+		XMLStreamReader reader = null;
+		try (InputStream is = document.openStream()) {
+			final XMLInputFactory factory = XMLInputFactory.newFactory();
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			reader = factory.createXMLStreamReader(is);
+			if (!isUTF8(reader.getCharacterEncodingScheme()) || !isUTF8(reader.getEncoding())) {
+				LOG.debug("Only the UTF-8 documents are signed in streaming");
+				return null;
+			}
+			while (reader.hasNext()) {
+				final int event = reader.next();
+				if (XMLStreamConstants.DTD == event) {
+					LOG.debug("The documents with a DTD are not signed in streaming");
+					return null;
+				} else if (XMLStreamConstants.START_ELEMENT == event) {
+					return buildDocumentElementDom(reader);
+				}
+			}
+			return null;
+		} catch (IOException | XMLStreamException e) {
+			throw new DSSException(String.format("Unable to read the document element. Reason : [%s]", e.getMessage()), e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					LOG.warn("Unable to close the XMLStreamReader : {}", e.getMessage());
+				}
+			}
+		}
+	}
+
+	private static Document buildDocumentElementDom(final XMLStreamReader reader) {
+		final Document documentDom = DomUtils.buildDOM();
+		final Element documentElement = documentDom.createElementNS(Utils.isStringEmpty(reader.getNamespaceURI()) ? null : reader.getNamespaceURI(),
+				getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			final String prefix = reader.getNamespacePrefix(i);
+			final String uri = reader.getNamespaceURI(i);
+			documentElement.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+					Utils.isStringEmpty(prefix) ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, uri == null ? "" : uri);
+		}
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String namespace = reader.getAttributeNamespace(i);
+			documentElement.setAttributeNS(Utils.isStringEmpty(namespace) ? null : namespace,
+					getQualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+		}
+		documentDom.appendChild(documentElement);
+		return documentDom;
+	}
+
+	/**
+	 * Returns the offset of the end tag of the document element. Only the whitespaces and the comments are allowed
+	 * after it.
+	 *
+	 * @param document
+	 *            the document to be signed
+	 * @param qualifiedName
+	 *            the qualified name of the document element
+	 * @return the offset of the end tag or -1 if not found
+	 */
+	static long getDocumentElementEndTagOffset(final DSSDocument document, final String qualifiedName) {
+		final byte[] tail = new byte[TAIL_LENGTH];
+		final byte[] buffer = new byte[TAIL_LENGTH];
+		int tailLength = 0;
+		long length = 0;
+		try (InputStream is = document.openStream()) {
+			int count;
+			while ((count = is.read(buffer)) > 0) {
+				length += count;
+				final int kept = Math.min(tailLength, TAIL_LENGTH - count);
+				System.arraycopy(tail, tailLength - kept, tail, 0, kept);
+				System.arraycopy(buffer, 0, tail, kept, count);
+				tailLength = kept + count;
+			}
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read the document. Reason : [%s]", e.getMessage()), e);
+		}
+		final int index = getEndTagIndex(Arrays.copyOf(tail, tailLength), qualifiedName);
+		return index < 0 ? -1 : length - tailLength + index;
+	}
+
+	private static int getEndTagIndex(final byte[] tail, final String qualifiedName) {
+		int i = tail.length - 1;
+		while (i >= 0) {
+			final byte b = tail[i];
+			if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+				i--;
+			} else if (endsWith(tail, i, "-->")) {
+				i = lastIndexOf(tail, "<!--", i - 6) - 1;
+				if (i < 0) {
+					return -1;
+				}
+			} else if (b == '>') {
+				final int start = lastIndexOf(tail, "</", i - 1);
+				if (start < 0 || lastIndexOf(tail, "<", i - 1) != start) {
+					// processing instruction, empty document element,...
+					return -1;
+				}
+				final String name = new String(tail, start + 2, i - start - 2, StandardCharsets.UTF_8).trim();
+				return qualifiedName.equals(name) ? start : -1;
+			} else {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean endsWith(final byte[] bytes, final int index, final String value) {
+		final int start = index - value.length() + 1;
+		if (start < 0) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (bytes[start + i] != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int lastIndexOf(final byte[] bytes, final String value, final int fromIndex) {
+		for (int i = Math.min(fromIndex, bytes.length - value.length()); i >= 0; i--) {
+			if (endsWith(bytes, i + value.length() - 1, value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isUTF8(final String encoding) {
+		return encoding == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding);
+	}
+
+	private static String getQualifiedName(final String prefix, final String localName) {
+		return Utils.isStringEmpty(prefix) ? localName : prefix + ":" + localName;
+	}
+
+	/**
+	 * Reads the given number of bytes, without closing the underlying {@code InputStream}
+	 */
+	private static final class BoundedInputStream extends FilterInputStream {
+
+		private long remaining;
+
+		private BoundedInputStream(final InputStream is, final long length) {
+			super(is);
+			this.remaining = length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			final int result = super.read();
+			if (result >= 0) {
+				remaining--;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			final int result = super.read(b, off, (int) Math.min(len, remaining));
+			if (result > 0) {
+				remaining -= result;
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long result = super.skip(Math.min(n, remaining));
+			remaining -= result;
+			return result;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(super.available(), remaining);
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			// the underlying stream is closed by the SequenceInputStream
+		}
+
+	}
+
+}
@@ -144,16 +144,44 @@ public abstract class XAdESBuilder {
 	 */
 	protected void incorporateDigestValue(final Element parentDom, DSSReference dssReference, final DigestAlgorithm digestAlgorithm,
 			final DSSDocument originalDocument) {
+		incorporateDigestValue(parentDom, getReferenceDigestValue(dssReference, digestAlgorithm, originalDocument));
+	}
 
+	/**
+	 * This method creates the ds:DigestValue DOM object with the given base64 encoded digest
+	 *
+	 * @param parentDom
+	 *            the parent element
+	 * @param base64EncodedDigestBytes
+	 *            the base64 encoded digest value
+	 */
+	protected void incorporateDigestValue(final Element parentDom, final String base64EncodedDigestBytes) {
 		final Element digestValueDom = DomUtils.createElementNS(documentDom, getXmldsigNamespace(), XMLDSigElement.DIGEST_VALUE);
+		LOG.trace("C14n Digest value {} --> {}", parentDom.getNodeName(), base64EncodedDigestBytes);
+		final Text textNode = documentDom.createTextNode(base64EncodedDigestBytes);
+		digestValueDom.appendChild(textNode);
+		parentDom.appendChild(digestValueDom);
+	}
 
-		String base64EncodedDigestBytes = null;
+	/**
+	 * Computes the base64 encoded digest of the given reference. This method does not modify the signature DOM and
+	 * can be called concurrently for different references.
+	 *
+	 * @param dssReference
+	 *            the current reference to digest
+	 * @param digestAlgorithm
+	 *            the digest algorithm to be used
+	 * @param originalDocument
+	 *            the document to be digested
+	 * @return the base64 encoded digest value
+	 */
+	protected String getReferenceDigestValue(DSSReference dssReference, final DigestAlgorithm digestAlgorithm, final DSSDocument originalDocument) {
 		if (params.isManifestSignature()) {
 			DSSTransform dssTransform = getUniqueCanonicalizationTransform(dssReference);
 			Document doc = DomUtils.buildDOM(originalDocument);
 			
 			byte[] bytes = dssTransform.getBytesAfterTranformation(doc);
-			base64EncodedDigestBytes = Utils.toBase64(DSSUtils.digest(digestAlgorithm, bytes));
+			return Utils.toBase64(DSSUtils.digest(digestAlgorithm, bytes));
 		} else if (params.isEmbedXML()) {
 			DSSTransform dssTransform = getUniqueCanonicalizationTransform(dssReference);
 
@@ -171,15 +199,10 @@ public abstract class XAdESBuilder {
 			dom.appendChild(adopted);
 
 			byte[] bytes = dssTransform.getBytesAfterTranformation(dom);
-			base64EncodedDigestBytes = Utils.toBase64(DSSUtils.digest(digestAlgorithm, bytes));
+			return Utils.toBase64(DSSUtils.digest(digestAlgorithm, bytes));
 		} else {
-			base64EncodedDigestBytes = originalDocument.getDigest(digestAlgorithm);
+			return originalDocument.getDigest(digestAlgorithm);
 		}
-
-		LOG.trace("C14n Digest value {} --> {}", parentDom.getNodeName(), base64EncodedDigestBytes);
-		final Text textNode = documentDom.createTextNode(base64EncodedDigestBytes);
-		digestValueDom.appendChild(textNode);
-		parentDom.appendChild(digestValueDom);
 	}
 
 	private DSSTransform getUniqueCanonicalizationTransform(DSSReference dssReference) {
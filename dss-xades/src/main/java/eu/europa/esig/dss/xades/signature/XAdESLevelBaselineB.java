@@ -20,12 +20,16 @@
  */
 package eu.europa.esig.dss.xades.signature;
 
+import java.util.concurrent.ExecutorService;
+
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.xades.ProfileParameters;
 import eu.europa.esig.dss.xades.SantuarioInitializer;
 import eu.europa.esig.dss.xades.SignatureBuilder;
 import eu.europa.esig.dss.xades.SignatureProfile;
+import eu.europa.esig.dss.xades.SigningSession;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 
 /**
@@ -39,12 +43,27 @@ public class XAdESLevelBaselineB implements SignatureProfile {
 		SantuarioInitializer.init();
 	}
 
+	/**
+	 * The default validity duration of a signing session (5 minutes)
+	 */
+	public static final long DEFAULT_SIGNING_SESSION_TIMEOUT = 5 * 60 * 1000L;
+
 	/**
 	 * The reference to the {@code CertificateVerifier} which provides information on the sources to be used in the
 	 * validation process in the context of a signature.
 	 */
 	private CertificateVerifier certificateVerifier;
 
+	/**
+	 * Used to digest the references in parallel (optional)
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The validity duration of a signing session in milliseconds
+	 */
+	private long signingSessionTimeout = DEFAULT_SIGNING_SESSION_TIMEOUT;
+
 	/**
 	 * The default constructor for XAdESLevelBaselineB.
 	 *
@@ -55,6 +74,31 @@ public class XAdESLevelBaselineB implements SignatureProfile {
 		this.certificateVerifier = certificateVerifier;
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used by the signature builders to digest the references
+	 * in parallel. (default: null, the references are digested sequentially)
+	 *
+	 * @param executorService
+	 *            the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This method allows to set the validity duration of the signing session started by
+	 * {@link #getDataToSign(DSSDocument, XAdESSignatureParameters)}. Within this duration, the signature structure
+	 * built to compute the data to be signed is reused by
+	 * {@link #signDocument(DSSDocument, XAdESSignatureParameters, byte[])} (same document and same parameters). After
+	 * it, the signature is re-built. (default: 300000, 5 minutes)
+	 *
+	 * @param signingSessionTimeout
+	 *            the validity duration in milliseconds
+	 */
+	public void setSigningSessionTimeout(long signingSessionTimeout) {
+		this.signingSessionTimeout = signingSessionTimeout;
+	}
+
 	/**
 	 * Returns the canonicalized ds:SignedInfo XML segment under the form of InputStream
 	 *
@@ -68,8 +112,9 @@ public class XAdESLevelBaselineB implements SignatureProfile {
 	 */
 	public byte[] getDataToSign(final DSSDocument dssDocument, final XAdESSignatureParameters parameters) throws DSSException {
 		final XAdESSignatureBuilder signatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, dssDocument, certificateVerifier);
-		parameters.getContext().setBuilder(signatureBuilder);
+		signatureBuilder.setExecutorService(executorService);
 		final byte[] dataToSign = signatureBuilder.build();
+		parameters.getContext().setSigningSession(new SigningSession(signatureBuilder, dssDocument, parameters));
 		return dataToSign;
 	}
 
@@ -87,15 +132,31 @@ public class XAdESLevelBaselineB implements SignatureProfile {
 	 *             if an error occurred
 	 */
 	@Override
+	@SuppressWarnings("deprecation")
 	public DSSDocument signDocument(final DSSDocument document, final XAdESSignatureParameters parameters, final byte[] signatureValue) throws DSSException {
-		SignatureBuilder builder = parameters.getContext().getBuilder();
-		if (builder != null) {
-			builder = parameters.getContext().getBuilder();
+		final ProfileParameters context = parameters.getContext();
+		final SigningSession signingSession = context.getSigningSession();
+		SignatureBuilder builder;
+		if (signingSession != null
+				&& signingSession.isValidFor(document, parameters, signingSessionTimeout)) {
+			builder = signingSession.getBuilder();
+		} else if (context.getBuilder() != null) {
+			// deprecated : a builder set explicitly is reused without checks
+			builder = context.getBuilder();
 		} else {
-			builder = XAdESSignatureBuilder.getSignatureBuilder(parameters, document, certificateVerifier);
+			final XAdESSignatureBuilder signatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, document, certificateVerifier);
+			signatureBuilder.setExecutorService(executorService);
+			builder = signatureBuilder;
+		}
+		// the session is closed : the signature structure cannot receive a second signature value
+		context.setSigningSession(null);
+		context.setBuilder(null);
+		try {
+			return builder.signDocument(signatureValue);
+		} finally {
+			if (signingSession != null) {
+				signingSession.release();
+			}
 		}
-		final DSSDocument dssDocument = builder.signDocument(signatureValue);
-		parameters.getContext().setBuilder(builder);
-		return dssDocument;
 	}
 }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,16 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 
 	private static final Logger LOG = LoggerFactory.getLogger(XAdESService.class);
 
+	/**
+	 * Used to digest the signed references in parallel (optional)
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The validity duration of the signing sessions in milliseconds
+	 */
+	private long signingSessionTimeout = XAdESLevelBaselineB.DEFAULT_SIGNING_SESSION_TIMEOUT;
+
 	/**
 	 * This is the constructor to create an instance of the {@code XAdESService}. A certificate verifier must be
 	 * provided.
@@ -76,6 +87,32 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		LOG.debug("+ XAdESService created");
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to transform and digest the references of a signature
+	 * in parallel (e.g. a detached signature over a large number of files). The references are still incorporated in
+	 * the signature in their original order.
+	 * (default: null, the references are digested sequentially)
+	 *
+	 * @param executorService
+	 *            the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This method allows to set the validity duration of a signing session. The signature structure built by
+	 * {@code getDataToSign} is retained within the signature parameters and reused by {@code signDocument}, when it
+	 * is called with the same document and the same parameters before the session expiration. Otherwise, the
+	 * signature is re-built. (default: 300000, 5 minutes)
+	 *
+	 * @param signingSessionTimeout
+	 *            the validity duration in milliseconds
+	 */
+	public void setSigningSessionTimeout(long signingSessionTimeout) {
+		this.signingSessionTimeout = signingSessionTimeout;
+	}
+
 	@Override
 	public TimestampToken getContentTimestamp(DSSDocument toSignDocument, XAdESSignatureParameters parameters) {
 		return getContentTimestamp(Arrays.asList(toSignDocument), parameters);
@@ -97,6 +134,8 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		
 		assertSigningDateInCertificateValidityRange(parameters);
 		final XAdESLevelBaselineB levelBaselineB = new XAdESLevelBaselineB(certificateVerifier);
+		levelBaselineB.setExecutorService(executorService);
+		levelBaselineB.setSigningSessionTimeout(signingSessionTimeout);
 		final byte[] dataToSign = levelBaselineB.getDataToSign(toSignDocument, parameters);
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("Data to sign: ");
@@ -143,7 +182,10 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		if (context.getProfile() != null) {
 			profile = context.getProfile();
 		} else {
-			profile = new XAdESLevelBaselineB(certificateVerifier);
+			final XAdESLevelBaselineB levelBaselineB = new XAdESLevelBaselineB(certificateVerifier);
+			levelBaselineB.setExecutorService(executorService);
+			levelBaselineB.setSigningSessionTimeout(signingSessionTimeout);
+			profile = levelBaselineB;
 		}
 		final DSSDocument signedDoc = profile.signDocument(toSignDocument, parameters, signatureValue.getValue());
 		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters);
@@ -20,18 +20,24 @@
  */
 package eu.europa.esig.dss.xades.signature;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.security.auth.x500.X500Principal;
 import javax.xml.crypto.dsig.CanonicalizationMethod;
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.apache.xml.security.exceptions.XMLSecurityException;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.transforms.Transforms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -123,6 +129,11 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 	protected static final String OBJECT_ID_SUFFIX = "o-";
 	protected static final String REFERENCE_ID_SUFFIX = "r-";
 
+	/**
+	 * Used to compute the digests of the references in parallel (optional)
+	 */
+	private ExecutorService executorService;
+
 	/**
 	 * Creates the signature according to the packaging
 	 *
@@ -173,6 +184,18 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		this.deterministicId = params.getDeterministicId();
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to transform and digest the references in parallel.
+	 * The ds:Reference elements are still created in the order of the references.
+	 * (default: null, the references are digested sequentially)
+	 * 
+	 * @param executorService
+	 *            the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	protected void setCanonicalizationMethods(final XAdESSignatureParameters params, final String canonicalizationMethod) {
 
 		keyInfoCanonicalizationMethod = getCanonicalizationMethod(params.getKeyInfoCanonicalizationMethod(), canonicalizationMethod);
@@ -402,9 +425,65 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 	 */
 	private void incorporateReferences() {
 		final List<DSSReference> references = params.getReferences();
+		final List<String> digestValues = getReferenceDigestValues(references);
+		for (int ii = 0; ii < references.size(); ii++) {
+			incorporateReference(references.get(ii), digestValues.get(ii));
+		}
+	}
+
+	/**
+	 * Transforms and digests the given references, in parallel when an {@link ExecutorService} is defined. The
+	 * returned list of base64 encoded digests keeps the order of the references.
+	 */
+	private List<String> getReferenceDigestValues(final List<DSSReference> references) {
+		final List<String> digestValues = new ArrayList<>();
+		if (executorService == null || references.size() < 2) {
+			for (final DSSReference reference : references) {
+				digestValues.add(transformAndDigestReference(reference));
+			}
+			return digestValues;
+		}
+		final List<Callable<String>> tasks = new ArrayList<>();
 		for (final DSSReference reference : references) {
-			incorporateReference(reference);
+			tasks.add(() -> transformAndDigestReference(reference));
+		}
+		try {
+			for (Future<String> future : executorService.invokeAll(tasks)) {
+				digestValues.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The computation of the reference digests has been interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DSSException("Unable to compute the reference digests", e.getCause());
+		}
+		return digestValues;
+	}
+
+	private String transformAndDigestReference(final DSSReference dssReference) {
+		final String streamedDigestValue = getStreamedReferenceDigestValue(dssReference);
+		if (streamedDigestValue != null) {
+			return streamedDigestValue;
+		}
+		final DSSDocument canonicalizedDocument = transformReference(dssReference);
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Reference canonicalization method  --> {}", signedInfoCanonicalizationMethod);
 		}
+		return getReferenceDigestValue(dssReference, dssReference.getDigestMethodAlgorithm(), canonicalizedDocument);
+	}
+
+	/**
+	 * Returns the digest of the reference computed in streaming (see {@link XAdESSignatureParameters#setStreaming(boolean)})
+	 *
+	 * @param dssReference
+	 *            the reference to digest
+	 * @return the base64 encoded digest value or null if the reference needs to be transformed with the DOM
+	 */
+	protected String getStreamedReferenceDigestValue(final DSSReference dssReference) {
+		return null;
 	}
 
 	/**
@@ -652,8 +731,10 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 	 *
 	 * @param dssReference
 	 *            the {@code DSSReference}
+	 * @param digestValue
+	 *            the base64 encoded digest of the transformed reference
 	 */
-	private void incorporateReference(final DSSReference dssReference) {
+	private void incorporateReference(final DSSReference dssReference, final String digestValue) {
 
 		final Element referenceDom = DomUtils.createElementNS(documentDom, getXmldsigNamespace(), XMLDSigElement.REFERENCE);
 		signedInfoDom.appendChild(referenceDom);		
@@ -679,12 +760,7 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		}
 		final DigestAlgorithm digestAlgorithm = dssReference.getDigestMethodAlgorithm();
 		incorporateDigestMethod(referenceDom, digestAlgorithm);
-
-		final DSSDocument canonicalizedDocument = transformReference(dssReference);
-		if (LOG.isTraceEnabled()) {
-			LOG.trace("Reference canonicalization method  --> {}", signedInfoCanonicalizationMethod);
-		}
-		incorporateDigestValue(referenceDom, dssReference, digestAlgorithm, canonicalizedDocument);
+		incorporateDigestValue(referenceDom, digestValue);
 	}
 	
 	/**
@@ -1188,18 +1264,32 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		timestampElement.appendChild(encapsulatedTimestampElement);
 	}
 
+	/**
+	 * Applies the transformations chain on the given node (or on the document when the node is null).
+	 * The intermediate results are passed as node-sets from a transformation to the next one, and are 
+	 * serialized only once at the end of the chain.
+	 * 
+	 * @param dssDocument {@link DSSDocument} to be transformed if {@code nodeToTransform} is not defined
+	 * @param transforms a list of {@link DSSTransform}s to apply
+	 * @param nodeToTransform {@link Node} to be transformed
+	 * @return the transformed bytes
+	 */
 	protected byte[] applyTransformations(DSSDocument dssDocument, final List<DSSTransform> transforms, Node nodeToTransform) {
-		byte[] transformedReferenceBytes = null;
-		Iterator<DSSTransform> iterator = transforms.iterator();
-		while (iterator.hasNext()) {
-			DSSTransform transform = iterator.next();
-			if (nodeToTransform == null) {
-				nodeToTransform = DomUtils.buildDOM(dssDocument);
-			}
-			transformedReferenceBytes = transform.getBytesAfterTranformation(nodeToTransform);
-			if (iterator.hasNext()) {
-				nodeToTransform = DomUtils.buildDOM(transformedReferenceBytes);
-			}
+		if (Utils.isCollectionEmpty(transforms)) {
+			return null;
+		}
+		if (nodeToTransform == null) {
+			nodeToTransform = DomUtils.buildDOM(dssDocument);
+		}
+		XMLSignatureInput xmlSignatureInput = new XMLSignatureInput(nodeToTransform);
+		for (DSSTransform transform : transforms) {
+			xmlSignatureInput = transform.performTransform(xmlSignatureInput);
+		}
+		final byte[] transformedReferenceBytes;
+		try {
+			transformedReferenceBytes = xmlSignatureInput.getBytes();
+		} catch (IOException | XMLSecurityException e) {
+			throw new DSSException(String.format("Cannot serialize the transformed reference. Reason : [%s]", e.getMessage()), e);
 		}
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Reference bytes after transforms: ");
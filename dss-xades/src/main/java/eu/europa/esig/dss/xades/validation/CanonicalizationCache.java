@@ -0,0 +1,107 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.xml.security.exceptions.XMLSecurityException;
+import org.apache.xml.security.signature.Reference;
+import org.w3c.dom.Node;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+
+/**
+ * Keeps the canonicalized forms of the elements of a signature (ds:SignedInfo, ds:SignatureValue, ds:KeyInfo,...) per
+ * canonicalization method, and the referenced data of its references. The same instance is used by the integrity
+ * check and by the timestamps of the signature, so an element is canonicalized only once with a given method.
+ * 
+ * Only the elements which are not modified after the creation of the signature are expected to be cached. A replaced
+ * element is a new node, canonicalized again.
+ */
+class CanonicalizationCache {
+
+	private final Map<Node, Map<String, byte[]>> canonicalizedNodes = new IdentityHashMap<>();
+
+	private final Map<Reference, byte[]> referencedBytes = new IdentityHashMap<>();
+
+	/**
+	 * Returns the canonicalized (or serialized if no method is provided) node, see
+	 * {@link DSSXMLUtils#canonicalizeOrSerializeSubtree(String, Node)}
+	 * 
+	 * @param canonicalizationMethod
+	 *                               the canonicalization method (can be null)
+	 * @param node
+	 *                               the node to canonicalize
+	 * @return the canonicalized bytes (not to be modified)
+	 */
+	byte[] canonicalizeOrSerializeSubtree(final String canonicalizationMethod, final Node node) {
+		final Map<String, byte[]> canonicalizedValues = canonicalizedNodes.computeIfAbsent(node, k -> new HashMap<>());
+		byte[] canonicalizedValue = canonicalizedValues.get(canonicalizationMethod);
+		if (canonicalizedValue == null) {
+			canonicalizedValue = DSSXMLUtils.canonicalizeOrSerializeSubtree(canonicalizationMethod, node);
+			canonicalizedValues.put(canonicalizationMethod, canonicalizedValue);
+		}
+		return canonicalizedValue;
+	}
+
+	/**
+	 * Stores the canonicalized form of a node computed elsewhere (e.g. the ds:SignedInfo canonicalized by santuario)
+	 * 
+	 * @param canonicalizationMethod
+	 *                               the canonicalization method used
+	 * @param node
+	 *                               the canonicalized node
+	 * @param canonicalizedValue
+	 *                               the canonicalized bytes
+	 */
+	void put(final String canonicalizationMethod, final Node node, final byte[] canonicalizedValue) {
+		canonicalizedNodes.computeIfAbsent(node, k -> new HashMap<>()).put(canonicalizationMethod, canonicalizedValue);
+	}
+
+	/**
+	 * Returns the referenced data of the reference after the transformations, see {@link Reference#getReferencedBytes()}.
+	 * Only the data of the same-document references ("#id") is kept : the other references (detached contents, whole
+	 * document, XPointer) are dereferenced on each call.
+	 * 
+	 * @param reference
+	 *                  the reference
+	 * @return the referenced bytes (not to be modified) or null
+	 * @throws XMLSecurityException
+	 *                              if the referenced data cannot be retrieved
+	 */
+	byte[] getReferencedBytes(final Reference reference) throws XMLSecurityException {
+		if (!DomUtils.isElementReference(reference.getURI())) {
+			return DSSXMLUtils.getReferencedBytes(reference);
+		}
+		byte[] bytes = referencedBytes.get(reference);
+		if (bytes == null) {
+			bytes = DSSXMLUtils.getReferencedBytes(reference);
+			if (bytes != null) {
+				referencedBytes.put(reference, bytes);
+			}
+		}
+		return bytes;
+	}
+
+}
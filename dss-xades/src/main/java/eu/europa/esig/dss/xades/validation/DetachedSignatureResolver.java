@@ -20,13 +20,16 @@
  */
 package eu.europa.esig.dss.xades.validation;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.utils.resolver.ResourceResolverContext;
 import org.apache.xml.security.utils.resolver.ResourceResolverException;
 import org.apache.xml.security.utils.resolver.ResourceResolverSpi;
-import org.w3c.dom.Attr;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
@@ -39,15 +42,29 @@ import eu.europa.esig.dss.utils.Utils;
  * Resolver for detached signature only.
  * 
  * The reference URI must be null or refer a specific file.
+ * 
+ * The detached documents are provided as streams : without transforms, the
+ * digest is computed while reading the document and its content is never fully
+ * loaded in memory.
  */
 public class DetachedSignatureResolver extends ResourceResolverSpi {
 
 	private final List<DSSDocument> documents;
 	private final DigestAlgorithm digestAlgorithm;
 
+	// The documents by their name, the first one is kept in case of duplicate names
+	private final Map<String, DSSDocument> documentsByName = new HashMap<>();
+
 	public DetachedSignatureResolver(final List<DSSDocument> documents, DigestAlgorithm digestAlgorithm) {
 		this.documents = documents;
 		this.digestAlgorithm = digestAlgorithm;
+		if (Utils.isCollectionNotEmpty(documents)) {
+			for (DSSDocument dssDocument : documents) {
+				if (Utils.isStringNotEmpty(dssDocument.getName())) {
+					documentsByName.putIfAbsent(dssDocument.getName(), dssDocument);
+				}
+			}
+		}
 	}
 
 	@Override
@@ -62,8 +79,8 @@ public class DetachedSignatureResolver extends ResourceResolverSpi {
 	}
 
 	private XMLSignatureInput createFromCommonDocument(DSSDocument document) {
-		// Full binaries are required
-		final XMLSignatureInput result = new XMLSignatureInput(DSSUtils.toByteArray(document));
+		// a new stream for each resolution, the binaries are only loaded if requested (eg : timestamp data)
+		final XMLSignatureInput result = new XMLSignatureInput(new DocumentInputStream(document));
 		final MimeType mimeType = document.getMimeType();
 		if (mimeType != null) {
 			result.setMIMEType(mimeType.getMimeTypeString());
@@ -72,20 +89,16 @@ public class DetachedSignatureResolver extends ResourceResolverSpi {
 	}
 
 	private DSSDocument getCurrentDocument(ResourceResolverContext context) throws ResourceResolverException {
-		if (definedFilename(context) && isDocumentNamesDefined()) {
-			Attr uriAttr = context.attr;
-			String uriValue = DSSUtils.decodeUrl(uriAttr.getNodeValue());
-			for (DSSDocument dssDocument : documents) {
-				if (Utils.areStringsEqual(dssDocument.getName(), uriValue)) {
-					return dssDocument;
-				}
-			}
-			Object[] exArgs = { "Unable to find document '" + uriValue + "' (detached signature)" };
-			throw new ResourceResolverException("generic.EmptyMessage", exArgs, uriValue, context.baseUri);
+		final String uri = context.attr != null ? context.attr.getNodeValue() : null;
+		DSSDocument dssDocument = getDocument(uri);
+		if (dssDocument != null) {
+			return dssDocument;
 		}
 
-		if (Utils.collectionSize(documents) == 1) {
-			return documents.get(0);
+		if (definedFilename(uri) && isDocumentNamesDefined()) {
+			String uriValue = DSSUtils.decodeUrl(uri);
+			Object[] exArgs = { "Unable to find document '" + uriValue + "' (detached signature)" };
+			throw new ResourceResolverException("generic.EmptyMessage", exArgs, uriValue, context.baseUri);
 		}
 
 		Object[] exArgs = { "Unable to find document (detached signature)" };
@@ -93,29 +106,104 @@ public class DetachedSignatureResolver extends ResourceResolverSpi {
 
 	}
 
+	/**
+	 * Returns the detached document resolved for the given reference {@code uri}
+	 * 
+	 * @param uri
+	 *            the URI of the reference (can be null)
+	 * @return the matching {@link DSSDocument} or null if not found
+	 */
+	public DSSDocument getDocument(String uri) {
+		if (definedFilename(uri) && isDocumentNamesDefined()) {
+			return documentsByName.get(DSSUtils.decodeUrl(uri));
+		}
+		if (Utils.collectionSize(documents) == 1) {
+			return documents.get(0);
+		}
+		return null;
+	}
+
 	@Override
 	public boolean engineCanResolveURI(ResourceResolverContext context) {
-		return (nullURI(context) || definedFilename(context));
+		return (nullURI(context) || definedFilename(context.attr.getNodeValue()));
 	}
 
 	private boolean nullURI(ResourceResolverContext context) {
 		return context.attr == null;
 	}
 
-	private boolean definedFilename(ResourceResolverContext context) {
-		Attr uriAttr = context.attr;
-		return uriAttr != null && Utils.isStringNotBlank(uriAttr.getNodeValue()) && !uriAttr.getNodeValue().startsWith("#");
+	private boolean definedFilename(String uri) {
+		return Utils.isStringNotBlank(uri) && !uri.startsWith("#");
 	}
 
 	private boolean isDocumentNamesDefined() {
-		if (Utils.isCollectionNotEmpty(documents)) {
-			for (final DSSDocument dssDocument : documents) {
-				if (Utils.isStringNotEmpty(dssDocument.getName())) {
-					return true;
+		return !documentsByName.isEmpty();
+	}
+
+	/**
+	 * The stream of a dereferenced document. The document is only opened when the
+	 * content is read (a dereferenced content is not always consumed) and its
+	 * stream is closed as soon as it is fully read. The callers close it in any
+	 * case once used (see {@code DSSXMLUtils.closeOctetStream}).
+	 */
+	private static final class DocumentInputStream extends InputStream {
+
+		private final DSSDocument document;
+
+		private InputStream in;
+
+		private boolean closed = false;
+
+		private DocumentInputStream(DSSDocument document) {
+			this.document = document;
+		}
+
+		private InputStream getStream() {
+			if (in == null) {
+				in = document.openStream();
+			}
+			return in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int result = getStream().read();
+			if (result == -1) {
+				close();
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int result = getStream().read(b, off, len);
+			if (result == -1) {
+				close();
+			}
+			return result;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return closed ? 0 : getStream().available();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				if (in != null) {
+					in.close();
 				}
 			}
 		}
-		return false;
+
 	}
 
 }
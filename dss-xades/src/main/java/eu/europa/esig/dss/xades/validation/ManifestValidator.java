@@ -45,6 +45,7 @@ import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.ReferenceValidation;
+import eu.europa.esig.dss.xades.XMLIdIndex;
 
 /**
  * This class validates a ds:Manifest element against external files
@@ -73,6 +74,7 @@ public class ManifestValidator {
 	private final Element signatureElement;
 	private final Node manifestNode;
 	private final List<DSSDocument> detachedContents;
+	private XMLIdIndex idIndex;
 
 	ManifestValidator(Element signatureElement, Node manifestNode, List<DSSDocument> detachedContents) {
 		this.signatureElement = signatureElement;
@@ -80,6 +82,15 @@ public class ManifestValidator {
 		this.detachedContents = detachedContents;
 	}
 
+	/**
+	 * Sets the index of the ID attributes of the document (built from the document of the signature when not provided)
+	 * 
+	 * @param idIndex {@link XMLIdIndex}
+	 */
+	void setIdIndex(XMLIdIndex idIndex) {
+		this.idIndex = idIndex;
+	}
+
 	List<ReferenceValidation> validate() {
 
 		LOG.info("Validation of the manifest references ...");
@@ -121,11 +132,13 @@ public class ManifestValidator {
 	
 	private ReferenceValidation getInternalReferenceValidation(final Element refNode, final String uri) {
 		ReferenceValidation refValidation = getReferenceValidationWithDigest(refNode, uri);
-		NodeList nodeList = DomUtils.getNodeList(signatureElement.getOwnerDocument().getDocumentElement(),
-				"//*" + DomUtils.getXPathByIdAttribute(uri));
-		if (nodeList != null && nodeList.getLength() == 1) {
+		if (idIndex == null) {
+			idIndex = new XMLIdIndex(signatureElement.getOwnerDocument());
+		}
+		Element referencedElement = idIndex.getElementById(DomUtils.getId(uri));
+		if (referencedElement != null) {
 			refValidation.setFound(true);
-			refValidation.setIntact(isIntact(refValidation, nodeList.item(0)));
+			refValidation.setIntact(isIntact(refValidation, referencedElement));
 		} else {
 			refValidation.setFound(false);
 		}
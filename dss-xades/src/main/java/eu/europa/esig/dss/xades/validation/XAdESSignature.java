@@ -26,8 +26,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.security.auth.x500.X500Principal;
 import javax.xml.crypto.dsig.CanonicalizationMethod;
@@ -42,10 +48,9 @@ import org.apache.xml.security.signature.ReferenceNotInitializedException;
 import org.apache.xml.security.signature.SignedInfo;
 import org.apache.xml.security.signature.XMLSignature;
 import org.apache.xml.security.signature.XMLSignatureException;
-import org.apache.xml.security.utils.XMLUtils;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -66,6 +71,7 @@ import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -91,6 +97,7 @@ import eu.europa.esig.dss.validation.SignatureProductionPlace;
 import eu.europa.esig.dss.validation.SignerRole;
 import eu.europa.esig.dss.xades.DSSXMLUtils;
 import eu.europa.esig.dss.xades.SantuarioInitializer;
+import eu.europa.esig.dss.xades.XMLIdIndex;
 import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
 import eu.europa.esig.dss.xades.definition.XAdESPaths;
 import eu.europa.esig.dss.xades.definition.xades132.XAdES132Element;
@@ -135,6 +142,28 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 
 	private boolean disableXSWProtection = false;
 
+	/**
+	 * Used to digest the detached references in parallel (optional)
+	 */
+	private transient ExecutorService executorService;
+
+	/**
+	 * The resolver of the detached contents, used to find the content of a reference without santuario
+	 */
+	private transient DetachedSignatureResolver detachedSignatureResolver;
+
+	/**
+	 * The index of the ID attributes of the document, shared by the signatures of the document
+	 */
+	private transient XMLIdIndex idIndex;
+
+	/**
+	 * The canonicalized elements of the signature, shared by the integrity check and the timestamps
+	 */
+	private transient CanonicalizationCache canonicalizationCache;
+
+	private transient Element signatureValueElement;
+
 	private final Element signatureElement;
 	
 	private transient XMLSignature santuarioSignature;
@@ -227,6 +256,48 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		this.disableXSWProtection = disableXSWProtection;
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to digest the detached references (without
+	 * transformations) in parallel. The reference validations are still returned in the order of the references.
+	 * (default: null, the references are verified sequentially)
+	 * 
+	 * @param executorService
+	 *                        the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This method allows to share the index of the ID attributes of the document between its signatures. The index is
+	 * built from the document of the signature when not provided.
+	 * 
+	 * @param idIndex
+	 *                the {@link XMLIdIndex} of the document containing the signature
+	 */
+	public void setIdIndex(XMLIdIndex idIndex) {
+		this.idIndex = idIndex;
+	}
+
+	/**
+	 * Returns the index of the ID attributes of the document containing the signature
+	 * 
+	 * @return {@link XMLIdIndex}
+	 */
+	public XMLIdIndex getIdIndex() {
+		if (idIndex == null) {
+			idIndex = new XMLIdIndex(signatureElement.getOwnerDocument());
+		}
+		return idIndex;
+	}
+
+	CanonicalizationCache getCanonicalizationCache() {
+		if (canonicalizationCache == null) {
+			canonicalizationCache = new CanonicalizationCache();
+		}
+		return canonicalizationCache;
+	}
+
 	/**
 	 * This method is called when creating a new instance of the {@code XAdESSignature} with unknown schema.
 	 */
@@ -703,7 +774,9 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 	 * @return base64 {@link String}
 	 */
 	public String getSignatureValueBase64() {
-		Element signatureValueElement = DomUtils.getElement(signatureElement, XMLDSigPaths.SIGNATURE_VALUE_PATH);
+		if (signatureValueElement == null) {
+			signatureValueElement = DomUtils.getElement(signatureElement, XMLDSigPaths.SIGNATURE_VALUE_PATH);
+		}
 		if (signatureValueElement != null) {
 			return signatureValueElement.getTextContent();
 		}
@@ -797,6 +870,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		signatureCryptographicVerification = new SignatureCryptographicVerification();
 		try {
 			final XMLSignature currentSantuarioSignature = getSantuarioSignature();
+			canonicalizeSignedInfo(currentSantuarioSignature);
 			boolean coreValidity = false;
 			
 			CandidatesForSigningCertificate candidates = getCandidatesForSigningCertificate();
@@ -814,17 +888,15 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				try {
 
 					final PublicKey publicKey = certificateValidity.getPublicKey();
-					coreValidity = currentSantuarioSignature.checkSignatureValue(publicKey);
+					coreValidity = verifySignatureValue(currentSantuarioSignature, publicKey);
 					if (coreValidity) {
 						LOG.info("Determining signing certificate from certificate candidates list succeeded");
 						candidatesForSigningCertificate.setTheCertificateValidity(certificateValidity);
 						break;
 					} else {
-						// upon returning false, santuarioSignature (class XMLSignature) will log
-						// "Signature verification failed." with WARN level.
 						preliminaryErrorMessages.add(errorMessagePrefix + "Signature verification failed");
 					}
-				} catch (XMLSignatureException e) {
+				} catch (XMLSecurityException e) {
 					LOG.debug("Exception while probing candidate certificate as signing certificate: {}", e.getMessage());
 					preliminaryErrorMessages.add(errorMessagePrefix + e.getMessage());
 				}
@@ -837,6 +909,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				}
 			}
 
+			// each reference is digested once, whatever the number of signing certificate candidates
 			boolean allReferenceDataFound = true;
 			boolean allReferenceDataIntact = true;
 			List<ReferenceValidation> refValidations = getReferenceValidations();
@@ -845,6 +918,12 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				allReferenceDataIntact = allReferenceDataIntact && referenceValidation.isIntact();
 			}
 
+			// as santuario core validation : the signature is intact if the SignatureValue and all references match
+			if (coreValidity && !allReferenceDataIntact) {
+				signatureCryptographicVerification.setErrorMessage("Certificate #" + (certificateNumber + 1) + ": Signature verification failed");
+				coreValidity = false;
+			}
+
 			signatureCryptographicVerification.setReferenceDataFound(allReferenceDataFound);
 			signatureCryptographicVerification.setReferenceDataIntact(allReferenceDataIntact);
 			signatureCryptographicVerification.setSignatureIntact(coreValidity);
@@ -869,6 +948,26 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 	
+	/**
+	 * Verifies the SignatureValue against the canonicalized ds:SignedInfo with the given {@code publicKey}. Unlike
+	 * {@code XMLSignature.checkSignatureValue}, the references are not digested (see {@link #getReferenceValidations()})
+	 */
+	private boolean verifySignatureValue(final XMLSignature currentSantuarioSignature, final PublicKey publicKey) throws XMLSecurityException {
+		if (publicKey == null) {
+			throw new XMLSignatureException("empty", new Object[] { "Didn't get a key" });
+		}
+		final SignedInfo signedInfo = currentSantuarioSignature.getSignedInfo();
+		final org.apache.xml.security.algorithms.SignatureAlgorithm signatureAlgorithm = signedInfo.getSignatureAlgorithm();
+		signatureAlgorithm.initVerify(publicKey);
+		// the canonicalized SignedInfo is computed once and kept by santuario
+		signatureAlgorithm.update(signedInfo.getCanonicalizedOctetStream());
+		final boolean verified = signatureAlgorithm.verify(currentSantuarioSignature.getSignatureValue());
+		if (!verified) {
+			LOG.warn("Signature verification failed.");
+		}
+		return verified;
+	}
+	
 	private void extractReferences() {
 		references = new ArrayList<>();
 		final XMLSignature currentSantuarioSignature = getSantuarioSignature();
@@ -892,6 +991,9 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 			final XMLSignature currentSantuarioSignature = getSantuarioSignature();
 			boolean atLeastOneReferenceElementFound = false;
 			
+			// the detached contents to be digested in parallel, in the order of the references
+			final Map<XAdESReferenceValidation, DSSDocument> referencesToVerify = new LinkedHashMap<>();
+			
 			List<Reference> santuarioReferences = getReferences();
 			for (Reference reference : santuarioReferences) {
 				XAdESReferenceValidation validation = new XAdESReferenceValidation(reference);
@@ -907,14 +1009,19 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 							DigestAlgorithm.forXML(reference.getMessageDigestAlgorithm().getAlgorithmURI()));
 					validation.setDigest(digest);
 
+					XMLSignatureInput contents = null;
 					try {
-						found = reference.getContentsBeforeTransformation() != null;
+						contents = reference.getContentsBeforeTransformation();
+						found = contents != null;
 					} catch (ReferenceNotInitializedException e) {
 						if (LOG.isDebugEnabled()) {
 							LOG.debug(String.format("Cannot get the pointed bytes by a reference with uri='%s'. Reason : [%s]", 
 									reference.getURI(), e.getMessage()));
 						}
 						// continue, exception will be catched later
+					} finally {
+						// only the presence of the content is checked
+						DSSXMLUtils.closeOctetStream(contents);
 					}
 					
 					final String uri = validation.getUri();
@@ -922,7 +1029,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 					boolean noDuplicateIdFound = true;
 					// empty URI means enveloped signature
 					if (Utils.isStringNotEmpty(uri)) {
-						noDuplicateIdFound = XMLUtils.protectAgainstWrappingAttack(currentSantuarioSignature.getDocument(), DomUtils.getId(uri));
+						noDuplicateIdFound = !getIdIndex().isDuplicateId(DomUtils.getId(uri));
 					}
 					
 					boolean isElementReference = DomUtils.isElementReference(uri);
@@ -957,7 +1064,15 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 					}
 					
 					if (found) {
-						intact = reference.verify();
+						DSSDocument detachedContent = null;
+						if (executorService != null && isDetachedReferenceWithoutTransforms(reference, uri)) {
+							detachedContent = getDetachedContent(uri);
+						}
+						if (detachedContent != null) {
+							referencesToVerify.put(validation, detachedContent);
+						} else {
+							intact = reference.verify();
+						}
 					}
 					
 				} catch (Exception e) {
@@ -975,6 +1090,8 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				referenceValidations.add(validation);
 				
 			}
+			
+			verifyReferences(referencesToVerify);
 
 			// If at least one reference is not found, we add an empty
 			// referenceValidation
@@ -990,6 +1107,78 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		return referenceValidations;
 	}
 
+	/**
+	 * Checks if the reference points to a detached content (outside of the signature document) and does not
+	 * contain transformations. The verification of such a reference does not process the signature DOM.
+	 */
+	private boolean isDetachedReferenceWithoutTransforms(Reference reference, String uri) {
+		try {
+			return Utils.isStringNotEmpty(uri) && !DomUtils.isElementReference(uri) && !DomUtils.isXPointerQuery(uri)
+					&& (reference.getTransforms() == null || reference.getTransforms().getLength() == 0);
+		} catch (XMLSecurityException e) {
+			LOG.debug("Unable to retrieve the transformations of the reference with Id [{}] : {}", reference.getId(), e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the detached content pointed by the URI, as resolved by the
+	 * {@code DetachedSignatureResolver}, or null if it is not found or if it is a
+	 * {@code DigestDocument} (verified by santuario)
+	 */
+	private DSSDocument getDetachedContent(String uri) {
+		if (detachedSignatureResolver == null) {
+			return null;
+		}
+		DSSDocument detachedContent = detachedSignatureResolver.getDocument(uri);
+		if (detachedContent instanceof DigestDocument) {
+			return null;
+		}
+		return detachedContent;
+	}
+
+	/**
+	 * Digests the given detached contents with the {@code executorService} and sets the obtained results. The
+	 * expected digests are read in the calling thread, the tasks do not access the signature DOM.
+	 */
+	private void verifyReferences(Map<XAdESReferenceValidation, DSSDocument> referencesToVerify) {
+		if (referencesToVerify.isEmpty()) {
+			return;
+		}
+		final List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (Map.Entry<XAdESReferenceValidation, DSSDocument> entry : referencesToVerify.entrySet()) {
+			final Digest expectedDigest = entry.getKey().getDigest();
+			final DigestAlgorithm digestAlgorithm = expectedDigest.getAlgorithm();
+			final byte[] expectedDigestValue = expectedDigest.getValue();
+			final DSSDocument detachedContent = entry.getValue();
+			tasks.add(() -> verifyDetachedContent(detachedContent, digestAlgorithm, expectedDigestValue));
+		}
+		try {
+			final List<Future<Boolean>> results = executorService.invokeAll(tasks);
+			int ii = 0;
+			for (XAdESReferenceValidation validation : referencesToVerify.keySet()) {
+				validation.setIntact(results.get(ii++).get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The verification of the references has been interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DSSException("Unable to verify the references", e.getCause());
+		}
+	}
+
+	private boolean verifyDetachedContent(DSSDocument detachedContent, DigestAlgorithm digestAlgorithm, byte[] expectedDigestValue) {
+		try {
+			return Arrays.equals(expectedDigestValue, DSSUtils.digest(digestAlgorithm, detachedContent));
+		} catch (Exception e) {
+			LOG.warn("Unable to digest the detached content '{}' : {}", detachedContent.getName(), e.getMessage(), e);
+			return false;
+		}
+	}
+
 	/**
 	 * TS 119 442 - V1.1.1 - Electronic Signatures and Infrastructures (ESI), ch. 5.1.4.2.1.3 XML component:
 	 * 
@@ -1012,6 +1201,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 	 */
 	public List<ReferenceValidation> getManifestReferences(Node manifestNode) {
 		ManifestValidator mv = new ManifestValidator(signatureElement, manifestNode, detachedContents);
+		mv.setIdIndex(getIdIndex());
 		return mv.validate();
 	}
 
@@ -1059,11 +1249,8 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 			return santuarioSignature;
 		}
 		try {
-			final Document document = signatureElement.getOwnerDocument();
-			final Element rootElement = document.getDocumentElement();
-
-			DSSXMLUtils.setIDIdentifier(rootElement);
-			DSSXMLUtils.recursiveIdBrowse(rootElement);
+			// registers the ID attributes of the document
+			getIdIndex();
 
 			// Secure validation disabled to support all signature algos
 			santuarioSignature = new XMLSignature(signatureElement, "", false);
@@ -1076,6 +1263,22 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 	
+	/**
+	 * Canonicalizes the ds:SignedInfo once : santuario keeps the result for the verification with each signing
+	 * certificate candidate, and the timestamps reuse it when they are computed with the same method.
+	 */
+	private void canonicalizeSignedInfo(final XMLSignature currentSantuarioSignature) {
+		try {
+			final SignedInfo signedInfo = currentSantuarioSignature.getSignedInfo();
+			final byte[] canonicalizedSignedInfo = signedInfo.getCanonicalizedOctetStream();
+			if (signedInfo.getInclusiveNamespaces() == null) {
+				getCanonicalizationCache().put(signedInfo.getCanonicalizationMethodURI(), signedInfo.getElement(), canonicalizedSignedInfo);
+			}
+		} catch (XMLSecurityException e) {
+			LOG.debug("Unable to canonicalize the SignedInfo : {}", e.getMessage());
+		}
+	}
+
 	private PublicKey getSigningCertificatePublicKey() {
 		final KeyInfo extractedKeyInfo = getSantuarioSignature().getKeyInfo();
 		if (extractedKeyInfo != null) {
@@ -1094,8 +1297,12 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		for (Reference reference : currentReferences) {
 			try {
 				DigestAlgorithm digestAlgorithm = DigestAlgorithm.forXML(reference.getMessageDigestAlgorithm().getAlgorithmURI());
-				santuarioSignature
-						.addResourceResolver(new DetachedSignatureResolver(detachedContents, digestAlgorithm));
+				DetachedSignatureResolver resolver = new DetachedSignatureResolver(detachedContents, digestAlgorithm);
+				if (detachedSignatureResolver == null) {
+					// santuario uses the first registered resolver which can resolve the URI
+					detachedSignatureResolver = resolver;
+				}
+				santuarioSignature.addResourceResolver(resolver);
 			} catch (XMLSignatureException e) {
 				LOG.warn("Unable to retrieve reference digest algorithm {}", reference.getId(), e);
 			}
@@ -1134,6 +1341,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 					for (int jj = 0; jj < counterSignaturesList.getLength(); jj++) {
 						// Verify that the element is a proper signature by trying to build a XAdESSignature out of it
 						final XAdESSignature xadesCounterSignature = new XAdESSignature((Element) counterSignaturesList.item(jj), xadesPathsHolders, certPool);
+						xadesCounterSignature.setIdIndex(getIdIndex());
 						if (isCounterSignature(xadesCounterSignature)) {
 							xadesCounterSignature.setMasterSignature(this);
 							xadesList.add(xadesCounterSignature);
@@ -20,10 +20,19 @@
  */
 package eu.europa.esig.dss.xades.validation;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.xml.security.exceptions.XMLSecurityException;
@@ -38,10 +47,13 @@ import org.w3c.dom.NodeList;
 import eu.europa.esig.dss.DomUtils;
 import eu.europa.esig.dss.definition.xmldsig.XMLDSigPaths;
 import eu.europa.esig.dss.enumerations.ArchiveTimestampType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.model.CommonDocument;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.timestamp.TimestampDataBuilder;
 import eu.europa.esig.dss.validation.timestamp.TimestampInclude;
@@ -60,10 +72,26 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 	
 	private final XAdESPaths xadesPaths;
 
+	/**
+	 * The canonicalized elements and referenced data of the signature
+	 */
+	private final CanonicalizationCache canonicalizationCache;
+
+	/**
+	 * The canonicalized data shared by the archive timestamps under validation, per canonicalization method
+	 */
+	private final Map<String, ArchiveTimestampData> archiveTimestampDataCache = new HashMap<>();
+
 	public XAdESTimestampDataBuilder(final Element signature, final List<Reference> references, final XAdESPaths xadesPaths) {
+		this(signature, references, xadesPaths, new CanonicalizationCache());
+	}
+
+	XAdESTimestampDataBuilder(final Element signature, final List<Reference> references, final XAdESPaths xadesPaths,
+			final CanonicalizationCache canonicalizationCache) {
 		this.signature = signature;
 		this.references = references;
 		this.xadesPaths = xadesPaths;
+		this.canonicalizationCache = canonicalizationCache;
 	}
 
 	@Override
@@ -107,7 +135,7 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 	}
 	
 	private byte[] getReferenceBytes(final Reference reference, final String canonicalizationMethod) throws XMLSecurityException {
-		byte[] referencedBytes = reference.getReferencedBytes();
+		byte[] referencedBytes = canonicalizationCache.getReferencedBytes(reference);
 		if (Utils.isStringNotBlank(canonicalizationMethod) && DomUtils.isDOM(referencedBytes)) {
 			referencedBytes = DSSXMLUtils.canonicalize(canonicalizationMethod, referencedBytes);
 		}
@@ -252,10 +280,19 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 		}
 	}
 	
+	/**
+	 * Returns the data covered by the given archive timestamp. The canonicalized elements are computed once and shared
+	 * between the archive timestamps of the signature, the digest of the common part being computed incrementally.
+	 */
 	@Override
 	public DSSDocument getArchiveTimestampData(final TimestampToken timestampToken) {
-		byte[] archiveTimestampData = getArchiveTimestampData(timestampToken, null);
-		return new InMemoryDocument(archiveTimestampData);
+		final String canonicalizationMethod = timestampToken.getCanonicalizationMethod();
+		ArchiveTimestampData archiveTimestampData = archiveTimestampDataCache.get(canonicalizationMethod);
+		if (archiveTimestampData == null || !archiveTimestampData.isUpToDate()) {
+			archiveTimestampData = new ArchiveTimestampData(canonicalizationMethod);
+			archiveTimestampDataCache.put(canonicalizationMethod, archiveTimestampData);
+		}
+		return archiveTimestampData.getTimestampedData(timestampToken);
 	}
 	
 	/**
@@ -361,7 +398,7 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 	
 	private void writeReferenceBytes(final Reference reference, ByteArrayOutputStream buffer) throws IOException {
 		try {
-			final byte[] referencedBytes = reference.getReferencedBytes();
+			final byte[] referencedBytes = canonicalizationCache.getReferencedBytes(reference);
 			if (referencedBytes != null) {
 				buffer.write(referencedBytes);
 			} else {
@@ -372,11 +409,32 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 		}
 	}
 
+	/**
+	 * Writes the canonicalized element (ds:SignedInfo, ds:SignatureValue, xades:CompleteCertificateRefs,...). These
+	 * elements are not modified once created, their canonicalized values are shared with the integrity check and the
+	 * other timestamps
+	 */
 	private void writeCanonicalizedValue(final String xPathString, final String canonicalizationMethod, final ByteArrayOutputStream buffer) throws IOException {
 		final Element element = DomUtils.getElement(signature, xPathString);
 		if (element != null) {
-			buffer.write(DSSXMLUtils.canonicalizeOrSerializeSubtree(canonicalizationMethod, element));
+			buffer.write(canonicalizationCache.canonicalizeOrSerializeSubtree(canonicalizationMethod, element));
+		}
+	}
+
+	private List<Node> getUnsignedPropertyElements(final Element unsignedSignaturePropertiesDom) {
+		final List<Node> properties = new ArrayList<>();
+		final NodeList childNodes = unsignedSignaturePropertiesDom.getChildNodes();
+		for (int ii = 0; ii < childNodes.getLength(); ii++) {
+			final Node node = childNodes.item(ii);
+			if (node.getNodeType() == Node.ELEMENT_NODE) {
+				properties.add(node);
+			}
 		}
+		return properties;
+	}
+
+	private boolean isTimestampElement(final Node node, final TimestampToken timestampToken) {
+		return XAdES132Element.ARCHIVE_TIMESTAMP.isSameTagName(node.getLocalName()) && timestampToken.getHashCode() == node.hashCode();
 	}
 
 	private Element getUnsignedSignaturePropertiesDom() {
@@ -518,4 +576,203 @@ public class XAdESTimestampDataBuilder implements TimestampDataBuilder {
 		
 	}
 
+
+	/**
+	 * The canonicalized data of the archive timestamps for a canonicalization method. The signature data (steps 2 and
+	 * 3), each unsigned signature property (step 4) and the objects (step 5) are canonicalized only once. The digest
+	 * states after each unsigned signature property are kept, so a following archive timestamp only digests the
+	 * properties added since the previous one.
+	 */
+	private class ArchiveTimestampData {
+
+		private final String canonicalizationMethod;
+
+		private byte[] signatureData;
+
+		private Set<String> referenceURIs;
+
+		private List<Node> unsignedProperties;
+
+		private Element unsignedSignaturePropertiesDom;
+
+		private Node lastUnsignedProperty;
+
+		private int unsignedPropertiesLength;
+
+		private final List<byte[]> canonicalizedUnsignedProperties = new ArrayList<>();
+
+		private final Map<Boolean, byte[]> objectsData = new HashMap<>();
+
+		private final Map<DigestAlgorithm, List<MessageDigest>> digestStates = new EnumMap<>(DigestAlgorithm.class);
+
+		private ArchiveTimestampData(final String canonicalizationMethod) {
+			this.canonicalizationMethod = canonicalizationMethod;
+		}
+
+		private DSSDocument getTimestampedData(final TimestampToken timestampToken) {
+			final int timestampedPropertiesCount = getTimestampedUnsignedPropertiesCount(timestampToken);
+
+			final List<byte[]> blocks = new ArrayList<>();
+			blocks.add(getSignatureData());
+			for (int ii = 0; ii < timestampedPropertiesCount; ii++) {
+				blocks.add(getCanonicalizedUnsignedProperty(ii));
+			}
+			final boolean xades141 = !ArchiveTimestampType.XAdES.equals(timestampToken.getArchiveTimestampType());
+			final byte[] objects = getObjectsData(xades141);
+			blocks.add(objects);
+
+			final ArchiveTimestampDataDocument timestampedData = new ArchiveTimestampDataDocument(blocks);
+			final DigestAlgorithm digestAlgorithm = timestampToken.getMessageImprint().getAlgorithm();
+			final MessageDigest messageDigest = getDigestState(digestAlgorithm, timestampedPropertiesCount);
+			if (messageDigest != null) {
+				messageDigest.update(objects);
+				timestampedData.setDigest(digestAlgorithm, Utils.toBase64(messageDigest.digest()));
+			}
+			if (LOG.isTraceEnabled()) {
+				LOG.trace("Data to TimeStamp:");
+				LOG.trace(new String(DSSUtils.toByteArray(timestampedData)));
+			}
+			return timestampedData;
+		}
+
+		private int getTimestampedUnsignedPropertiesCount(final TimestampToken timestampToken) {
+			final List<Node> properties = getUnsignedProperties();
+			for (int ii = 0; ii < properties.size(); ii++) {
+				if (isTimestampElement(properties.get(ii), timestampToken)) {
+					return ii;
+				}
+			}
+			return properties.size();
+		}
+
+		private byte[] getSignatureData() {
+			if (signatureData == null) {
+				try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+					final Set<String> uris = new HashSet<>();
+					for (final Reference reference : references) {
+						uris.add(DomUtils.getId(reference.getURI()));
+						writeReferenceBytes(reference, buffer);
+					}
+					writeCanonicalizedValue(XMLDSigPaths.SIGNED_INFO_PATH, canonicalizationMethod, buffer);
+					writeCanonicalizedValue(XMLDSigPaths.SIGNATURE_VALUE_PATH, canonicalizationMethod, buffer);
+					writeCanonicalizedValue(XMLDSigPaths.KEY_INFO_PATH, canonicalizationMethod, buffer);
+					referenceURIs = uris;
+					signatureData = buffer.toByteArray();
+				} catch (IOException e) {
+					throw new DSSException("Error when computing the archive data", e);
+				}
+			}
+			return signatureData;
+		}
+
+		/**
+		 * Returns true if the unsigned signature properties did not change since the data was computed (e.g. an
+		 * extension added a new archive timestamp). Only the UnsignedSignatureProperties element, its last child and
+		 * its number of children are compared : a property replaced in the middle of the list, with the same last
+		 * child and the same number of children, is not detected.
+		 */
+		private boolean isUpToDate() {
+			if (unsignedProperties == null) {
+				return true;
+			}
+			// the properties are only appended (or the element replaced), a new last child or length reveals a change
+			return unsignedSignaturePropertiesDom.getParentNode() != null && lastUnsignedProperty == unsignedSignaturePropertiesDom.getLastChild()
+					&& unsignedPropertiesLength == unsignedSignaturePropertiesDom.getChildNodes().getLength();
+		}
+
+		private List<Node> getUnsignedProperties() {
+			if (unsignedProperties == null) {
+				unsignedSignaturePropertiesDom = getUnsignedSignaturePropertiesDom();
+				if (unsignedSignaturePropertiesDom == null) {
+					throw new NullPointerException(xadesPaths.getUnsignedSignaturePropertiesPath());
+				}
+				lastUnsignedProperty = unsignedSignaturePropertiesDom.getLastChild();
+				unsignedPropertiesLength = unsignedSignaturePropertiesDom.getChildNodes().getLength();
+				unsignedProperties = getUnsignedPropertyElements(unsignedSignaturePropertiesDom);
+			}
+			return unsignedProperties;
+		}
+
+		private byte[] getCanonicalizedUnsignedProperty(final int index) {
+			while (canonicalizedUnsignedProperties.size() <= index) {
+				final Node node = getUnsignedProperties().get(canonicalizedUnsignedProperties.size());
+				final byte[] canonicalizedValue = DSSXMLUtils.canonicalizeOrSerializeSubtree(canonicalizationMethod, node);
+				if (LOG.isTraceEnabled()) {
+					LOG.trace("{}: Canonicalization: {} : \n{}", node.getLocalName(), canonicalizationMethod, new String(canonicalizedValue));
+				}
+				canonicalizedUnsignedProperties.add(canonicalizedValue);
+			}
+			return canonicalizedUnsignedProperties.get(index);
+		}
+
+		private byte[] getObjectsData(final boolean xades141) {
+			byte[] objects = objectsData.get(xades141);
+			if (objects == null) {
+				getSignatureData();
+				try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+					writeObjectBytes(getObjects(), referenceURIs, canonicalizationMethod, xades141, buffer);
+					objects = buffer.toByteArray();
+					objectsData.put(xades141, objects);
+				} catch (IOException e) {
+					throw new DSSException("Error when computing the archive data", e);
+				}
+			}
+			return objects;
+		}
+
+		/**
+		 * Returns a copy of the digest state after the signature data and the given number of unsigned properties, or
+		 * null if the {@code MessageDigest} cannot be cloned
+		 */
+		private MessageDigest getDigestState(final DigestAlgorithm digestAlgorithm, final int timestampedPropertiesCount) {
+			try {
+				List<MessageDigest> states = digestStates.get(digestAlgorithm);
+				if (states == null) {
+					final MessageDigest messageDigest = DSSUtils.getMessageDigest(digestAlgorithm);
+					messageDigest.update(getSignatureData());
+					states = new ArrayList<>();
+					states.add(messageDigest);
+					digestStates.put(digestAlgorithm, states);
+				}
+				while (states.size() <= timestampedPropertiesCount) {
+					final MessageDigest messageDigest = (MessageDigest) states.get(states.size() - 1).clone();
+					messageDigest.update(getCanonicalizedUnsignedProperty(states.size() - 1));
+					states.add(messageDigest);
+				}
+				return (MessageDigest) states.get(timestampedPropertiesCount).clone();
+			} catch (CloneNotSupportedException e) {
+				LOG.debug("The digest of the archive timestamp data cannot be computed incrementally : {}", e.getMessage());
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * The concatenation of the canonicalized blocks, with the digest computed incrementally when available
+	 */
+	@SuppressWarnings("serial")
+	private static class ArchiveTimestampDataDocument extends CommonDocument {
+
+		private final transient List<byte[]> blocks;
+
+		private ArchiveTimestampDataDocument(final List<byte[]> blocks) {
+			this.blocks = blocks;
+		}
+
+		private void setDigest(final DigestAlgorithm digestAlgorithm, final String base64EncodeDigest) {
+			base64EncodeDigestMap.put(digestAlgorithm, base64EncodeDigest);
+		}
+
+		@Override
+		public InputStream openStream() {
+			final List<InputStream> streams = new ArrayList<>();
+			for (final byte[] block : blocks) {
+				streams.add(new ByteArrayInputStream(block));
+			}
+			return new SequenceInputStream(Collections.enumeration(streams));
+		}
+
+	}
+
 }
@@ -71,6 +71,8 @@ public class XAdESTimestampSource extends AbstractTimestampSource<XAdESAttribute
 	private List<ReferenceValidation> referenceValidations;
 	
 	private transient XAdESTimestampDataBuilder timestampDataBuilder;
+
+	private final transient CanonicalizationCache canonicalizationCache;
 	
 	public XAdESTimestampSource(final XAdESSignature signature, final Element signatureElement, 
 			final XAdESPaths xadesPaths, final CertificatePool certificatePool) {
@@ -80,6 +82,7 @@ public class XAdESTimestampSource extends AbstractTimestampSource<XAdESAttribute
 		this.signatureElement = signatureElement;
 		this.xadesPaths = xadesPaths;
 		this.certificatePool = certificatePool;
+		this.canonicalizationCache = signature.getCanonicalizationCache();
 	}
 
 	@Override
@@ -95,7 +98,7 @@ public class XAdESTimestampSource extends AbstractTimestampSource<XAdESAttribute
 	@Override
 	protected XAdESTimestampDataBuilder getTimestampDataBuilder() {
 		if (timestampDataBuilder == null) {
-			timestampDataBuilder = new XAdESTimestampDataBuilder(signatureElement, references, xadesPaths);
+			timestampDataBuilder = new XAdESTimestampDataBuilder(signatureElement, references, xadesPaths, canonicalizationCache);
 		}
 		return timestampDataBuilder;
 	}
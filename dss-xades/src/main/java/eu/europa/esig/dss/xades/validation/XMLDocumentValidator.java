@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -36,6 +37,7 @@ import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import eu.europa.esig.dss.xades.XAdESSignatureUtils;
+import eu.europa.esig.dss.xades.XMLIdIndex;
 import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
 import eu.europa.esig.dss.xades.definition.XAdESPaths;
 import eu.europa.esig.dss.xades.definition.xades111.XAdES111Paths;
@@ -62,6 +64,8 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 
 	private boolean disableXSWProtection = false;
 
+	private ExecutorService executorService;
+
 	private List<AdvancedSignature> signatures;
 
 	static {
@@ -92,7 +96,18 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 
 	@Override
 	public boolean isSupported(DSSDocument dssDocument) {
-		return DSSUtils.compareFirstBytes(dssDocument, xmlPreamble) || DSSUtils.compareFirstBytes(dssDocument, xmlWithBomPreample);
+		return isXmlPreamble(DSSUtils.readFirstBytes(dssDocument, xmlWithBomPreample.length));
+	}
+
+	/**
+	 * Checks if the given first bytes of a document correspond to an XML document
+	 * 
+	 * @param preamble
+	 *                 the first bytes of the document
+	 * @return true if the preamble is an XML preamble
+	 */
+	static boolean isXmlPreamble(byte[] preamble) {
+		return DSSUtils.startsWith(preamble, xmlPreamble) || DSSUtils.startsWith(preamble, xmlWithBomPreample);
 	}
 
 	/**
@@ -107,6 +122,20 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 		this.disableXSWProtection = disableXSWProtection;
 	}
 
+	/**
+	 * This method allows to set an {@link ExecutorService} used to digest the
+	 * detached references of the signatures in parallel (e.g. a detached signature
+	 * over a large number of files). The reference validations keep the order of
+	 * the references.
+	 * (default: null, the references are verified sequentially)
+	 * 
+	 * @param executorService
+	 *                        the {@link ExecutorService} to use
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	@Override
 	public List<AdvancedSignature> getSignatures() {
 		if (signatures != null) {
@@ -114,6 +143,8 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 		}
 
 		signatures = new ArrayList<>();
+		// a single pass over the document registers the ID attributes for all the signatures
+		final XMLIdIndex idIndex = new XMLIdIndex(rootElement);
 		final NodeList signatureNodeList = DomUtils.getNodeList(rootElement, XAdES132Paths.ALL_SIGNATURE_WITH_NO_COUNTERSIGNATURE_AS_PARENT_PATH);
 		for (int ii = 0; ii < signatureNodeList.getLength(); ii++) {
 
@@ -124,6 +155,8 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 			xadesSignature.setContainerContents(containerContents);
 			xadesSignature.setProvidedSigningCertificateToken(providedSigningCertificateToken);
 			xadesSignature.setDisableXSWProtection(disableXSWProtection);
+			xadesSignature.setExecutorService(executorService);
+			xadesSignature.setIdIndex(idIndex);
 			signatures.add(xadesSignature);
 		}
 		return signatures;
@@ -32,6 +32,11 @@ public class XMLDocumentValidatorFactory implements DocumentValidatorFactory {
 		return validator.isSupported(document);
 	}
 
+	@Override
+	public boolean isSupported(DSSDocument document, byte[] preamble) {
+		return XMLDocumentValidator.isXmlPreamble(preamble);
+	}
+
 	@Override
 	public SignedDocumentValidator create(DSSDocument document) {
 		return new XMLDocumentValidator(document);
@@ -25,7 +25,6 @@ import java.util.List;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import eu.europa.esig.dss.DomUtils;
 import eu.europa.esig.dss.enumerations.DigestMatcherType;
@@ -108,10 +107,8 @@ public class XAdESSignatureScopeFinder extends AbstractSignatureScopeFinder<XAdE
 				}
 				
 			} else if (DomUtils.isElementReference(uri)) {
-				NodeList nodeList = DomUtils.getNodeList(xadesSignature.getSignatureElement().getOwnerDocument().getDocumentElement(),
-						"//*" + DomUtils.getXPathByIdAttribute(uri));
-				if (nodeList != null && nodeList.getLength() == 1) {
-					Node signedElement = nodeList.item(0);
+				Element signedElement = xadesSignature.getIdIndex().getElementById(xmlIdOfSignedElement);
+				if (signedElement != null) {
 					if (isEverythingCovered(xadesSignature, xmlIdOfSignedElement)) {
 						result.add(new XmlRootSignatureScope(transformations, getDigest(DSSXMLUtils.getNodeBytes(signedElement))));
 					} else {
@@ -0,0 +1,154 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.apache.xml.security.signature.XMLSignatureInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+import eu.europa.esig.dss.xades.reference.CanonicalizationTransform;
+import eu.europa.esig.dss.xades.reference.DSSTransform;
+import eu.europa.esig.dss.xades.reference.XPathEnvelopedSignatureTransform;
+
+public class StreamingCanonicalizerTest {
+
+	private static final List<String> METHODS = Arrays.asList(Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS, Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS,
+			Canonicalizer.ALGO_ID_C14N_EXCL_WITH_COMMENTS);
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?pi-before data?>\n<!-- before -->\n"
+			+ "<root xmlns=\"urn:default\" xmlns:a=\"urn:a\" xmlns:unused=\"urn:unused\" b:attr=\"1\" xmlns:b=\"urn:b\" z=\"last\" a=\"first\" xml:lang=\"en\">\r\n"
+			+ "  <a:child a:attr=\"x &amp; y &lt; &quot;z&quot;\" tab=\"&#9;&#10;&#13;\" norm=\"a\tb\nc\">text &amp; &lt; &gt; &#13; <![CDATA[<cdata> & ]]></a:child>\n"
+			+ "  <child xmlns=\"\"><sub xmlns:a=\"urn:a\" xmlns:c=\"urn:c\"><c:leaf/></sub></child>\n"
+			+ "  <empty xmlns=\"urn:default\"/><!-- inner --><?pi inner?>\n"
+			+ "  <ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\"><ds:SignatureValue>AAAA</ds:SignatureValue></ds:Signature>\n"
+			+ "  <a:parent><ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\"><ds:Object><a:in/></ds:Object></ds:Signature>after</a:parent>\n"
+			+ "  é€😀\n"
+			+ "</root>\n<!-- after -->\n<?pi-after?>\n";
+
+	@BeforeAll
+	public static void init() {
+		SantuarioInitializer.init();
+		XAdESNamespaces.registerNamespaces();
+	}
+
+	@Test
+	public void sameAsSantuario() {
+		DSSDocument document = new InMemoryDocument(XML.getBytes(StandardCharsets.UTF_8), "test.xml");
+		for (String method : METHODS) {
+			assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(method, DomUtils.buildDOM(document)), canonicalize(method, document), method);
+		}
+	}
+
+	@Test
+	public void sameAsSantuarioForResources() {
+		int count = 0;
+		List<File> files = new ArrayList<>();
+		files.addAll(Arrays.asList(new File("src/test/resources").listFiles()));
+		files.addAll(Arrays.asList(new File("src/test/resources/validation").listFiles()));
+		for (File file : files) {
+			if (file.getName().endsWith(".xml") && file.length() > 0) {
+				DSSDocument document = new FileDocument(file);
+				byte[] bytes = DSSUtils.toByteArray(document);
+				if (!DomUtils.isDOM(bytes)) {
+					continue;
+				}
+				String content = new String(bytes);
+				for (String method : METHODS) {
+					byte[] streamed = canonicalize(method, document);
+					if (content.contains("<!DOCTYPE")) {
+						assertNull(streamed);
+					} else {
+						assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(method, DomUtils.buildDOM(document)), streamed, file.getName() + " " + method);
+						count++;
+					}
+				}
+			}
+		}
+		assertTrue(count > 0);
+	}
+
+	@Test
+	public void envelopedSignatureTransform() throws Exception {
+		DSSDocument document = new InMemoryDocument(XML.getBytes(StandardCharsets.UTF_8), "test.xml");
+		for (String method : Arrays.asList(Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS, Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS,
+				Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS)) {
+			List<DSSTransform> transforms = Arrays.asList(new XPathEnvelopedSignatureTransform(XAdESNamespaces.XMLDSIG),
+					new CanonicalizationTransform(method));
+			XMLSignatureInput input = new XMLSignatureInput(DomUtils.buildDOM(document));
+			for (DSSTransform transform : transforms) {
+				input = transform.performTransform(input);
+			}
+			byte[] expected = input.getBytes();
+
+			StreamingCanonicalizer canonicalizer = new StreamingCanonicalizer(method);
+			canonicalizer.setExcludedElement(XAdESNamespaces.XMLDSIG.getUri(), "Signature");
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			assertTrue(canonicalizer.canonicalize(document, baos));
+			assertArrayEquals(expected, baos.toByteArray(), method);
+			assertFalse(new String(baos.toByteArray(), StandardCharsets.UTF_8).contains("Signature"));
+
+			assertEquals(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, expected)), canonicalizer.getDigest(document, DigestAlgorithm.SHA256));
+		}
+	}
+
+	@Test
+	public void documentWithDTD() {
+		DSSDocument document = new FileDocument("src/test/resources/validation/xades-with-dtd-injection.xml");
+		assertNull(new StreamingCanonicalizer(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS).getDigest(document, DigestAlgorithm.SHA256));
+	}
+
+	@Test
+	public void physicalNotSupported() {
+		assertFalse(StreamingCanonicalizer.isSupported(Canonicalizer.ALGO_ID_C14N_PHYSICAL));
+	}
+
+	private byte[] canonicalize(String method, DSSDocument document) {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		if (new StreamingCanonicalizer(method).canonicalize(document, baos)) {
+			return baos.toByteArray();
+		}
+		return null;
+	}
+
+}
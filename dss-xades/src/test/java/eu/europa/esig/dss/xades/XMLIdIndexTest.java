@@ -0,0 +1,100 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.model.FileDocument;
+
+public class XMLIdIndexTest {
+
+	private static final String XML = "<root ID=\"r\" xmlns:a=\"urn:a\"><child id=\"c1\"><a:sub a:Id=\"s\"/></child><child Id=\"c2\"/><other Id=\"c2\"/></root>";
+
+	@Test
+	public void index() {
+		Document document = DomUtils.buildDOM(XML);
+		XMLIdIndex idIndex = new XMLIdIndex(document);
+
+		Element root = idIndex.getElementById("r");
+		assertSame(document.getDocumentElement(), root);
+		assertEquals("c1", idIndex.getElementById("c1").getAttribute("id"));
+		assertNull(idIndex.getElementById("unknown"));
+		assertTrue(idIndex.getElementsById("unknown").isEmpty());
+
+		// the ID attributes are registered
+		assertSame(root, document.getElementById("r"));
+		assertSame(idIndex.getElementById("c1"), document.getElementById("c1"));
+
+		// a namespaced attribute is declared as ID, but not found as the XPath @Id did
+		assertEquals("sub", document.getElementById("s").getLocalName());
+		assertNull(idIndex.getElementById("s"));
+		assertTrue(idIndex.getElementsById("s").isEmpty());
+
+		assertNull(idIndex.getElementById("c2"));
+		assertEquals(2, idIndex.getElementsById("c2").size());
+		assertTrue(idIndex.isDuplicateId("c2"));
+		assertFalse(idIndex.isDuplicateId("c1"));
+		assertFalse(idIndex.isDuplicateId("unknown"));
+		assertEquals(Collections.singleton("c2"), idIndex.getDuplicateIds());
+	}
+
+	@Test
+	public void attributeNames() {
+		Document document = DomUtils.buildDOM("<root><a iD=\"x\"/><b iD=\"x\"/><c Id=\"y\"/><d id=\"y\"/><e Id=\"z\" ID=\"z\"/></root>");
+		XMLIdIndex idIndex = new XMLIdIndex(document);
+
+		// only Id, id and ID are found
+		assertTrue(idIndex.getElementsById("x").isEmpty());
+		assertEquals(2, idIndex.getElementsById("y").size());
+		assertNull(idIndex.getElementById("y"));
+		// an element is found once
+		assertEquals("e", idIndex.getElementById("z").getLocalName());
+
+		// the declared ID attributes, as the XML Signature Wrapping protection
+		assertTrue(idIndex.isDuplicateId("x"));
+		assertTrue(idIndex.isDuplicateId("y"));
+		assertFalse(idIndex.isDuplicateId("z"));
+
+		// the values repeated for the same attribute name
+		assertEquals(Collections.singleton("x"), idIndex.getDuplicateIds());
+	}
+
+	@Test
+	public void duplicateIds() {
+		XMLIdIndex idIndex = new XMLIdIndex(DomUtils.buildDOM(new FileDocument("src/test/resources/sample-duplicate-ids.xml")));
+		assertEquals(Collections.singleton("bla"), idIndex.getDuplicateIds());
+
+		idIndex = new XMLIdIndex(DomUtils.buildDOM(new FileDocument("src/test/resources/sample.xml")));
+		assertTrue(idIndex.getDuplicateIds().isEmpty());
+	}
+
+}
@@ -0,0 +1,161 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.reference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.apache.xml.security.signature.XMLSignatureInput;
+import org.apache.xml.security.transforms.Transforms;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.DSSNamespace;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+
+public class DSSTransformTest {
+
+	private static final String XML = "<root xmlns=\"urn:test\" xmlns:ns=\"urn:ns\"><!-- comment -->"
+			+ "<ns:data Id=\"DATA\"><value>Hello</value><value>World</value></ns:data>"
+			+ "<ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\"><ds:SignatureValue>AAAA</ds:SignatureValue></ds:Signature>"
+			+ "</root>";
+
+	private Document document;
+
+	@BeforeAll
+	public static void registerNamespaces() {
+		XAdESNamespaces.registerNamespaces();
+	}
+
+	@BeforeEach
+	public void init() {
+		document = DomUtils.buildDOM(XML);
+	}
+
+	@Test
+	public void xPathAndCanonicalization() throws Exception {
+		List<DSSTransform> transforms = Arrays.asList(new XPathEnvelopedSignatureTransform(XAdESNamespaces.XMLDSIG),
+				new CanonicalizationTransform(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS));
+		byte[] result = chain(document, transforms);
+		assertArrayEquals(santuarioTransforms(document, transforms), result);
+		assertFalse(new String(result).contains("Signature"));
+		assertTrue(new String(result).contains("Hello"));
+	}
+
+	@Test
+	public void xPath2FilterAndCanonicalization() throws Exception {
+		List<DSSTransform> transforms = Arrays.asList(new XPath2FilterEnvelopedSignatureTransform(),
+				new CanonicalizationTransform(Canonicalizer.ALGO_ID_C14N_WITH_COMMENTS));
+		byte[] result = chain(document, transforms);
+		assertArrayEquals(santuarioTransforms(document, transforms), result);
+		assertFalse(new String(result).contains("Signature"));
+		assertTrue(new String(result).contains("comment"));
+	}
+
+	@Test
+	public void xPathOnElementAndCanonicalization() throws Exception {
+		Element element = DomUtils.getElement(document.getDocumentElement(), "./*[@Id='DATA']");
+		List<DSSTransform> transforms = Arrays.asList(new XPath2FilterTransform("/descendant::*[local-name()='value'][2]", "subtract"),
+				new CanonicalizationTransform(Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS));
+		byte[] result = chain(element, transforms);
+		assertArrayEquals(santuarioTransforms(element, transforms), result);
+		assertTrue(new String(result).contains("Hello"));
+		assertFalse(new String(result).contains("World"));
+	}
+
+	@Test
+	public void envelopedAndCanonicalization() {
+		EnvelopedSignatureTransform enveloped = new EnvelopedSignatureTransform();
+		XMLSignatureInput input = new XMLSignatureInput(document);
+		assertSame(input, enveloped.performTransform(input));
+
+		List<DSSTransform> transforms = Arrays.asList(enveloped, new CanonicalizationTransform(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS));
+		assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS, document), chain(document, transforms));
+	}
+
+	@Test
+	public void customTransformFallsBackToBytes() {
+		DSSTransform custom = new DSSTransform() {
+
+			@Override
+			public String getAlgorithm() {
+				return Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS;
+			}
+
+			@Override
+			public void setNamespace(DSSNamespace namespace) {
+			}
+
+			@Override
+			public byte[] getBytesAfterTranformation(Node node) {
+				return DSSXMLUtils.canonicalizeSubtree(getAlgorithm(), node);
+			}
+
+			@Override
+			public Element createTransform(Document document, Element parentNode) {
+				return null;
+			}
+
+		};
+		List<DSSTransform> transforms = Arrays.asList(new XPathEnvelopedSignatureTransform(XAdESNamespaces.XMLDSIG), custom);
+		List<DSSTransform> expectedTransforms = Arrays.asList(new XPathEnvelopedSignatureTransform(XAdESNamespaces.XMLDSIG),
+				new CanonicalizationTransform(Canonicalizer.ALGO_ID_C14N_EXCL_OMIT_COMMENTS));
+		assertArrayEquals(chain(document, expectedTransforms), chain(document, transforms));
+	}
+
+	private byte[] chain(Node node, List<DSSTransform> transforms) {
+		XMLSignatureInput xmlSignatureInput = new XMLSignatureInput(node);
+		for (DSSTransform transform : transforms) {
+			xmlSignatureInput = transform.performTransform(xmlSignatureInput);
+		}
+		try {
+			return xmlSignatureInput.getBytes();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private byte[] santuarioTransforms(Node node, List<DSSTransform> transforms) throws Exception {
+		Document transformsDocument = DomUtils.buildDOM();
+		Element transformsDom = DomUtils.createElementNS(transformsDocument, XAdESNamespaces.XMLDSIG, XMLDSigElement.TRANSFORMS);
+		transformsDocument.appendChild(transformsDom);
+		for (DSSTransform transform : transforms) {
+			transform.createTransform(transformsDocument, transformsDom);
+		}
+		Transforms santuarioTransforms = new Transforms(transformsDom, "");
+		santuarioTransforms.setXPathNamespaceContext(XAdESNamespaces.XMLDSIG.getPrefix(), XAdESNamespaces.XMLDSIG.getUri());
+		return santuarioTransforms.performTransforms(new XMLSignatureInput(node)).getBytes();
+	}
+
+}
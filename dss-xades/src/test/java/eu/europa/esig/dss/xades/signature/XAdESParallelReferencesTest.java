@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+
+public class XAdESParallelReferencesTest {
+
+	private ExecutorService executorService;
+
+	private List<DSSDocument> documents;
+
+	@BeforeEach
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+		documents = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			documents.add(new InMemoryDocument(("Content of the document " + i).getBytes(), "doc-" + i + ".txt"));
+		}
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void sameDataToSign() {
+		XAdESService service = new XAdESService(new CommonCertificateVerifier());
+		ToBeSigned sequential = service.getDataToSign(documents, getParameters());
+
+		service.setExecutorService(executorService);
+		ToBeSigned parallel = service.getDataToSign(documents, getParameters());
+
+		assertArrayEquals(sequential.getBytes(), parallel.getBytes());
+
+		String signedInfo = new String(parallel.getBytes());
+		int previousIndex = -1;
+		for (DSSDocument document : documents) {
+			int index = signedInfo.indexOf(document.getDigest(DigestAlgorithm.SHA256));
+			assertTrue(index > previousIndex);
+			previousIndex = index;
+		}
+	}
+
+	private XAdESSignatureParameters getParameters() {
+		XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+		parameters.setGenerateTBSWithoutCertificate(true);
+		parameters.bLevel().setSigningDate(new Date(1577836800000L));
+		parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		parameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		return parameters;
+	}
+
+}
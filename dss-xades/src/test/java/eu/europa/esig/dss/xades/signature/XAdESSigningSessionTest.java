@@ -0,0 +1,188 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.SigningSession;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+import eu.europa.esig.dss.xades.reference.CanonicalizationTransform;
+import eu.europa.esig.dss.xades.reference.DSSReference;
+import eu.europa.esig.dss.xades.reference.EnvelopedSignatureTransform;
+
+public class XAdESSigningSessionTest {
+
+	private static final SignatureValue SIGNATURE_VALUE = new SignatureValue(SignatureAlgorithm.RSA_SHA256, new byte[256]);
+
+	private XAdESService service;
+
+	private XAdESSignatureParameters parameters;
+
+	@BeforeEach
+	public void init() {
+		service = new XAdESService(new CommonCertificateVerifier());
+
+		parameters = new XAdESSignatureParameters();
+		parameters.setGenerateTBSWithoutCertificate(true);
+		parameters.bLevel().setSigningDate(new Date(1577836800000L));
+		parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+	}
+
+	@Test
+	public void sessionReused() {
+		DSSDocument document = new FileDocument("src/test/resources/sample.xml");
+		ToBeSigned dataToSign = service.getDataToSign(document, parameters);
+		SigningSession signingSession = parameters.getContext().getSigningSession();
+		assertNotNull(signingSession);
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		DSSDocument signedDocument = service.signDocument(document, parameters, SIGNATURE_VALUE);
+		assertNull(parameters.getContext().getSigningSession());
+		// the signature structure is released
+		assertNull(signingSession.getBuilder());
+		assertArrayEquals(dataToSign.getBytes(), getCanonicalizedSignedInfo(signedDocument));
+	}
+
+	@Test
+	public void sessionExpired() {
+		service.setSigningSessionTimeout(-1);
+
+		DSSDocument document = new FileDocument("src/test/resources/sample.xml");
+		ToBeSigned dataToSign = service.getDataToSign(document, parameters);
+		SigningSession signingSession = parameters.getContext().getSigningSession();
+		assertFalse(signingSession.isValidFor(document, parameters, -1));
+		// the signature structure is released
+		assertNull(signingSession.getBuilder());
+
+		DSSDocument signedDocument = service.signDocument(document, parameters, SIGNATURE_VALUE);
+		assertArrayEquals(dataToSign.getBytes(), getCanonicalizedSignedInfo(signedDocument));
+	}
+
+	@Test
+	public void sessionNotValidForAnotherInput() {
+		DSSDocument document = new InMemoryDocument("<root>Hello</root>".getBytes(), "doc.xml");
+		service.getDataToSign(document, parameters);
+		SigningSession signingSession = parameters.getContext().getSigningSession();
+
+		DSSDocument sameContent = new InMemoryDocument("<root>Hello</root>".getBytes(), "doc.xml");
+		assertTrue(signingSession.isValidFor(sameContent, parameters, 60000));
+
+		DSSDocument otherContent = new InMemoryDocument("<root>World</root>".getBytes(), "doc.xml");
+		assertFalse(signingSession.isValidFor(otherContent, parameters, 60000));
+
+		DSSDocument signedDocument = service.signDocument(otherContent, parameters, SIGNATURE_VALUE);
+		assertTrue(new String(DSSUtils.toByteArray(signedDocument)).contains("World"));
+	}
+
+	@Test
+	public void sessionNotValidForOtherParameters() {
+		DSSDocument document = new InMemoryDocument("<root>Hello</root>".getBytes(), "doc.xml");
+		service.getDataToSign(document, parameters);
+		SigningSession signingSession = parameters.getContext().getSigningSession();
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		// the parameters are modified after the computation of the data to be signed
+		String signedInfoCanonicalizationMethod = parameters.getSignedInfoCanonicalizationMethod();
+		parameters.setSignedInfoCanonicalizationMethod(CanonicalizationMethod.INCLUSIVE_WITH_COMMENTS);
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+		parameters.setSignedInfoCanonicalizationMethod(signedInfoCanonicalizationMethod);
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		List<String> claimedSignerRoles = parameters.bLevel().getClaimedSignerRoles();
+		parameters.bLevel().setClaimedSignerRoles(Arrays.asList("Manager"));
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+		parameters.bLevel().setClaimedSignerRoles(claimedSignerRoles);
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		parameters.setAddX509SubjectName(true);
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+		parameters.setAddX509SubjectName(false);
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		parameters.bLevel().setSigningDate(new Date());
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+		parameters.bLevel().setSigningDate(new Date(1577836800000L));
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+	}
+
+	@Test
+	public void sessionNotValidForOtherReferences() {
+		DSSDocument document = new InMemoryDocument("<root>Hello</root>".getBytes(), "doc.xml");
+		DSSReference reference = new DSSReference();
+		reference.setId("r-1");
+		reference.setUri("");
+		reference.setContents(document);
+		reference.setDigestMethodAlgorithm(DigestAlgorithm.SHA256);
+		reference.setTransforms(new ArrayList<>(Arrays.asList(new EnvelopedSignatureTransform(),
+				new CanonicalizationTransform(CanonicalizationMethod.EXCLUSIVE))));
+		parameters.setReferences(Arrays.asList(reference));
+
+		service.getDataToSign(document, parameters);
+		SigningSession signingSession = parameters.getContext().getSigningSession();
+		assertTrue(signingSession.isValidFor(document, parameters, 60000));
+
+		reference.getTransforms().set(1, new CanonicalizationTransform(CanonicalizationMethod.INCLUSIVE));
+		assertFalse(signingSession.isValidFor(document, parameters, 60000));
+	}
+
+	private byte[] getCanonicalizedSignedInfo(DSSDocument signedDocument) {
+		Document dom = DomUtils.buildDOM(signedDocument);
+		Element signedInfo = DomUtils.getElement(dom, "//" + XAdESNamespaces.XMLDSIG.getPrefix() + ":SignedInfo");
+		Element canonicalizationMethod = DomUtils.getElement(signedInfo, XAdESNamespaces.XMLDSIG.getPrefix() + ":CanonicalizationMethod");
+		return DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod.getAttribute("Algorithm"), signedInfo);
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDigestMatcher;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+
+public class XAdESStreamingSignatureTest {
+
+	private static final SignatureValue SIGNATURE_VALUE = new SignatureValue(SignatureAlgorithm.RSA_SHA256, new byte[256]);
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<root xmlns=\"urn:default\" xmlns:a=\"urn:a\" a:attr=\"1\" xml:lang=\"en\" Id=\"root\">\n"
+			+ "  <a:child>Hello &amp; é</a:child><!-- comment -->\n"
+			+ "  <a:parent xmlns:b=\"urn:b\"><b:leaf b:attr=\"&lt;2&gt;\"/><![CDATA[<data>]]></a:parent>\n"
+			+ "</root >\n<!-- trailing -->\n";
+
+	@Test
+	public void sampleDocument() {
+		signAndCompare(new FileDocument("src/test/resources/sample.xml"), null, true);
+	}
+
+	@Test
+	public void documentWithNamespaces() {
+		DSSDocument document = new InMemoryDocument(XML.getBytes(StandardCharsets.UTF_8), "doc.xml");
+		signAndCompare(document, null, true);
+		signAndCompare(document, CanonicalizationMethod.INCLUSIVE, true);
+	}
+
+	@Test
+	public void documentWithTrailingProcessingInstruction() {
+		DSSDocument document = new InMemoryDocument((XML + "<?pi data?>").getBytes(StandardCharsets.UTF_8), "doc.xml");
+		signAndCompare(document, null, false);
+	}
+
+	private void signAndCompare(DSSDocument document, String canonicalizationMethod, boolean streamedOutput) {
+		XAdESService service = new XAdESService(new CommonCertificateVerifier());
+
+		XAdESSignatureParameters domParameters = getParameters(canonicalizationMethod, false);
+		ToBeSigned domDataToSign = service.getDataToSign(document, domParameters);
+
+		XAdESSignatureParameters streamingParameters = getParameters(canonicalizationMethod, true);
+		ToBeSigned streamingDataToSign = service.getDataToSign(document, streamingParameters);
+		assertArrayEquals(domDataToSign.getBytes(), streamingDataToSign.getBytes());
+
+		DSSDocument signedDocument = service.signDocument(document, streamingParameters, SIGNATURE_VALUE);
+		assertEquals(streamedOutput, signedDocument instanceof StreamedEnvelopedDocument);
+
+		byte[] originalBytes = DSSUtils.toByteArray(document);
+		byte[] signedBytes = DSSUtils.toByteArray(signedDocument);
+		if (streamedOutput) {
+			// the original content is kept as is
+			String original = new String(originalBytes, StandardCharsets.UTF_8);
+			String signed = new String(signedBytes, StandardCharsets.UTF_8);
+			int endTagIndex = original.lastIndexOf("</");
+			assertTrue(signed.startsWith(original.substring(0, endTagIndex)));
+			assertTrue(signed.endsWith(original.substring(endTagIndex)));
+		}
+
+		Document signedDom = DomUtils.buildDOM(signedBytes);
+		Element signedInfo = DomUtils.getElement(signedDom,
+				"//" + XAdESNamespaces.XMLDSIG.getPrefix() + ":Signature[@Id='" + streamingParameters.getDeterministicId() + "']/"
+						+ XAdESNamespaces.XMLDSIG.getPrefix() + ":SignedInfo");
+		Element c14nMethod = DomUtils.getElement(signedInfo, XAdESNamespaces.XMLDSIG.getPrefix() + ":CanonicalizationMethod");
+		assertArrayEquals(streamingDataToSign.getBytes(), DSSXMLUtils.canonicalizeSubtree(c14nMethod.getAttribute("Algorithm"), signedInfo));
+
+		XMLDocumentValidator validator = new XMLDocumentValidator(new InMemoryDocument(signedBytes));
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatures().size());
+		SignatureWrapper signature = diagnosticData.getSignatures().get(0);
+		assertEquals(streamingParameters.getDeterministicId(), signature.getDAIdentifier());
+		List<XmlDigestMatcher> digestMatchers = signature.getDigestMatchers();
+		assertFalse(digestMatchers.isEmpty());
+		for (XmlDigestMatcher digestMatcher : digestMatchers) {
+			assertTrue(digestMatcher.isDataFound());
+			assertTrue(digestMatcher.isDataIntact());
+		}
+	}
+
+	private XAdESSignatureParameters getParameters(String canonicalizationMethod, boolean streaming) {
+		XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+		parameters.setGenerateTBSWithoutCertificate(true);
+		parameters.bLevel().setSigningDate(new Date(1577836800000L));
+		parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		parameters.setStreaming(streaming);
+		if (canonicalizationMethod != null) {
+			parameters.setSignedInfoCanonicalizationMethod(canonicalizationMethod);
+			parameters.setSignedPropertiesCanonicalizationMethod(canonicalizationMethod);
+		}
+		return parameters;
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.apache.xml.security.signature.Reference;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigPaths;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+
+public class CanonicalizationCacheTest {
+
+	@Test
+	public void signedInfoCanonicalizedOnce() throws Exception {
+		XMLDocumentValidator validator = getValidator();
+		for (AdvancedSignature signature : validator.getSignatures()) {
+			XAdESSignature xadesSignature = (XAdESSignature) signature;
+			xadesSignature.checkSignatureIntegrity();
+
+			Element signedInfo = DomUtils.getElement(xadesSignature.getSignatureElement(), XMLDSigPaths.SIGNED_INFO_PATH);
+			String canonicalizationMethod = DomUtils.getValue(signedInfo, XMLDSigPaths.CANONICALIZATION_ALGORITHM_PATH);
+			CanonicalizationCache cache = xadesSignature.getCanonicalizationCache();
+
+			// the SignedInfo canonicalized during the integrity check
+			byte[] canonicalized = cache.canonicalizeOrSerializeSubtree(canonicalizationMethod, signedInfo);
+			assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, signedInfo), canonicalized);
+			assertSame(canonicalized, cache.canonicalizeOrSerializeSubtree(canonicalizationMethod, signedInfo));
+
+			// another method
+			byte[] withComments = cache.canonicalizeOrSerializeSubtree(Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS, signedInfo);
+			assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS, signedInfo), withComments);
+			assertSame(withComments, cache.canonicalizeOrSerializeSubtree(Canonicalizer.ALGO_ID_C14N11_WITH_COMMENTS, signedInfo));
+
+			List<Reference> references = xadesSignature.getReferences();
+			assertFalse(references.isEmpty());
+			for (Reference reference : references) {
+				byte[] referencedBytes = cache.getReferencedBytes(reference);
+				assertNotNull(referencedBytes);
+				if (DomUtils.isElementReference(reference.getURI())) {
+					assertSame(referencedBytes, cache.getReferencedBytes(reference));
+				} else {
+					// only the same-document references are kept
+					byte[] newReferencedBytes = cache.getReferencedBytes(reference);
+					assertNotSame(referencedBytes, newReferencedBytes);
+					assertArrayEquals(referencedBytes, newReferencedBytes);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void timestampsStillIntact() {
+		List<TimestampWrapper> timestamps = getValidator().validateDocument().getDiagnosticData().getTimestampList();
+		assertFalse(timestamps.isEmpty());
+		for (TimestampWrapper timestamp : timestamps) {
+			assertTrue(timestamp.isMessageImprintDataFound());
+			assertTrue(timestamp.isMessageImprintDataIntact());
+		}
+	}
+
+	private XMLDocumentValidator getValidator() {
+		DSSDocument doc = new FileDocument("src/test/resources/validation/dss1688/dss1688.xml");
+		XMLDocumentValidator validator = new XMLDocumentValidator(doc);
+		validator.setDetachedContents(Arrays.asList(new FileDocument("src/test/resources/validation/dss1688/dss1688-detached-content.xml")));
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		return validator;
+	}
+
+}
@@ -20,17 +20,25 @@
  */
 package eu.europa.esig.dss.xades.validation;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.utils.resolver.ResourceResolverContext;
 import org.apache.xml.security.utils.resolver.ResourceResolverException;
 import org.junit.jupiter.api.Test;
@@ -41,6 +49,7 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.MimeType;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
 import eu.europa.esig.dss.xades.SantuarioInitializer;
 
 public class DetachedSignatureResolverTest {
@@ -255,4 +264,83 @@ public class DetachedSignatureResolverTest {
 		assertNotNull(resolver.engineResolveURI(context));
 	}
 
+	@Test
+	public void documentResolvedAsStream() throws Exception {
+		DSSDocument doc = new InMemoryDocument(new byte[] { 1, 2, 3 }, "sample.bin", MimeType.BINARY);
+		DetachedSignatureResolver resolver = new DetachedSignatureResolver(Arrays.<DSSDocument>asList(doc), DigestAlgorithm.SHA256);
+
+		Attr attr = mock(Attr.class);
+		when(attr.getNodeValue()).thenReturn("sample.bin");
+		ResourceResolverContext context = new ResourceResolverContext(attr, null, false);
+
+		XMLSignatureInput input = resolver.engineResolveURI(context);
+		assertTrue(input.isOctetStream());
+		assertFalse(input.isByteArray());
+		assertEquals(MimeType.BINARY.getMimeTypeString(), input.getMIMEType());
+		assertArrayEquals(new byte[] { 1, 2, 3 }, input.getBytes());
+
+		// each resolution provides a new stream
+		assertArrayEquals(new byte[] { 1, 2, 3 }, resolver.engineResolveURI(context).getBytes());
+	}
+
+	@Test
+	public void streamClosedAfterUse() throws Exception {
+		AtomicInteger opened = new AtomicInteger();
+		AtomicInteger closed = new AtomicInteger();
+		DSSDocument doc = new InMemoryDocument(new byte[] { 1, 2, 3 }, "sample.bin", MimeType.BINARY) {
+
+			@Override
+			public InputStream openStream() {
+				opened.incrementAndGet();
+				return new FilterInputStream(super.openStream()) {
+
+					@Override
+					public void close() throws IOException {
+						closed.incrementAndGet();
+						super.close();
+					}
+
+				};
+			}
+
+		};
+		DetachedSignatureResolver resolver = new DetachedSignatureResolver(Arrays.<DSSDocument>asList(doc), DigestAlgorithm.SHA256);
+
+		Attr attr = mock(Attr.class);
+		when(attr.getNodeValue()).thenReturn("sample.bin");
+		ResourceResolverContext context = new ResourceResolverContext(attr, null, false);
+
+		// a content which is not read is not opened
+		DSSXMLUtils.closeOctetStream(resolver.engineResolveURI(context));
+		assertEquals(0, opened.get());
+
+		// a partially read content is closed by the caller
+		XMLSignatureInput input = resolver.engineResolveURI(context);
+		assertEquals(1, input.getOctetStreamReal().read());
+		DSSXMLUtils.closeOctetStream(input);
+		assertEquals(1, opened.get());
+		assertEquals(1, closed.get());
+
+		// a fully read content is closed at its end
+		assertArrayEquals(new byte[] { 1, 2, 3 }, resolver.engineResolveURI(context).getBytes());
+		assertEquals(2, opened.get());
+		assertEquals(2, closed.get());
+	}
+
+	@Test
+	public void getDocument() {
+		DSSDocument doc1 = new InMemoryDocument(new byte[] { 1, 2, 3 }, "doc 1.bin");
+		DSSDocument doc2 = new InMemoryDocument(new byte[] { 4, 5, 6 }, "doc2.bin");
+		DetachedSignatureResolver resolver = new DetachedSignatureResolver(Arrays.asList(doc1, doc2), DigestAlgorithm.SHA256);
+		assertSame(doc1, resolver.getDocument("doc%201.bin"));
+		assertSame(doc2, resolver.getDocument("doc2.bin"));
+		assertNull(resolver.getDocument("doc3.bin"));
+		assertNull(resolver.getDocument(null));
+
+		DSSDocument noName = new InMemoryDocument(new byte[] { 1, 2, 3 });
+		resolver = new DetachedSignatureResolver(Arrays.asList(noName), DigestAlgorithm.SHA256);
+		assertSame(noName, resolver.getDocument("doc.bin"));
+		assertSame(noName, resolver.getDocument(null));
+	}
+
 }
@@ -0,0 +1,126 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignatureCryptographicVerification;
+import eu.europa.esig.dss.xades.SantuarioInitializer;
+
+public class XAdESReferenceDigestTest {
+
+	private static final String SIGNATURE = "src/test/resources/validation/dss1334/simple-test-signed-xades-baseline-b.xml";
+
+	private static final String ORIGINAL_FILE = "src/test/resources/validation/dss1334/simple-test.xml";
+
+	static {
+		SantuarioInitializer.init();
+	}
+
+	@Test
+	public void detachedContentReadOnce() {
+		CountingDocument detachedContent = new CountingDocument(ORIGINAL_FILE);
+		checkIntegrity(detachedContent, null);
+		assertEquals(new File(ORIGINAL_FILE).length(), detachedContent.bytesRead.get());
+	}
+
+	@Test
+	public void detachedContentReadOnceInParallel() {
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			CountingDocument detachedContent = new CountingDocument(ORIGINAL_FILE);
+			checkIntegrity(detachedContent, executorService);
+			assertEquals(new File(ORIGINAL_FILE).length(), detachedContent.bytesRead.get());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void checkIntegrity(DSSDocument detachedContent, ExecutorService executorService) {
+		XMLDocumentValidator validator = new XMLDocumentValidator(new FileDocument(SIGNATURE));
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		validator.setDetachedContents(Arrays.asList(detachedContent));
+		validator.setExecutorService(executorService);
+
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		AdvancedSignature signature = signatures.get(0);
+		signature.checkSignatureIntegrity();
+
+		SignatureCryptographicVerification verification = signature.getSignatureCryptographicVerification();
+		assertTrue(verification.isReferenceDataFound());
+		assertTrue(verification.isReferenceDataIntact());
+		assertTrue(verification.isSignatureIntact());
+	}
+
+	private static class CountingDocument extends FileDocument {
+
+		private final AtomicLong bytesRead = new AtomicLong();
+
+		CountingDocument(String path) {
+			super(path);
+		}
+
+		@Override
+		public InputStream openStream() {
+			return new FilterInputStream(super.openStream()) {
+
+				@Override
+				public int read() throws IOException {
+					int b = super.read();
+					if (b != -1) {
+						bytesRead.incrementAndGet();
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					int count = super.read(b, off, len);
+					if (count > 0) {
+						bytesRead.addAndGet(count);
+					}
+					return count;
+				}
+
+			};
+		}
+
+	}
+
+}
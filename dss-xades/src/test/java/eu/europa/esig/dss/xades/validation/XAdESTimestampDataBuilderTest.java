@@ -0,0 +1,81 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.timestamp.TimestampToken;
+
+public class XAdESTimestampDataBuilderTest {
+
+	@Test
+	public void severalArchiveTimestamps() {
+		DSSDocument doc = new FileDocument("src/test/resources/plugtest/esig2014/ESIG-XAdES/HR_FIN/Signature-X-HR_FIN-1.xml");
+		assertSameArchiveTimestampData(doc, Collections.emptyList());
+	}
+
+	@Test
+	public void detachedContent() {
+		DSSDocument doc = new FileDocument("src/test/resources/validation/dss1688/dss1688.xml");
+		DSSDocument detachedDocument = new FileDocument("src/test/resources/validation/dss1688/dss1688-detached-content.xml");
+		assertSameArchiveTimestampData(doc, Arrays.asList(detachedDocument));
+	}
+
+	private void assertSameArchiveTimestampData(DSSDocument doc, List<DSSDocument> detachedContents) {
+		XMLDocumentValidator validator = new XMLDocumentValidator(doc);
+		validator.setDetachedContents(detachedContents);
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+
+		int count = 0;
+		for (AdvancedSignature signature : validator.getSignatures()) {
+			XAdESSignature xadesSignature = (XAdESSignature) signature;
+			xadesSignature.checkSignatureIntegrity();
+			XAdESTimestampDataBuilder timestampDataBuilder = xadesSignature.getTimestampSource().getTimestampDataBuilder();
+			for (TimestampToken timestampToken : xadesSignature.getArchiveTimestamps()) {
+				byte[] expected = timestampDataBuilder.getArchiveTimestampData(timestampToken, null);
+				DSSDocument timestampedData = timestampDataBuilder.getArchiveTimestampData(timestampToken);
+				assertArrayEquals(expected, DSSUtils.toByteArray(timestampedData));
+
+				DigestAlgorithm digestAlgorithm = timestampToken.getMessageImprint().getAlgorithm();
+				assertEquals(Utils.toBase64(DSSUtils.digest(digestAlgorithm, expected)), timestampedData.getDigest(digestAlgorithm));
+				assertEquals(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA512, expected)), timestampedData.getDigest(DigestAlgorithm.SHA512));
+				count++;
+			}
+		}
+		assertTrue(count > 1);
+	}
+
+}
@@ -37,7 +37,7 @@ public final class ASiCManifestUtils extends XSDAbstractUtils {
 	
 	private static ASiCManifestUtils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private ASiCManifestUtils() {
 	}
@@ -41,7 +41,7 @@ public final class TrustedListUtils extends XSDAbstractUtils {
 	
 	private static TrustedListUtils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private TrustedListUtils() {
 	}
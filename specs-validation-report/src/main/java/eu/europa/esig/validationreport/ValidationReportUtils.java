@@ -39,7 +39,7 @@ public final class ValidationReportUtils extends XSDAbstractUtils {
 
 	private static ValidationReportUtils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private ValidationReportUtils() {
 	}
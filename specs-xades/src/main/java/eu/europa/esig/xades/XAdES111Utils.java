@@ -37,7 +37,7 @@ public final class XAdES111Utils extends XSDAbstractUtils {
 
 	private static XAdES111Utils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private XAdES111Utils() {
 	}
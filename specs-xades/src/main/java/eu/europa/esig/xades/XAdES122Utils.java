@@ -37,7 +37,7 @@ public final class XAdES122Utils extends XSDAbstractUtils {
 
 	private static XAdES122Utils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private XAdES122Utils() {
 	}
@@ -38,7 +38,7 @@ public final class XAdES319132Utils extends XSDAbstractUtils {
 	
 	private static XAdES319132Utils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private XAdES319132Utils() {
 	}
@@ -38,7 +38,7 @@ public final class XAdESUtils extends XSDAbstractUtils {
 	
 	private static XAdESUtils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private XAdESUtils() {
 	}
@@ -42,7 +42,7 @@ public abstract class XSDAbstractUtils {
 
 	private static final String EMPTY_STRING = "";
 
-	private Schema schema;
+	private volatile Schema schema;
 
 	/**
 	 * Returns a JAXBContext
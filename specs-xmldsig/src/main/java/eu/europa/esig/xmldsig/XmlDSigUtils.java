@@ -38,7 +38,7 @@ public final class XmlDSigUtils extends XSDAbstractUtils {
 
 	private static XmlDSigUtils singleton;
 
-	private JAXBContext jc;
+	private volatile JAXBContext jc;
 
 	private XmlDSigUtils() {
 	}
@@ -23,8 +23,13 @@ package eu.europa.esig.dss.validation.executor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
 import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
@@ -34,8 +39,10 @@ import eu.europa.esig.dss.diagnostic.DiagnosticData;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlTrustedList;
 import eu.europa.esig.dss.enumerations.Context;
 import eu.europa.esig.dss.i18n.I18nProvider;
+import eu.europa.esig.dss.policy.SubContext;
 import eu.europa.esig.dss.policy.ValidationPolicy;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.process.ValidationProcessCache;
 import eu.europa.esig.dss.validation.process.bbb.BasicBuildingBlocks;
 import eu.europa.esig.dss.validation.process.qualification.trust.TLValidationBlock;
 
@@ -46,6 +53,20 @@ public abstract class AbstractDetailedReportBuilder {
 	protected final ValidationPolicy policy;
 	protected final Date currentTime;
 
+	/**
+	 * Shares the results of the processes executed on the same tokens between the
+	 * basic building blocks
+	 */
+	protected final ValidationProcessCache validationProcessCache = new ValidationProcessCache();
+
+	/**
+	 * Optional executor to run the independent validation processes in parallel
+	 * (null = sequential execution)
+	 */
+	private ExecutorService executorService;
+
+	private boolean sharedStateInitialized;
+
 	protected AbstractDetailedReportBuilder(I18nProvider i18nProvider, Date currentTime, ValidationPolicy policy, DiagnosticData diagnosticData) {
 		this.i18nProvider = i18nProvider;
 		this.currentTime = currentTime;
@@ -81,11 +102,139 @@ public abstract class AbstractDetailedReportBuilder {
 		return result;
 	}
 
-	protected void process(Collection<? extends AbstractTokenProxy> tokensToProcess, Context context, Map<String, XmlBasicBuildingBlocks> bbbs) {
+	/**
+	 * Sets the executor used to run the independent validation processes (basic
+	 * building blocks, per signature processes) in parallel. The results are
+	 * always merged in the same order as the sequential execution.
+	 * 
+	 * The executor must not be a bounded pool whose threads are busy waiting for
+	 * this report (e.g. the pool running the validations themselves).
+	 * 
+	 * Default : null (sequential execution)
+	 * 
+	 * @param executorService
+	 *                        {@link ExecutorService} or null
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Adds the basic building blocks of the given tokens to the tasks, keyed by
+	 * token id (a token added twice is validated in the last given context)
+	 * 
+	 * @param tasks
+	 *                        the tasks to complete
+	 * @param tokensToProcess
+	 *                        the tokens to validate
+	 * @param context
+	 *                        the validation context
+	 */
+	protected void addBasicBuildingBlocks(Map<String, Callable<XmlBasicBuildingBlocks>> tasks, Collection<? extends AbstractTokenProxy> tokensToProcess,
+			Context context) {
 		for (AbstractTokenProxy token : tokensToProcess) {
-			BasicBuildingBlocks bbb = new BasicBuildingBlocks(i18nProvider, diagnosticData, token, currentTime, policy, context);
-			XmlBasicBuildingBlocks result = bbb.execute();
-			bbbs.put(token.getId(), result);
+			tasks.put(token.getId(), () -> new BasicBuildingBlocks(i18nProvider, diagnosticData, token, currentTime, policy, context, validationProcessCache).execute());
+		}
+	}
+
+	/**
+	 * Executes the basic building blocks tasks, the basic building blocks of all
+	 * the tokens are independent
+	 * 
+	 * @param tasks
+	 *              the tasks by token id
+	 * @return the results by token id, in the order of the tasks
+	 */
+	protected Map<String, XmlBasicBuildingBlocks> executeBasicBuildingBlocks(Map<String, Callable<XmlBasicBuildingBlocks>> tasks) {
+		List<XmlBasicBuildingBlocks> results = execute(new ArrayList<>(tasks.values()));
+		Map<String, XmlBasicBuildingBlocks> bbbs = new LinkedHashMap<>();
+		int i = 0;
+		for (String tokenId : tasks.keySet()) {
+			bbbs.put(tokenId, results.get(i++));
+		}
+		return bbbs;
+	}
+
+	/**
+	 * Executes the given independent tasks, in parallel if an executor is defined
+	 * 
+	 * @param tasks
+	 *              the tasks to execute
+	 * @return the results in the same order as the tasks
+	 */
+	protected <T> List<T> execute(List<Callable<T>> tasks) {
+		if (executorService == null || tasks.size() < 2) {
+			return executeSequentially(tasks);
+		}
+
+		initializeSharedState();
+
+		List<T> results = new ArrayList<>(tasks.size());
+		try {
+			for (Future<T> future : executorService.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while building the detailed report", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Unable to build the detailed report", e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Executes the given tasks one after the other, in the calling thread
+	 * 
+	 * @param tasks
+	 *              the tasks to execute
+	 * @return the results in the same order as the tasks
+	 */
+	protected <T> List<T> executeSequentially(List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			results.add(call(task));
+		}
+		return results;
+	}
+
+	/**
+	 * Initializes the lazily created state read by all the tasks (diagnostic data
+	 * wrappers and indexes, default values of the cryptographic constraints),
+	 * before it is shared between threads
+	 */
+	private void initializeSharedState() {
+		if (sharedStateInitialized) {
+			return;
+		}
+		diagnosticData.getSignatures();
+		diagnosticData.getTimestampList();
+		diagnosticData.getUsedCertificates();
+		diagnosticData.getAllRevocationData();
+		diagnosticData.getSignatureById(Utils.EMPTY_STRING);
+		diagnosticData.getTimestampById(Utils.EMPTY_STRING);
+		diagnosticData.getUsedCertificateById(Utils.EMPTY_STRING);
+		diagnosticData.getRevocationById(Utils.EMPTY_STRING);
+
+		for (Context context : Context.values()) {
+			policy.getSignatureCryptographicConstraint(context);
+			for (SubContext subContext : SubContext.values()) {
+				policy.getCertificateCryptographicConstraint(context, subContext);
+			}
+		}
+		sharedStateInitialized = true;
+	}
+
+	private <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to build the detailed report", e);
 		}
 	}
 
@@ -22,8 +22,9 @@ package eu.europa.esig.dss.validation.executor.certificate;
 
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
 import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
@@ -51,8 +52,9 @@ public class DetailedReportForCertificateBuilder extends AbstractDetailedReportB
 
 		CertificateWrapper certificate = diagnosticData.getUsedCertificateById(certificateId);
 
-		Map<String, XmlBasicBuildingBlocks> bbbs = new HashMap<>();
-		process(Collections.singleton(certificate), Context.CERTIFICATE, bbbs);
+		Map<String, Callable<XmlBasicBuildingBlocks>> tasks = new LinkedHashMap<>();
+		addBasicBuildingBlocks(tasks, Collections.singleton(certificate), Context.CERTIFICATE);
+		Map<String, XmlBasicBuildingBlocks> bbbs = executeBasicBuildingBlocks(tasks);
 		detailedReport.getBasicBuildingBlocks().addAll(bbbs.values());
 
 		XmlBasicBuildingBlocks basicBuildingBlocks = bbbs.get(certificate.getId());
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.validation.executor.signature;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 import eu.europa.esig.dss.detailedreport.DetailedReport;
 import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
@@ -41,6 +42,8 @@ public class DefaultSignatureProcessExecutor extends AbstractProcessExecutor imp
 
 	protected ValidationLevel validationLevel = ValidationLevel.ARCHIVAL_DATA;
 	protected boolean enableEtsiValidationReport = true;
+	protected ExecutorService executorService;
+	protected boolean verdictOnly = false;
 
 	@Override
 	public void setValidationLevel(ValidationLevel validationLevel) {
@@ -51,7 +54,40 @@ public class DefaultSignatureProcessExecutor extends AbstractProcessExecutor imp
 	public void setEnableEtsiValidationReport(boolean enableEtsiValidationReport) {
 		this.enableEtsiValidationReport = enableEtsiValidationReport;
 	}
+
+	/**
+	 * Sets an executor to run the independent basic building blocks and per
+	 * signature validation processes in parallel. The detailed report is the same
+	 * as the one produced by the sequential execution.
+	 * 
+	 * Default : null (sequential execution)
+	 * 
+	 * @param executorService
+	 *                        {@link ExecutorService} or null
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
 	
+	/**
+	 * Enables the verdict-only validation : the ETSI validation report is not
+	 * built. The detailed and simple reports are the same as the ones of a full
+	 * validation (the conclusions are computed from all the constraint nodes),
+	 * only the building of the ETSI validation report is saved.
+	 * 
+	 * The ETSI validation report can be obtained later by executing the
+	 * validation again with the same diagnostic data (see
+	 * {@code Reports.getDiagnosticDataJaxb()}).
+	 * 
+	 * Default : false
+	 * 
+	 * @param verdictOnly
+	 *                    true if only the conclusions are needed
+	 */
+	public void setVerdictOnly(boolean verdictOnly) {
+		this.verdictOnly = verdictOnly;
+	}
+
 	@Override
 	public Reports execute() {
 		assertConfigurationValid();
@@ -67,6 +103,7 @@ public class DefaultSignatureProcessExecutor extends AbstractProcessExecutor imp
 	protected Reports buildReports(final DiagnosticData diagnosticData) {
 		
 		DetailedReportBuilder detailedReportBuilder = new DetailedReportBuilder(getI18nProvider(), currentTime, policy, validationLevel, diagnosticData);
+		detailedReportBuilder.setExecutorService(executorService);
 		XmlDetailedReport jaxbDetailedReport = detailedReportBuilder.build();
 
 		DetailedReport detailedReportWrapper = new DetailedReport(jaxbDetailedReport);
@@ -75,7 +112,7 @@ public class DefaultSignatureProcessExecutor extends AbstractProcessExecutor imp
 		XmlSimpleReport simpleReport = simpleReportBuilder.build();
 
 		ValidationReportType validationReport = null;
-		if (enableEtsiValidationReport) {
+		if (enableEtsiValidationReport && !verdictOnly) {
 			ETSIValidationReportBuilder etsiValidationReportBuilder = new ETSIValidationReportBuilder(currentTime, diagnosticData,
 					detailedReportWrapper);
 			validationReport = etsiValidationReportBuilder.build();
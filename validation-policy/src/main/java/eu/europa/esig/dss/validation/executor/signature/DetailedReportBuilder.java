@@ -27,6 +27,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
 import eu.europa.esig.dss.detailedreport.jaxb.XmlConstraintsConclusionWithProofOfExistence;
@@ -72,55 +73,67 @@ public class DetailedReportBuilder extends AbstractDetailedReportBuilder {
 		detailedReport.getBasicBuildingBlocks().addAll(bbbs.values());
 
 		Set<String> attachedTimestamps = new HashSet<>();
+		List<Callable<XmlSignature>> signatureTasks = new ArrayList<>();
 		for (SignatureWrapper signature : diagnosticData.getSignatures()) {
-
-			XmlSignature signatureAnalysis = new XmlSignature();
-
-			signatureAnalysis.setId(signature.getId());
-			if (signature.isCounterSignature()) {
-				signatureAnalysis.setCounterSignature(true);
+			if (!ValidationLevel.BASIC_SIGNATURES.equals(validationLevel)) {
+				attachedTimestamps.addAll(signature.getTimestampIdsList());
 			}
+			signatureTasks.add(() -> buildXmlSignature(signature, bbbs, tlAnalysis));
+		}
+		if (isTimestampSharedBetweenSignatures()) {
+			// the archival validation completes the basic building blocks of the timestamps
+			detailedReport.getSignatureOrTimestampOrCertificate().addAll(executeSequentially(signatureTasks));
+		} else {
+			detailedReport.getSignatureOrTimestampOrCertificate().addAll(execute(signatureTasks));
+		}
 
-			XmlConstraintsConclusionWithProofOfExistence validation = executeBasicValidation(signatureAnalysis, signature, bbbs);
-
-			if (ValidationLevel.TIMESTAMPS.equals(validationLevel)) {
-				attachedTimestamps.addAll(signature.getTimestampIdsList());
-				signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, detailedReport.getTLAnalysis()));
-			} else if (ValidationLevel.LONG_TERM_DATA.equals(validationLevel)) {
-				attachedTimestamps.addAll(signature.getTimestampIdsList());
-				signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, detailedReport.getTLAnalysis()));
-				validation = executeLongTermValidation(signatureAnalysis, signature, bbbs);
-			} else if (ValidationLevel.ARCHIVAL_DATA.equals(validationLevel)) {
-				attachedTimestamps.addAll(signature.getTimestampIdsList());
-				signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, detailedReport.getTLAnalysis()));
-				executeLongTermValidation(signatureAnalysis, signature, bbbs);
-				validation = executeArchiveValidation(signatureAnalysis, signature, bbbs);
+		List<Callable<XmlTimestamp>> timestampTasks = new ArrayList<>();
+		for (TimestampWrapper timestamp : diagnosticData.getTimestampList()) {
+			if (attachedTimestamps.contains(timestamp.getId())) {
+				continue;
 			}
 
-			if (policy.isEIDASConstraintPresent()) {
+			timestampTasks.add(() -> buildXmlTimestamp(timestamp, bbbs, tlAnalysis));
+		}
+		detailedReport.getSignatureOrTimestampOrCertificate().addAll(execute(timestampTasks));
 
-				// Signature qualification
-				CertificateWrapper signingCertificate = signature.getSigningCertificate();
-				if (signingCertificate != null) {
-					SignatureQualificationBlock qualificationBlock = new SignatureQualificationBlock(i18nProvider, signature.getId(), validation,
-							signingCertificate, tlAnalysis);
-					signatureAnalysis.setValidationSignatureQualification(qualificationBlock.execute());
-				}
+		return detailedReport;
+	}
 
-			}
+	private XmlSignature buildXmlSignature(SignatureWrapper signature, Map<String, XmlBasicBuildingBlocks> bbbs, List<XmlTLAnalysis> tlAnalysis) {
+		XmlSignature signatureAnalysis = new XmlSignature();
 
-			detailedReport.getSignatureOrTimestampOrCertificate().add(signatureAnalysis);
+		signatureAnalysis.setId(signature.getId());
+		if (signature.isCounterSignature()) {
+			signatureAnalysis.setCounterSignature(true);
 		}
 
-		for (TimestampWrapper timestamp : diagnosticData.getTimestampList()) {
-			if (attachedTimestamps.contains(timestamp.getId())) {
-				continue;
+		XmlConstraintsConclusionWithProofOfExistence validation = executeBasicValidation(signatureAnalysis, signature, bbbs);
+
+		if (ValidationLevel.TIMESTAMPS.equals(validationLevel)) {
+			signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, tlAnalysis));
+		} else if (ValidationLevel.LONG_TERM_DATA.equals(validationLevel)) {
+			signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, tlAnalysis));
+			validation = executeLongTermValidation(signatureAnalysis, signature, bbbs);
+		} else if (ValidationLevel.ARCHIVAL_DATA.equals(validationLevel)) {
+			signatureAnalysis.getTimestamp().addAll(getXmlTimestamps(signature.getTimestampList(), bbbs, tlAnalysis));
+			executeLongTermValidation(signatureAnalysis, signature, bbbs);
+			validation = executeArchiveValidation(signatureAnalysis, signature, bbbs);
+		}
+
+		if (policy.isEIDASConstraintPresent()) {
+
+			// Signature qualification
+			CertificateWrapper signingCertificate = signature.getSigningCertificate();
+			if (signingCertificate != null) {
+				SignatureQualificationBlock qualificationBlock = new SignatureQualificationBlock(i18nProvider, signature.getId(), validation,
+						signingCertificate, tlAnalysis);
+				signatureAnalysis.setValidationSignatureQualification(qualificationBlock.execute());
 			}
 
-			detailedReport.getSignatureOrTimestampOrCertificate().add(buildXmlTimestamp(timestamp, bbbs, tlAnalysis));
 		}
 
-		return detailedReport;
+		return signatureAnalysis;
 	}
 
 	private XmlValidationProcessBasicSignature executeBasicValidation(XmlSignature signatureAnalysis, SignatureWrapper signature,
@@ -173,28 +186,43 @@ public class DetailedReportBuilder extends AbstractDetailedReportBuilder {
 	}
 
 	private Map<String, XmlBasicBuildingBlocks> executeAllBasicBuildingBlocks() {
-		Map<String, XmlBasicBuildingBlocks> bbbs = new LinkedHashMap<>();
+		Map<String, Callable<XmlBasicBuildingBlocks>> tasks = new LinkedHashMap<>();
 		switch (validationLevel) {
 		case ARCHIVAL_DATA:
 		case LONG_TERM_DATA:
-			process(diagnosticData.getAllRevocationData(), Context.REVOCATION, bbbs);
-			process(diagnosticData.getTimestampList(), Context.TIMESTAMP, bbbs);
-			process(diagnosticData.getAllSignatures(), Context.SIGNATURE, bbbs);
-			process(diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE, bbbs);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllRevocationData(), Context.REVOCATION);
+			addBasicBuildingBlocks(tasks, diagnosticData.getTimestampList(), Context.TIMESTAMP);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllSignatures(), Context.SIGNATURE);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE);
 			break;
 		case TIMESTAMPS:
-			process(diagnosticData.getTimestampList(), Context.TIMESTAMP, bbbs);
-			process(diagnosticData.getAllSignatures(), Context.SIGNATURE, bbbs);
-			process(diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE, bbbs);
+			addBasicBuildingBlocks(tasks, diagnosticData.getTimestampList(), Context.TIMESTAMP);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllSignatures(), Context.SIGNATURE);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE);
 			break;
 		case BASIC_SIGNATURES:
-			process(diagnosticData.getAllSignatures(), Context.SIGNATURE, bbbs);
-			process(diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE, bbbs);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllSignatures(), Context.SIGNATURE);
+			addBasicBuildingBlocks(tasks, diagnosticData.getAllCounterSignatures(), Context.COUNTER_SIGNATURE);
 			break;
 		default:
 			throw new IllegalArgumentException("Unsupported validation level " + validationLevel);
 		}
-		return bbbs;
+		return executeBasicBuildingBlocks(tasks);
+	}
+
+	private boolean isTimestampSharedBetweenSignatures() {
+		if (!ValidationLevel.ARCHIVAL_DATA.equals(validationLevel)) {
+			return false;
+		}
+		Set<String> timestampIds = new HashSet<>();
+		for (SignatureWrapper signature : diagnosticData.getSignatures()) {
+			for (String timestampId : signature.getTimestampIdsList()) {
+				if (!timestampIds.add(timestampId)) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
 }
@@ -0,0 +1,125 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.process;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import eu.europa.esig.dss.detailedreport.jaxb.XmlSubXCV;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlXCV;
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.policy.SubContext;
+
+/**
+ * This class memoizes the results of the validation processes executed on the
+ * same token, in the same context and at the same validation time during one
+ * report build (e.g. a certificate chain shared by several signatures).
+ * 
+ * The results are stored per token id, context and validation time, so an
+ * instance must not be shared between reports built with different
+ * validation policies. The returned results must not be modified.
+ */
+public class ValidationProcessCache {
+
+	private final Map<String, XmlXCV> xcvResults = new ConcurrentHashMap<>();
+
+	private final Map<String, XmlSubXCV> subXcvResults = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the X.509 certificate validation result for the given parameters,
+	 * executes the process on the first call
+	 * 
+	 * @param certificate
+	 *                       the validated certificate
+	 * @param context
+	 *                       the validation context
+	 * @param validationDate
+	 *                       the validation time
+	 * @param usageTime
+	 *                       the usage time of the certificate
+	 * @param process
+	 *                       the process to execute if no result is cached
+	 * @return the {@link XmlXCV}
+	 */
+	public XmlXCV getXCV(CertificateWrapper certificate, Context context, Date validationDate, Date usageTime,
+			Supplier<XmlXCV> process) {
+		String key = getKey(certificate.getId(), context, null, validationDate, usageTime);
+		return get(xcvResults, key, process);
+	}
+
+	/**
+	 * Returns the sub X.509 certificate validation result for the given
+	 * parameters, executes the process on the first call
+	 * 
+	 * @param certificate
+	 *                       the validated certificate
+	 * @param context
+	 *                       the validation context
+	 * @param subContext
+	 *                       the validation sub context
+	 * @param validationDate
+	 *                       the validation time
+	 * @param process
+	 *                       the process to execute if no result is cached
+	 * @return the {@link XmlSubXCV}
+	 */
+	public XmlSubXCV getSubXCV(CertificateWrapper certificate, Context context, SubContext subContext, Date validationDate,
+			Supplier<XmlSubXCV> process) {
+		String key = getKey(certificate.getId(), context, subContext, validationDate, null);
+		return get(subXcvResults, key, process);
+	}
+
+	/**
+	 * Returns the number of cached results
+	 * 
+	 * @return the number of cached results
+	 */
+	public int size() {
+		return xcvResults.size() + subXcvResults.size();
+	}
+
+	private <T> T get(Map<String, T> results, String key, Supplier<T> process) {
+		// computeIfAbsent is not used : the processes are nested (XCV -> SubXCV)
+		// and may be executed concurrently, a concurrent duplicate execution gives the same result
+		T result = results.get(key);
+		if (result == null) {
+			result = process.get();
+			T previous = results.putIfAbsent(key, result);
+			if (previous != null) {
+				result = previous;
+			}
+		}
+		return result;
+	}
+
+	private String getKey(String tokenId, Context context, SubContext subContext, Date validationDate, Date usageTime) {
+		StringBuilder sb = new StringBuilder(tokenId);
+		sb.append('|').append(context);
+		sb.append('|').append(subContext);
+		sb.append('|').append(validationDate != null ? validationDate.getTime() : null);
+		sb.append('|').append(usageTime != null ? usageTime.getTime() : null);
+		return sb.toString();
+	}
+
+}
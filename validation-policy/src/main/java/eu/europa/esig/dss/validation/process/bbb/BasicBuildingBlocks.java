@@ -45,6 +45,7 @@ import eu.europa.esig.dss.enumerations.Indication;
 import eu.europa.esig.dss.i18n.I18nProvider;
 import eu.europa.esig.dss.policy.ValidationPolicy;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.process.ValidationProcessCache;
 import eu.europa.esig.dss.validation.process.bbb.cv.CryptographicVerification;
 import eu.europa.esig.dss.validation.process.bbb.fc.FormatChecking;
 import eu.europa.esig.dss.validation.process.bbb.isc.IdentificationOfTheSigningCertificate;
@@ -66,15 +67,22 @@ public class BasicBuildingBlocks {
 	private final ValidationPolicy policy;
 	private final Date currentTime;
 	private final Context context;
+	private final ValidationProcessCache validationProcessCache;
 
 	public BasicBuildingBlocks(I18nProvider i18nProvider, DiagnosticData diagnosticData, TokenProxy token, 
 			Date currentTime, ValidationPolicy policy, Context context) {
+		this(i18nProvider, diagnosticData, token, currentTime, policy, context, new ValidationProcessCache());
+	}
+
+	public BasicBuildingBlocks(I18nProvider i18nProvider, DiagnosticData diagnosticData, TokenProxy token, 
+			Date currentTime, ValidationPolicy policy, Context context, ValidationProcessCache validationProcessCache) {
 		this.i18nProvider = i18nProvider;
 		this.diagnosticData = diagnosticData;
 		this.token = token;
 		this.currentTime = currentTime;
 		this.policy = policy;
 		this.context = context;
+		this.validationProcessCache = validationProcessCache;
 	}
 
 	public XmlBasicBuildingBlocks execute() {
@@ -209,29 +217,30 @@ public class BasicBuildingBlocks {
 	private XmlXCV executeX509CertificateValidation() {
 		if (Context.CERTIFICATE.equals(context)) {
 			CertificateWrapper certificate = (CertificateWrapper) token;
-			X509CertificateValidation xcv = new X509CertificateValidation(i18nProvider, certificate, currentTime, certificate.getNotBefore(), context, policy);
-			return xcv.execute();
+			return executeX509CertificateValidation(certificate, certificate.getNotBefore());
 		} else {
 			CertificateWrapper certificate = token.getSigningCertificate();
 			if (certificate != null) {
 				if (Context.SIGNATURE.equals(context) || Context.COUNTER_SIGNATURE.equals(context)) {
-					X509CertificateValidation xcv = new X509CertificateValidation(i18nProvider, certificate, currentTime, certificate.getNotBefore(), context,
-							policy);
-					return xcv.execute();
+					return executeX509CertificateValidation(certificate, certificate.getNotBefore());
 				} else if (Context.TIMESTAMP.equals(context)) {
-					X509CertificateValidation xcv = new X509CertificateValidation(i18nProvider, certificate, currentTime,
-							((TimestampWrapper) token).getProductionTime(), context, policy);
-					return xcv.execute();
+					return executeX509CertificateValidation(certificate, ((TimestampWrapper) token).getProductionTime());
 				} else if (Context.REVOCATION.equals(context)) {
-					X509CertificateValidation xcv = new X509CertificateValidation(i18nProvider, certificate, currentTime,
-							((RevocationWrapper) token).getProductionDate(), context, policy);
-					return xcv.execute();
+					return executeX509CertificateValidation(certificate, ((RevocationWrapper) token).getProductionDate());
 				}
 			}
 		}
 		return null;
 	}
 
+	private XmlXCV executeX509CertificateValidation(CertificateWrapper certificate, Date usageTime) {
+		return validationProcessCache.getXCV(certificate, context, currentTime, usageTime, () -> {
+			X509CertificateValidation xcv = new X509CertificateValidation(i18nProvider, certificate, currentTime, usageTime, context, policy,
+					validationProcessCache);
+			return xcv.execute();
+		});
+	}
+
 	private XmlSAV executeSignatureAcceptanceValidation() {
 		AbstractAcceptanceValidation<?> aav = null;
 		if (Context.SIGNATURE.equals(context) || Context.COUNTER_SIGNATURE.equals(context)) {
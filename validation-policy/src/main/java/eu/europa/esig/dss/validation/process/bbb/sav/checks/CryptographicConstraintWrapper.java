@@ -20,134 +20,52 @@
  */
 package eu.europa.esig.dss.validation.process.bbb.sav.checks;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import eu.europa.esig.dss.policy.jaxb.Algo;
-import eu.europa.esig.dss.policy.jaxb.AlgoExpirationDate;
+import eu.europa.esig.dss.policy.CompiledCryptographicConstraint;
 import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
-import eu.europa.esig.dss.policy.jaxb.ListAlgo;
-import eu.europa.esig.dss.utils.Utils;
 
 public class CryptographicConstraintWrapper {
 
-	private static final Logger LOG = LoggerFactory.getLogger(CryptographicConstraintWrapper.class);
-
-	private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
-
 	private final CryptographicConstraint constraint;
 
+	private CompiledCryptographicConstraint compiled;
+
 	public CryptographicConstraintWrapper(CryptographicConstraint constraint) {
 		this.constraint = constraint;
 	}
 
+	private CompiledCryptographicConstraint getCompiled() {
+		if (compiled == null) {
+			compiled = CompiledCryptographicConstraint.of(constraint);
+		}
+		return compiled;
+	}
+
 	public List<String> getSupportedEncryptionAlgorithms() {
-		return extract(constraint.getAcceptableEncryptionAlgo());
+		return getCompiled().getAcceptableEncryptionAlgorithms();
 	}
 
 	public List<String> getSupportedDigestAlgorithms() {
-		return extract(constraint.getAcceptableDigestAlgo());
+		return getCompiled().getAcceptableDigestAlgorithms();
 	}
 
 	public Map<String, Integer> getMinimumKeySizes() {
-		Map<String, Integer> result = new HashMap<>();
-		ListAlgo miniPublicKeySize = constraint.getMiniPublicKeySize();
-		if (miniPublicKeySize != null && Utils.isCollectionNotEmpty(miniPublicKeySize.getAlgo())) {
-			for (Algo algo : miniPublicKeySize.getAlgo()) {
-				Integer size = algo.getSize();
-				if (size != null) {
-					result.put(algo.getValue(), size);
-				} else {
-					result.put(algo.getValue(), 0);
-				}
-			}
-		}
-		return result;
+		return getCompiled().getMinimumKeySizes();
 	}
 	
 	public Date getExpirationDate(String algoToSearch, Integer keyLength) {
-		TreeMap<Integer, Date> dates = new TreeMap<>();
-		AlgoExpirationDate expirations = constraint.getAlgoExpirationDate();
-		if (expirations == null) {
-			return null;
-		}
-		SimpleDateFormat dateFormat = new SimpleDateFormat(Utils.isStringEmpty(expirations.getFormat()) ? DEFAULT_DATE_FORMAT : expirations.getFormat());
-
-		for (Algo algo : expirations.getAlgo()) {
-			if (algo.getValue().equals(algoToSearch)) {
-				String expirationDate = algo.getDate();
-				try {
-					dates.put(algo.getSize(), dateFormat.parse(expirationDate));
-				} catch (ParseException e) {
-					LOG.warn("Unable to parse '{}' with format '{}'", expirationDate, dateFormat);
-				}
-			}
-		}
-
-		Entry<Integer, Date> floorEntry = dates.floorEntry(keyLength);
-		if (floorEntry == null) {
-			return null;
-		} else {
-			return floorEntry.getValue();
-		}
+		return getCompiled().getExpirationDate(algoToSearch, keyLength);
 	}
 
 	public Date getDigestAlgorithmExpirationDate(String digestAlgoToSearch) {
-		AlgoExpirationDate expirations = constraint.getAlgoExpirationDate();
-		if(expirations == null)
-			return null;
-		SimpleDateFormat dateFormat = new SimpleDateFormat(Utils.isStringEmpty(expirations.getFormat()) ? DEFAULT_DATE_FORMAT : expirations.getFormat());
-
-		for (Algo algo : expirations.getAlgo()) {
-			if(algo.getValue().equals(digestAlgoToSearch)) {
-				String expirationDate = algo.getDate();
-				try {
-					return dateFormat.parse(expirationDate);
-				} catch (ParseException e) {
-					LOG.warn("Unable to parse '{}' with format '{}'", expirationDate, dateFormat);
-				}
-			}
-		}
-		
-		return null;
+		return getCompiled().getFirstExpirationDate(digestAlgoToSearch);
 	}
 	
 	public Map<String, Date> getExpirationTimes() {
-		Map<String, Date> result = new HashMap<>();
-		AlgoExpirationDate expirations = constraint.getAlgoExpirationDate();
-		if (expirations != null && Utils.isCollectionNotEmpty(expirations.getAlgo())) {
-			SimpleDateFormat dateFormat = new SimpleDateFormat(Utils.isStringEmpty(expirations.getFormat()) ? DEFAULT_DATE_FORMAT : expirations.getFormat());
-			for (Algo algo : expirations.getAlgo()) {
-				String currentAlgo = algo.getValue();
-				String expirationDate = algo.getDate();
-				try {
-					result.put(currentAlgo, dateFormat.parse(expirationDate));
-				} catch (ParseException e) {
-					LOG.warn("Unable to parse '{}' with format '{}'", expirationDate, dateFormat);
-				}
-			}
-		}
-		return result;
-	}	
-
-	private List<String> extract(ListAlgo listAlgo) {
-		List<String> result = new ArrayList<>();
-		if (listAlgo != null && Utils.isCollectionNotEmpty(listAlgo.getAlgo())) {
-			for (Algo algo : listAlgo.getAlgo()) {
-				result.add(algo.getValue());
-			}
-		}
-		return result;
+		return getCompiled().getExpirationDates();
 	}
 
 }
@@ -37,6 +37,7 @@ import eu.europa.esig.dss.policy.jaxb.MultiValuesConstraint;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.process.Chain;
 import eu.europa.esig.dss.validation.process.ChainItem;
+import eu.europa.esig.dss.validation.process.ValidationProcessCache;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.CheckSubXCVResult;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.ProspectiveCertificateChainCheck;
 import eu.europa.esig.dss.validation.process.bbb.xcv.checks.TrustedServiceStatusCheck;
@@ -57,6 +58,8 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 	private final Context context;
 	private final ValidationPolicy validationPolicy;
 
+	private final ValidationProcessCache validationProcessCache;
+
 	public X509CertificateValidation(I18nProvider i18nProvider, CertificateWrapper currentCertificate,
 			Date validationDate, Context context, ValidationPolicy validationPolicy) {
 		this(i18nProvider, currentCertificate, validationDate, validationDate, context, validationPolicy);
@@ -64,6 +67,12 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 	public X509CertificateValidation(I18nProvider i18nProvider, CertificateWrapper currentCertificate, 
 			Date validationDate, Date usageTime, Context context, ValidationPolicy validationPolicy) {
+		this(i18nProvider, currentCertificate, validationDate, usageTime, context, validationPolicy, new ValidationProcessCache());
+	}
+
+	public X509CertificateValidation(I18nProvider i18nProvider, CertificateWrapper currentCertificate, 
+			Date validationDate, Date usageTime, Context context, ValidationPolicy validationPolicy,
+			ValidationProcessCache validationProcessCache) {
 		super(i18nProvider, new XmlXCV());
 
 		this.currentCertificate = currentCertificate;
@@ -72,6 +81,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 		this.context = context;
 		this.validationPolicy = validationPolicy;
+		this.validationProcessCache = validationProcessCache;
 	}
     
 	@Override
@@ -90,9 +100,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 
 			item = item.setNextItem(trustedServiceWithExpectedStatus());
 
-			SubX509CertificateValidation certificateValidation = new SubX509CertificateValidation(i18nProvider, currentCertificate, validationDate, 
-					context, SubContext.SIGNING_CERT, validationPolicy);
-			XmlSubXCV subXCV = certificateValidation.execute();
+			XmlSubXCV subXCV = executeSubX509CertificateValidation(currentCertificate, validationDate, SubContext.SIGNING_CERT);
 			result.getSubXCV().add(subXCV);
 
 			boolean trustAnchorReached = currentCertificate.isTrusted();
@@ -105,9 +113,7 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 			if (Utils.isCollectionNotEmpty(certificateChainList)) {
 				for (CertificateWrapper certificate : certificateChainList) {
 					if (!trustAnchorReached) {
-						certificateValidation = new SubX509CertificateValidation(i18nProvider, certificate, lastDate, 
-								context, SubContext.CA_CERTIFICATE, validationPolicy);
-						subXCV = certificateValidation.execute();
+						subXCV = executeSubX509CertificateValidation(certificate, lastDate, SubContext.CA_CERTIFICATE);
 						result.getSubXCV().add(subXCV);
 
 						trustAnchorReached = certificate.isTrusted();
@@ -122,6 +128,14 @@ public class X509CertificateValidation extends Chain<XmlXCV> {
 		}
 	}
 
+	private XmlSubXCV executeSubX509CertificateValidation(CertificateWrapper certificate, Date date, SubContext subContext) {
+		return validationProcessCache.getSubXCV(certificate, context, subContext, date, () -> {
+			SubX509CertificateValidation certificateValidation = new SubX509CertificateValidation(i18nProvider, certificate, date, 
+					context, subContext, validationPolicy);
+			return certificateValidation.execute();
+		});
+	}
+
 	private ChainItem<XmlXCV> prospectiveCertificateChain() {
 		LevelConstraint constraint = validationPolicy.getProspectiveCertificateChainConstraint(context);
 		return new ProspectiveCertificateChainCheck<>(i18nProvider, result, currentCertificate, context, constraint);
@@ -21,6 +21,8 @@
 package eu.europa.esig.dss.validation.reports;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import javax.xml.bind.JAXBException;
 
@@ -142,6 +144,62 @@ public abstract class AbstractReports {
 		}
 	}
 
+	/**
+	 * This method writes the XML representation of the JAXB DiagnosticData into
+	 * the {@link OutputStream}, without building the intermediate String. The
+	 * stream is not closed The XML
+	 * is not indented.
+	 * 
+	 * @param os
+	 *           the {@link OutputStream} to write to
+	 * @throws DSSReportException - in case of marshalling error
+	 */
+	public void writeXmlDiagnosticData(OutputStream os) {
+		try {
+			DiagnosticDataFacade.newFacade().marshall(getDiagnosticDataJaxb(), os, validateXml, false);
+		} catch (JAXBException | IOException | SAXException e) {
+			throw new DSSReportException("An error occurred during marshalling of JAXB Diagnostic Data", e);
+		}
+	}
+
+	/**
+	 * This method writes the XML representation of the JAXB DetailedReport into
+	 * the {@link OutputStream}, without building the intermediate String. The
+	 * stream is not closed The XML
+	 * is not indented.
+	 * 
+	 * @param os
+	 *           the {@link OutputStream} to write to
+	 * @throws DSSReportException - in case of marshalling error
+	 */
+	public void writeXmlDetailedReport(OutputStream os) {
+		try {
+			DetailedReportFacade.newFacade().marshall(getDetailedReportJaxb(), os, validateXml, false);
+		} catch (JAXBException | IOException | SAXException e) {
+			throw new DSSReportException("An error occurred during marshalling of JAXB Detailed Report", e);
+		}
+	}
+
+	/**
+	 * This method writes the XML representation of the JAXB SimpleReport into the
+	 * {@link OutputStream}. The stream is not closed.
+	 * 
+	 * The default implementation writes the String returned by
+	 * {@link #getXmlSimpleReport()}, the subclasses override it to write the XML
+	 * without building the intermediate String (not indented).
+	 * 
+	 * @param os
+	 *           the {@link OutputStream} to write to
+	 * @throws DSSReportException - in case of marshalling or writing error
+	 */
+	public void writeXmlSimpleReport(OutputStream os) {
+		try {
+			os.write(getXmlSimpleReport().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new DSSReportException("An error occurred during writing of the Simple Report", e);
+		}
+	}
+
 	/**
 	 * For debug purpose.
 	 */
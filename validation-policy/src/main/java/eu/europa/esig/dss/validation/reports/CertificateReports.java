@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.validation.reports;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.xml.bind.JAXBException;
 
@@ -96,4 +97,13 @@ public class CertificateReports extends AbstractReports {
 		}
 	}
 
+	@Override
+	public void writeXmlSimpleReport(OutputStream os) {
+		try {
+			SimpleCertificateReportFacade.newFacade().marshall(getSimpleReportJaxb(), os, validateXml, false);
+		} catch (JAXBException | IOException | SAXException e) {
+			throw new DSSReportException("An error occurred during marshalling of JAXB Simple Report", e);
+		}
+	}
+
 }
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.validation.reports;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.xml.bind.JAXBException;
 
@@ -143,6 +144,32 @@ public class Reports extends AbstractReports {
 		}
 	}
 
+	@Override
+	public void writeXmlSimpleReport(OutputStream os) {
+		try {
+			SimpleReportFacade.newFacade().marshall(getSimpleReportJaxb(), os, validateXml, false);
+		} catch (JAXBException | IOException | SAXException e) {
+			throw new DSSReportException("An error occurred during marshalling of JAXB Simple Report", e);
+		}
+	}
+
+	/**
+	 * This method writes the XML representation of the JAXB ETSI Validation Report
+	 * into the {@link OutputStream}, without building the intermediate String.
+	 * The stream is not closed. The XML is not indented.
+	 * 
+	 * @param os
+	 *           the {@link OutputStream} to write to
+	 * @throws DSSReportException - in case of marshalling error
+	 */
+	public void writeXmlValidationReport(OutputStream os) {
+		try {
+			ValidationReportFacade.newFacade().marshall(getEtsiValidationReportJaxb(), os, validateXml, false);
+		} catch (JAXBException | IOException | SAXException e) {
+			throw new DSSReportException("An error occurred during marshalling of JAXB Etsi Validation Report", e);
+		}
+	}
+
 	@Override
 	public void print() {
 		System.out.println("----------------Diagnostic data-----------------");
@@ -0,0 +1,82 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class ParallelDetailedReportTest extends AbstractTestValidationExecutor {
+
+	private static ExecutorService executorService;
+
+	@BeforeAll
+	public static void init() {
+		executorService = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterAll
+	public static void shutdown() {
+		executorService.shutdown();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "src/test/resources/counter-signature-diag-data.xml", "src/test/resources/asic-e-multi-files-diag-data.xml",
+			"src/test/resources/LTAandAIAforTrustAnchor.xml", "src/test/resources/DSS-1861/pades-timestamp-order-check.xml" })
+	public void sameDetailedReport(String diagnosticDataFile) throws Exception {
+		XmlDiagnosticData diagnosticData = DiagnosticDataFacade.newFacade().unmarshall(new File(diagnosticDataFile));
+		assertNotNull(diagnosticData);
+
+		for (ValidationLevel validationLevel : Arrays.asList(ValidationLevel.TIMESTAMPS, ValidationLevel.LONG_TERM_DATA, ValidationLevel.ARCHIVAL_DATA)) {
+			Reports sequentialReports = execute(diagnosticData, validationLevel, null);
+			Reports parallelReports = execute(diagnosticData, validationLevel, executorService);
+			checkReports(parallelReports);
+
+			assertEquals(sequentialReports.getXmlDetailedReport(), parallelReports.getXmlDetailedReport());
+			assertEquals(sequentialReports.getXmlSimpleReport(), parallelReports.getXmlSimpleReport());
+		}
+	}
+
+	private Reports execute(XmlDiagnosticData diagnosticData, ValidationLevel validationLevel, ExecutorService executorService) throws Exception {
+		DefaultSignatureProcessExecutor executor = new DefaultSignatureProcessExecutor();
+		executor.setDiagnosticData(diagnosticData);
+		executor.setValidationPolicy(loadDefaultPolicy());
+		executor.setValidationLevel(validationLevel);
+		executor.setCurrentTime(diagnosticData.getValidationDate());
+		executor.setExecutorService(executorService);
+		return executor.execute();
+	}
+
+}
@@ -0,0 +1,82 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.detailedreport.DetailedReportFacade;
+import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.simplereport.SimpleReportFacade;
+import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.validationreport.ValidationReportFacade;
+
+public class ReportsStreamingTest extends AbstractTestValidationExecutor {
+
+	@Test
+	public void test() throws Exception {
+		XmlDiagnosticData diagnosticData = DiagnosticDataFacade.newFacade().unmarshall(new File("src/test/resources/counter-signature-diag-data.xml"));
+		assertNotNull(diagnosticData);
+
+		DefaultSignatureProcessExecutor executor = new DefaultSignatureProcessExecutor();
+		executor.setDiagnosticData(diagnosticData);
+		executor.setValidationPolicy(loadDefaultPolicy());
+		executor.setCurrentTime(diagnosticData.getValidationDate());
+
+		Reports reports = executor.execute();
+		checkReports(reports);
+
+		// the written XML is not indented : it is compared once parsed and marshalled again
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		reports.writeXmlDiagnosticData(baos);
+		String written = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+		assertFalse(written.contains("\n"));
+		DiagnosticDataFacade diagnosticDataFacade = DiagnosticDataFacade.newFacade();
+		assertEquals(reports.getXmlDiagnosticData(), diagnosticDataFacade.marshall(diagnosticDataFacade.unmarshall(written), false));
+
+		baos = new ByteArrayOutputStream();
+		reports.writeXmlDetailedReport(baos);
+		DetailedReportFacade detailedReportFacade = DetailedReportFacade.newFacade();
+		assertEquals(reports.getXmlDetailedReport(),
+				detailedReportFacade.marshall(detailedReportFacade.unmarshall(new String(baos.toByteArray(), StandardCharsets.UTF_8)), false));
+
+		baos = new ByteArrayOutputStream();
+		reports.writeXmlSimpleReport(baos);
+		SimpleReportFacade simpleReportFacade = SimpleReportFacade.newFacade();
+		assertEquals(reports.getXmlSimpleReport(),
+				simpleReportFacade.marshall(simpleReportFacade.unmarshall(new String(baos.toByteArray(), StandardCharsets.UTF_8)), false));
+
+		baos = new ByteArrayOutputStream();
+		reports.writeXmlValidationReport(baos);
+		// the namespace prefixes are not always declared in the same order
+		assertNotNull(ValidationReportFacade.newFacade().unmarshall(new String(baos.toByteArray(), StandardCharsets.UTF_8)));
+	}
+
+}
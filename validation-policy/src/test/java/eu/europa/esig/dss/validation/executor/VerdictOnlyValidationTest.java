@@ -0,0 +1,76 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class VerdictOnlyValidationTest extends AbstractTestValidationExecutor {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "src/test/resources/counter-signature-diag-data.xml", "src/test/resources/diag_data_model_1.xml",
+			"src/test/resources/LTAandAIAforTrustAnchor.xml", "src/test/resources/DSS-1861/pades-timestamp-order-check.xml" })
+	public void sameVerdict(String diagnosticDataFile) throws Exception {
+		XmlDiagnosticData diagnosticData = DiagnosticDataFacade.newFacade().unmarshall(new File(diagnosticDataFile));
+		assertNotNull(diagnosticData);
+
+		Reports fullReports = execute(diagnosticData, false);
+		assertNotNull(fullReports.getEtsiValidationReportJaxb());
+
+		Reports verdictReports = execute(diagnosticData, true);
+		assertNull(verdictReports.getEtsiValidationReportJaxb());
+		assertNotNull(verdictReports.getDiagnosticDataJaxb());
+
+		SimpleReport fullSimpleReport = fullReports.getSimpleReport();
+		SimpleReport verdictSimpleReport = verdictReports.getSimpleReport();
+		assertEquals(fullSimpleReport.getSignatureIdList(), verdictSimpleReport.getSignatureIdList());
+		for (String signatureId : fullSimpleReport.getSignatureIdList()) {
+			assertEquals(fullSimpleReport.getIndication(signatureId), verdictSimpleReport.getIndication(signatureId));
+			assertEquals(fullSimpleReport.getSubIndication(signatureId), verdictSimpleReport.getSubIndication(signatureId));
+			assertEquals(fullSimpleReport.getSignatureFormat(signatureId), verdictSimpleReport.getSignatureFormat(signatureId));
+			assertEquals(fullSimpleReport.getSignatureQualification(signatureId), verdictSimpleReport.getSignatureQualification(signatureId));
+			assertEquals(fullSimpleReport.getErrors(signatureId), verdictSimpleReport.getErrors(signatureId));
+			assertEquals(fullSimpleReport.getWarnings(signatureId), verdictSimpleReport.getWarnings(signatureId));
+		}
+	}
+
+	private Reports execute(XmlDiagnosticData diagnosticData, boolean verdictOnly) throws Exception {
+		DefaultSignatureProcessExecutor executor = new DefaultSignatureProcessExecutor();
+		executor.setDiagnosticData(diagnosticData);
+		executor.setValidationPolicy(loadDefaultPolicy());
+		executor.setCurrentTime(diagnosticData.getValidationDate());
+		executor.setVerdictOnly(verdictOnly);
+		return executor.execute();
+	}
+
+}
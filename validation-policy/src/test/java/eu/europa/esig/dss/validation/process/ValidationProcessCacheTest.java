@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.process;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import eu.europa.esig.dss.detailedreport.DetailedReportFacade;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlBasicBuildingBlocks;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlSubXCV;
+import eu.europa.esig.dss.detailedreport.jaxb.XmlXCV;
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.i18n.I18nProvider;
+import eu.europa.esig.dss.policy.SubContext;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.validation.process.bbb.BasicBuildingBlocks;
+
+public class ValidationProcessCacheTest {
+
+	@Test
+	public void subXCVTest() {
+		ValidationProcessCache cache = new ValidationProcessCache();
+		CertificateWrapper certificate = getCertificate("C-1");
+		Date validationDate = new Date();
+		AtomicInteger executions = new AtomicInteger();
+
+		XmlSubXCV first = cache.getSubXCV(certificate, Context.SIGNATURE, SubContext.CA_CERTIFICATE, validationDate, () -> newSubXCV(executions));
+		XmlSubXCV second = cache.getSubXCV(certificate, Context.SIGNATURE, SubContext.CA_CERTIFICATE, new Date(validationDate.getTime()),
+				() -> newSubXCV(executions));
+		assertSame(first, second);
+		assertEquals(1, executions.get());
+
+		assertNotSame(first, cache.getSubXCV(certificate, Context.TIMESTAMP, SubContext.CA_CERTIFICATE, validationDate, () -> newSubXCV(executions)));
+		assertNotSame(first, cache.getSubXCV(certificate, Context.SIGNATURE, SubContext.SIGNING_CERT, validationDate, () -> newSubXCV(executions)));
+		assertNotSame(first, cache.getSubXCV(certificate, Context.SIGNATURE, SubContext.CA_CERTIFICATE, new Date(validationDate.getTime() + 1),
+				() -> newSubXCV(executions)));
+		assertNotSame(first, cache.getSubXCV(getCertificate("C-2"), Context.SIGNATURE, SubContext.CA_CERTIFICATE, validationDate,
+				() -> newSubXCV(executions)));
+		assertEquals(5, executions.get());
+		assertEquals(5, cache.size());
+	}
+
+	@Test
+	public void xcvTest() {
+		ValidationProcessCache cache = new ValidationProcessCache();
+		CertificateWrapper certificate = getCertificate("C-1");
+		Date validationDate = new Date();
+		Date usageTime = new Date(0);
+
+		XmlXCV first = cache.getXCV(certificate, Context.SIGNATURE, validationDate, usageTime, XmlXCV::new);
+		assertSame(first, cache.getXCV(certificate, Context.SIGNATURE, validationDate, usageTime, XmlXCV::new));
+		assertNotSame(first, cache.getXCV(certificate, Context.SIGNATURE, validationDate, null, XmlXCV::new));
+		assertNotSame(first, cache.getXCV(certificate, Context.COUNTER_SIGNATURE, validationDate, usageTime, XmlXCV::new));
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void sameDetailedReportTest() throws Exception {
+		DiagnosticData diagnosticData = new DiagnosticData(DiagnosticDataFacade.newFacade().unmarshall(new File("src/test/resources/multi-sign.xml")));
+		ValidationPolicy policy = ValidationPolicyFacade.newFacade().getDefaultValidationPolicy();
+		I18nProvider i18nProvider = new I18nProvider();
+		Date currentTime = diagnosticData.getValidationDate();
+
+		ValidationProcessCache cache = new ValidationProcessCache();
+		XmlDetailedReport withCache = new XmlDetailedReport();
+		XmlDetailedReport withoutCache = new XmlDetailedReport();
+		for (SignatureWrapper signature : diagnosticData.getSignatures()) {
+			withCache.getBasicBuildingBlocks().add(
+					new BasicBuildingBlocks(i18nProvider, diagnosticData, signature, currentTime, policy, Context.SIGNATURE, cache).execute());
+			withoutCache.getBasicBuildingBlocks().add(new BasicBuildingBlocks(i18nProvider, diagnosticData, signature, currentTime, policy,
+					Context.SIGNATURE, new ValidationProcessCache()).execute());
+		}
+		assertEquals(DetailedReportFacade.newFacade().marshall(withoutCache), DetailedReportFacade.newFacade().marshall(withCache));
+
+		// the last two signatures share the same certificate chain : the certificate
+		// validation is executed once
+		List<XmlBasicBuildingBlocks> bbbs = withCache.getBasicBuildingBlocks();
+		assertEquals(4, bbbs.size());
+		assertSame(bbbs.get(2).getXCV(), bbbs.get(3).getXCV());
+		assertNotSame(bbbs.get(0).getXCV(), bbbs.get(2).getXCV());
+		List<XmlBasicBuildingBlocks> notShared = withoutCache.getBasicBuildingBlocks();
+		assertNotSame(notShared.get(2).getXCV(), notShared.get(3).getXCV());
+	}
+
+	private XmlSubXCV newSubXCV(AtomicInteger executions) {
+		executions.incrementAndGet();
+		return new XmlSubXCV();
+	}
+
+	private CertificateWrapper getCertificate(String id) {
+		XmlCertificate xmlCertificate = new XmlCertificate();
+		xmlCertificate.setId(id);
+		return new CertificateWrapper(xmlCertificate);
+	}
+
+}